@@ -0,0 +1,70 @@
+package com.insidergame.insider_api.journal;
+
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.scoring.SlotScoringEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time to rebuild room/game state from a journal of N records.
+ * Setup drives real managers through full games (join, ready, play, vote, score, archive) to write the journal;
+ * one room in ten stays open, the rest empty out and are deleted.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalRecoveryBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int records;
+
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void writeJournal() throws IOException {
+        JournalWorkload.quietLogs();
+        dir = Files.createTempDirectory("journal-bench");
+        Journal journal = new Journal(true, dir.toString(), 64L << 20, false);
+        journal.start();
+        RoomManager rooms = new RoomManager(journal);
+        GameManager games = new GameManager(rooms, journal, new SlotScoringEngine());
+
+        JournalWorkload workload = new JournalWorkload(rooms, games);
+        int room = 0;
+        while (journal.getLastLsn() < records) {
+            String code = String.format("R%05d", room);
+            List<String> uuids = workload.openRoom(code);
+            for (int round = 0; round < 3; round++) workload.playFullGame(code, uuids, round);
+            if (room % 10 != 0) workload.closeRoom(code, uuids);
+            room++;
+        }
+        journal.close();
+    }
+
+    @Benchmark
+    public JournalReplayer.Result replay() throws IOException {
+        Journal journal = new Journal(true, dir.toString(), 64L << 20, false);
+        RoomManager rooms = new RoomManager(journal);
+        GameManager games = new GameManager(rooms, journal, new SlotScoringEngine());
+        JournalReplayer.Result result = new JournalReplayer(rooms, games).replay(journal, 0);
+        if (result.getFailed() > 0) throw new IllegalStateException(result.getFailed() + " records failed to replay");
+        return result;
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
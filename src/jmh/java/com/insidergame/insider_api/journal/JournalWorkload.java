@@ -0,0 +1,86 @@
+package com.insidergame.insider_api.journal;
+
+import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.Player;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Drives real managers through rooms and games so benchmarks get a realistic journal and state
+ */
+final class JournalWorkload {
+
+    static final int PLAYERS = 6;
+
+    private final RoomManager rooms;
+    private final GameManager games;
+    private final Random random = new Random(7);
+
+    // The managers log every join/leave at INFO; keep that out of the measurements
+    static void quietLogs() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    JournalWorkload(RoomManager rooms, GameManager games) {
+        this.rooms = rooms;
+        this.games = games;
+    }
+
+    /**
+     * Create a room with {@link #PLAYERS} players. Returns their uuids (host first).
+     */
+    List<String> openRoom(String code) {
+        List<String> uuids = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) uuids.add(new UUID(random.nextLong(), random.nextLong()).toString());
+        rooms.createRoom(code, "Room " + code, 8, null, uuids.get(0), "p0", List.of(), RuleSet.CLASSIC, 3);
+        for (int i = 1; i < PLAYERS; i++) {
+            rooms.addPlayerToRoom(code, Player.builder().uuid(uuids.get(i)).playerName("p" + i).isHost(false).build());
+        }
+        return uuids;
+    }
+
+    /**
+     * Start a game and play it up to the voting phase (cards opened, countdown, voting, votes cast)
+     */
+    void playUntilVotes(String code, List<String> uuids, int round) {
+        for (String uuid : uuids) rooms.setPlayerReady(code, uuid, true);
+        rooms.updateRoomStatus(code, RoomStatus.PLAYING);
+        Map<String, RoleType> roles = new HashMap<>();
+        for (int i = 0; i < uuids.size(); i++) {
+            roles.put(uuids.get(i), i == 0 ? RoleType.MASTER : i == 1 ? RoleType.INSIDER : RoleType.CITIZEN);
+        }
+        games.createGame(code, "word" + round, 300, roles, RuleSet.CLASSIC);
+        rooms.markPlayersPlaying(code, uuids);
+        for (String uuid : uuids) games.markCardOpened(code, uuid);
+        games.startCountdown(code);
+        games.startVoting(code);
+        for (String uuid : uuids) games.recordVote(code, uuid, uuids.get(1 + random.nextInt(uuids.size() - 1)));
+    }
+
+    /**
+     * Score, archive and reset the room's active game
+     */
+    void finish(String code) {
+        games.scoreGame(code);
+        games.finishAndArchiveGame(code);
+        rooms.updateRoomStatus(code, RoomStatus.WAITING);
+        rooms.resetPlayersAfterGame(code);
+    }
+
+    void playFullGame(String code, List<String> uuids, int round) {
+        playUntilVotes(code, uuids, round);
+        finish(code);
+    }
+
+    void closeRoom(String code, List<String> uuids) {
+        for (String uuid : uuids) rooms.removePlayerFromRoom(code, uuid);
+    }
+}
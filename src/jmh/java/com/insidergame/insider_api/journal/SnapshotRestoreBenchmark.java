@@ -0,0 +1,131 @@
+package com.insidergame.insider_api.journal;
+
+import com.insidergame.insider_api.dto.MatchDto;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.Game;
+import com.insidergame.insider_api.model.Player;
+import com.insidergame.insider_api.model.Room;
+import com.insidergame.insider_api.scoring.SlotScoringEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Boot-time restore: load the newest snapshot and replay the journal after it, for N rooms
+ * (one finished game each, half of them with a game in the voting phase).
+ *
+ * Setup takes the snapshot while another thread keeps playing games, closing and opening rooms, then
+ * checks that snapshot + journal tail rebuilds exactly the state the live managers ended with.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SnapshotRestoreBenchmark {
+
+    private static final int TAIL_ROOMS = 2000;
+
+    @Param({"10000", "50000"})
+    public int rooms;
+
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void buildState() throws Exception {
+        JournalWorkload.quietLogs();
+        dir = Files.createTempDirectory("snapshot-bench");
+        Journal liveJournal = new Journal(true, dir.toString(), 64L << 20, false);
+        liveJournal.start();
+        RoomManager liveRooms = new RoomManager(liveJournal);
+        GameManager liveGames = new GameManager(liveRooms, liveJournal, new SlotScoringEngine());
+
+        JournalWorkload workload = new JournalWorkload(liveRooms, liveGames);
+        Map<String, List<String>> players = new HashMap<>();
+        for (int i = 0; i < rooms; i++) {
+            String code = String.format("R%06d", i);
+            List<String> uuids = workload.openRoom(code);
+            players.put(code, uuids);
+            workload.playFullGame(code, uuids, 0);
+            if (i % 2 == 0) workload.playUntilVotes(code, uuids, 1);
+        }
+
+        // Keep changing rooms while the snapshot is taken
+        Thread tail = new Thread(() -> {
+            for (int i = 0; i < TAIL_ROOMS; i++) {
+                String code = String.format("R%06d", i);
+                List<String> uuids = players.get(code);
+                if (i % 2 == 0) workload.finish(code);
+                else workload.playFullGame(code, uuids, 2);
+                if (i % 5 == 0) workload.closeRoom(code, uuids);
+                workload.openRoom(String.format("N%06d", i));
+            }
+        });
+        tail.start();
+        SnapshotFile.write(dir, liveJournal, liveRooms, liveGames, List.of());
+        tail.join();
+        liveJournal.close();
+
+        String expected = fingerprint(liveRooms, liveGames);
+        Restored restored = restore();
+        if (!expected.equals(fingerprint(restored.rooms(), restored.games()))) {
+            throw new IllegalStateException("Snapshot + journal tail does not match the live state");
+        }
+    }
+
+    @Benchmark
+    public Restored restore() throws IOException {
+        Journal journal = new Journal(true, dir.toString(), 64L << 20, false);
+        RoomManager roomManager = new RoomManager(journal);
+        GameManager gameManager = new GameManager(roomManager, journal, new SlotScoringEngine());
+
+        SnapshotFile.Image image = SnapshotFile.read(SnapshotFile.list(dir).get(0));
+        Map<String, Long> roomLsns = image.restoreInto(roomManager, gameManager);
+        journal.advanceLsn(image.endLsn());
+        JournalReplayer.Result result = new JournalReplayer(roomManager, gameManager).replay(journal, image.startLsn(), roomLsns);
+        if (result.getFailed() > 0) throw new IllegalStateException(result.getFailed() + " records failed to replay");
+        return new Restored(roomManager, gameManager);
+    }
+
+    public record Restored(RoomManager rooms, GameManager games) {
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    // Everything the journal and snapshot are meant to preserve (wall-clock match times excluded)
+    private static String fingerprint(RoomManager roomManager, GameManager gameManager) {
+        StringBuilder sb = new StringBuilder();
+        List<Room> all = roomManager.getAllRooms();
+        all.sort(Comparator.comparing(Room::getRoomCode));
+        for (Room room : all) {
+            String code = room.getRoomCode();
+            sb.append(code).append('|').append(room.getStatus()).append('|').append(room.getHostUuid())
+                    .append('|').append(room.getCreatedAt()).append('|').append(gameManager.getLastSequence(code));
+            room.getPlayers().stream().sorted(Comparator.comparing(Player::getUuid)).forEach(p -> sb.append('|')
+                    .append(p.getUuid()).append(p.isHost()).append(p.isReady()).append(p.isPlaying()).append(p.getJoinedAt()));
+            MatchDto match = room.getMatch().snapshot();
+            sb.append("|m").append(match.getMatchNumber()).append('/').append(match.getRoundsPlayed());
+            match.getStandings().forEach(s -> sb.append(',').append(s.getUuid()).append('=').append(s.getScore()));
+            Game g = gameManager.getActiveGame(code).orElse(null);
+            if (g != null) {
+                sb.append("|g").append(g.getId()).append(g.getStartedAt()).append(g.getEndsAt()).append(g.isWordRevealed())
+                        .append(new TreeMap<>(g.getVotes())).append(new TreeMap<>(g.getCardOpened()))
+                        .append(g.getSummary() == null ? "-" : new TreeMap<>(g.getSummary().getScores()));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
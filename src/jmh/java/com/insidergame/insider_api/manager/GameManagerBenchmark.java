@@ -0,0 +1,92 @@
+package com.insidergame.insider_api.manager;
+
+import ch.qos.logback.classic.Logger;
+import com.insidergame.insider_api.dto.GameHistoryDto;
+import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.model.Game;
+import com.insidergame.insider_api.model.Player;
+import com.insidergame.insider_api.scoring.SlotScoringEngine;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-game mutations of GameManager (journal disabled) on one active game of {@code players}:
+ * votes, card opens (every player in turn, the host included, which also opens bots' cards),
+ * scoring the game with its rule set, and building its history record (GameHistoryDto.of).
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="GameManagerBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameManagerBenchmark {
+
+    private static final String ROOM = "BENCH1";
+
+    @Param({"4", "8", "12"})
+    public int players;
+
+    private GameManager gameManager;
+    private Game game;
+    private String[] uuids;
+    private final Random random = new Random(42);
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+        Journal journal = new Journal(false, "unused", 1 << 20, false);
+        RoomManager roomManager = new RoomManager(journal);
+        gameManager = new GameManager(roomManager, journal, new SlotScoringEngine());
+
+        uuids = new String[players];
+        for (int p = 0; p < players; p++) uuids[p] = UUID.randomUUID().toString();
+        roomManager.createRoom(ROOM, "Bench", players, null, uuids[0], "host", List.of(), RuleSet.CLASSIC, 0);
+        for (int p = 1; p < players; p++) {
+            roomManager.addPlayerToRoom(ROOM, Player.builder().uuid(uuids[p]).playerName("p" + p)
+                    .joinedAt(LocalDateTime.now()).isHost(false).build());
+        }
+        Map<String, RoleType> roles = new HashMap<>();
+        for (int p = 0; p < players; p++) {
+            roomManager.setPlayerReady(ROOM, uuids[p], true);
+            roles.put(uuids[p], p == 0 ? RoleType.MASTER : p == 1 ? RoleType.INSIDER : RoleType.CITIZEN);
+        }
+        game = gameManager.createGame(ROOM, "word", 300, roles, RuleSet.CLASSIC);
+        for (String voter : uuids) gameManager.recordVote(ROOM, voter, uuids[random.nextInt(players)]);
+        gameManager.scoreGame(ROOM);
+        game.setArchivedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public Map<String, Integer> recordVote() {
+        return gameManager.recordVote(ROOM, uuids[random.nextInt(players)], uuids[random.nextInt(players)]);
+    }
+
+    @Benchmark
+    public boolean markCardOpened() {
+        String uuid = uuids[next++ % players];
+        boolean changed = gameManager.markCardOpened(ROOM, uuid);
+        // Close it again (and any bot cards the host opened) so every call takes the opening path
+        game.getCardOpened().replaceAll((k, v) -> false);
+        return changed;
+    }
+
+    @Benchmark
+    public Optional<Game> scoreGame() {
+        return gameManager.scoreGame(ROOM);
+    }
+
+    @Benchmark
+    public GameHistoryDto historyRecord() {
+        return GameHistoryDto.of(game, ++next);
+    }
+}
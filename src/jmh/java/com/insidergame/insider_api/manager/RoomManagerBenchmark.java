@@ -0,0 +1,82 @@
+package com.insidergame.insider_api.manager;
+
+import ch.qos.logback.classic.Logger;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.model.Player;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Room membership changes through RoomManager (journal disabled) at varying room sizes:
+ * <ul>
+ *   <li>createAndDelete - a room is created with its host and deleted again</li>
+ *   <li>joinAndLeave - a guest joins a room of {@code players} and leaves it</li>
+ *   <li>hostTransfer - the host leaves (the seat goes to the next joiner) and rejoins as a guest</li>
+ * </ul>
+ * Pairs keep the room the same size from one invocation to the next, so each number is the cost of both halves.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="RoomManagerBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoomManagerBenchmark {
+
+    private static final String ROOM = "BENCH1";
+
+    @Param({"2", "8", "16"})
+    public int players;
+
+    private RoomManager roomManager;
+    private Player guest;
+    private String[] uuids;
+    private int nextCode;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+        roomManager = new RoomManager(new Journal(false, "unused", 1 << 20, false));
+        uuids = new String[players];
+        for (int p = 0; p < players; p++) uuids[p] = UUID.randomUUID().toString();
+        roomManager.createRoom(ROOM, "Bench", players + 1, null, uuids[0], "host", List.of(), RuleSet.CLASSIC, 0);
+        for (int p = 1; p < players; p++) roomManager.addPlayerToRoom(ROOM, player(uuids[p]));
+        guest = player(UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public boolean createAndDelete() {
+        String code = String.format("C%05d", nextCode++ & 0xFFFF);
+        roomManager.createRoom(code, "Bench", players, null, uuids[0], "host", List.of(), RuleSet.CLASSIC, 0);
+        roomManager.deleteRoom(code);
+        return roomManager.roomExists(code);
+    }
+
+    @Benchmark
+    public boolean joinAndLeave() {
+        roomManager.joinRoom(ROOM, guest, null);
+        return roomManager.removePlayerFromRoom(ROOM, guest.getUuid()).roomDeleted();
+    }
+
+    @Benchmark
+    public boolean hostTransfer() {
+        String host = roomManager.getRoomSnapshot(ROOM).orElseThrow().getHostUuid();
+        boolean deleted = roomManager.removePlayerFromRoom(ROOM, host).roomDeleted();
+        roomManager.addPlayerToRoom(ROOM, player(host));
+        return deleted;
+    }
+
+    private static Player player(String uuid) {
+        LocalDateTime now = LocalDateTime.now();
+        return Player.builder().uuid(uuid).playerName("p-" + uuid.substring(0, 4)).joinedAt(now)
+                .isHost(false).lastActiveAt(now).build();
+    }
+}
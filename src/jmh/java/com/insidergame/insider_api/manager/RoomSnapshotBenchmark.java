@@ -0,0 +1,159 @@
+package com.insidergame.insider_api.manager;
+
+import ch.qos.logback.classic.Logger;
+import com.insidergame.insider_api.dto.PlayerDto;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.model.Player;
+import com.insidergame.insider_api.model.Room;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Concurrent readers vs one writer over the same rooms, for the live Room.players HashSet (before
+ * RoomSnapshot) and for the published snapshots. Readers build the player list of a room update, as
+ * broadcastRoomUpdate, the lobby and the game services do; the writer toggles ready flags and makes
+ * players leave and rejoin. "torn" counts live reads that failed because the set changed under them.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="RoomSnapshotBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class RoomSnapshotBenchmark {
+
+    private static final int PLAYERS = 8;
+
+    @Param({"16", "1024"})
+    public int rooms;
+
+    private Journal journal;
+    private RoomManager roomManager;
+    // Today's structure without snapshots: the same rooms, mutated in place under the same lock
+    private Map<String, Room> live;
+    private String[] codes;
+    private String[][] uuids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+        journal = new Journal(false, "unused", 1 << 20, false);
+        roomManager = new RoomManager(journal);
+        live = new HashMap<>();
+        codes = new String[rooms];
+        uuids = new String[rooms][PLAYERS];
+        for (int r = 0; r < rooms; r++) {
+            String code = String.format("R%05d", r);
+            codes[r] = code;
+            for (int p = 0; p < PLAYERS; p++) uuids[r][p] = UUID.randomUUID().toString();
+            roomManager.createRoom(code, "Room " + r, 12, null, uuids[r][0], "p0", List.of(), RuleSet.CLASSIC, 3);
+            Room room = Room.builder().roomCode(code).roomName("Room " + r).maxPlayers(12)
+                    .hostUuid(uuids[r][0]).players(new HashSet<>()).build();
+            for (int p = 0; p < PLAYERS; p++) {
+                if (p > 0) roomManager.addPlayerToRoom(code, player(uuids[r][p]));
+                room.addPlayer(player(uuids[r][p]));
+            }
+            live.put(code, room);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Torn {
+        public long torn;
+    }
+
+    // ---- live HashSet ----
+
+    @Benchmark
+    @Group("live")
+    @GroupThreads(3)
+    public List<PlayerDto> liveRead(Torn torn) {
+        Room room = live.get(codes[ThreadLocalRandom.current().nextInt(rooms)]);
+        try {
+            return room.getPlayers().stream()
+                    .map(RoomSnapshotBenchmark::toDto)
+                    .sorted(Comparator.comparing(PlayerDto::getJoinedAt, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .collect(Collectors.toList());
+        } catch (RuntimeException ex) {
+            // ConcurrentModificationException, or a stream sized before a join that overflows
+            torn.torn++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Group("live")
+    @GroupThreads(1)
+    public void liveWrite(Blackhole bh) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int r = random.nextInt(rooms);
+        String uuid = uuids[r][1 + random.nextInt(PLAYERS - 1)];
+        Room room = live.get(codes[r]);
+        journal.guard(codes[r], () -> {
+            if (random.nextBoolean()) {
+                room.getPlayers().stream().filter(p -> p.getUuid().equals(uuid)).findFirst()
+                        .ifPresent(p -> p.setReady(!p.isReady()));
+            } else {
+                room.removePlayer(uuid);
+                room.addPlayer(player(uuid));
+            }
+        });
+        bh.consume(room);
+    }
+
+    // ---- snapshots ----
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(3)
+    public List<PlayerDto> snapshotRead() {
+        return roomManager.getRoomSnapshot(codes[ThreadLocalRandom.current().nextInt(rooms)])
+                .map(s -> s.getPlayerDtos()).orElse(null);
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(1)
+    public void snapshotWrite(Blackhole bh) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int r = random.nextInt(rooms);
+        String uuid = uuids[r][1 + random.nextInt(PLAYERS - 1)];
+        if (random.nextBoolean()) {
+            bh.consume(roomManager.setPlayerReady(codes[r], uuid, random.nextBoolean()));
+        } else {
+            roomManager.removePlayerFromRoom(codes[r], uuid);
+            bh.consume(roomManager.addPlayerToRoom(codes[r], player(uuid)));
+        }
+    }
+
+    private static Player player(String uuid) {
+        return Player.builder().uuid(uuid).playerName("p-" + uuid.substring(0, 4)).joinedAt(LocalDateTime.now())
+                .isHost(false).lastActiveAt(LocalDateTime.now()).build();
+    }
+
+    // As RoomWebSocketController.convertToPlayerDto did before snapshots
+    private static PlayerDto toDto(Player player) {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        return PlayerDto.builder()
+                .uuid(player.getUuid())
+                .playerName(player.getPlayerName())
+                .isReady(player.isReady())
+                .isPlaying(player.isPlaying())
+                .joinedAt(player.getJoinedAt() == null ? null : player.getJoinedAt().format(formatter))
+                .isActive(player.isActive())
+                .lastActiveAt(player.getLastActiveAt() == null ? null : player.getLastActiveAt().format(formatter))
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.insidergame.insider_api.scoring;
+
+import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.model.GameSummary;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Verbatim copy of the scoring method that GameServiceImpl used before SlotScoringEngine,
+ * kept as the benchmark baseline and as the reference for CLASSIC results.
+ */
+final class LegacyScoring {
+
+    private LegacyScoring() {
+    }
+
+    static GameSummary score(String word, Map<String, RoleType> roles, Map<String, String> votes) {
+        if (votes == null) votes = Collections.emptyMap();
+        Map<String, Integer> scores = new HashMap<>();
+        Map<String, Integer> voteTally = new HashMap<>();
+
+        // Find INSIDER and MASTER
+        String insiderUuid = null;
+        String masterUuid = null;
+        List<String> citizenUuids = new ArrayList<>();
+
+        for (Map.Entry<String, RoleType> entry : roles.entrySet()) {
+            String uuid = entry.getKey();
+            RoleType role = entry.getValue();
+
+            scores.put(uuid, 0); // Initialize all scores to 0
+
+            if (role == RoleType.INSIDER) {
+                insiderUuid = uuid;
+            } else if (role == RoleType.MASTER) {
+                masterUuid = uuid;
+            } else if (role == RoleType.CITIZEN) {
+                citizenUuids.add(uuid);
+            }
+        }
+
+        // Calculate vote tally (exclude MASTER's vote from citizen vote count)
+        for (Map.Entry<String, String> vote : votes.entrySet()) {
+            String target = vote.getValue();
+            voteTally.put(target, voteTally.getOrDefault(target, 0) + 1);
+        }
+
+        // Find most voted player(s)
+        int maxVotes = voteTally.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        List<String> mostVoted = voteTally.entrySet().stream()
+            .filter(e -> e.getValue() == maxVotes)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+
+        // Check if INSIDER was caught (is most voted)
+        boolean insiderCaught = mostVoted.contains(insiderUuid);
+
+        // TODO: Check if CITIZENS answered correctly - this needs to be tracked separately
+        // For now, assume false (you need to add this logic based on your game flow)
+        boolean citizensAnsweredCorrectly = false;
+
+        // Calculate CITIZEN scores
+        int citizenVotesForInsider = 0;
+        for (String citizenUuid : citizenUuids) {
+            String votedFor = votes.get(citizenUuid);
+            if (votedFor != null && votedFor.equals(insiderUuid)) {
+                citizenVotesForInsider++;
+            }
+        }
+
+        // CITIZEN scoring:
+        // +1 if more than half of CITIZENS voted for INSIDER
+        if (citizenUuids.size() > 0 && citizenVotesForInsider > citizenUuids.size() / 2.0) {
+            for (String citizenUuid : citizenUuids) {
+                scores.put(citizenUuid, scores.get(citizenUuid) + 1);
+            }
+        }
+
+        // +1 if CITIZENS answered the word correctly
+        if (citizensAnsweredCorrectly) {
+            for (String citizenUuid : citizenUuids) {
+                scores.put(citizenUuid, scores.get(citizenUuid) + 1);
+            }
+        }
+
+        // INSIDER scoring:
+        if (insiderUuid != null) {
+            // +1 if helped CITIZENS answer correctly
+            if (citizensAnsweredCorrectly) {
+                scores.put(insiderUuid, scores.get(insiderUuid) + 1);
+            }
+
+            // +1 if not caught (>= half of CITIZENS didn't vote for INSIDER)
+            if (citizenUuids.size() > 0 && citizenVotesForInsider < citizenUuids.size() / 2.0) {
+                scores.put(insiderUuid, scores.get(insiderUuid) + 1);
+            }
+        }
+
+        // MASTER scoring:
+        if (masterUuid != null) {
+            // +1 base score
+            scores.put(masterUuid, scores.get(masterUuid) + 1);
+
+            // +1 if caught INSIDER (INSIDER is most voted)
+            if (insiderCaught) {
+                scores.put(masterUuid, scores.get(masterUuid) + 1);
+            }
+        }
+
+        return GameSummary.builder()
+            .scores(scores)
+            .voteTally(voteTally)
+            .mostVoted(mostVoted)
+            .insiderCaught(insiderCaught)
+            .citizensAnsweredCorrectly(citizensAnsweredCorrectly)
+            .insiderUuid(insiderUuid)
+            .masterUuid(masterUuid)
+            .word(word)
+            .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.insidergame.insider_api.scoring;
+
+import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.model.GameSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legacy map/stream scoring vs SlotScoringEngine over a pool of pre-built games.
+ * Setup also checks that both produce the same CLASSIC scores for every game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+
+    private static final int GAMES = 1024;
+
+    @Param({"4", "8", "12"})
+    public int players;
+
+    private final SlotScoringEngine engine = new SlotScoringEngine();
+    private final ScoringRules classic = RuleSet.CLASSIC.getRules();
+
+    private Map<String, RoleType>[] roles;
+    private Map<String, String>[] votes;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        Random random = new Random(42);
+        roles = new Map[GAMES];
+        votes = new Map[GAMES];
+        for (int g = 0; g < GAMES; g++) {
+            List<String> uuids = new ArrayList<>(players);
+            for (int p = 0; p < players; p++) uuids.add(UUID.randomUUID().toString());
+            Collections.shuffle(uuids, random);
+
+            Map<String, RoleType> r = new HashMap<>();
+            r.put(uuids.get(0), RoleType.MASTER);
+            r.put(uuids.get(1), RoleType.INSIDER);
+            for (int p = 2; p < players; p++) r.put(uuids.get(p), RoleType.CITIZEN);
+
+            Map<String, String> v = new HashMap<>();
+            for (String voter : uuids) {
+                // Copy, as ids arriving in vote messages are distinct String instances from the role keys
+                v.put(voter, new String(uuids.get(random.nextInt(players))));
+            }
+            roles[g] = r;
+            votes[g] = v;
+
+            GameSummary expected = LegacyScoring.score("word", r, v);
+            GameSummary actual = engine.score("word", r, v, classic);
+            if (!expected.getScores().equals(actual.getScores())
+                    || !expected.getVoteTally().equals(actual.getVoteTally())
+                    || !new HashSet<>(expected.getMostVoted()).equals(new HashSet<>(actual.getMostVoted()))
+                    || expected.isInsiderCaught() != actual.isInsiderCaught()) {
+                throw new IllegalStateException("SlotScoringEngine disagrees with legacy scoring on game " + g);
+            }
+        }
+    }
+
+    @Benchmark
+    public GameSummary legacy() {
+        int g = next++ & (GAMES - 1);
+        return LegacyScoring.score("word", roles[g], votes[g]);
+    }
+
+    @Benchmark
+    public GameSummary slots() {
+        int g = next++ & (GAMES - 1);
+        return engine.score("word", roles[g], votes[g], classic);
+    }
+}
@@ -0,0 +1,48 @@
+package com.insidergame.insider_api.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil token handling: signing a new token (player registration), verifying a token already in the
+ * verified-token cache (every later STOMP CONNECT and REST call), and a full signature check and parse
+ * (a token's first use, or extractUuid which always parses).
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtUtilBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtUtilBenchmark {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private final String uuid = UUID.randomUUID().toString();
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        token = jwtUtil.generateToken(uuid, "Bench player");
+        if (jwtUtil.verify(token).isEmpty()) throw new IllegalStateException("Generated token does not verify");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(uuid, "Bench player");
+    }
+
+    @Benchmark
+    public Optional<JwtUtil.VerifiedToken> verifyCached() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public String verifyUncached() {
+        return jwtUtil.extractUuid(token);
+    }
+}
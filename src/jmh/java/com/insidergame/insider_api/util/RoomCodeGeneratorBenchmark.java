@@ -0,0 +1,64 @@
+package com.insidergame.insider_api.util;
+
+import ch.qos.logback.classic.Logger;
+import com.insidergame.insider_api.cluster.ClusterRouter;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.manager.RoomManager;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing a free room code as RoomServiceImpl.createRoom does (draw until this node owns the code and no
+ * room has it), with {@code rooms} rooms already open and this node one of {@code nodes}.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="RoomCodeGeneratorBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoomCodeGeneratorBenchmark {
+
+    @Param({"0", "10000", "100000"})
+    public int rooms;
+
+    @Param({"1", "3"})
+    public int nodes;
+
+    private RoomCodeGenerator generator;
+    private RoomManager roomManager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+        StringBuilder spec = new StringBuilder();
+        for (int n = 0; nodes > 1 && n < nodes; n++) {
+            if (n > 0) spec.append(',');
+            spec.append("n").append(n).append("=http://127.0.0.1:").append(18000 + n);
+        }
+        ClusterRouter router = new ClusterRouter("n0", spec.toString(), 128);
+        generator = new RoomCodeGenerator(router);
+        roomManager = new RoomManager(new Journal(false, "unused", 1 << 20, false));
+        while (roomManager.getTotalRooms() < rooms) {
+            String code = generator.generateRoomCode();
+            if (!roomManager.roomExists(code)) {
+                roomManager.createRoom(code, "Room", 8, null, "host-" + code, "host", List.of(), RuleSet.CLASSIC, 0);
+            }
+        }
+    }
+
+    @Benchmark
+    public String freeCode() {
+        String roomCode;
+        do {
+            roomCode = generator.generateRoomCode();
+        } while (roomManager.roomExists(roomCode));
+        return roomCode;
+    }
+}
@@ -0,0 +1,88 @@
+package com.insidergame.insider_api.websocket;
+
+import ch.qos.logback.classic.Logger;
+import com.insidergame.insider_api.dto.RoomUpdateMessage;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.Player;
+import com.insidergame.insider_api.model.RoomSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a room update as broadcastRoomUpdate does, for a room of {@code players}:
+ * <ul>
+ *   <li>build - the RoomUpdateMessage from a snapshot whose player DTOs are already cached</li>
+ *   <li>buildAndSerialize - the same plus Jackson serialization, i.e. a cache miss</li>
+ *   <li>freshSnapshot - a new snapshot after a change (as a join or ready toggle publishes), built and serialized</li>
+ *   <li>cached - a repeat broadcast of the same snapshot and type</li>
+ * </ul>
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="RoomBroadcastBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoomBroadcastBenchmark {
+
+    private static final String ROOM = "BENCH1";
+    private static final String TYPE = "PLAYER_READY";
+
+    @Param({"4", "8", "12"})
+    public int players;
+
+    private final JsonMapper jsonMapper = new JsonMapper();
+    private RoomManager roomManager;
+    private RoomSnapshot snapshot;
+    private String[] uuids;
+    private boolean ready;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+        roomManager = new RoomManager(new Journal(false, "unused", 1 << 20, false));
+        uuids = new String[players];
+        for (int p = 0; p < players; p++) uuids[p] = UUID.randomUUID().toString();
+        roomManager.createRoom(ROOM, "Bench room", players, null, uuids[0], "host", List.of(), RuleSet.CLASSIC, 0);
+        for (int p = 1; p < players; p++) {
+            LocalDateTime now = LocalDateTime.now();
+            roomManager.addPlayerToRoom(ROOM, Player.builder().uuid(uuids[p]).playerName("Player " + p)
+                    .joinedAt(now).isHost(false).lastActiveAt(now).build());
+        }
+        snapshot = roomManager.getRoomSnapshot(ROOM).orElseThrow();
+        snapshot.getPlayerDtos();
+    }
+
+    @Benchmark
+    public RoomUpdateMessage build() {
+        return RoomWebSocketController.buildRoomUpdateMessage(snapshot, TYPE);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerialize() {
+        return jsonMapper.writeValueAsBytes(RoomWebSocketController.buildRoomUpdateMessage(snapshot, TYPE));
+    }
+
+    @Benchmark
+    public byte[] freshSnapshot() {
+        ready = !ready;
+        roomManager.setPlayerReady(ROOM, uuids[players - 1], ready);
+        RoomSnapshot room = roomManager.getRoomSnapshot(ROOM).orElseThrow();
+        return room.serialized(TYPE, type -> jsonMapper.writeValueAsBytes(RoomWebSocketController.buildRoomUpdateMessage(room, type)));
+    }
+
+    @Benchmark
+    public byte[] cached() {
+        return snapshot.serialized(TYPE, type -> jsonMapper.writeValueAsBytes(RoomWebSocketController.buildRoomUpdateMessage(snapshot, type)));
+    }
+}
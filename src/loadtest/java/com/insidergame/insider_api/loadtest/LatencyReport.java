@@ -0,0 +1,62 @@
+package com.insidergame.insider_api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency per message type (request sent to the reply it causes arriving at the sender), failures, and
+ * overall message counts for the throughput lines.
+ */
+final class LatencyReport {
+
+    private final Map<String, Type> types = new ConcurrentSkipListMap<>();
+    final AtomicLong sent = new AtomicLong();
+    final AtomicLong received = new AtomicLong();
+    final AtomicLong games = new AtomicLong();
+
+    void record(String type, long nanos) {
+        typeOf(type).micros.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    void failed(String type) {
+        typeOf(type).failures.incrementAndGet();
+    }
+
+    long failures() {
+        return types.values().stream().mapToLong(t -> t.failures.get()).sum();
+    }
+
+    private Type typeOf(String type) {
+        return types.computeIfAbsent(type, k -> new Type());
+    }
+
+    void print(PrintStream out, LoadTestOptions options, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%n%d rooms x %d players, %d games each, think %d ms: %.1f s%n",
+                options.rooms(), options.players(), options.games(), options.thinkMillis(), seconds);
+        out.printf("games played   %10d  %10.2f /s%n", games.get(), games.get() / seconds);
+        out.printf("messages sent  %10d  %10.1f /s%n", sent.get(), sent.get() / seconds);
+        out.printf("frames recv'd  %10d  %10.1f /s%n%n", received.get(), received.get() / seconds);
+        out.printf("%-14s %9s %7s %10s %10s %10s %10s%n", "type", "count", "failed", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        types.forEach((name, type) -> {
+            Histogram h = type.micros;
+            out.printf("%-14s %9d %7d %10.2f %10.2f %10.2f %10.2f%n", name, h.getTotalCount(), type.failures.get(),
+                    millis(h, 50), millis(h, 99), millis(h, 99.9), h.getTotalCount() == 0 ? 0 : h.getMaxValue() / 1000.0);
+        });
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return h.getTotalCount() == 0 ? 0 : h.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class Type {
+        private final Histogram micros = new ConcurrentHistogram(3);
+        private final AtomicLong failures = new AtomicLong();
+    }
+}
@@ -0,0 +1,132 @@
+package com.insidergame.insider_api.loadtest;
+
+import com.insidergame.insider_api.InsiderApiApplication;
+import com.insidergame.insider_api.entity.CategoryEntity;
+import com.insidergame.insider_api.manager.WordPackManager;
+import com.insidergame.insider_api.repository.CategoryRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application in this JVM on a random port, against an in-memory H2 database and a throwaway
+ * journal directory, then plays {@code rooms} rooms of {@code players} simulated clients at once over
+ * real WebSocket/STOMP connections (see {@link RoomScenario}) and prints throughput and latency percentiles
+ * per message type. Exits non-zero if any room failed.
+ *
+ * Run: mvn -Ploadtest test-compile exec:exec -Dloadtest.args="rooms=200 players=8 games=3 think-ms=300"
+ */
+public final class LoadTest {
+
+    private static final int WORDS = 200;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path dir = Files.createTempDirectory("insider-loadtest");
+        ConfigurableApplicationContext app = start(options, dir);
+        int exitCode = 1;
+        try {
+            seedWords(app);
+            int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            exitCode = run(options, port);
+        } finally {
+            app.close();
+            deleteRecursively(dir);
+        }
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestOptions options, Path dir) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        // application.properties pins the PostgreSQL dialect
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("insider.journal.dir", dir.resolve("journal").toString());
+        properties.put("insider.snapshot.dir", dir.resolve("journal").toString());
+        properties.put("insider.history.segment-dir", dir.resolve("history-segments").toString());
+        // Per-message INFO logging would dominate the measurements
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(options.appProperties());
+        // As command line arguments, so they override application.properties
+        String[] args = properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+        // Devtools would restart the app in a new class loader, out of reach of this JVM's main thread
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(InsiderApiApplication.class).run(args);
+    }
+
+    // Games draw their word from the category table, which starts out empty
+    private static void seedWords(ConfigurableApplicationContext app) {
+        List<CategoryEntity> words = new ArrayList<>(WORDS);
+        for (int i = 0; i < WORDS; i++) {
+            CategoryEntity word = new CategoryEntity();
+            word.setCategoryName(String.format("word-%03d", i));
+            word.setImageUrl("");
+            words.add(word);
+        }
+        app.getBean(CategoryRepository.class).saveAll(words);
+        app.getBean(WordPackManager.class).reload();
+    }
+
+    private static int run(LoadTestOptions options, int port) throws InterruptedException {
+        JsonMapper json = new JsonMapper();
+        HttpClient http = HttpClient.newHttpClient();
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new JacksonJsonMessageConverter(json));
+        stompClient.setInboundMessageSizeLimit(1 << 20);
+        LatencyReport report = new LatencyReport();
+
+        System.out.printf("Playing %d rooms x %d players (%d clients) against localhost:%d%n",
+                options.rooms(), options.players(), options.clients(), port);
+        List<RoomScenario> rooms = new ArrayList<>(options.rooms());
+        ExecutorService pool = Executors.newFixedThreadPool(options.rooms());
+        long start = System.nanoTime();
+        for (int r = 0; r < options.rooms(); r++) {
+            RoomScenario room = new RoomScenario(r, "http://localhost:" + port, "ws://localhost:" + port + "/ws/websocket",
+                    http, json, stompClient, options, report);
+            rooms.add(room);
+            pool.execute(room);
+        }
+        pool.shutdown();
+        while (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+            System.out.printf("... %d games played, %d messages sent%n", report.games.get(), report.sent.get());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        report.print(System.out, options, elapsed);
+        long failedRooms = rooms.stream().filter(RoomScenario::isFailed).count();
+        if (failedRooms > 0) System.out.printf("%n%d of %d rooms failed%n", failedRooms, options.rooms());
+        return failedRooms == 0 ? 0 : 1;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(path);
+        }
+    }
+}
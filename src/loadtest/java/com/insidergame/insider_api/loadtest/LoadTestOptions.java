@@ -0,0 +1,50 @@
+package com.insidergame.insider_api.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line of {@link LoadTest}: name=value pairs (a leading -- is allowed). Options with a dot in their
+ * name (e.g. insider.journal.fsync=false, logging.level.root=INFO) are passed to the application instead.
+ */
+record LoadTestOptions(int rooms, int players, int games, long thinkMillis, long rampMillis, long timeoutMillis,
+                       Map<String, String> appProperties) {
+
+    static LoadTestOptions parse(String[] args) {
+        int rooms = 50;
+        int players = 6;
+        int games = 2;
+        long thinkMillis = 200;
+        long rampMillis = 5_000;
+        long timeoutMillis = 15_000;
+        Map<String, String> appProperties = new LinkedHashMap<>();
+
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = option.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected name=value, got " + arg);
+            String name = option.substring(0, eq);
+            String value = option.substring(eq + 1);
+            switch (name) {
+                case "rooms" -> rooms = Integer.parseInt(value);
+                case "players" -> players = Integer.parseInt(value);
+                case "games" -> games = Integer.parseInt(value);
+                case "think-ms" -> thinkMillis = Long.parseLong(value);
+                case "ramp-ms" -> rampMillis = Long.parseLong(value);
+                case "timeout-ms" -> timeoutMillis = Long.parseLong(value);
+                default -> {
+                    if (!name.contains(".")) throw new IllegalArgumentException("Unknown option " + name);
+                    appProperties.put(name, value);
+                }
+            }
+        }
+        // Same bounds as room creation
+        if (players < 2 || players > 12) throw new IllegalArgumentException("players must be between 2 and 12");
+        if (rooms < 1 || games < 1) throw new IllegalArgumentException("rooms and games must be at least 1");
+        return new LoadTestOptions(rooms, players, games, thinkMillis, rampMillis, timeoutMillis, appProperties);
+    }
+
+    int clients() {
+        return rooms * players;
+    }
+}
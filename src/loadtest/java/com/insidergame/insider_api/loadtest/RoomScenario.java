@@ -0,0 +1,212 @@
+package com.insidergame.insider_api.loadtest;
+
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * One room played start to finish the way the web client plays it: every player registers and connects, the
+ * host creates the room, everyone joins and readies up, the host starts once the room switches to PLAYING,
+ * players fetch the active game and open their cards, the MASTER ends the round, everyone votes, the host asks
+ * for the summary and the room resets - then again for the next game, and finally everyone leaves.
+ * <p>
+ * Players of one room take turns (each after its think time), so every reply is unambiguously the one its
+ * request caused; rooms run concurrently.
+ */
+final class RoomScenario implements Runnable {
+
+    private final int index;
+    private final String baseUrl;
+    private final String wsUrl;
+    private final HttpClient http;
+    private final JsonMapper json;
+    private final WebSocketStompClient stompClient;
+    private final LoadTestOptions options;
+    private final LatencyReport report;
+    private final Random random;
+    private final List<SimulatedClient> clients = new ArrayList<>();
+    private volatile boolean failed;
+
+    RoomScenario(int index, String baseUrl, String wsUrl, HttpClient http, JsonMapper json,
+                 WebSocketStompClient stompClient, LoadTestOptions options, LatencyReport report) {
+        this.index = index;
+        this.baseUrl = baseUrl;
+        this.wsUrl = wsUrl;
+        this.http = http;
+        this.json = json;
+        this.stompClient = stompClient;
+        this.options = options;
+        this.report = report;
+        this.random = new Random(index);
+    }
+
+    boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public void run() {
+        try {
+            Thread.sleep(options.rampMillis() * index / options.rooms());
+            for (int p = 0; p < options.players(); p++) clients.add(register("r" + index + "p" + p));
+            SimulatedClient host = clients.get(0);
+            String roomCode = createRoom(host);
+
+            for (SimulatedClient client : clients) {
+                long start = System.nanoTime();
+                client.connect(stompClient, wsUrl, roomCode, options.timeoutMillis());
+                report.record("connect", System.nanoTime() - start);
+                // The first broadcast seen after a presence ping also proves the room subscription is live
+                request(client, "presence", null, SimulatedClient.ROOM, type("ROOM_UPDATE"));
+            }
+            for (SimulatedClient client : clients) {
+                think();
+                request(client, "join", Map.of("playerName", client.name()), SimulatedClient.ROOM,
+                        m -> (is(m, "PLAYER_JOINED") || is(m, "ROOM_UPDATE")) && client.listsMe(m));
+            }
+            for (int game = 0; game < options.games(); game++) {
+                playGame(host);
+            }
+            for (int p = clients.size() - 1; p > 0; p--) {
+                think();
+                SimulatedClient client = clients.get(p);
+                request(client, "leave", null, SimulatedClient.ROOM, m -> is(m, "PLAYER_LEFT") && !client.listsMe(m));
+            }
+            // Last one out deletes the room, which has no one left to tell
+            host.send("leave", null);
+        } catch (InterruptedException ex) {
+            failed = true;
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            failed = true;
+            System.err.printf("room %d failed: %s%n", index, ex);
+        } finally {
+            clients.forEach(SimulatedClient::disconnect);
+        }
+    }
+
+    private void playGame(SimulatedClient host) throws Exception {
+        CompletableFuture<JsonNode> playing = host.expect(SimulatedClient.ROOM, type("ROOM_PLAYING"));
+        for (SimulatedClient client : shuffled()) {
+            think();
+            request(client, "ready", null, SimulatedClient.ROOM, m -> is(m, "PLAYER_READY") && client.isReady(m));
+        }
+        // The server switches the room to PLAYING a few seconds after the last player is ready
+        await(host, playing, "ROOM_PLAYING", options.timeoutMillis() + 5_000);
+
+        List<CompletableFuture<JsonNode>> roles = new ArrayList<>();
+        for (SimulatedClient client : clients) roles.add(client.expect(SimulatedClient.GAME_PRIVATE, m -> true));
+        think();
+        request(host, "start", null, SimulatedClient.ROOM, type("GAME_STARTED"));
+        SimulatedClient master = null;
+        for (int p = 0; p < clients.size(); p++) {
+            JsonNode role = await(clients.get(p), roles.get(p), "game_private", options.timeoutMillis());
+            if ("MASTER".equals(role.path("role").asString())) master = clients.get(p);
+        }
+        if (master == null) throw new IllegalStateException("no MASTER in game");
+
+        for (SimulatedClient client : shuffled()) {
+            think();
+            request(client, "active_game", null, SimulatedClient.ACTIVE_GAME, m -> true);
+        }
+        for (SimulatedClient client : shuffled()) {
+            think();
+            request(client, "open_card", null, SimulatedClient.ROOM, type("CARD_OPENED"));
+        }
+        think();
+        request(master, "master_end", null, SimulatedClient.ROOM, type("VOTE_STARTED"));
+        for (SimulatedClient client : shuffled()) {
+            think();
+            SimulatedClient target = clients.get(random.nextInt(clients.size()));
+            if (target == client) target = clients.get((clients.indexOf(client) + 1) % clients.size());
+            request(client, "vote", Map.of("targetPlayerUuid", target.uuid()), SimulatedClient.ROOM, type("VOTE_CAST"));
+        }
+
+        CompletableFuture<JsonNode> reset = host.expect(SimulatedClient.ROOM, type("ROOM_RESET_AFTER_GAME"));
+        think();
+        request(host, "host_summary", null, SimulatedClient.ROOM, type("GAME_FINISHED_WITH_SCORING"));
+        // Scores stay on screen for a few seconds before the room resets
+        await(host, reset, "ROOM_RESET_AFTER_GAME", options.timeoutMillis() + 5_000);
+        report.games.incrementAndGet();
+    }
+
+    private SimulatedClient register(String name) throws Exception {
+        JsonNode data = post("register", "/api/player/register", Map.of("playerName", name));
+        return new SimulatedClient(data.path("uuid").asString(), name, data.path("token").asString(), report);
+    }
+
+    private String createRoom(SimulatedClient host) throws Exception {
+        JsonNode data = post("create", "/api/room/create", Map.of(
+                "roomName", "Load " + index,
+                "maxPlayers", options.players(),
+                "hostUuid", host.uuid(),
+                "hostName", host.name()));
+        return data.path("roomCode").asString();
+    }
+
+    // REST call returning ApiResponse.data; recorded under the given type
+    private JsonNode post(String type, String path, Object body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMillis(options.timeoutMillis()))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        JsonNode reply = json.readTree(response.body());
+        if (response.statusCode() >= 300 || !reply.path("success").asBoolean()) {
+            report.failed(type);
+            throw new IllegalStateException(path + " -> " + response.statusCode() + " " + reply.path("message").asString());
+        }
+        report.record(type, System.nanoTime() - start);
+        return reply.path("data");
+    }
+
+    private void request(SimulatedClient client, String action, Object payload, String channel,
+                         Predicate<JsonNode> match) throws Exception {
+        client.request(action, payload, channel, match, options.timeoutMillis());
+    }
+
+    private JsonNode await(SimulatedClient client, CompletableFuture<JsonNode> reply, String what, long timeoutMillis) throws Exception {
+        try {
+            return reply.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception ex) {
+            client.cancel(reply);
+            throw new IllegalStateException("no " + what + " within " + timeoutMillis + " ms", ex);
+        }
+    }
+
+    private List<SimulatedClient> shuffled() {
+        List<SimulatedClient> order = new ArrayList<>(clients);
+        Collections.shuffle(order, random);
+        return order;
+    }
+
+    // Think time of +-50% around the configured mean
+    private void think() throws InterruptedException {
+        long mean = options.thinkMillis();
+        if (mean > 0) Thread.sleep(mean / 2 + (long) (random.nextDouble() * mean));
+    }
+
+    private static Predicate<JsonNode> type(String type) {
+        return m -> is(m, type);
+    }
+
+    private static boolean is(JsonNode message, String type) {
+        return type.equals(message.path("type").asString());
+    }
+}
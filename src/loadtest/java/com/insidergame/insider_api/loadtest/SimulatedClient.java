@@ -0,0 +1,164 @@
+package com.insidergame.insider_api.loadtest;
+
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import tools.jackson.databind.JsonNode;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * One simulated player on its own STOMP session, subscribed like the web client to the room topic and its
+ * private queues. Replies are matched against expectations registered before the request is sent; every
+ * other frame is only counted.
+ */
+final class SimulatedClient {
+
+    static final String ROOM = "room";
+    static final String GAME_PRIVATE = "game_private";
+    static final String ACTIVE_GAME = "active_game";
+
+    private final String uuid;
+    private final String name;
+    private final String token;
+    private final LatencyReport report;
+    private final List<Expectation> expectations = new ArrayList<>(); // guarded by itself
+    private StompSession session;
+    private String roomCode;
+
+    SimulatedClient(String uuid, String name, String token, LatencyReport report) {
+        this.uuid = uuid;
+        this.name = name;
+        this.token = token;
+        this.report = report;
+    }
+
+    String uuid() {
+        return uuid;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Connect (authenticated at CONNECT, as the web client does) and subscribe to the room and private queues
+     */
+    void connect(WebSocketStompClient stompClient, String url, String roomCode, long timeoutMillis) throws Exception {
+        this.roomCode = roomCode;
+        StompHeaders connect = new StompHeaders();
+        connect.add("Authorization", "Bearer " + token);
+        session = stompClient.connectAsync(URI.create(url), new WebSocketHttpHeaders(), connect, new StompSessionHandlerAdapter() {
+        }).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        session.subscribe("/topic/room/" + roomCode, new Handler(ROOM));
+        session.subscribe("/user/queue/game_private", new Handler(GAME_PRIVATE));
+        session.subscribe("/user/queue/active_game", new Handler(ACTIVE_GAME));
+    }
+
+    /**
+     * Register interest in a frame before triggering it; the future completes with the frame
+     */
+    CompletableFuture<JsonNode> expect(String channel, Predicate<JsonNode> match) {
+        Expectation expectation = new Expectation(channel, match);
+        synchronized (expectations) {
+            expectations.add(expectation);
+        }
+        return expectation.reply;
+    }
+
+    void send(String action, Object payload) {
+        session.send("/app/room/" + roomCode + "/" + action, payload == null ? Map.of() : payload);
+        report.sent.incrementAndGet();
+    }
+
+    /**
+     * Send /app/room/{code}/{action} and wait for the reply that matches; records the round trip under action
+     */
+    JsonNode request(String action, Object payload, String channel, Predicate<JsonNode> match, long timeoutMillis) throws Exception {
+        CompletableFuture<JsonNode> reply = expect(channel, match);
+        long start = System.nanoTime();
+        send(action, payload);
+        try {
+            JsonNode frame = reply.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            report.record(action, System.nanoTime() - start);
+            return frame;
+        } catch (Exception ex) {
+            report.failed(action);
+            cancel(reply);
+            throw ex;
+        }
+    }
+
+    void cancel(CompletableFuture<JsonNode> reply) {
+        synchronized (expectations) {
+            expectations.removeIf(e -> e.reply == reply);
+        }
+    }
+
+    void disconnect() {
+        if (session != null && session.isConnected()) session.disconnect();
+    }
+
+    // Frames of a room update that list this player
+    boolean listsMe(JsonNode update) {
+        for (JsonNode player : update.path("players")) {
+            if (uuid.equals(player.path("uuid").asString())) return true;
+        }
+        return false;
+    }
+
+    boolean isReady(JsonNode update) {
+        for (JsonNode player : update.path("players")) {
+            if (uuid.equals(player.path("uuid").asString())) return player.path("ready").asBoolean();
+        }
+        return false;
+    }
+
+    private record Expectation(String channel, Predicate<JsonNode> match, CompletableFuture<JsonNode> reply) {
+        Expectation(String channel, Predicate<JsonNode> match) {
+            this(channel, match, new CompletableFuture<>());
+        }
+    }
+
+    private final class Handler implements StompFrameHandler {
+
+        private final String channel;
+
+        Handler(String channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            report.received.incrementAndGet();
+            JsonNode frame = (JsonNode) payload;
+            List<Expectation> matched = new ArrayList<>(1);
+            synchronized (expectations) {
+                for (Iterator<Expectation> it = expectations.iterator(); it.hasNext(); ) {
+                    Expectation e = it.next();
+                    if (e.channel.equals(channel) && e.match.test(frame)) {
+                        it.remove();
+                        matched.add(e);
+                    }
+                }
+            }
+            for (Expectation e : matched) e.reply.complete(frame);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.insidergame.insider_api.api.admin;
+
+import com.insidergame.insider_api.bot.BotEngine;
+import com.insidergame.insider_api.bot.VoteStrategy;
+import com.insidergame.insider_api.cluster.ReplicationService;
+import com.insidergame.insider_api.common.ApiResponse;
+import com.insidergame.insider_api.diagnostics.RoomDiagnosticsService;
+import com.insidergame.insider_api.dto.BotStatus;
+import com.insidergame.insider_api.dto.DiagnosticsReport;
+import com.insidergame.insider_api.dto.DrainStatus;
+import com.insidergame.insider_api.dto.ReplicationStatus;
+import com.insidergame.insider_api.dto.RequestTraceDto;
+import com.insidergame.insider_api.dto.RescoreStatus;
+import com.insidergame.insider_api.dto.RoomDiagnostics;
+import com.insidergame.insider_api.service.CategoryService;
+import com.insidergame.insider_api.tracing.RequestTracer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final RescoreService rescoreService;
+    private final DrainService drainService;
+    private final ReplicationService replicationService;
+    private final RequestTracer requestTracer;
+    private final RoomDiagnosticsService roomDiagnosticsService;
+    private final BotEngine botEngine;
+    private final CategoryService categoryService;
+
+    public AdminController(RescoreService rescoreService, DrainService drainService, ReplicationService replicationService,
+                           RequestTracer requestTracer, RoomDiagnosticsService roomDiagnosticsService, BotEngine botEngine,
+                           CategoryService categoryService) {
+        this.rescoreService = rescoreService;
+        this.drainService = drainService;
+        this.replicationService = replicationService;
+        this.requestTracer = requestTracer;
+        this.roomDiagnosticsService = roomDiagnosticsService;
+        this.botEngine = botEngine;
+        this.categoryService = categoryService;
+    }
+
+    /**
+     * Re-score all archived games with the current scoring rules (runs in the background)
+     * POST /api/admin/rescore
+     */
+    @PostMapping("/rescore")
+    public ResponseEntity<ApiResponse<RescoreStatus>> startRescore() {
+        ApiResponse<RescoreStatus> response = rescoreService.startRescore();
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    /**
+     * Progress and throughput of the current (or last) re-scoring job
+     * GET /api/admin/rescore
+     */
+    @GetMapping("/rescore")
+    public ResponseEntity<ApiResponse<RescoreStatus>> getRescoreStatus() {
+        ApiResponse<RescoreStatus> response = rescoreService.getStatus();
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    /**
+     * Start draining this instance before a redeploy (optional timeoutSeconds overrides the configured wait)
+     * POST /api/admin/drain
+     */
+    @PostMapping("/drain")
+    public ResponseEntity<ApiResponse<DrainStatus>> startDrain(@RequestParam(required = false) Long timeoutSeconds) {
+        ApiResponse<DrainStatus> response = drainService.startDrain(timeoutSeconds);
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    /**
+     * Drain progress; the instance is safe to stop once state is DRAINED
+     * GET /api/admin/drain
+     */
+    @GetMapping("/drain")
+    public ResponseEntity<ApiResponse<DrainStatus>> getDrainStatus() {
+        ApiResponse<DrainStatus> response = drainService.getStatus();
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    /**
+     * Replication to followers (acked LSN, pending records, lag) and from owners
+     * GET /api/admin/replication
+     */
+    @GetMapping("/replication")
+    public ResponseEntity<ApiResponse<ReplicationStatus>> getReplicationStatus() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "", replicationService.getStatus(), HttpStatus.OK));
+    }
+
+    /**
+     * Recent slow room commands (over insider.tracing.slow-threshold-ms) with their time per stage, slowest first
+     * GET /api/admin/traces
+     */
+    @GetMapping("/traces")
+    public ResponseEntity<ApiResponse<List<RequestTraceDto>>> getSlowTraces() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "", requestTracer.getSlowTraces(), HttpStatus.OK));
+    }
+
+    /**
+     * Node totals plus the top rooms by activity rate and by estimated retained bytes
+     * GET /api/admin/rooms/diagnostics?top=10
+     */
+    @GetMapping("/rooms/diagnostics")
+    public ResponseEntity<ApiResponse<DiagnosticsReport>> getRoomDiagnostics(@RequestParam(defaultValue = "10") int top) {
+        DiagnosticsReport report = roomDiagnosticsService.getReport(Math.max(0, Math.min(top, 100)));
+        return ResponseEntity.ok(new ApiResponse<>(true, "", report, HttpStatus.OK));
+    }
+
+    /**
+     * Estimated footprint, activity rates and pending timers of one room
+     * GET /api/admin/rooms/{roomCode}/diagnostics
+     */
+    @GetMapping("/rooms/{roomCode}/diagnostics")
+    public ResponseEntity<ApiResponse<RoomDiagnostics>> getRoomDiagnostics(@PathVariable String roomCode) {
+        ApiResponse<RoomDiagnostics> response = roomDiagnosticsService.getRoom(roomCode);
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    /**
+     * Rooms and bots driven by this node's bot engine
+     * GET /api/admin/bots
+     */
+    @GetMapping("/bots")
+    public ResponseEntity<ApiResponse<BotStatus>> getBotStatus() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "", botEngine.getStatus(), HttpStatus.OK));
+    }
+
+    /**
+     * Seat bots in a room; strategy is RANDOM, BANDWAGON or INSIDER (defaults to insider.bot.vote-strategy)
+     * POST /api/admin/rooms/{roomCode}/bots?count=3&strategy=RANDOM
+     */
+    @PostMapping("/rooms/{roomCode}/bots")
+    public ResponseEntity<ApiResponse<BotStatus>> addBots(@PathVariable String roomCode,
+                                                          @RequestParam(defaultValue = "1") int count,
+                                                          @RequestParam(required = false) String strategy) {
+        VoteStrategy voteStrategy = VoteStrategy.parse(strategy).orElse(null);
+        if (strategy != null && voteStrategy == null) return unknownStrategy(strategy);
+        ApiResponse<BotStatus> response = botEngine.addBots(roomCode, count, voteStrategy);
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    /**
+     * Create rooms of bots only, which keep playing until removed (load without clients)
+     * POST /api/admin/bots/rooms?rooms=100&players=6&strategy=RANDOM
+     */
+    @PostMapping("/bots/rooms")
+    public ResponseEntity<ApiResponse<BotStatus>> spawnBotRooms(@RequestParam(defaultValue = "1") int rooms,
+                                                                @RequestParam(defaultValue = "6") int players,
+                                                                @RequestParam(required = false) String strategy) {
+        VoteStrategy voteStrategy = VoteStrategy.parse(strategy).orElse(null);
+        if (strategy != null && voteStrategy == null) return unknownStrategy(strategy);
+        ApiResponse<BotStatus> response = botEngine.spawnRooms(rooms, players, voteStrategy);
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    /**
+     * Delete every bots-only room
+     * DELETE /api/admin/bots/rooms
+     */
+    @DeleteMapping("/bots/rooms")
+    public ResponseEntity<ApiResponse<BotStatus>> removeBotRooms() {
+        ApiResponse<BotStatus> response = botEngine.removeBotRooms();
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    /**
+     * Reload word packs after categories were edited in the database
+     * POST /api/admin/packs/reload
+     */
+    @PostMapping("/packs/reload")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> reloadWordPacks() {
+        ApiResponse<Map<String, Integer>> response = categoryService.reloadWordPacks();
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    private static ResponseEntity<ApiResponse<BotStatus>> unknownStrategy(String strategy) {
+        return ResponseEntity.badRequest().body(new ApiResponse<>(false, "Unknown vote strategy: " + strategy, null, HttpStatus.BAD_REQUEST));
+    }
+}
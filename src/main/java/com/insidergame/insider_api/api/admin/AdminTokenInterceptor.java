@@ -0,0 +1,47 @@
+package com.insidergame.insider_api.api.admin;
+
+import com.insidergame.insider_api.common.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Requests to /api/admin/** must carry the configured admin token in the X-Admin-Token header.
+ * With no token configured the admin API is closed.
+ */
+@Component
+public class AdminTokenInterceptor implements HandlerInterceptor {
+
+    static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private final JsonMapper jsonMapper;
+    private final byte[] token;
+
+    public AdminTokenInterceptor(JsonMapper jsonMapper, @Value("${insider.admin.token:}") String token) {
+        this.jsonMapper = jsonMapper;
+        this.token = token.strip().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        String presented = request.getHeader(TOKEN_HEADER);
+        if (token.length > 0 && presented != null
+                && MessageDigest.isEqual(token, presented.strip().getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        String message = token.length == 0 ? "Admin API is disabled (insider.admin.token is not set)" : "Bad admin token";
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), new ApiResponse<>(false, message, null, HttpStatus.FORBIDDEN));
+        return false;
+    }
+}
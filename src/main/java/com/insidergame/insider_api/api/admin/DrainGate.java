@@ -0,0 +1,24 @@
+package com.insidergame.insider_api.api.admin;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared "server is draining" flag. Kept apart from {@link DrainService} so the room and game services
+ * can check it without depending on the controllers the drain itself drives.
+ */
+@Component
+public class DrainGate {
+
+    private volatile boolean closed;
+
+    /**
+     * True once a drain has started - no new rooms or games are accepted after that
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,169 @@
+package com.insidergame.insider_api.api.admin;
+
+import com.insidergame.insider_api.api.game.GameFinishService;
+import com.insidergame.insider_api.common.ApiResponse;
+import com.insidergame.insider_api.dto.DrainStatus;
+import com.insidergame.insider_api.journal.StateSnapshotter;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.Room;
+import com.insidergame.insider_api.websocket.RoomWebSocketController;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Drains the instance before a redeploy. Once started no new rooms or games are accepted; running games
+ * get up to the timeout to finish. Then the delayed finish / auto-play tasks are run right away, the state
+ * is written to a snapshot (so the next instance restores games that did not finish), every room is told
+ * with SERVER_DRAINING to reconnect, and the schedulers are shut down.
+ */
+@Service
+@Slf4j
+public class DrainService {
+
+    private static final long POLL_MILLIS = 500;
+
+    private final DrainGate gate;
+    private final RoomManager roomManager;
+    private final GameManager gameManager;
+    private final GameFinishService gameFinishService;
+    private final RoomWebSocketController roomWebSocketController;
+    private final StateSnapshotter snapshotter;
+    private final long timeoutSeconds;
+
+    // Only one drain per process; stays readable after it ends
+    private volatile Drain current;
+
+    public DrainService(DrainGate gate, RoomManager roomManager, GameManager gameManager, GameFinishService gameFinishService,
+                        RoomWebSocketController roomWebSocketController, StateSnapshotter snapshotter,
+                        @Value("${insider.drain.timeout-seconds:600}") long timeoutSeconds) {
+        this.gate = gate;
+        this.roomManager = roomManager;
+        this.gameManager = gameManager;
+        this.gameFinishService = gameFinishService;
+        this.roomWebSocketController = roomWebSocketController;
+        this.snapshotter = snapshotter;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * Start draining in the background. Calling it again returns the drain already in progress.
+     */
+    public synchronized ApiResponse<DrainStatus> startDrain(Long timeoutOverride) {
+        if (current != null) {
+            return new ApiResponse<>(true, "Drain already started", current.toStatus(), HttpStatus.OK);
+        }
+        long timeout = timeoutOverride != null && timeoutOverride >= 0 ? timeoutOverride : timeoutSeconds;
+        Drain drain = new Drain(timeout);
+        current = drain;
+        gate.close();
+        log.info("Draining server: no new rooms or games, waiting up to {} s for {} active games",
+                timeout, gameManager.getActiveGameCount());
+
+        Thread runner = new Thread(() -> run(drain), "server-drain");
+        runner.setDaemon(true);
+        runner.start();
+        return new ApiResponse<>(true, "Drain started", drain.toStatus(), HttpStatus.ACCEPTED);
+    }
+
+    public ApiResponse<DrainStatus> getStatus() {
+        Drain drain = current;
+        DrainStatus status = drain == null ? liveStatus("RUNNING", null).build() : drain.toStatus();
+        return new ApiResponse<>(true, "", status, HttpStatus.OK);
+    }
+
+    private void run(Drain drain) {
+        try {
+            // Let running games play out; scored games finish through their delayed finish task
+            long deadline = drain.startNanos + drain.timeoutSeconds * 1_000_000_000L;
+            while (gameManager.getActiveGameCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(POLL_MILLIS);
+            }
+            drain.gamesLeftUnfinished = gameManager.getActiveGameCount();
+            if (drain.gamesLeftUnfinished > 0) {
+                log.warn("Drain timeout reached with {} games still running - they are carried over in the snapshot",
+                        drain.gamesLeftUnfinished);
+            }
+
+            drain.phase = "FLUSHING_TASKS";
+            int finished = gameFinishService.runScheduledFinishesNow();
+            int started = roomWebSocketController.runPendingPlayTasksNow();
+            log.info("Drain ran {} pending game finishes and {} pending auto-starts", finished, started);
+
+            drain.phase = "PERSISTING";
+            if (snapshotter.isEnabled()) {
+                snapshotter.snapshotNow();
+                drain.snapshotWritten = true;
+            }
+
+            drain.phase = "NOTIFYING";
+            for (Room room : roomManager.getAllRooms()) {
+                roomWebSocketController.broadcastRoomUpdate(room.getRoomCode(), "SERVER_DRAINING");
+            }
+
+            drain.phase = "STOPPING";
+            gameFinishService.shutdown();
+            roomWebSocketController.shutdown();
+
+            drain.phase = "DONE";
+            log.info("Server drained in {} s", drain.elapsedSeconds());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            drain.error = "Interrupted";
+        } catch (Exception ex) {
+            log.error("Drain failed: {}", ex.getMessage(), ex);
+            drain.error = ex.getMessage();
+        } finally {
+            drain.finishNanos = System.nanoTime();
+            drain.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    private DrainStatus.DrainStatusBuilder liveStatus(String state, String phase) {
+        return DrainStatus.builder()
+                .state(state)
+                .phase(phase)
+                .rooms(roomManager.getTotalRooms())
+                .activeGames(gameManager.getActiveGameCount())
+                .pendingFinishTasks(gameFinishService.getPendingFinishCount())
+                .pendingPlayTasks(roomWebSocketController.getPendingPlayTaskCount());
+    }
+
+    private class Drain {
+        final long timeoutSeconds;
+        final long startNanos = System.nanoTime();
+        final LocalDateTime startedAt = LocalDateTime.now();
+        volatile String phase = "WAITING_FOR_GAMES";
+        volatile int gamesLeftUnfinished;
+        volatile boolean snapshotWritten;
+        volatile LocalDateTime finishedAt;
+        volatile long finishNanos;
+        volatile String error;
+
+        Drain(long timeoutSeconds) {
+            this.timeoutSeconds = timeoutSeconds;
+        }
+
+        long elapsedSeconds() {
+            long end = finishedAt == null ? System.nanoTime() : finishNanos;
+            return (end - startNanos) / 1_000_000_000L;
+        }
+
+        DrainStatus toStatus() {
+            String state = finishedAt == null ? "DRAINING" : error != null ? "FAILED" : "DRAINED";
+            return liveStatus(state, phase)
+                    .timeoutSeconds(timeoutSeconds)
+                    .elapsedSeconds(elapsedSeconds())
+                    .gamesLeftUnfinished(gamesLeftUnfinished)
+                    .snapshotWritten(snapshotWritten)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.insidergame.insider_api.api.admin;
+
+import com.insidergame.insider_api.common.ApiResponse;
+import com.insidergame.insider_api.dto.GameHistoryDto;
+import com.insidergame.insider_api.dto.RescoreStatus;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.model.GameSummary;
+import com.insidergame.insider_api.scoring.ScoringEngine;
+import com.insidergame.insider_api.service.LeaderboardService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-scores every archived game with the current {@link ScoringEngine} and writes the corrected scores back.
+ * One reader streams game_history through a cursor in chunks; chunks are scored in parallel on a
+ * fork-join pool and each chunk is written back with one batched UPDATE. A semaphore bounds how many
+ * chunks are in flight so memory stays flat regardless of table size.
+ */
+@Service
+@Slf4j
+public class RescoreService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String COUNT_SQL = "SELECT count(*) FROM game_history";
+    private static final String SELECT_SQL = "SELECT id, payload FROM game_history";
+    private static final String UPDATE_SQL = "UPDATE game_history SET payload = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final JsonMapper jsonMapper;
+    private final ScoringEngine scoringEngine;
+    private final GameManager gameManager;
+    private final LeaderboardService leaderboardService;
+
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    // Only one job at a time; the last job's counters stay readable after it ends
+    private volatile Job current;
+
+    public RescoreService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, JsonMapper jsonMapper,
+                          ScoringEngine scoringEngine, GameManager gameManager, LeaderboardService leaderboardService,
+                          @Value("${insider.rescore.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.jsonMapper = jsonMapper;
+        this.scoringEngine = scoringEngine;
+        this.gameManager = gameManager;
+        this.leaderboardService = leaderboardService;
+        // Each worker holds a DB connection while writing, so stay below the connection pool size by default
+        this.parallelism = parallelism > 0 ? parallelism : Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        this.pool = new ForkJoinPool(this.parallelism);
+    }
+
+    /**
+     * Start re-scoring in the background. Fails with 409 if a job is already running.
+     */
+    public synchronized ApiResponse<RescoreStatus> startRescore() {
+        if (current != null && current.finishedAt == null) {
+            return new ApiResponse<>(false, "Re-scoring already running", current.toStatus(), HttpStatus.CONFLICT);
+        }
+        Job job = new Job();
+        current = job;
+
+        Thread runner = new Thread(() -> run(job), "history-rescore");
+        runner.setDaemon(true);
+        runner.start();
+        return new ApiResponse<>(true, "Re-scoring started", job.toStatus(), HttpStatus.ACCEPTED);
+    }
+
+    public ApiResponse<RescoreStatus> getStatus() {
+        Job job = current;
+        RescoreStatus status = job == null ? RescoreStatus.builder().state("IDLE").build() : job.toStatus();
+        return new ApiResponse<>(true, "", status, HttpStatus.OK);
+    }
+
+    /**
+     * Recompute a record's scores. Returns the same instance when nothing changed.
+     */
+    public GameHistoryDto rescore(GameHistoryDto record) {
+        if (record.getRoles() == null || record.getRoles().isEmpty()) return record;
+        GameSummary summary = scoringEngine.score(record.getWord(), record.getRoles(), record.getVotes(),
+                RuleSet.orDefault(record.getRuleSet()).getRules());
+        Map<String, Integer> scores = summary.getScores();
+        if (Objects.equals(scores, record.getScores())) return record;
+        return record.toBuilder()
+                .scores(scores == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(scores)))
+                .build();
+    }
+
+    private void run(Job job) {
+        log.info("Re-scoring game history with {} workers", parallelism);
+        // Allow two chunks per worker to be queued so the reader never waits on a single slow batch
+        int maxInFlight = parallelism * 2;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        try {
+            Long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+            job.total = total == null ? 0 : total;
+
+            List<UUID> ids = new ArrayList<>(CHUNK_SIZE);
+            List<String> payloads = new ArrayList<>(CHUNK_SIZE);
+            readOnlyTx.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(CHUNK_SIZE);
+                return ps;
+            }, rs -> {
+                ids.add(rs.getObject(1, UUID.class));
+                payloads.add(rs.getString(2));
+                if (ids.size() == CHUNK_SIZE) {
+                    submit(job, inFlight, new ArrayList<>(ids), new ArrayList<>(payloads));
+                    ids.clear();
+                    payloads.clear();
+                }
+            }));
+            if (!ids.isEmpty()) {
+                submit(job, inFlight, ids, payloads);
+            }
+
+            // Wait for the last chunks to be written
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+
+            // Games still in memory are served from there, so bring them in line too
+            int inMemory = gameManager.rewriteRecentHistory(this::rescore);
+
+            // Player totals were summed from the old scores
+            if (job.updated.get() > 0 || inMemory > 0) {
+                leaderboardService.rebuildFromHistory();
+            }
+
+            job.finish(null);
+            log.info("Re-scoring finished: {} games, {} updated, {} failed, {} in memory updated, {}/s",
+                    job.processed.get(), job.updated.get(), job.failed.get(), inMemory, String.format("%.0f", job.rate()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish("Interrupted");
+        } catch (Exception ex) {
+            log.error("Re-scoring failed: {}", ex.getMessage(), ex);
+            job.finish(ex.getMessage());
+        }
+    }
+
+    private void submit(Job job, Semaphore inFlight, List<UUID> ids, List<String> payloads) {
+        inFlight.acquireUninterruptibly();
+        pool.execute(() -> {
+            try {
+                processChunk(job, ids, payloads);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void processChunk(Job job, List<UUID> ids, List<String> payloads) {
+        List<Object[]> updates = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            try {
+                GameHistoryDto record = jsonMapper.readValue(payloads.get(i), GameHistoryDto.class);
+                GameHistoryDto rescored = rescore(record);
+                if (rescored != record) {
+                    updates.add(new Object[]{jsonMapper.writeValueAsString(rescored), ids.get(i)});
+                }
+            } catch (Exception ex) {
+                job.failed.incrementAndGet();
+                log.warn("Could not re-score game {}: {}", ids.get(i), ex.getMessage());
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+                job.updated.addAndGet(updates.size());
+            } catch (Exception ex) {
+                job.failed.addAndGet(updates.size());
+                log.error("Failed to write {} re-scored games: {}", updates.size(), ex.getMessage());
+            }
+        }
+        job.processed.addAndGet(ids.size());
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    private static class Job {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile long total;
+        private volatile long endNanos;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        void finish(String error) {
+            this.error = error;
+            this.endNanos = System.nanoTime();
+            this.finishedAt = LocalDateTime.now();
+        }
+
+        double rate() {
+            long end = finishedAt == null ? System.nanoTime() : endNanos;
+            double seconds = Duration.ofNanos(end - startNanos).toMillis() / 1000.0;
+            return seconds <= 0 ? 0 : processed.get() / seconds;
+        }
+
+        RescoreStatus toStatus() {
+            String state = finishedAt == null ? "RUNNING" : (error == null ? "COMPLETED" : "FAILED");
+            long done = processed.get();
+            return RescoreStatus.builder()
+                    .state(state)
+                    .totalGames(total)
+                    .processedGames(done)
+                    .updatedGames(updated.get())
+                    .failedGames(failed.get())
+                    .percentComplete(total == 0 ? (finishedAt == null ? 0 : 100) : Math.min(100.0, done * 100.0 / total))
+                    .gamesPerSecond(rate())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
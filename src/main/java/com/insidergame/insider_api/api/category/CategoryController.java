@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/category")
@@ -26,4 +27,14 @@ public class CategoryController {
         return ResponseEntity.status(response.getStatus()).body(response);
     }
 
+    /**
+     * List word packs (pack name -> number of drawable words)
+     * GET /api/category/packs
+     */
+    @GetMapping("/packs")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> getWordPacks() {
+        ApiResponse<Map<String, Integer>> response = categoryService.getWordPacks();
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
 }
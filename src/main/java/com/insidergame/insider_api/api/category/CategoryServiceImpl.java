@@ -2,20 +2,24 @@ package com.insidergame.insider_api.api.category;
 
 import com.insidergame.insider_api.common.ApiResponse;
 import com.insidergame.insider_api.entity.CategoryEntity;
+import com.insidergame.insider_api.manager.WordPackManager;
 import com.insidergame.insider_api.repository.CategoryRepository;
 import com.insidergame.insider_api.service.CategoryService;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
     CategoryRepository categoryRepository;
+    WordPackManager wordPackManager;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, WordPackManager wordPackManager) {
         this.categoryRepository = categoryRepository;
+        this.wordPackManager = wordPackManager;
     }
 
     @Override
@@ -23,4 +27,19 @@ public class CategoryServiceImpl implements CategoryService {
         List<CategoryEntity> res = categoryRepository.findAll();
         return new ApiResponse<>(true, "", res, HttpStatus.OK);
     }
+
+    @Override
+    public ApiResponse<Map<String, Integer>> getWordPacks() {
+        return new ApiResponse<>(true, "", wordPackManager.getPackSizes(), HttpStatus.OK);
+    }
+
+    @Override
+    public ApiResponse<Map<String, Integer>> reloadWordPacks() {
+        try {
+            wordPackManager.reload();
+            return new ApiResponse<>(true, "Word packs reloaded", wordPackManager.getPackSizes(), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ApiResponse<>(false, "Error reloading word packs: " + e.getMessage(), null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
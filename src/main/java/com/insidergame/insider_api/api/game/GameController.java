@@ -2,28 +2,32 @@ package com.insidergame.insider_api.api.game;
 
 import com.insidergame.insider_api.common.ApiResponse;
 import com.insidergame.insider_api.dto.GameHistoryDto;
-import com.insidergame.insider_api.enums.RoleType;
 import com.insidergame.insider_api.model.Game;
 import com.insidergame.insider_api.service.GameService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/game")
 public class GameController {
 
     private final GameService gameService;
+    private final GameHistoryExporter gameHistoryExporter;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, GameHistoryExporter gameHistoryExporter) {
         this.gameService = gameService;
+        this.gameHistoryExporter = gameHistoryExporter;
     }
 
     @GetMapping("/{roomCode}/active")
@@ -34,14 +38,44 @@ public class GameController {
 
     /**
      * Get game history for a room
-     * Returns all games (active and archived) for the room
+     * Returns archived games newest first, one page at a time.
+     * GET /api/game/{roomCode}/history?limit=20&before={sequence}
+     * Pass the sequence of the last game in a page as "before" to get the next page.
      */
     @GetMapping("/{roomCode}/history")
-    public ResponseEntity<ApiResponse<List<GameHistoryDto>>> getGameHistory(@PathVariable String roomCode) {
-        ApiResponse<List<GameHistoryDto>> resp = gameService.getGameHistory(roomCode);
-        return ResponseEntity.status(resp.getStatus()).body(resp);
+    public ResponseEntity<ApiResponse<List<GameHistoryDto>>> getGameHistory(
+            @PathVariable String roomCode,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long before,
+            WebRequest webRequest) {
+        String etag = gameService.getGameHistoryETag(roomCode, limit, before);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+
+        ApiResponse<List<GameHistoryDto>> resp = gameService.getGameHistory(roomCode, limit, before);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(resp.getStatus());
+        if (etag != null) builder.eTag(etag);
+        return builder.body(resp);
+    }
+
+    /**
+     * Export finished games of all rooms as newline-delimited JSON, streamed to the client
+     * GET /api/game/history/export?from=2025-01-01T00:00:00&to=2025-01-02T00:00:00
+     * from defaults to the beginning of time, to defaults to now.
+     */
+    @GetMapping(value = "/history/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime start = from == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : from;
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+
+        StreamingResponseBody body = out -> gameHistoryExporter.export(start, end, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
 
 }
-
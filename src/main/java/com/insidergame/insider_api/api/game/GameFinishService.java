@@ -1,19 +1,25 @@
 package com.insidergame.insider_api.api.game;
 
-import com.insidergame.insider_api.dto.PlayerDto;
+import com.insidergame.insider_api.cluster.RoomsTakenOverEvent;
+import com.insidergame.insider_api.dto.GameHistoryDto;
 import com.insidergame.insider_api.dto.RoomUpdateMessage;
 import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.jfr.TimerFiredEvent;
 import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.LeaderboardManager;
 import com.insidergame.insider_api.manager.RoomManager;
-import com.insidergame.insider_api.model.Game;
+import com.insidergame.insider_api.messaging.RoomMessenger;
+import com.insidergame.insider_api.metrics.InsiderMetrics;
+import com.insidergame.insider_api.model.RoomSnapshot;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.*;
-import java.util.stream.Collectors;
 
 /**
  * Service to handle auto-finishing games after scoring
@@ -25,7 +31,10 @@ public class GameFinishService {
 
     private final GameManager gameManager;
     private final RoomManager roomManager;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final RoomMessenger roomMessenger;
+    private final GameHistoryStore gameHistoryStore;
+    private final LeaderboardManager leaderboardManager;
+    private final InsiderMetrics metrics;
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(5);
 
     // Track scheduled finish tasks so we can cancel if needed
@@ -38,16 +47,25 @@ public class GameFinishService {
     public void scheduleGameFinish(String roomCode) {
         // Cancel any existing scheduled task for this room
         cancelScheduledFinish(roomCode);
+        if (scheduler.isShutdown()) {
+            // Drained - the scored game is in the journal and JournalRecovery reschedules it on the next start
+            log.info("Not scheduling game finish for room {}: server is shutting down", roomCode);
+            return;
+        }
 
         log.info("Scheduling game finish for room {} in 5 seconds", roomCode);
 
+        long dueNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
         ScheduledFuture<?> task = scheduler.schedule(() -> {
+            TimerFiredEvent fired = TimerFiredEvent.start();
+            long lag = metrics.recordSchedulerLag(InsiderMetrics.SCHEDULER_GAME_FINISH, dueNanos);
             try {
                 finishAndResetRoom(roomCode);
             } catch (Exception ex) {
                 log.error("Error finishing game for room {}: {}", roomCode, ex.getMessage(), ex);
             } finally {
                 scheduledFinishTasks.remove(roomCode);
+                fired.done(InsiderMetrics.SCHEDULER_GAME_FINISH, roomCode, lag);
             }
         }, 5, TimeUnit.SECONDS);
 
@@ -65,6 +83,67 @@ public class GameFinishService {
         }
     }
 
+    /**
+     * Rooms taken over from a failed node: games it had scored still need their delayed finish
+     */
+    @EventListener
+    public void onRoomsTakenOver(RoomsTakenOverEvent event) {
+        for (String roomCode : event.roomCodes()) {
+            gameManager.getActiveGame(roomCode)
+                    .filter(game -> game.getSummary() != null)
+                    .ifPresent(game -> scheduleGameFinish(roomCode));
+        }
+    }
+
+    public int getPendingFinishCount() {
+        return scheduledFinishTasks.size();
+    }
+
+    public boolean hasPendingFinish(String roomCode) {
+        return scheduledFinishTasks.containsKey(roomCode);
+    }
+
+    /**
+     * Run every scheduled finish now instead of waiting out its delay (used when draining the server).
+     * Returns how many games were finished.
+     */
+    public int runScheduledFinishesNow() {
+        int finished = 0;
+        for (String roomCode : new ArrayList<>(scheduledFinishTasks.keySet())) {
+            ScheduledFuture<?> task = scheduledFinishTasks.remove(roomCode);
+            // A task that could not be cancelled is already running
+            if (task == null || !task.cancel(false)) continue;
+            try {
+                finishAndResetRoom(roomCode);
+                finished++;
+            } catch (Exception ex) {
+                log.error("Error finishing game for room {}: {}", roomCode, ex.getMessage(), ex);
+            }
+        }
+        return finished;
+    }
+
+    /**
+     * Stop the scheduler, letting a finish that is already running complete
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler.isShutdown()) return;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (!scheduledFinishTasks.isEmpty()) {
+            // Still in the journal and the final snapshot - rescheduled by JournalRecovery on the next start
+            log.info("Stopped with {} game finishes pending", scheduledFinishTasks.size());
+        }
+    }
+
     /**
      * Finish the game and reset the room to WAITING state
      */
@@ -72,9 +151,13 @@ public class GameFinishService {
         log.info("Finishing game and resetting room {}", roomCode);
 
         // Finish and archive the game (moves to history)
-        Game finishedGame = gameManager.finishAndArchiveGame(roomCode);
+        GameHistoryDto finishedGame = gameManager.finishAndArchiveGame(roomCode);
 
         if (finishedGame != null) {
+            // Persist asynchronously - no DB I/O on the finish path
+            gameHistoryStore.enqueue(finishedGame);
+            leaderboardManager.recordGame(finishedGame);
+            metrics.recordGameFinished();
             log.info("Game {} archived for room {}", finishedGame.getId(), roomCode);
         }
 
@@ -95,36 +178,26 @@ public class GameFinishService {
      */
     private void broadcastRoomReset(String roomCode) {
         try {
-            var roomOpt = roomManager.getRoom(roomCode);
+            var roomOpt = roomManager.getRoomSnapshot(roomCode);
             if (roomOpt.isEmpty()) {
                 return;
             }
 
             var room = roomOpt.get();
-            var players = room.getPlayers().stream()
-                    .map(p -> PlayerDto.builder()
-                            .uuid(p.getUuid())
-                            .playerName(p.getPlayerName())
-                            .isReady(p.isReady())
-                            .isActive(p.isActive())
-                            .isPlaying(p.isPlaying())
-
-                            .build())
-                    .collect(Collectors.toList());
-
             RoomUpdateMessage msg = RoomUpdateMessage.builder()
                     .roomCode(roomCode)
                     .roomName(room.getRoomName())
                     .maxPlayers(room.getMaxPlayers())
                     .currentPlayers(room.getCurrentPlayers())
                     .status(room.getStatus())
-                    .players(players)
+                    .players(room.getPlayerDtos())
                     .hostUuid(room.getHostUuid())
+                    .match(room.getMatch())
                     .message("ROOM_RESET_AFTER_GAME")
                     .type("ROOM_RESET_AFTER_GAME")
                     .build();
 
-            messagingTemplate.convertAndSend("/topic/room/" + roomCode, msg);
+            roomMessenger.sendToRoom(roomCode, msg);
             log.info("Broadcasted room reset to room {}", roomCode);
 
             // ⭐ Send null game to all players' sessions to clear their activeGame state
@@ -138,29 +211,14 @@ public class GameFinishService {
     /**
      * Send null game to all players to clear their activeGame state
      */
-    private void sendNullGameToAllPlayers(com.insidergame.insider_api.model.Room room) {
+    private void sendNullGameToAllPlayers(RoomSnapshot room) {
         try {
             Map<String, Object> nullGamePayload = new java.util.HashMap<>();
             nullGamePayload.put("game", null);
 
             for (var player : room.getPlayers()) {
-                if (player.getSessionId() != null) {
-                    org.springframework.messaging.simp.SimpMessageHeaderAccessor sha =
-                        org.springframework.messaging.simp.SimpMessageHeaderAccessor.create(
-                            org.springframework.messaging.simp.SimpMessageType.MESSAGE);
-                    sha.setSessionId(player.getSessionId());
-                    sha.setLeaveMutable(true);
-
-                    messagingTemplate.convertAndSendToUser(
-                        player.getSessionId(),
-                        "/queue/active_game",
-                        nullGamePayload,
-                        sha.getMessageHeaders()
-                    );
-
-                    log.info("Sent null game to player {} session {} after room reset",
-                        player.getUuid(), player.getSessionId());
-                }
+                roomMessenger.sendToPlayer(player.uuid(), "/queue/active_game", nullGamePayload);
+                log.info("Sent null game to player {} after room reset", player.uuid());
             }
         } catch (Exception ex) {
             log.error("Error sending null game to players: {}", ex.getMessage(), ex);
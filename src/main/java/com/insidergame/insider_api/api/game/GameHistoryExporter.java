@@ -0,0 +1,99 @@
+package com.insidergame.insider_api.api.game;
+
+import com.insidergame.insider_api.dto.GameHistoryDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Streams finished games as newline-delimited JSON (one GameHistoryDto per line).
+ * Persisted rows are read through a server-side cursor and their stored JSON is copied straight to the
+ * output, so memory use does not depend on how many games are exported.
+ */
+@Service
+@Slf4j
+public class GameHistoryExporter {
+
+    private static final int FETCH_SIZE = 500;
+    private static final byte NEWLINE = '\n';
+
+    private static final String SELECT_SQL =
+            "SELECT id, payload FROM game_history WHERE archived_at >= ? AND archived_at < ? ORDER BY archived_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final GameHistoryStore gameHistoryStore;
+    private final JsonMapper jsonMapper;
+
+    public GameHistoryExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               GameHistoryStore gameHistoryStore, JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.gameHistoryStore = gameHistoryStore;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Write every game archived in [from, to) to {@code out}. Returns the number of games written.
+     * Games archived in memory but not yet flushed to the database are included after the persisted ones.
+     */
+    public long export(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        // Snapshot the write-behind queue first: anything flushed while we stream is then skipped in the
+        // database pass and written from the snapshot instead, so no game is lost or written twice
+        List<GameHistoryDto> pending = gameHistoryStore.snapshotPending();
+        Set<UUID> pendingIds = new HashSet<>(pending.size() * 2);
+        for (GameHistoryDto record : pending) pendingIds.add(record.getId());
+
+        long[] written = {0};
+        try {
+            readOnlyTx.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                // Postgres only streams with a cursor inside a transaction and with a fetch size
+                PreparedStatement ps = con.prepareStatement(SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setObject(1, from);
+                ps.setObject(2, to);
+                return ps;
+            }, rs -> {
+                UUID id = rs.getObject(1, UUID.class);
+                if (pendingIds.contains(id)) return;
+                try {
+                    out.write(rs.getString(2).getBytes(StandardCharsets.UTF_8));
+                    out.write(NEWLINE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                written[0]++;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        for (GameHistoryDto record : pending) {
+            LocalDateTime archivedAt = record.getArchivedAt();
+            if (archivedAt == null || archivedAt.isBefore(from) || !archivedAt.isBefore(to)) continue;
+            out.write(jsonMapper.writeValueAsBytes(record));
+            out.write(NEWLINE);
+            written[0]++;
+        }
+
+        out.flush();
+        log.info("Exported {} games archived between {} and {}", written[0], from, to);
+        return written[0];
+    }
+}
@@ -0,0 +1,347 @@
+package com.insidergame.insider_api.api.game;
+
+import com.insidergame.insider_api.dto.GameHistoryDto;
+import com.insidergame.insider_api.entity.GameHistoryEntity;
+import com.insidergame.insider_api.repository.GameHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable game history in Postgres.
+ * Archived games go into a bounded queue and a single writer thread flushes them in JDBC batches,
+ * so finishing a game never waits on the database.
+ * A batch that fails is retried with backoff until it is written (the insert ignores rows that already exist).
+ * While the queue is full, games are appended to a spill file that the writer loads back once it is idle.
+ */
+@Service
+@Slf4j
+public class GameHistoryStore {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 200;
+    private static final long FLUSH_INTERVAL_MS = 500;
+    private static final long RETRY_INITIAL_MS = 500;
+    private static final long RETRY_MAX_MS = 30_000;
+
+    // The primary key is the table's only unique constraint, so no conflict target is needed (which also keeps
+    // the statement valid on H2's PostgreSQL mode, used by the load test)
+    private static final String INSERT_SQL =
+            "INSERT INTO game_history (id, room_code, sequence, word, started_at, ends_at, duration_seconds, archived_at, payload) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String SCAN_SQL = "SELECT id, payload FROM game_history WHERE archived_at < ?";
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final GameHistoryRepository gameHistoryRepository;
+    private final JsonMapper jsonMapper;
+
+    private final Path spillFile;
+    private final Path drainingFile;
+    private final Object spillLock = new Object();
+
+    private final BlockingQueue<GameHistoryDto> pending = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    // Batch taken off the queue and not yet written
+    private volatile List<GameHistoryDto> inFlight = List.of();
+    private final Thread writerThread = new Thread(this::runWriter, "game-history-writer");
+    private volatile boolean running = true;
+
+    public GameHistoryStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            GameHistoryRepository gameHistoryRepository, JsonMapper jsonMapper,
+                            @Value("${insider.history.spill-file:history-spill.jsonl}") String spillFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.gameHistoryRepository = gameHistoryRepository;
+        this.jsonMapper = jsonMapper;
+        this.spillFile = Paths.get(spillFile);
+        this.drainingFile = Paths.get(spillFile + ".draining");
+        this.writerThread.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        writerThread.start();
+    }
+
+    /**
+     * Queue an archived game for persistence. Never waits on the database; spills to disk if the queue is full.
+     * Returns false only if the game could not be kept at all.
+     */
+    public boolean enqueue(GameHistoryDto record) {
+        if (record == null) return false;
+        return pending.offer(record) || spill(List.of(record));
+    }
+
+    /**
+     * Append games to the spill file, one JSON document per line
+     */
+    private boolean spill(List<GameHistoryDto> records) {
+        StringBuilder lines = new StringBuilder();
+        for (GameHistoryDto record : records) {
+            try {
+                lines.append(jsonMapper.writeValueAsString(record)).append('\n');
+            } catch (JacksonException ex) {
+                log.error("Could not serialize game {}: {}", record.getId(), ex.getMessage());
+            }
+        }
+        synchronized (spillLock) {
+            try {
+                if (!Files.exists(spillFile)) {
+                    log.warn("Game history queue full ({}), spilling games to {}", QUEUE_CAPACITY, spillFile.toAbsolutePath());
+                }
+                Files.writeString(spillFile, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                return true;
+            } catch (IOException ex) {
+                log.error("Game history queue full and spill failed, dropping {} game(s): {}", records.size(), ex.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Read one page of a room's persisted history: games archived at or after {@code since}
+     * with sequence < {@code before}, newest first
+     */
+    public List<GameHistoryDto> loadPage(String roomCode, LocalDateTime since, long before, int limit) {
+        List<GameHistoryEntity> rows = gameHistoryRepository
+                .findByRoomCodeAndArchivedAtGreaterThanEqualAndSequenceLessThanOrderBySequenceDesc(roomCode, since, before, PageRequest.of(0, limit));
+        List<GameHistoryDto> page = new ArrayList<>(rows.size());
+        for (GameHistoryEntity row : rows) {
+            try {
+                page.add(jsonMapper.readValue(row.getPayload(), GameHistoryDto.class));
+            } catch (Exception ex) {
+                log.warn("Skipping unreadable game history row {}: {}", row.getId(), ex.getMessage());
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Feed every game archived before {@code cutoff} to {@code sink}: persisted rows through a cursor,
+     * then games still waiting in the queue (each game exactly once)
+     */
+    public void forEachArchivedBefore(LocalDateTime cutoff, Consumer<GameHistoryDto> sink) {
+        List<GameHistoryDto> queued = snapshotPending();
+        Set<UUID> queuedIds = new HashSet<>(queued.size() * 2);
+        for (GameHistoryDto record : queued) queuedIds.add(record.getId());
+
+        readOnlyTx.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SCAN_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(SCAN_FETCH_SIZE);
+            ps.setObject(1, cutoff);
+            return ps;
+        }, rs -> {
+            UUID id = rs.getObject(1, UUID.class);
+            if (queuedIds.contains(id)) return;
+            try {
+                sink.accept(jsonMapper.readValue(rs.getString(2), GameHistoryDto.class));
+            } catch (JacksonException ex) {
+                log.warn("Skipping unreadable game history row {}: {}", id, ex.getMessage());
+            }
+        }));
+
+        for (GameHistoryDto record : queued) {
+            if (record.getArchivedAt() != null && record.getArchivedAt().isBefore(cutoff)) sink.accept(record);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Copy of the games still waiting to be written, in memory or in the spill file
+     */
+    public List<GameHistoryDto> snapshotPending() {
+        List<GameHistoryDto> games = new ArrayList<>(inFlight);
+        games.addAll(pending);
+        synchronized (spillLock) {
+            for (Path file : List.of(drainingFile, spillFile)) {
+                try {
+                    readSpilled(file, games::add);
+                } catch (IOException ex) {
+                    log.warn("Could not read spilled games from {}: {}", file, ex.getMessage());
+                }
+            }
+        }
+        return games;
+    }
+
+    private void runWriter() {
+        List<GameHistoryDto> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !pending.isEmpty()) {
+            try {
+                GameHistoryDto first = pending.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (running && !loadSpilled()) break;
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, BATCH_SIZE - 1);
+                if (!persist(batch)) break;
+            } catch (InterruptedException e) {
+                if (!running) break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Write a batch, retrying with backoff until it goes through. Returns false if stopped first; the batch
+     * is then left in {@link #inFlight} for {@link #stop} to deal with.
+     */
+    private boolean persist(List<GameHistoryDto> batch) {
+        inFlight = List.copyOf(batch);
+        long backoff = RETRY_INITIAL_MS;
+        for (int attempt = 1; !writeBatch(batch); attempt++) {
+            log.warn("Retrying {} archived games in {} ms (attempt {})", batch.size(), backoff, attempt);
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                // stop() interrupts; checked below
+            }
+            if (!running) return false;
+            backoff = Math.min(backoff * 2, RETRY_MAX_MS);
+        }
+        inFlight = List.of();
+        return true;
+    }
+
+    /**
+     * The queue is empty: write back games spilled while it was full. The spill file is renamed first so
+     * new spills go to a fresh one, and deleted once every game in it is written. Returns false if stopped.
+     */
+    private boolean loadSpilled() {
+        try {
+            synchronized (spillLock) {
+                if (!Files.exists(drainingFile)) {
+                    if (!Files.exists(spillFile)) return true;
+                    Files.move(spillFile, drainingFile);
+                }
+            }
+            List<GameHistoryDto> games = new ArrayList<>();
+            readSpilled(drainingFile, games::add);
+            log.info("Writing back {} spilled archived games", games.size());
+            for (int from = 0; from < games.size(); from += BATCH_SIZE) {
+                if (!persist(new ArrayList<>(games.subList(from, Math.min(from + BATCH_SIZE, games.size()))))) {
+                    inFlight = List.of(); // still in the draining file
+                    return false;
+                }
+            }
+            synchronized (spillLock) {
+                Files.delete(drainingFile);
+            }
+        } catch (IOException ex) {
+            log.error("Could not load spilled games from {}: {}", drainingFile, ex.getMessage());
+        }
+        return true;
+    }
+
+    private void readSpilled(Path file, Consumer<GameHistoryDto> sink) throws IOException {
+        if (!Files.exists(file)) return;
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try {
+                    sink.accept(jsonMapper.readValue(line, GameHistoryDto.class));
+                } catch (JacksonException ex) {
+                    log.warn("Skipping unreadable spilled game in {}: {}", file, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Write one batch; false if the database refused it (games that cannot be serialized are dropped and logged)
+     */
+    private boolean writeBatch(List<GameHistoryDto> batch) {
+        List<GameHistoryDto> games = new ArrayList<>(batch.size());
+        List<String> payloads = new ArrayList<>(batch.size());
+        for (GameHistoryDto record : batch) {
+            try {
+                payloads.add(jsonMapper.writeValueAsString(record));
+                games.add(record);
+            } catch (Exception ex) {
+                log.error("Could not serialize game {}: {}", record.getId(), ex.getMessage());
+            }
+        }
+        if (games.isEmpty()) return true;
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    GameHistoryDto g = games.get(i);
+                    ps.setObject(1, g.getId());
+                    ps.setString(2, g.getRoomCode());
+                    ps.setLong(3, g.getSequence());
+                    ps.setString(4, g.getWord());
+                    ps.setObject(5, g.getStartedAt());
+                    ps.setObject(6, g.getEndsAt());
+                    ps.setObject(7, g.getDurationSeconds());
+                    ps.setObject(8, g.getArchivedAt() != null ? g.getArchivedAt() : LocalDateTime.now());
+                    ps.setString(9, payloads.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return games.size();
+                }
+            });
+            log.debug("Persisted {} archived games", games.size());
+            return true;
+        } catch (Exception ex) {
+            log.error("Failed to persist {} archived games: {}", games.size(), ex.getMessage(), ex);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Writer exited early (e.g. interrupted mid-flush or retrying) - flush whatever is left on this thread,
+        // and keep it in the spill file for the next start if the database still refuses it
+        List<GameHistoryDto> rest = new ArrayList<>(inFlight);
+        pending.drainTo(rest);
+        if (!rest.isEmpty() && !writeBatch(rest)) {
+            spill(rest);
+        }
+    }
+}
@@ -1,15 +1,17 @@
 package com.insidergame.insider_api.api.game;
 
+import com.insidergame.insider_api.api.admin.DrainGate;
 import com.insidergame.insider_api.dto.GameHistoryDto;
 import com.insidergame.insider_api.enums.RoleType;
-import com.insidergame.insider_api.api.category.CategoryServiceImpl;
 import com.insidergame.insider_api.common.ApiResponse;
-import com.insidergame.insider_api.entity.CategoryEntity;
 import com.insidergame.insider_api.manager.GameManager;
 import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.manager.WordPackManager;
+import com.insidergame.insider_api.metrics.InsiderMetrics;
 import com.insidergame.insider_api.model.Game;
 import com.insidergame.insider_api.model.Player;
-import com.insidergame.insider_api.model.Room;
+import com.insidergame.insider_api.model.PlayerSnapshot;
+import com.insidergame.insider_api.model.RoomSnapshot;
 import com.insidergame.insider_api.service.GameService;
 import org.springframework.stereotype.Service;
 import org.springframework.http.HttpStatus;
@@ -20,21 +22,34 @@ import java.util.stream.Collectors;
 @Service("gameServiceApi")
 public class GameServiceImpl implements GameService {
 
+    private static final int DEFAULT_HISTORY_LIMIT = 20;
+    private static final int MAX_HISTORY_LIMIT = 100;
+
     private final GameManager gameManager;
     private final RoomManager roomManager;
-    private final CategoryServiceImpl categoryService; // to fetch categories (used as source of words)
+    private final WordPackManager wordPackManager; // weighted word draw over category packs
+    private final GameHistoryStore gameHistoryStore; // persisted games older than the in-memory window
+    private final DrainGate drainGate; // no new games while the server drains
+    private final InsiderMetrics metrics;
 
-    public GameServiceImpl(GameManager gameManager, RoomManager roomManager, CategoryServiceImpl categoryService) {
+    public GameServiceImpl(GameManager gameManager, RoomManager roomManager, WordPackManager wordPackManager,
+                           GameHistoryStore gameHistoryStore, DrainGate drainGate, InsiderMetrics metrics) {
         this.gameManager = gameManager;
         this.roomManager = roomManager;
-        this.categoryService = categoryService;
+        this.wordPackManager = wordPackManager;
+        this.gameHistoryStore = gameHistoryStore;
+        this.drainGate = drainGate;
+        this.metrics = metrics;
     }
 
     @Override
     public ApiResponse<Game> startGame(String roomCode, String triggerByUuid) {
         try {
-            Room room = roomManager.getRoom(roomCode).orElse(null);
+            RoomSnapshot room = roomManager.getRoomSnapshot(roomCode).orElse(null);
             if (room == null) return new ApiResponse<>(false, "Room not found", null, HttpStatus.NOT_FOUND);
+            if (drainGate.isClosed()) {
+                return new ApiResponse<>(false, "Server is draining", null, HttpStatus.SERVICE_UNAVAILABLE);
+            }
 
             // Prevent starting if a game already active in this room
             if (gameManager.getActiveGame(roomCode).isPresent()) {
@@ -42,44 +57,31 @@ public class GameServiceImpl implements GameService {
             }
 
             // Collect players currently in room
-            List<Player> players = new ArrayList<>(room.getPlayers());
+            List<PlayerSnapshot> players = room.getPlayers();
             if (players.size() < 2) {
                 return new ApiResponse<>(false, "Not enough players to start", null, HttpStatus.BAD_REQUEST);
             }
 
-            // Pick random category/word that hasn't been used in this room before
-            List<CategoryEntity> categories = categoryService.getAllCategoriesService().getData();
-            if (categories == null || categories.isEmpty()) {
-                return new ApiResponse<>(false, "No categories available", null, HttpStatus.INTERNAL_SERVER_ERROR);
-            }
+            // Previous match is over - this game opens the next one
+            roomManager.startNextMatchIfFinished(roomCode);
 
-            // Get previously used words in this room
-            List<Game> previousGames = gameManager.getGamesForRoom(roomCode);
-            Set<String> usedWords = previousGames.stream()
-                    .map(Game::getWord)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toSet());
-
-            // Filter out used words
-            List<CategoryEntity> availableCategories = categories.stream()
-                    .filter(cat -> !usedWords.contains(cat.getCategoryName()))
-                    .collect(Collectors.toList());
-
-            // If all words have been used, allow reusing them (reset)
-            if (availableCategories.isEmpty()) {
-                availableCategories = new ArrayList<>(categories);
+            // Weighted draw from the room's word packs, skipping words already played in this room
+            String word = wordPackManager.drawWord(room.getWordPacks(), gameManager.getUsedWords(roomCode)).orElse(null);
+            if (word == null) {
+                // If all words have been used, allow reusing them (reset)
+                gameManager.clearUsedWords(roomCode);
+                word = wordPackManager.drawWord(room.getWordPacks(), Collections.emptySet()).orElse(null);
+            }
+            if (word == null) {
+                return new ApiResponse<>(false, "No categories available", null, HttpStatus.INTERNAL_SERVER_ERROR);
             }
-
-            // Pick random word from available categories
-            CategoryEntity pick = availableCategories.get(new Random().nextInt(availableCategories.size()));
-            String word = pick.getCategoryName();
 
             // Assign roles: one MASTER, one INSIDER, rest CITIZEN
             Map<String, RoleType> roles = assignRolesV2(players);
 
             // Create game with 60 seconds duration
             int durationSeconds = 423;
-            Game game = gameManager.createGame(roomCode, word, durationSeconds, roles);
+            Game game = gameManager.createGame(roomCode, word, durationSeconds, roles, room.getRuleSet());
 
             // Return created game; controller will handle broadcasting and scheduling finish
             return new ApiResponse<>(true, "Game started", game, HttpStatus.CREATED);
@@ -137,9 +139,9 @@ public class GameServiceImpl implements GameService {
         return roles;
     }
 
-    private  Map<String, RoleType> assignRolesV2(List<Player> players) {
+    private  Map<String, RoleType> assignRolesV2(List<PlayerSnapshot> players) {
         Map<String, RoleType> roles = new HashMap<>();
-        List<String> uuids = players.stream().map(Player::getUuid).collect(Collectors.toList());
+        List<String> uuids = players.stream().map(PlayerSnapshot::uuid).collect(Collectors.toList());
         Collections.shuffle(uuids);
         if (!uuids.isEmpty()) {
             roles.put(uuids.get(0), RoleType.MASTER);
@@ -168,13 +170,6 @@ public class GameServiceImpl implements GameService {
         return new ApiResponse<>(true, "", gameManager.getActiveGame(roomCode).orElse(null), HttpStatus.OK);
     }
 
-    @Override
-    public ApiResponse<List<Game>> getGamesForRoom(String roomCode) {
-        List<Game> games = gameManager.getGamesForRoom(roomCode);
-        if (games == null) games = Collections.emptyList();
-        return new ApiResponse<>(true, "", games, HttpStatus.OK);
-    }
-
     @Override
     public ApiResponse<Boolean> markCardOpened(String roomCode, String playerUuid) {
         try {
@@ -203,6 +198,17 @@ public class GameServiceImpl implements GameService {
         }
     }
 
+    @Override
+    public ApiResponse<Game> startVoting(String roomCode) {
+        try {
+            return gameManager.startVoting(roomCode)
+                    .map(g -> new ApiResponse<>(true, "Voting started", g, HttpStatus.OK))
+                    .orElseGet(() -> new ApiResponse<>(false, "No active game", null, HttpStatus.BAD_REQUEST));
+        } catch (Exception ex) {
+            return new ApiResponse<>(false, ex.getMessage(), null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @Override
     public ApiResponse<Boolean> castVote(String roomCode, String voterUuid, String targetUuid) {
         try {
@@ -210,6 +216,7 @@ public class GameServiceImpl implements GameService {
             if (tally == null || tally.isEmpty()) {
                 return new ApiResponse<>(false, "Failed to record vote", false, HttpStatus.BAD_REQUEST);
             }
+            metrics.recordVote();
             return new ApiResponse<>(true, "Vote cast", true, HttpStatus.OK);
         } catch (Exception ex) {
             return new ApiResponse<>(false, ex.getMessage(), false, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -219,17 +226,14 @@ public class GameServiceImpl implements GameService {
     @Override
     public ApiResponse<Game> finishGameWithScoring(String roomCode) {
         try {
-            var gameOpt = gameManager.getActiveGame(roomCode);
+            // Calculate scores with the room's rule set and create summary
+            var gameOpt = gameManager.scoreGame(roomCode);
             if (gameOpt.isEmpty()) {
                 return new ApiResponse<>(false, "No active game found", null, HttpStatus.NOT_FOUND);
             }
 
             Game game = gameOpt.get();
 
-            // Calculate scores and create summary
-            var summary = calculateGameSummary(game);
-            game.setSummary(summary);
-
             // Mark game as finished
 //            gameManager.finishGame(roomCode);
 //            game.setFinished(true);
@@ -241,196 +245,41 @@ public class GameServiceImpl implements GameService {
     }
 
     @Override
-    public ApiResponse<List<GameHistoryDto>> getGameHistory(String roomCode) {
+    public ApiResponse<List<GameHistoryDto>> getGameHistory(String roomCode, Integer limit, Long before) {
         try {
-            List<Game> games = gameManager.getGamesForRoom(roomCode);
-            if (games == null) games = Collections.emptyList();
-            List<GameHistoryDto> history = games.stream()
-                    .map(this::convertToHistoryDto)
-                    .collect(Collectors.toList());
-            return new ApiResponse<>(true, "Game history retrieved", history, HttpStatus.OK);
-        } catch (Exception ex) {
-            return new ApiResponse<>(false, "Error retrieving game history: " + ex.getMessage(), null, HttpStatus.INTERNAL_SERVER_ERROR);
-        }
-    }
-    /**
-     * Convert Game model to GameHistoryDto
-     */
-    private GameHistoryDto convertToHistoryDto(Game game) {
-        // Calculate scores from game summary if available
-        Map<String, Integer> scores = null;
-        if (game.getSummary() != null && game.getSummary().getScores() != null) {
-            scores = game.getSummary().getScores();
-        }
+            int pageSize = clampHistoryLimit(limit);
+            long cursor = before == null ? Long.MAX_VALUE : before;
 
-        GameHistoryDto dto = GameHistoryDto.builder()
-                .id(game.getId())
-                .roomCode(game.getRoomCode())
-                .word(game.getWord())
-                .wordRevealed(game.isWordRevealed())
-                .startedAt(game.getStartedAt())
-                .endsAt(game.getEndsAt())
-                .durationSeconds(game.getDurationSeconds())
-                .finished(game.isFinished())
-                .players(game.getPlayerInGame())
-                .roles(game.getRoles())
-                .cardOpened(game.getCardOpened())
-                .votes(game.getVotes())
-                .scores(scores)
-                .build();
-
-        // Calculate vote result if votes exist
-        if (game.getVotes() != null && !game.getVotes().isEmpty()) {
-            Map<String, Integer> voteTally = new HashMap<>();
-            for (String targetUuid : game.getVotes().values()) {
-                voteTally.put(targetUuid, voteTally.getOrDefault(targetUuid, 0) + 1);
-            }
-
-            // Find most voted player
-            String mostVotedUuid = null;
-            int mostVotedCount = 0;
-            for (Map.Entry<String, Integer> entry : voteTally.entrySet()) {
-                if (entry.getValue() > mostVotedCount) {
-                    mostVotedCount = entry.getValue();
-                    mostVotedUuid = entry.getKey();
-                }
-            }
+            // Recent games come from memory (already precomputed at archive time)
+            List<GameHistoryDto> page = new ArrayList<>(gameManager.getRecentHistory(roomCode, cursor, pageSize));
 
-            // Find insider
-            String insiderUuid = null;
-            if (game.getRoles() != null) {
-                for (Map.Entry<String, RoleType> entry : game.getRoles().entrySet()) {
-                    if (entry.getValue() == RoleType.INSIDER) {
-                        insiderUuid = entry.getKey();
-                        break;
-                    }
-                }
+            // Older games were evicted from memory - read the rest of the page from the database
+            RoomSnapshot room = roomManager.getRoomSnapshot(roomCode).orElse(null);
+            if (page.size() < pageSize && room != null && gameManager.hasOlderHistory(roomCode)) {
+                long dbCursor = page.isEmpty() ? cursor : page.get(page.size() - 1).getSequence();
+                page.addAll(gameHistoryStore.loadPage(roomCode, room.getCreatedAt(), dbCursor, pageSize - page.size()));
             }
 
-            GameHistoryDto.VoteResultDto voteResult = GameHistoryDto.VoteResultDto.builder()
-                    .insiderUuid(insiderUuid)
-                    .mostVotedUuid(mostVotedUuid)
-                    .mostVotedCount(mostVotedCount)
-                    .voteTally(voteTally)
-                    .build();
-
-            dto.setVoteResult(voteResult);
-
-            // Determine game outcome
-            if (insiderUuid != null && insiderUuid.equals(mostVotedUuid)) {
-                dto.setGameOutcome("INSIDER_FOUND");
-            } else if (insiderUuid != null) {
-                dto.setGameOutcome("INSIDER_HIDDEN");
-            } else {
-                dto.setGameOutcome("NO_INSIDER");
-            }
+            return new ApiResponse<>(true, "Game history retrieved", page, HttpStatus.OK);
+        } catch (Exception ex) {
+            return new ApiResponse<>(false, "Error retrieving game history: " + ex.getMessage(), null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
-
-        return dto;
     }
 
-    private com.insidergame.insider_api.model.GameSummary calculateGameSummary(Game game) {
-        Map<String, Integer> scores = new HashMap<>();
-        Map<String, Integer> voteTally = new HashMap<>();
-
-        // Find INSIDER and MASTER
-        String insiderUuid = null;
-        String masterUuid = null;
-        List<String> citizenUuids = new ArrayList<>();
-
-        for (Map.Entry<String, RoleType> entry : game.getRoles().entrySet()) {
-            String uuid = entry.getKey();
-            RoleType role = entry.getValue();
-
-            scores.put(uuid, 0); // Initialize all scores to 0
-
-            if (role == RoleType.INSIDER) {
-                insiderUuid = uuid;
-            } else if (role == RoleType.MASTER) {
-                masterUuid = uuid;
-            } else if (role == RoleType.CITIZEN) {
-                citizenUuids.add(uuid);
-            }
-        }
-
-        // Calculate vote tally (exclude MASTER's vote from citizen vote count)
-        for (Map.Entry<String, String> vote : game.getVotes().entrySet()) {
-            String target = vote.getValue();
-            voteTally.put(target, voteTally.getOrDefault(target, 0) + 1);
-        }
-
-        // Find most voted player(s)
-        int maxVotes = voteTally.values().stream().mapToInt(Integer::intValue).max().orElse(0);
-        List<String> mostVoted = voteTally.entrySet().stream()
-            .filter(e -> e.getValue() == maxVotes)
-            .map(Map.Entry::getKey)
-            .collect(Collectors.toList());
-
-        // Check if INSIDER was caught (is most voted)
-        boolean insiderCaught = mostVoted.contains(insiderUuid);
-
-        // TODO: Check if CITIZENS answered correctly - this needs to be tracked separately
-        // For now, assume false (you need to add this logic based on your game flow)
-        boolean citizensAnsweredCorrectly = false;
-
-        // Calculate CITIZEN scores
-        int citizenVotesForInsider = 0;
-        for (String citizenUuid : citizenUuids) {
-            String votedFor = game.getVotes().get(citizenUuid);
-            if (votedFor != null && votedFor.equals(insiderUuid)) {
-                citizenVotesForInsider++;
-            }
-        }
-
-        // CITIZEN scoring:
-        // +1 if more than half of CITIZENS voted for INSIDER
-        if (citizenUuids.size() > 0 && citizenVotesForInsider > citizenUuids.size() / 2.0) {
-            for (String citizenUuid : citizenUuids) {
-                scores.put(citizenUuid, scores.get(citizenUuid) + 1);
-            }
-        }
-
-        // +1 if CITIZENS answered the word correctly
-        if (citizensAnsweredCorrectly) {
-            for (String citizenUuid : citizenUuids) {
-                scores.put(citizenUuid, scores.get(citizenUuid) + 1);
-            }
-        }
-
-        // INSIDER scoring:
-        if (insiderUuid != null) {
-            // +1 if helped CITIZENS answer correctly
-            if (citizensAnsweredCorrectly) {
-                scores.put(insiderUuid, scores.get(insiderUuid) + 1);
-            }
-
-            // +1 if not caught (>= half of CITIZENS didn't vote for INSIDER)
-            if (citizenUuids.size() > 0 && citizenVotesForInsider < citizenUuids.size() / 2.0) {
-                scores.put(insiderUuid, scores.get(insiderUuid) + 1);
-            }
-        }
-
-        // MASTER scoring:
-        if (masterUuid != null) {
-            // +1 base score
-            scores.put(masterUuid, scores.get(masterUuid) + 1);
-
-            // +1 if caught INSIDER (INSIDER is most voted)
-            if (insiderCaught) {
-                scores.put(masterUuid, scores.get(masterUuid) + 1);
-            }
-        }
+    @Override
+    public String getGameHistoryETag(String roomCode, Integer limit, Long before) {
+        RoomSnapshot room = roomManager.getRoomSnapshot(roomCode).orElse(null);
+        if (room == null) return null;
+        // A page only changes when a new game is archived in this room
+        // (or when archived games are re-scored, which bumps the history epoch)
+        return "\"" + roomCode + "-" + room.getCreatedAt().hashCode() + "-" + gameManager.getLastSequence(roomCode)
+                + "-" + gameManager.getHistoryEpoch()
+                + "-" + clampHistoryLimit(limit) + "-" + (before == null ? "latest" : before) + "\"";
+    }
 
-        return com.insidergame.insider_api.model.GameSummary.builder()
-            .scores(scores)
-            .voteTally(voteTally)
-            .mostVoted(mostVoted)
-            .insiderCaught(insiderCaught)
-            .citizensAnsweredCorrectly(citizensAnsweredCorrectly)
-            .insiderUuid(insiderUuid)
-            .masterUuid(masterUuid)
-            .word(game.getWord())
-            .build();
+    private int clampHistoryLimit(Integer limit) {
+        if (limit == null) return DEFAULT_HISTORY_LIMIT;
+        return Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
     }
 
 }
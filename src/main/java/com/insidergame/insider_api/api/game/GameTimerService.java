@@ -1,18 +1,18 @@
 package com.insidergame.insider_api.api.game;
 
-import com.insidergame.insider_api.dto.PlayerDto;
+import com.insidergame.insider_api.cluster.ClusterRouter;
 import com.insidergame.insider_api.dto.RoomUpdateMessage;
 import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.jfr.GameLifecycleEvent;
+import com.insidergame.insider_api.jfr.TimerFiredEvent;
 import com.insidergame.insider_api.manager.GameManager;
 import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.messaging.RoomMessenger;
+import com.insidergame.insider_api.metrics.InsiderMetrics;
 import com.insidergame.insider_api.model.Game;
 import com.insidergame.insider_api.model.GamePrivateMessage;
-import com.insidergame.insider_api.model.Player;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
-import org.springframework.messaging.simp.SimpMessageType;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -20,7 +20,6 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Service to automatically reveal word to all players when game timer expires
@@ -30,9 +29,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class GameTimerService {
 
+    private static final long TICK_MILLIS = 1000;
+    private static final long TICK_NANOS = TICK_MILLIS * 1_000_000;
+
     private final GameManager gameManager;
     private final RoomManager roomManager;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final RoomMessenger roomMessenger;
+    private final ClusterRouter clusterRouter;
+    private final InsiderMetrics metrics;
+
+    // Fixed-rate ticks are due at first + n * period; only touched by the scheduling thread
+    private long firstTickNanos;
+    private long ticks;
 
     // Track which games have already been revealed to prevent duplicate broadcasts
     private final Set<String> revealedGameIds = new HashSet<>();
@@ -40,17 +48,31 @@ public class GameTimerService {
     /**
      * Check every second for games that have expired and reveal the word
      */
-    @Scheduled(fixedRate = 1000)
+    @Scheduled(fixedRate = TICK_MILLIS)
     public void checkExpiredGames() {
+        TimerFiredEvent fired = TimerFiredEvent.start();
+        long lag = recordTickLag();
         try {
             // Get all rooms and check their active games
             roomManager.getAllRooms().forEach(room -> {
                 String roomCode = room.getRoomCode();
+                // Replicas of other nodes' rooms are driven by their owner
+                if (!clusterRouter.isLocal(roomCode)) return;
                 gameManager.getActiveGame(roomCode).ifPresent(game -> checkAndRevealWord(roomCode, game));
             });
         } catch (Exception ex) {
             log.error("Error checking expired games: {}", ex.getMessage(), ex);
+        } finally {
+            fired.done(InsiderMetrics.SCHEDULER_GAME_TIMER, null, lag);
+        }
+    }
+
+    private long recordTickLag() {
+        if (ticks++ == 0) {
+            firstTickNanos = System.nanoTime();
+            return 0;
         }
+        return metrics.recordSchedulerLag(InsiderMetrics.SCHEDULER_GAME_TIMER, firstTickNanos + (ticks - 1) * TICK_NANOS);
     }
 
     private void checkAndRevealWord(String roomCode, Game game) {
@@ -82,6 +104,7 @@ public class GameTimerService {
 
                 // Mark as revealed so we don't process again
                 revealedGameIds.add(gameId);
+                GameLifecycleEvent.emit(roomCode, gameId, GameLifecycleEvent.REVEALED, game.getRoles() == null ? 0 : game.getRoles().size());
 
                 // Broadcast word reveal to all players in the room
                 broadcastWordReveal(roomCode, game);
@@ -96,30 +119,21 @@ public class GameTimerService {
 
     private void broadcastWordReveal(String roomCode, Game game) {
         try {
-            var roomOpt = roomManager.getRoom(roomCode);
+            var roomOpt = roomManager.getRoomSnapshot(roomCode);
             if (roomOpt.isEmpty()) {
                 return;
             }
 
             var room = roomOpt.get();
-            var players = room.getPlayers().stream()
-                    .map(p -> PlayerDto.builder()
-                            .uuid(p.getUuid())
-                            .playerName(p.getPlayerName())
-                            .isReady(p.isReady())
-                            .isActive(p.isActive())
-                            .build())
-                    .collect(Collectors.toList());
-
             RoomUpdateMessage msg = RoomUpdateMessage.builder()
                     .roomCode(roomCode)
                     .status(room.getStatus())
-                    .players(players)
+                    .players(room.getPlayerDtos())
                     .hostUuid(room.getHostUuid())
                     .message("WORD_REVEALED")
                     .build();
 
-            messagingTemplate.convertAndSend("/topic/room/" + roomCode, msg);
+            roomMessenger.sendToRoom(roomCode, msg);
             log.info("Broadcasted word reveal to room {}", roomCode);
         } catch (Exception ex) {
             log.error("Error broadcasting word reveal: {}", ex.getMessage(), ex);
@@ -128,7 +142,7 @@ public class GameTimerService {
 
     private void sendRevealedWordToAllPlayers(String roomCode, Game game) {
         try {
-            var roomOpt = roomManager.getRoom(roomCode);
+            var roomOpt = roomManager.getRoomSnapshot(roomCode);
             if (roomOpt.isEmpty()) {
                 return;
             }
@@ -139,37 +153,20 @@ public class GameTimerService {
                 return;
             }
 
-            // Send revealed word to all players
+            // Send revealed word to all players still in the room
             for (Map.Entry<String, RoleType> entry : roles.entrySet()) {
                 String playerUuid = entry.getKey();
                 RoleType role = entry.getValue() != null ? entry.getValue() : RoleType.CITIZEN;
 
-                // Find player in room to get sessionId
-                Player player = room.getPlayers().stream()
-                        .filter(p -> p.getUuid().equals(playerUuid))
-                        .findFirst()
-                        .orElse(null);
-
-                if (player == null) {
-                    continue;
-                }
-
-                String sessionId = player.getSessionId();
-                if (sessionId == null) {
-                    log.warn("No sessionId for player {} - cannot send revealed word", playerUuid);
+                if (!room.hasPlayer(playerUuid)) {
                     continue;
                 }
 
                 // Now everyone can see the word
                 GamePrivateMessage pm = new GamePrivateMessage(playerUuid, role, game.getWord());
 
-                // Build headers targeted to sessionId
-                SimpMessageHeaderAccessor sha = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
-                sha.setSessionId(sessionId);
-                sha.setLeaveMutable(true);
-
-                log.info("Sending revealed word to session={} playerUuid={} role={}", sessionId, playerUuid, role);
-                messagingTemplate.convertAndSendToUser(sessionId, "/queue/game_private", pm, sha.getMessageHeaders());
+                log.info("Sending revealed word to playerUuid={} role={}", playerUuid, role);
+                roomMessenger.sendToPlayer(playerUuid, "/queue/game_private", pm);
             }
         } catch (Exception ex) {
             log.error("Error sending revealed word to players: {}", ex.getMessage(), ex);
@@ -0,0 +1,87 @@
+package com.insidergame.insider_api.api.game;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes one gzip-compressed NDJSON file per day of game history to local disk
+ * (history-YYYY-MM-DD.ndjson.gz), for offline analytics.
+ * Checks hourly and writes yesterday's segment if it does not exist yet.
+ */
+@Service
+@Slf4j
+public class HistorySegmentJob {
+
+    private final GameHistoryExporter exporter;
+    private final Path segmentDir;
+    private final boolean enabled;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "history-segment-job");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public HistorySegmentJob(GameHistoryExporter exporter,
+                             @Value("${insider.history.segment-dir:history-segments}") String segmentDir,
+                             @Value("${insider.history.segments-enabled:true}") boolean enabled) {
+        this.exporter = exporter;
+        this.segmentDir = Paths.get(segmentDir);
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                writeSegmentIfMissing(LocalDate.now().minusDays(1));
+            } catch (Exception ex) {
+                log.error("Error writing history segment: {}", ex.getMessage(), ex);
+            }
+        }, 1, 60, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Export one day of history to its segment file unless it already exists. Returns the file path.
+     */
+    public Path writeSegmentIfMissing(LocalDate day) throws IOException {
+        Path target = segmentDir.resolve("history-" + day + ".ndjson.gz");
+        if (Files.exists(target)) return target;
+
+        Files.createDirectories(segmentDir);
+        Path tmp = segmentDir.resolve(target.getFileName() + ".tmp");
+        long count;
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)), 64 * 1024)) {
+            count = exporter.export(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), out);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tmp);
+            throw ex;
+        }
+
+        // Only a complete file ever appears under the final name
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        log.info("Wrote history segment {} ({} games)", target, count);
+        return target;
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+}
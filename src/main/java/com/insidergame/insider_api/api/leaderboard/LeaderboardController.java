@@ -0,0 +1,57 @@
+package com.insidergame.insider_api.api.leaderboard;
+
+import com.insidergame.insider_api.common.ApiResponse;
+import com.insidergame.insider_api.dto.LeaderboardDto;
+import com.insidergame.insider_api.dto.LeaderboardEntryDto;
+import com.insidergame.insider_api.service.LeaderboardService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Top players
+     * GET /api/leaderboard?period=global|daily|weekly&limit=10
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<LeaderboardDto>> getLeaderboard(
+            @RequestParam(required = false) String period,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        String etag = leaderboardService.getLeaderboardETag(period, limit);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+
+        ApiResponse<LeaderboardDto> resp = leaderboardService.getLeaderboard(period, limit);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(resp.getStatus());
+        if (etag != null) {
+            builder.eTag(etag).cacheControl(CacheControl.maxAge(5, TimeUnit.SECONDS).cachePublic());
+        }
+        return builder.body(resp);
+    }
+
+    /**
+     * A player's rank
+     * GET /api/leaderboard/player/{uuid}?period=global|daily|weekly
+     */
+    @GetMapping("/player/{uuid}")
+    public ResponseEntity<ApiResponse<LeaderboardEntryDto>> getPlayerRank(
+            @PathVariable String uuid,
+            @RequestParam(required = false) String period) {
+        ApiResponse<LeaderboardEntryDto> resp = leaderboardService.getPlayerRank(period, uuid);
+        return ResponseEntity.status(resp.getStatus()).body(resp);
+    }
+}
@@ -0,0 +1,82 @@
+package com.insidergame.insider_api.api.leaderboard;
+
+import com.insidergame.insider_api.api.game.GameHistoryStore;
+import com.insidergame.insider_api.common.ApiResponse;
+import com.insidergame.insider_api.dto.LeaderboardDto;
+import com.insidergame.insider_api.dto.LeaderboardEntryDto;
+import com.insidergame.insider_api.enums.LeaderboardPeriod;
+import com.insidergame.insider_api.manager.LeaderboardManager;
+import com.insidergame.insider_api.service.LeaderboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Service
+@Slf4j
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final LeaderboardManager leaderboardManager;
+    private final GameHistoryStore gameHistoryStore;
+
+    public LeaderboardServiceImpl(LeaderboardManager leaderboardManager, GameHistoryStore gameHistoryStore) {
+        this.leaderboardManager = leaderboardManager;
+        this.gameHistoryStore = gameHistoryStore;
+    }
+
+    @Override
+    public ApiResponse<LeaderboardDto> getLeaderboard(String period, Integer limit) {
+        LeaderboardPeriod p = LeaderboardPeriod.parse(period).orElse(null);
+        if (p == null) {
+            return new ApiResponse<>(false, "Unknown leaderboard period: " + period, null, HttpStatus.BAD_REQUEST);
+        }
+        LeaderboardDto board = leaderboardManager.getTop(p, limit == null ? DEFAULT_LIMIT : limit);
+        return new ApiResponse<>(true, "Leaderboard retrieved", board, HttpStatus.OK);
+    }
+
+    @Override
+    public ApiResponse<LeaderboardEntryDto> getPlayerRank(String period, String uuid) {
+        LeaderboardPeriod p = LeaderboardPeriod.parse(period).orElse(null);
+        if (p == null) {
+            return new ApiResponse<>(false, "Unknown leaderboard period: " + period, null, HttpStatus.BAD_REQUEST);
+        }
+        return leaderboardManager.getPlayerRank(p, uuid)
+                .map(entry -> new ApiResponse<>(true, "Rank retrieved", entry, HttpStatus.OK))
+                .orElseGet(() -> new ApiResponse<>(false, "Player has no score for this period", null, HttpStatus.NOT_FOUND));
+    }
+
+    @Override
+    public String getLeaderboardETag(String period, Integer limit) {
+        LeaderboardPeriod p = LeaderboardPeriod.parse(period).orElse(null);
+        if (p == null) return null;
+        // Version changes on every scored game; the date makes daily/weekly boards roll over at midnight
+        return "\"" + p + "-" + LocalDate.now() + "-" + leaderboardManager.getVersion()
+                + "-" + (limit == null ? DEFAULT_LIMIT : limit) + "\"";
+    }
+
+    @Override
+    public void rebuildFromHistory() {
+        leaderboardManager.rebuild(gameHistoryStore::forEachArchivedBefore);
+    }
+
+    /**
+     * Load the boards from persisted history once the app is up, without holding up startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuildOnStartup() {
+        Thread loader = new Thread(() -> {
+            try {
+                rebuildFromHistory();
+            } catch (Exception ex) {
+                log.error("Could not rebuild leaderboards from history: {}", ex.getMessage(), ex);
+            }
+        }, "leaderboard-rebuild");
+        loader.setDaemon(true);
+        loader.start();
+    }
+}
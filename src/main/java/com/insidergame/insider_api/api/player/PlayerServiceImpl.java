@@ -52,22 +52,21 @@ public class PlayerServiceImpl implements PlayerService {
     @Override
     public ApiResponse<PlayerResponse> validateToken(String token) {
         try {
-            if (jwtUtil.validateToken(token)) {
-                String uuid = jwtUtil.extractUuid(token);
-                String playerName = jwtUtil.extractPlayerName(token);
-
-                PlayerResponse response = PlayerResponse.builder()
-                        .uuid(uuid)
-                        .playerName(playerName)
-                        .token(token)
-                        .message("Token is valid")
-                        .build();
-
-                return new ApiResponse<>(true, "Token is valid", response, HttpStatus.OK);
-            } else {
+            // Single verification (cached) gives both uuid and name
+            JwtUtil.VerifiedToken verified = jwtUtil.verify(token).orElse(null);
+            if (verified == null) {
                 return new ApiResponse<>(false, "Invalid or expired token", null, HttpStatus.UNAUTHORIZED);
             }
 
+            PlayerResponse response = PlayerResponse.builder()
+                    .uuid(verified.getUuid())
+                    .playerName(verified.getPlayerName())
+                    .token(token)
+                    .message("Token is valid")
+                    .build();
+
+            return new ApiResponse<>(true, "Token is valid", response, HttpStatus.OK);
+
         } catch (Exception e) {
             return new ApiResponse<>(false, "Error validating token: " + e.getMessage(), null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
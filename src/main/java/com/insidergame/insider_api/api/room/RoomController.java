@@ -1,5 +1,6 @@
 package com.insidergame.insider_api.api.room;
 
+import com.insidergame.insider_api.cluster.ClusterRouter;
 import com.insidergame.insider_api.common.ApiResponse;
 import com.insidergame.insider_api.dto.CreateRoomRequest;
 import com.insidergame.insider_api.dto.JoinRoomRequest;
@@ -7,16 +8,14 @@ import com.insidergame.insider_api.dto.LeaveRoomRequest;
 import com.insidergame.insider_api.dto.PlayerDto;
 import com.insidergame.insider_api.dto.RoomResponse;
 import com.insidergame.insider_api.manager.RoomManager;
-import com.insidergame.insider_api.model.Player;
-import com.insidergame.insider_api.model.Room;
+import com.insidergame.insider_api.model.RoomSnapshot;
 import com.insidergame.insider_api.service.RoomService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/room")
@@ -24,10 +23,12 @@ public class RoomController {
 
     private final RoomService roomService;
     private final RoomManager roomManager;
+    private final ClusterRouter clusterRouter;
 
-    public RoomController(RoomService roomService, RoomManager roomManager) {
+    public RoomController(RoomService roomService, RoomManager roomManager, ClusterRouter clusterRouter) {
         this.roomService = roomService;
         this.roomManager = roomManager;
+        this.clusterRouter = clusterRouter;
     }
 
     /**
@@ -45,7 +46,11 @@ public class RoomController {
      * POST /api/room/join
      */
     @PostMapping("/join")
-    public ResponseEntity<ApiResponse<RoomResponse>> joinRoom(@RequestBody JoinRoomRequest request) {
+    public ResponseEntity<ApiResponse<RoomResponse>> joinRoom(@RequestBody JoinRoomRequest request, HttpServletRequest httpRequest) {
+        // The room may live on another node (path-based routes are redirected by RoomRoutingInterceptor)
+        var owner = clusterRouter.redirectIfRemote(request.getRoomCode(), httpRequest);
+        if (owner.isPresent()) return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).location(owner.get()).build();
+
         ApiResponse<RoomResponse> response = roomService.joinRoom(request);
         return ResponseEntity.status(response.getStatus()).body(response);
     }
@@ -55,7 +60,10 @@ public class RoomController {
      * POST /api/room/leave
      */
     @PostMapping("/leave")
-    public ResponseEntity<ApiResponse<RoomResponse>> leaveRoom(@RequestBody LeaveRoomRequest request) {
+    public ResponseEntity<ApiResponse<RoomResponse>> leaveRoom(@RequestBody LeaveRoomRequest request, HttpServletRequest httpRequest) {
+        var owner = clusterRouter.redirectIfRemote(request.getRoomCode(), httpRequest);
+        if (owner.isPresent()) return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).location(owner.get()).build();
+
         ApiResponse<RoomResponse> response = roomService.leaveRoom(request);
         return ResponseEntity.status(response.getStatus()).body(response);
     }
@@ -86,16 +94,14 @@ public class RoomController {
      */
     @GetMapping("/{roomCode}/players")
     public ResponseEntity<ApiResponse<List<PlayerDto>>> getRoomPlayers(@PathVariable String roomCode) {
-        Room room = roomManager.getRoom(roomCode).orElse(null);
+        RoomSnapshot room = roomManager.getRoomSnapshot(roomCode).orElse(null);
 
         if (room == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ApiResponse<>(false, "Room not found", null, HttpStatus.NOT_FOUND));
         }
 
-        List<PlayerDto> players = room.getPlayers().stream()
-                .map(this::convertToPlayerDto)
-                .collect(Collectors.toList());
+        List<PlayerDto> players = room.getPlayerDtos();
 
         return ResponseEntity.ok(new ApiResponse<>(true, "Players retrieved successfully", players, HttpStatus.OK));
     }
@@ -111,17 +117,4 @@ public class RoomController {
         ApiResponse<Void> response = roomService.deleteRoom(roomCode, hostUuid);
         return ResponseEntity.status(response.getStatus()).body(response);
     }
-
-    private PlayerDto convertToPlayerDto(Player player) {
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-        return PlayerDto.builder()
-                .uuid(player.getUuid())
-                .playerName(player.getPlayerName())
-                .isReady(player.isReady())
-                .isPlaying(player.isPlaying())
-                .joinedAt(player.getJoinedAt().format(formatter))
-                .isActive(player.isActive())
-                .lastActiveAt(player.getLastActiveAt() == null ? null : player.getLastActiveAt().format(formatter))
-                .build();
-    }
 }
@@ -1,14 +1,22 @@
 package com.insidergame.insider_api.api.room;
 
+import com.insidergame.insider_api.api.admin.DrainGate;
+import com.insidergame.insider_api.cluster.ClusterRouter;
 import com.insidergame.insider_api.common.ApiResponse;
 import com.insidergame.insider_api.dto.CreateRoomRequest;
 import com.insidergame.insider_api.dto.JoinRoomRequest;
 import com.insidergame.insider_api.dto.LeaveRoomRequest;
 import com.insidergame.insider_api.dto.RoomResponse;
+import com.insidergame.insider_api.enums.JoinResult;
 import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.enums.RuleSet;
 import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.manager.WordPackManager;
+import com.insidergame.insider_api.metrics.InsiderMetrics;
+import com.insidergame.insider_api.model.LeaveResult;
 import com.insidergame.insider_api.model.Player;
 import com.insidergame.insider_api.model.Room;
+import com.insidergame.insider_api.model.RoomSnapshot;
 import com.insidergame.insider_api.service.RoomService;
 import com.insidergame.insider_api.util.RoomCodeGenerator;
 import com.insidergame.insider_api.websocket.RoomWebSocketController;
@@ -17,7 +25,6 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,22 +34,56 @@ public class RoomServiceImpl implements RoomService {
     private final RoomCodeGenerator roomCodeGenerator;
     private final RoomWebSocketController webSocketController;
     private final com.insidergame.insider_api.manager.GameManager gameManager;
+    private final WordPackManager wordPackManager;
+    private final DrainGate drainGate; // closed while the server drains before a redeploy
+    private final ClusterRouter clusterRouter;
+    private final InsiderMetrics metrics;
 
-    public RoomServiceImpl(RoomManager roomManager, RoomCodeGenerator roomCodeGenerator, RoomWebSocketController webSocketController, com.insidergame.insider_api.manager.GameManager gameManager) {
+    public RoomServiceImpl(RoomManager roomManager, RoomCodeGenerator roomCodeGenerator, RoomWebSocketController webSocketController, com.insidergame.insider_api.manager.GameManager gameManager, WordPackManager wordPackManager,
+                           DrainGate drainGate, ClusterRouter clusterRouter, InsiderMetrics metrics) {
         this.roomManager = roomManager;
         this.gameManager = gameManager;
+        this.wordPackManager = wordPackManager;
         this.roomCodeGenerator = roomCodeGenerator;
         this.webSocketController = webSocketController;
+        this.drainGate = drainGate;
+        this.clusterRouter = clusterRouter;
+        this.metrics = metrics;
     }
 
     @Override
     public ApiResponse<RoomResponse> createRoom(CreateRoomRequest request) {
         try {
+            if (drainGate.isClosed()) {
+                return new ApiResponse<>(false, "Server is draining - create the room on another server", null, HttpStatus.SERVICE_UNAVAILABLE);
+            }
+
             // Validate max players
             if (request.getMaxPlayers() < 2 || request.getMaxPlayers() > 12) {
                 return new ApiResponse<>(false, "Max players must be between 2 and 12", null, HttpStatus.BAD_REQUEST);
             }
 
+            // Validate chosen word packs (optional)
+            if (request.getWordPacks() != null) {
+                for (String pack : request.getWordPacks()) {
+                    if (!wordPackManager.hasPack(pack)) {
+                        return new ApiResponse<>(false, "Unknown word pack: " + pack, null, HttpStatus.BAD_REQUEST);
+                    }
+                }
+            }
+
+            // Validate scoring rule set (optional)
+            RuleSet ruleSet = RuleSet.parse(request.getRuleSet()).orElse(null);
+            if (ruleSet == null) {
+                return new ApiResponse<>(false, "Unknown rule set: " + request.getRuleSet(), null, HttpStatus.BAD_REQUEST);
+            }
+
+            // Validate match length (optional)
+            int matchRounds = request.getMatchRounds() == null ? 0 : request.getMatchRounds();
+            if (matchRounds < 0 || matchRounds > 50) {
+                return new ApiResponse<>(false, "Match rounds must be between 0 and 50", null, HttpStatus.BAD_REQUEST);
+            }
+
             // Generate unique room code
             String roomCode;
             do {
@@ -56,12 +97,12 @@ public class RoomServiceImpl implements RoomService {
                     request.getMaxPlayers(),
                     request.getPassword(),
                     request.getHostUuid(),
-                    request.getHostName()
+                    request.getHostName(),
+                    request.getWordPacks(),
+                    ruleSet,
+                    matchRounds
             );
 
-            // Mock additional players (not counting host) up to 4, but don't exceed room capacity
-//            mockPlayerBot(room, roomCode);
-
             // Broadcast initial room state so subscribers (if any) receive the room snapshot
             try {
                 webSocketController.broadcastRoomUpdate(room.getRoomCode(), "ROOM_UPDATE");
@@ -82,15 +123,37 @@ public class RoomServiceImpl implements RoomService {
     @Override
     public ApiResponse<RoomResponse> joinRoom(JoinRoomRequest request) {
         try {
-            // Find room by code
-            Room room = roomManager.getRoom(request.getRoomCode()).orElse(null);
+            Player player = Player.builder()
+                    .uuid(request.getPlayerUuid())
+                    .playerName(request.getPlayerName())
+                    .joinedAt(LocalDateTime.now())
+                    .isHost(false)
+                    .build();
+
+            // Password, duplicate and capacity checks are shared with WebSocket joins
+            JoinResult result = roomManager.joinRoom(request.getRoomCode(), player, request.getPassword());
+            switch (result) {
+                case ROOM_NOT_FOUND:
+                    return new ApiResponse<>(false, "Room not found", null, HttpStatus.NOT_FOUND);
+                case ROOM_FULL:
+                    return new ApiResponse<>(false, "Room is full", null, HttpStatus.CONFLICT);
+                case WRONG_PASSWORD:
+                    return new ApiResponse<>(false, "Incorrect password", null, HttpStatus.UNAUTHORIZED);
+                default:
+                    break;
+            }
 
+//            // Check room status
+//            if (!RoomStatus.WAITING.equals(room.getStatus())) {
+//                return new ApiResponse<>(false, "Room is not accepting new players", null, HttpStatus.CONFLICT);
+//            }
+
+            RoomSnapshot room = roomManager.getRoomSnapshot(request.getRoomCode()).orElse(null);
             if (room == null) {
                 return new ApiResponse<>(false, "Room not found", null, HttpStatus.NOT_FOUND);
             }
 
-            // Check if player is already in the room
-            if (roomManager.isPlayerInRoom(request.getRoomCode(), request.getPlayerUuid())) {
+            if (result == JoinResult.ALREADY_IN_ROOM) {
                 // Player already in room, just return current room state
                 RoomResponse response = buildRoomResponse(room);
 
@@ -104,36 +167,7 @@ public class RoomServiceImpl implements RoomService {
                 return new ApiResponse<>(true, "Player already in room", response, HttpStatus.OK);
             }
 
-            // Check if room is full
-            if (room.isFull()) {
-                return new ApiResponse<>(false, "Room is full", null, HttpStatus.CONFLICT);
-            }
-
-//            // Check room status
-//            if (!RoomStatus.WAITING.equals(room.getStatus())) {
-//                return new ApiResponse<>(false, "Room is not accepting new players", null, HttpStatus.CONFLICT);
-//            }
-
-            // Check password if required
-            if (room.hasPassword()) {
-                if (request.getPassword() == null || !room.getPassword().equals(request.getPassword())) {
-                    return new ApiResponse<>(false, "Incorrect password", null, HttpStatus.UNAUTHORIZED);
-                }
-            }
-
-            // Add player to room
-            Player player = Player.builder()
-                    .uuid(request.getPlayerUuid())
-                    .playerName(request.getPlayerName())
-                    .joinedAt(LocalDateTime.now())
-                    .isHost(false)
-                    .build();
-
-            boolean added = roomManager.addPlayerToRoom(request.getRoomCode(), player);
-
-            if (!added) {
-                return new ApiResponse<>(false, "Failed to add player to room", null, HttpStatus.CONFLICT);
-            }
+            metrics.recordJoin();
 
             // Build response AFTER adding player (so currentPlayers count is updated)
             RoomResponse response = buildRoomResponse(room);
@@ -151,16 +185,14 @@ public class RoomServiceImpl implements RoomService {
     @Override
     public ApiResponse<RoomResponse> leaveRoom(LeaveRoomRequest request) {
         try {
-            Room room = roomManager.getRoom(request.getRoomCode()).orElse(null);
-
-            if (room == null) {
+            // Remove player from room
+            LeaveResult left = roomManager.removePlayerFromRoom(request.getRoomCode(), request.getPlayerUuid());
+            if (left == LeaveResult.ROOM_NOT_FOUND) {
                 return new ApiResponse<>(false, "Room not found", null, HttpStatus.NOT_FOUND);
             }
+            metrics.recordLeave();
 
-            // Remove player from room
-            boolean roomDeleted = roomManager.removePlayerFromRoom(request.getRoomCode(), request.getPlayerUuid());
-
-            if (roomDeleted) {
+            if (left.roomDeleted()) {
                 // Room was deleted because it's empty
                 return new ApiResponse<>(true, "Left room successfully (room deleted - empty)", null, HttpStatus.OK);
             }
@@ -169,7 +201,7 @@ public class RoomServiceImpl implements RoomService {
             webSocketController.broadcastRoomUpdate(request.getRoomCode(), "PLAYER_LEFT");
 
             // Room still exists, return updated room info
-            RoomResponse response = buildRoomResponse(room);
+            RoomResponse response = roomManager.getRoomSnapshot(request.getRoomCode()).map(this::buildRoomResponse).orElse(null);
             return new ApiResponse<>(true, "Left room successfully", response, HttpStatus.OK);
 
         } catch (Exception e) {
@@ -197,9 +229,10 @@ public class RoomServiceImpl implements RoomService {
     @Override
     public ApiResponse<List<RoomResponse>> getAvailableRooms() {
         try {
-            List<Room> rooms = roomManager.getAvailableRooms();
+            List<RoomSnapshot> rooms = roomManager.getAvailableRooms();
 
             List<RoomResponse> availableRooms = rooms.stream()
+                    .filter(room -> clusterRouter.isLocal(room.getRoomCode())) // not the standby copies of other nodes' rooms
                     .sorted((r1, r2) -> r2.getCreatedAt().compareTo(r1.getCreatedAt())) // Sort by createdAt DESC (newest first)
                     .map(this::buildRoomResponse)
                     .collect(Collectors.toList());
@@ -248,34 +281,24 @@ public class RoomServiceImpl implements RoomService {
                 .hostUuid(room.getHostUuid())
                 .hostName(room.getHostName())
                 .createdAt(room.getCreatedAt())
+                .ruleSet(room.getRuleSet())
+                .matchRounds(room.getMatch() == null ? null : room.getMatch().getTotalRounds())
                 .build();
     }
 
-    private void mockPlayerBot(Room room, String roomCode) {
-        try {
-            int slotsAvailable = Math.max(0, room.getMaxPlayers() - room.getPlayers().size());
-            int toMock = Math.min(4, slotsAvailable);
-            for (int i = 1; i <= toMock; i++) {
-                Player bot = Player.builder()
-                        .uuid(UUID.randomUUID().toString())
-                        .playerName("Bot " + i)
-                        .joinedAt(LocalDateTime.now())
-                        .isReady(true)
-                        .isHost(false)
-                        .isActive(true)
-                        .lastActiveAt(LocalDateTime.now())
-                        .build();
-
-                // Use roomManager to add so capacity/status checks are respected
-                boolean added = roomManager.addPlayerToRoom(roomCode, bot);
-                if (!added) {
-                    // If failed to add (race or capacity), stop trying
-                    break;
-
-                }
-            }
-        } catch (Exception ignored) {
-            // Ignore mocking errors - room creation should still succeed
-        }
+    private RoomResponse buildRoomResponse(RoomSnapshot room) {
+        return RoomResponse.builder()
+                .roomCode(room.getRoomCode())
+                .roomName(room.getRoomName())
+                .maxPlayers(room.getMaxPlayers())
+                .currentPlayers(room.getCurrentPlayers())
+                .hasPassword(room.isPasswordProtected())
+                .status(room.getStatus())
+                .hostUuid(room.getHostUuid())
+                .hostName(room.getHostName())
+                .createdAt(room.getCreatedAt())
+                .ruleSet(room.getRuleSet())
+                .matchRounds(room.getMatchRounds())
+                .build();
     }
 }
@@ -0,0 +1,386 @@
+package com.insidergame.insider_api.bot;
+
+import com.insidergame.insider_api.api.admin.DrainGate;
+import com.insidergame.insider_api.cluster.ClusterRouter;
+import com.insidergame.insider_api.common.ApiResponse;
+import com.insidergame.insider_api.dto.BotStatus;
+import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.GameSnapshot;
+import com.insidergame.insider_api.model.Player;
+import com.insidergame.insider_api.model.PlayerSnapshot;
+import com.insidergame.insider_api.model.Room;
+import com.insidergame.insider_api.model.RoomSnapshot;
+import com.insidergame.insider_api.service.RoomService;
+import com.insidergame.insider_api.util.RoomCodeGenerator;
+import com.insidergame.insider_api.websocket.PlayerPrincipal;
+import com.insidergame.insider_api.websocket.RoomWebSocketController;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays bot players server-side. Every tick it looks at each local room with bots and, once a bot's think
+ * time in the current phase has passed, sends the command a client would (ready, start, open_card,
+ * master_end, vote, host_summary) straight to {@link RoomWebSocketController}, so the room runs and
+ * broadcasts exactly as it does for people. Bots have no session; private messages to them go nowhere.
+ * <p>
+ * Bots leave a room once no person is left in it. Rooms spawned with {@link #spawnRooms} hold only bots and
+ * play game after game until removed - thousands of them load the room and game engine in one JVM without
+ * any network traffic. Which rooms were spawned is not persisted, so after a restart they empty out like any
+ * other room.
+ */
+@Service
+@Slf4j
+public class BotEngine {
+
+    private static final int MAX_SPAWN = 10_000;
+
+    private final RoomManager roomManager;
+    private final GameManager gameManager;
+    private final RoomService roomService;
+    private final RoomWebSocketController webSocketController;
+    private final RoomCodeGenerator roomCodeGenerator;
+    private final ClusterRouter clusterRouter;
+    private final DrainGate drainGate;
+    private final long tickMillis;
+    private final long thinkNanos;
+    private final long roundNanos;
+    private final VoteStrategy defaultStrategy;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "bot-engine");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Phase and think delays per room; only touched by the tick thread
+    private final Map<String, BotRoom> botRooms = new HashMap<>();
+    private final Random random = new Random();
+
+    // Vote strategy per bot uuid (bots restored after a restart use the default)
+    private final Map<String, VoteStrategy> strategies = new ConcurrentHashMap<>();
+    private final Set<String> botOnlyRooms = ConcurrentHashMap.newKeySet();
+    private final AtomicLong actions = new AtomicLong();
+    private final AtomicLong gamesScored = new AtomicLong();
+    private volatile int roomsWithBots;
+    private volatile int botCount;
+
+    public BotEngine(RoomManager roomManager, GameManager gameManager, RoomService roomService,
+                     RoomWebSocketController webSocketController, RoomCodeGenerator roomCodeGenerator,
+                     ClusterRouter clusterRouter, DrainGate drainGate,
+                     @Value("${insider.bot.tick-ms:250}") long tickMillis,
+                     @Value("${insider.bot.think-ms:1500}") long thinkMillis,
+                     @Value("${insider.bot.round-seconds:30}") long roundSeconds,
+                     @Value("${insider.bot.vote-strategy:RANDOM}") VoteStrategy defaultStrategy) {
+        this.roomManager = roomManager;
+        this.gameManager = gameManager;
+        this.roomService = roomService;
+        this.webSocketController = webSocketController;
+        this.roomCodeGenerator = roomCodeGenerator;
+        this.clusterRouter = clusterRouter;
+        this.drainGate = drainGate;
+        this.tickMillis = tickMillis;
+        this.thinkNanos = TimeUnit.MILLISECONDS.toNanos(thinkMillis);
+        this.roundNanos = TimeUnit.SECONDS.toNanos(roundSeconds);
+        this.defaultStrategy = defaultStrategy;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Seat up to {@code count} bots in an existing room (fewer if it fills up)
+     */
+    public ApiResponse<BotStatus> addBots(String roomCode, int count, VoteStrategy strategy) {
+        RoomSnapshot room = roomManager.getRoomSnapshot(roomCode).orElse(null);
+        if (room == null) {
+            return new ApiResponse<>(false, "Room not found", null, HttpStatus.NOT_FOUND);
+        }
+        if (!clusterRouter.isLocal(roomCode)) {
+            return new ApiResponse<>(false, "Room is owned by another node", null, HttpStatus.CONFLICT);
+        }
+        if (count < 1 || count > 11) {
+            return new ApiResponse<>(false, "Bot count must be between 1 and 11", null, HttpStatus.BAD_REQUEST);
+        }
+
+        int numbered = (int) room.getPlayers().stream().filter(PlayerSnapshot::bot).count();
+        int added = 0;
+        for (int i = 0; i < count; i++) {
+            Player bot = newBot(numbered + added + 1, strategy);
+            if (!roomManager.addPlayerToRoom(roomCode, bot)) {
+                strategies.remove(bot.getUuid());
+                break;
+            }
+            added++;
+        }
+        if (added == 0) {
+            return new ApiResponse<>(false, "Room is full", null, HttpStatus.CONFLICT);
+        }
+
+        log.info("Added {} bots to room {}", added, roomCode);
+        webSocketController.broadcastRoomUpdate(roomCode, "PLAYER_JOINED");
+        return new ApiResponse<>(true, "Added " + added + " bots", getStatus(List.of(roomCode)), HttpStatus.OK);
+    }
+
+    /**
+     * Create {@code rooms} rooms of {@code players} bots each (the host is a bot too)
+     */
+    public ApiResponse<BotStatus> spawnRooms(int rooms, int players, VoteStrategy strategy) {
+        if (drainGate.isClosed()) {
+            return new ApiResponse<>(false, "Server is draining", null, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (rooms < 1 || rooms > MAX_SPAWN) {
+            return new ApiResponse<>(false, "Rooms must be between 1 and " + MAX_SPAWN, null, HttpStatus.BAD_REQUEST);
+        }
+        if (players < 2 || players > 12) {
+            return new ApiResponse<>(false, "Players must be between 2 and 12", null, HttpStatus.BAD_REQUEST);
+        }
+
+        List<String> codes = onTickThread(() -> spawn(rooms, players, strategy));
+        log.info("Spawned {} bot rooms of {} players", rooms, players);
+        return new ApiResponse<>(true, "Spawned " + rooms + " bot rooms", getStatus(codes), HttpStatus.CREATED);
+    }
+
+    private List<String> spawn(int rooms, int players, VoteStrategy strategy) {
+        List<String> codes = new ArrayList<>(rooms);
+        for (int r = 0; r < rooms; r++) {
+            String roomCode;
+            do {
+                roomCode = roomCodeGenerator.generateRoomCode();
+            } while (roomManager.roomExists(roomCode));
+
+            Player host = newBot(1, strategy);
+            roomManager.createRoom(roomCode, "Bots " + roomCode, players, null, host.getUuid(), host.getPlayerName(),
+                    List.of(), RuleSet.CLASSIC, 0, true);
+            botOnlyRooms.add(roomCode);
+            for (int p = 2; p <= players; p++) {
+                roomManager.addPlayerToRoom(roomCode, newBot(p, strategy));
+            }
+            codes.add(roomCode);
+        }
+        return codes;
+    }
+
+    /**
+     * Delete every room spawned with {@link #spawnRooms}
+     */
+    public ApiResponse<BotStatus> removeBotRooms() {
+        List<String> removed = onTickThread(() -> {
+            List<String> codes = new ArrayList<>();
+            for (String roomCode : botOnlyRooms) {
+                roomManager.getRoomSnapshot(roomCode).ifPresent(room -> {
+                    if (roomService.deleteRoom(roomCode, room.getHostUuid()).isSuccess()) codes.add(roomCode);
+                });
+            }
+            botOnlyRooms.clear();
+            return codes;
+        });
+        log.info("Removed {} bot rooms", removed.size());
+        return new ApiResponse<>(true, "Removed " + removed.size() + " bot rooms", getStatus(removed), HttpStatus.OK);
+    }
+
+    public BotStatus getStatus() {
+        return getStatus(null);
+    }
+
+    private BotStatus getStatus(List<String> roomCodes) {
+        return BotStatus.builder()
+                .rooms(roomsWithBots)
+                .botOnlyRooms(botOnlyRooms.size())
+                .bots(botCount)
+                .actions(actions.get())
+                .gamesScored(gamesScored.get())
+                .roomCodes(roomCodes)
+                .build();
+    }
+
+    // Spawning and removal run between ticks, so a tick never sees a half-built bot room and mistakes it for one everybody left
+    private <T> T onTickThread(Callable<T> task) {
+        try {
+            return scheduler.submit(task).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the bot engine", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    private Player newBot(int number, VoteStrategy strategy) {
+        LocalDateTime now = LocalDateTime.now();
+        Player bot = Player.builder()
+                .uuid(UUID.randomUUID().toString())
+                .playerName("Bot " + number)
+                .joinedAt(now)
+                .isBot(true)
+                .isActive(true)
+                .lastActiveAt(now)
+                .build();
+        strategies.put(bot.getUuid(), strategy == null ? defaultStrategy : strategy);
+        return bot;
+    }
+
+    // ---- driving ----
+
+    private void tick() {
+        try {
+            long now = System.nanoTime();
+            Set<String> seen = new HashSet<>();
+            int bots = 0;
+            for (Room r : roomManager.getAllRooms()) {
+                RoomSnapshot room = roomManager.getRoomSnapshot(r.getRoomCode()).orElse(null);
+                if (room == null) continue;
+                List<PlayerSnapshot> roomBots = room.getPlayers().stream().filter(PlayerSnapshot::bot).toList();
+                if (roomBots.isEmpty()) continue;
+                seen.add(room.getRoomCode());
+                bots += roomBots.size();
+                // Replicas of other nodes' rooms are driven by their owner
+                if (!clusterRouter.isLocal(room.getRoomCode())) continue;
+                try {
+                    drive(room, roomBots, now);
+                } catch (Exception ex) {
+                    // Keep driving the other rooms; this one is retried next tick
+                    log.warn("Bot tick failed for room {}: {}", room.getRoomCode(), ex.getMessage(), ex);
+                }
+            }
+            forgetRoomsWithoutBots(seen);
+            roomsWithBots = seen.size();
+            botCount = bots;
+        } catch (Exception ex) {
+            log.error("Error driving bots: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private void forgetRoomsWithoutBots(Set<String> seen) {
+        for (Iterator<Map.Entry<String, BotRoom>> it = botRooms.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, BotRoom> e = it.next();
+            if (seen.contains(e.getKey())) continue;
+            it.remove();
+            strategies.keySet().removeAll(e.getValue().bots);
+        }
+        botOnlyRooms.removeIf(roomCode -> !roomManager.roomExists(roomCode));
+    }
+
+    private void drive(RoomSnapshot room, List<PlayerSnapshot> bots, long now) {
+        String roomCode = room.getRoomCode();
+        BotRoom state = botRooms.computeIfAbsent(roomCode, k -> new BotRoom());
+        for (PlayerSnapshot bot : bots) state.bots.add(bot.uuid());
+
+        if (bots.size() == room.getPlayers().size() && !botOnlyRooms.contains(roomCode)) {
+            // Everyone else left; the last bot out deletes the room
+            for (PlayerSnapshot bot : bots) act(() -> webSocketController.leaveRoom(roomCode, principal(bot)));
+            return;
+        }
+
+        GameSnapshot game = gameManager.getActiveGameSnapshot(roomCode).orElse(null);
+        String phase = phaseOf(room, game);
+        if (!phase.equals(state.phase)) {
+            if (phase.startsWith("SCORED")) gamesScored.incrementAndGet();
+            state.phase = phase;
+            state.since = now;
+            state.delays.clear();
+        }
+
+        long age = now - state.since;
+        for (PlayerSnapshot bot : bots) {
+            long delay = state.delays.computeIfAbsent(bot.uuid(), k -> thinkDelay());
+            if (age >= delay) play(room, game, bot, age);
+        }
+    }
+
+    // One step for one bot; every branch checks the state it changes, so repeating a step on the next tick is a no-op
+    private void play(RoomSnapshot room, GameSnapshot game, PlayerSnapshot bot, long phaseAge) {
+        String roomCode = room.getRoomCode();
+        Principal me = principal(bot);
+        boolean host = bot.uuid().equals(room.getHostUuid());
+
+        if (game == null) {
+            if (room.getStatus() == RoomStatus.WAITING && !bot.ready()) {
+                act(() -> webSocketController.toggleReady(roomCode, me));
+            } else if (room.getStatus() == RoomStatus.PLAYING && host && !drainGate.isClosed()) {
+                act(() -> webSocketController.startGame(roomCode, me));
+            }
+            return;
+        }
+
+        // Scored games are reset by GameFinishService; late joiners sit the game out
+        RoleType role = game.roles().get(bot.uuid());
+        if (game.scored() || role == null) return;
+
+        if (!game.wordRevealed()) {
+            if (!Boolean.TRUE.equals(game.cardOpened().get(bot.uuid()))) {
+                act(() -> webSocketController.openCard(roomCode, me));
+            } else if (role == RoleType.MASTER && game.startedAt() != null && phaseAge >= roundNanos) {
+                act(() -> webSocketController.masterEnd(roomCode, me));
+            }
+            return;
+        }
+
+        Map<String, String> votes = game.votes();
+        if (!votes.containsKey(bot.uuid())) {
+            VoteStrategy strategy = strategies.getOrDefault(bot.uuid(), defaultStrategy);
+            strategy.target(bot.uuid(), game.roles(), votes, random).ifPresent(target -> {
+                RoomWebSocketController.VoteRequest vote = new RoomWebSocketController.VoteRequest();
+                vote.setTargetPlayerUuid(target);
+                act(() -> webSocketController.votePlayer(roomCode, vote, me));
+            });
+        } else if (host && votes.size() >= game.roles().size()) {
+            act(() -> webSocketController.hostSummary(roomCode, me));
+        }
+    }
+
+    private void act(Runnable command) {
+        actions.incrementAndGet();
+        command.run();
+    }
+
+    // Changes whenever bots have something new to do
+    private static String phaseOf(RoomSnapshot room, GameSnapshot game) {
+        if (game == null) return room.getStatus().name();
+        String id = String.valueOf(game.id());
+        if (game.scored()) return "SCORED " + id;
+        if (game.wordRevealed()) return "VOTING " + id;
+        if (game.startedAt() != null) return "ROUND " + id;
+        return "CARDS " + id;
+    }
+
+    // Think time of +-50% around the configured mean, so bots in a room do not all act on the same tick
+    private long thinkDelay() {
+        return thinkNanos == 0 ? 0 : thinkNanos / 2 + (long) (random.nextDouble() * thinkNanos);
+    }
+
+    private static Principal principal(PlayerSnapshot bot) {
+        return new PlayerPrincipal(bot.uuid(), bot.playerName());
+    }
+
+    private static final class BotRoom {
+        private final Set<String> bots = new HashSet<>();
+        private final Map<String, Long> delays = new HashMap<>();
+        private String phase;
+        private long since;
+    }
+}
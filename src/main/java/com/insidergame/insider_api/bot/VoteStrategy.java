@@ -0,0 +1,80 @@
+package com.insidergame.insider_api.bot;
+
+import com.insidergame.insider_api.enums.RoleType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * How a bot picks who to vote for once the word is revealed
+ */
+public enum VoteStrategy {
+
+    /**
+     * Any other player in the game
+     */
+    RANDOM {
+        @Override
+        String choose(List<String> candidates, Map<String, RoleType> roles, Map<String, String> votes, Random random) {
+            return candidates.get(random.nextInt(candidates.size()));
+        }
+    },
+
+    /**
+     * Whoever has the most votes so far; random while nobody has any
+     */
+    BANDWAGON {
+        @Override
+        String choose(List<String> candidates, Map<String, RoleType> roles, Map<String, String> votes, Random random) {
+            Map<String, Integer> tally = new HashMap<>();
+            for (String target : votes.values()) {
+                if (candidates.contains(target)) tally.merge(target, 1, Integer::sum);
+            }
+            return tally.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElseGet(() -> RANDOM.choose(candidates, roles, votes, random));
+        }
+    },
+
+    /**
+     * The INSIDER - bots can see every role, so this always finds them (the INSIDER itself votes randomly)
+     */
+    INSIDER {
+        @Override
+        String choose(List<String> candidates, Map<String, RoleType> roles, Map<String, String> votes, Random random) {
+            return candidates.stream()
+                    .filter(uuid -> roles.get(uuid) == RoleType.INSIDER)
+                    .findFirst()
+                    .orElseGet(() -> RANDOM.choose(candidates, roles, votes, random));
+        }
+    };
+
+    abstract String choose(List<String> candidates, Map<String, RoleType> roles, Map<String, String> votes, Random random);
+
+    /**
+     * Vote target for {@code voter} among the other players of the game, or empty if there is nobody to vote for
+     */
+    Optional<String> target(String voter, Map<String, RoleType> roles, Map<String, String> votes, Random random) {
+        List<String> candidates = new ArrayList<>(roles.keySet());
+        candidates.remove(voter);
+        if (candidates.isEmpty()) return Optional.empty();
+        candidates.sort(null); // role maps are hash-ordered; keep choices reproducible for a seeded Random
+        return Optional.of(choose(candidates, roles, votes, random));
+    }
+
+    /**
+     * Case-insensitive lookup, empty for unknown names
+     */
+    public static Optional<VoteStrategy> parse(String name) {
+        if (name == null) return Optional.empty();
+        for (VoteStrategy strategy : values()) {
+            if (strategy.name().equalsIgnoreCase(name.trim())) return Optional.of(strategy);
+        }
+        return Optional.empty();
+    }
+}
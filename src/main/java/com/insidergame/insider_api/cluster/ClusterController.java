@@ -0,0 +1,63 @@
+package com.insidergame.insider_api.cluster;
+
+import com.insidergame.insider_api.common.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Node-to-node endpoint used by {@link HttpClusterTransport}. Not for clients - guarded by the shared cluster secret.
+ */
+@RestController
+@RequestMapping("/internal/cluster")
+public class ClusterController {
+
+    private final ClusterRouter router;
+    private final ClusterInbound inbound;
+    private final byte[] secret;
+
+    public ClusterController(ClusterRouter router, ClusterInbound inbound, @Value("${insider.cluster.secret:}") String secret) {
+        this.router = router;
+        this.inbound = inbound;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Run a STOMP command relayed by the node the player is connected to
+     * POST /internal/cluster/stomp
+     */
+    @PostMapping("/stomp")
+    public ResponseEntity<ApiResponse<Void>> relayStomp(@RequestHeader(value = HttpClusterTransport.SECRET_HEADER, required = false) String presented,
+                                                        @RequestBody RelayedFrame frame) {
+        if (!router.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse<>(false, "Clustering is disabled", null, HttpStatus.NOT_FOUND));
+        }
+        if (!authorized(presented)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiResponse<>(false, "Bad cluster secret", null, HttpStatus.FORBIDDEN));
+        }
+        inbound.accept(frame);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new ApiResponse<>(true, "Accepted", null, HttpStatus.ACCEPTED));
+    }
+
+    /**
+     * Apply a replication batch from a room owner; the body is the bare {@link ReplicationAck}
+     * POST /internal/cluster/replicate
+     */
+    @PostMapping("/replicate")
+    public ResponseEntity<ReplicationAck> replicate(@RequestHeader(value = HttpClusterTransport.SECRET_HEADER, required = false) String presented,
+                                                    @RequestBody ReplicationBatch batch) {
+        if (!router.isEnabled()) return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        if (!authorized(presented)) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        return ResponseEntity.ok(inbound.acceptReplication(batch));
+    }
+
+    // A missing or blank secret never matches, even if none is configured
+    private boolean authorized(String presented) {
+        if (presented == null || presented.isBlank() || secret.length == 0) return false;
+        return MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
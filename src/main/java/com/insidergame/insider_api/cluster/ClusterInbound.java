@@ -0,0 +1,69 @@
+package com.insidergame.insider_api.cluster;
+
+import com.insidergame.insider_api.websocket.PlayerPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Receiving side of node-to-node traffic. Relayed STOMP commands go on the local inbound channel with the
+ * player's principal, so the usual @MessageMapping handlers run them exactly as if the player were connected
+ * here; replication batches go to {@link ReplicationService}.
+ */
+@Component
+@Slf4j
+public class ClusterInbound {
+
+    // Marks frames that already crossed nodes, so a misconfigured ring cannot bounce them around
+    static final String RELAYED_HEADER = "x-cluster-relayed";
+
+    private final ClusterRouter router;
+    private final ClusterTransport transport;
+    private final MessageChannel clientInboundChannel;
+    private final ReplicationService replicationService;
+
+    public ClusterInbound(ClusterRouter router, ClusterTransport transport,
+                          @Qualifier("clientInboundChannel") MessageChannel clientInboundChannel,
+                          ReplicationService replicationService) {
+        this.router = router;
+        this.transport = transport;
+        this.clientInboundChannel = clientInboundChannel;
+        this.replicationService = replicationService;
+    }
+
+    @PostConstruct
+    void bind() {
+        if (router.isEnabled()) transport.bind(router.getLocalNode().id(), this);
+    }
+
+    @PreDestroy
+    void unbind() {
+        if (router.isEnabled()) transport.unbind(router.getLocalNode().id());
+    }
+
+    public void accept(RelayedFrame frame) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination(frame.destination());
+        accessor.setUser(new PlayerPrincipal(frame.playerUuid(), frame.playerName()));
+        accessor.setSessionId("cluster-" + frame.originNodeId() + "-" + frame.playerUuid());
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setNativeHeader(RELAYED_HEADER, frame.originNodeId());
+        accessor.setLeaveMutable(true);
+        byte[] payload = frame.payload() == null ? new byte[0] : frame.payload().getBytes(StandardCharsets.UTF_8);
+        clientInboundChannel.send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+        log.debug("Dispatched {} relayed from node {} for player {}", frame.destination(), frame.originNodeId(), frame.playerUuid());
+    }
+
+    public ReplicationAck acceptReplication(ReplicationBatch batch) {
+        return replicationService.receive(batch);
+    }
+}
@@ -0,0 +1,7 @@
+package com.insidergame.insider_api.cluster;
+
+/**
+ * One API instance in the cluster: a stable id and the base URL clients and peers reach it on
+ */
+public record ClusterNode(String id, String baseUrl) {
+}
@@ -0,0 +1,119 @@
+package com.insidergame.insider_api.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which node owns a room. Every room lives on exactly one node, chosen by hashing its code onto
+ * a {@link HashRing} of the configured nodes, so any node can tell where a room is without asking.
+ * Nodes only create rooms they own, and traffic for other rooms is redirected (REST) or relayed (STOMP).
+ * Each room's follower is the next node on the ring; when a node is marked down its rooms move to exactly
+ * those followers (see ReplicationService). With no nodes configured the instance runs alone and owns every room.
+ *
+ * insider.cluster.nodes=a=http://10.0.0.1:8081,b=http://10.0.0.2:8081
+ * insider.cluster.node-id=a
+ */
+@Component
+@Slf4j
+public class ClusterRouter {
+
+    private final ClusterNode localNode;
+    private final List<ClusterNode> nodes;
+    private final int virtualNodes;
+    private final Set<String> down = ConcurrentHashMap.newKeySet();
+    private volatile HashRing ring; // live nodes only; null when running alone
+
+    public ClusterRouter(@Value("${insider.cluster.node-id:local}") String nodeId,
+                         @Value("${insider.cluster.nodes:}") String nodes,
+                         @Value("${insider.cluster.virtual-nodes:128}") int virtualNodes) {
+        this.nodes = parseNodes(nodes);
+        this.virtualNodes = virtualNodes;
+        if (this.nodes.isEmpty()) {
+            this.localNode = new ClusterNode(nodeId, "");
+            this.ring = null;
+            return;
+        }
+        this.localNode = this.nodes.stream().filter(n -> n.id().equals(nodeId)).findFirst()
+                .orElseThrow(() -> new IllegalStateException("insider.cluster.node-id '" + nodeId + "' is not in insider.cluster.nodes"));
+        this.ring = new HashRing(this.nodes, virtualNodes);
+        log.info("Cluster node {} of {} nodes: {}", nodeId, this.nodes.size(), this.nodes);
+    }
+
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    public ClusterNode getLocalNode() {
+        return localNode;
+    }
+
+    public List<ClusterNode> getNodes() {
+        return nodes;
+    }
+
+    public ClusterNode ownerOf(String roomCode) {
+        HashRing r = ring;
+        return r == null ? localNode : r.ownerOf(roomCode);
+    }
+
+    public boolean isLocal(String roomCode) {
+        HashRing r = ring;
+        return r == null || r.ownerOf(roomCode) == localNode;
+    }
+
+    /**
+     * The node holding a hot-standby copy of the room, or null if there is no other live node
+     */
+    public ClusterNode followerOf(String roomCode) {
+        HashRing r = ring;
+        return r == null ? null : r.successorOf(roomCode, r.ownerOf(roomCode));
+    }
+
+    public boolean isUp(String nodeId) {
+        return !down.contains(nodeId);
+    }
+
+    /**
+     * Take a failed node out of the ring; its rooms now belong to their followers. Returns false if it already was.
+     */
+    public synchronized boolean markDown(String nodeId) {
+        if (ring == null || nodeId.equals(localNode.id()) || !down.add(nodeId)) return false;
+        ring = new HashRing(nodes.stream().filter(n -> !down.contains(n.id())).toList(), virtualNodes);
+        log.warn("Cluster node {} marked down - live nodes: {}", nodeId, nodes.stream().map(ClusterNode::id).filter(this::isUp).toList());
+        return true;
+    }
+
+    /**
+     * Where to send this request if the room lives on another node; empty when it is ours
+     */
+    public Optional<URI> redirectIfRemote(String roomCode, HttpServletRequest request) {
+        if (roomCode == null || isLocal(roomCode)) return Optional.empty();
+        String query = request.getQueryString();
+        return Optional.of(URI.create(ownerOf(roomCode).baseUrl() + request.getRequestURI() + (query == null ? "" : "?" + query)));
+    }
+
+    // "id=url,id=url"
+    static List<ClusterNode> parseNodes(String spec) {
+        List<ClusterNode> parsed = new ArrayList<>();
+        if (spec == null || spec.isBlank()) return parsed;
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            int eq = trimmed.indexOf('=');
+            if (eq <= 0 || eq == trimmed.length() - 1) {
+                throw new IllegalStateException("Bad insider.cluster.nodes entry '" + trimmed + "' - expected id=baseUrl");
+            }
+            String url = trimmed.substring(eq + 1).trim();
+            parsed.add(new ClusterNode(trimmed.substring(0, eq).trim(), url.endsWith("/") ? url.substring(0, url.length() - 1) : url));
+        }
+        return List.copyOf(parsed);
+    }
+}
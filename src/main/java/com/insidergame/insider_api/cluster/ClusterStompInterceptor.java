@@ -0,0 +1,97 @@
+package com.insidergame.insider_api.cluster;
+
+import com.insidergame.insider_api.messaging.RoomEventBus;
+import com.insidergame.insider_api.websocket.PlayerPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Routes STOMP traffic for rooms this node does not own. Commands sent to /app/room/{code}/* are relayed
+ * to the owner and dropped here. Subscribing to /topic/room/{code} is allowed. With a RoomEventBus the owner's
+ * broadcasts reach this node; without one the player is told on /user/queue/cluster which node owns the room
+ * so the client can reconnect there for its broadcasts.
+ */
+@Component
+@Slf4j
+public class ClusterStompInterceptor implements ChannelInterceptor {
+
+    private static final String APP_ROOM_PREFIX = "/app/room/";
+    private static final String TOPIC_ROOM_PREFIX = "/topic/room/";
+
+    private final ClusterRouter router;
+    private final ClusterTransport transport;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final boolean eventBus;
+
+    public ClusterStompInterceptor(ClusterRouter router, ClusterTransport transport, @Lazy SimpMessagingTemplate messagingTemplate,
+                                   ObjectProvider<RoomEventBus> eventBus) {
+        this.router = router;
+        this.transport = transport;
+        this.messagingTemplate = messagingTemplate;
+        this.eventBus = eventBus.getIfAvailable() != null;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!router.isEnabled()) return message;
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getDestination() == null) return message;
+
+        if (accessor.getCommand() == StompCommand.SEND) {
+            String roomCode = roomCodeOf(accessor.getDestination(), APP_ROOM_PREFIX);
+            if (roomCode == null || router.isLocal(roomCode)) return message;
+            if (accessor.getFirstNativeHeader(ClusterInbound.RELAYED_HEADER) != null) {
+                log.warn("Dropping {} relayed to node {} which does not own room {} - check insider.cluster.nodes",
+                        accessor.getDestination(), router.getLocalNode().id(), roomCode);
+                return null;
+            }
+            relay(accessor, message, roomCode);
+            return null;
+        }
+
+        if (accessor.getCommand() == StompCommand.SUBSCRIBE && !eventBus) {
+            String roomCode = roomCodeOf(accessor.getDestination(), TOPIC_ROOM_PREFIX);
+            if (roomCode != null && !router.isLocal(roomCode) && accessor.getUser() != null) {
+                ClusterNode owner = router.ownerOf(roomCode);
+                messagingTemplate.convertAndSendToUser(accessor.getUser().getName(), "/queue/cluster",
+                        Map.of("type", "ROOM_OWNER", "roomCode", roomCode, "nodeId", owner.id(), "baseUrl", owner.baseUrl()));
+            }
+        }
+        return message;
+    }
+
+    private void relay(StompHeaderAccessor accessor, Message<?> message, String roomCode) {
+        Principal user = accessor.getUser();
+        if (user == null) return;
+        String playerName = user instanceof PlayerPrincipal p ? p.getPlayerName() : null;
+        String payload = message.getPayload() instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : null;
+        ClusterNode owner = router.ownerOf(roomCode);
+        try {
+            transport.relayStomp(owner, new RelayedFrame(router.getLocalNode().id(), accessor.getDestination(),
+                    user.getName(), playerName, payload));
+        } catch (Exception ex) {
+            log.error("Could not relay {} to node {}: {}", accessor.getDestination(), owner.id(), ex.getMessage());
+        }
+    }
+
+    // "/app/room/ABC123/ready" -> "ABC123"
+    static String roomCodeOf(String destination, String prefix) {
+        if (!destination.startsWith(prefix)) return null;
+        int end = destination.indexOf('/', prefix.length());
+        String code = end < 0 ? destination.substring(prefix.length()) : destination.substring(prefix.length(), end);
+        return code.isEmpty() ? null : code;
+    }
+}
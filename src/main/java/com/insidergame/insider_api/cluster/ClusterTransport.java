@@ -0,0 +1,27 @@
+package com.insidergame.insider_api.cluster;
+
+import java.io.IOException;
+
+/**
+ * How nodes hand room traffic to each other. {@link HttpClusterTransport} talks to real peers;
+ * {@link InJvmClusterTransport} connects nodes running in the same JVM, for tests and local runs.
+ */
+public interface ClusterTransport {
+
+    /**
+     * Register the local node's receiving side
+     */
+    void bind(String nodeId, ClusterInbound inbound);
+
+    void unbind(String nodeId);
+
+    /**
+     * Deliver a STOMP command to the node that owns its room. Returns once the owner accepted it.
+     */
+    void relayStomp(ClusterNode target, RelayedFrame frame) throws IOException;
+
+    /**
+     * Ship a replication batch to a follower and wait for its acknowledgement
+     */
+    ReplicationAck replicate(ClusterNode target, ReplicationBatch batch) throws IOException;
+}
@@ -0,0 +1,72 @@
+package com.insidergame.insider_api.cluster;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Consistent-hash ring mapping room codes to nodes. Each node is placed at many virtual points so rooms
+ * spread evenly, and adding or removing a node only moves the rooms on its own arcs.
+ * Immutable; lookups are a hash plus a binary search with no allocation.
+ */
+public final class HashRing {
+
+    private final long[] points;
+    private final ClusterNode[] owners;
+
+    public HashRing(List<ClusterNode> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) throw new IllegalArgumentException("Ring needs at least one node");
+        int size = nodes.size() * virtualNodes;
+        long[] hashes = new long[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            hashes[i] = hash(nodes.get(i / virtualNodes).id() + "#" + (i % virtualNodes));
+            order[i] = i;
+        }
+        // Sort the points and carry their owners along
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        this.points = new long[size];
+        this.owners = new ClusterNode[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = nodes.get(order[i] / virtualNodes);
+        }
+    }
+
+    /**
+     * The node owning this key: the first point clockwise from the key's hash
+     */
+    public ClusterNode ownerOf(CharSequence key) {
+        int i = Arrays.binarySearch(points, hash(key));
+        if (i < 0) i = -i - 1;
+        return owners[i == points.length ? 0 : i];
+    }
+
+    /**
+     * The next node clockwise from the key's hash that is not {@code exclude} (where the key's rooms go if
+     * {@code exclude} leaves). Null if the ring has no other node.
+     */
+    public ClusterNode successorOf(CharSequence key, ClusterNode exclude) {
+        int i = Arrays.binarySearch(points, hash(key));
+        if (i < 0) i = -i - 1;
+        for (int step = 0; step < points.length; step++) {
+            ClusterNode node = owners[(i + step) % points.length];
+            if (node != exclude) return node;
+        }
+        return null;
+    }
+
+    // 64-bit FNV-1a over the chars, then the murmur3 finalizer so short similar codes spread over the ring
+    static long hash(CharSequence key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,72 @@
+package com.insidergame.insider_api.cluster;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Relays to peers over HTTP: POST {baseUrl}/internal/cluster/stomp, authenticated with the shared cluster secret
+ * (see {@link ClusterController}); replication batches go to /internal/cluster/replicate the same way.
+ * Sends are synchronous so a player's commands reach the owner in order.
+ */
+public class HttpClusterTransport implements ClusterTransport {
+
+    static final String SECRET_HEADER = "X-Cluster-Secret";
+    static final String STOMP_PATH = "/internal/cluster/stomp";
+    static final String REPLICATE_PATH = "/internal/cluster/replicate";
+
+    private final HttpClient client;
+    private final JsonMapper jsonMapper;
+    private final String secret;
+    private final Duration timeout;
+
+    public HttpClusterTransport(JsonMapper jsonMapper, String secret, Duration timeout) {
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.jsonMapper = jsonMapper;
+        this.secret = secret;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void bind(String nodeId, ClusterInbound inbound) {
+        // Peers reach the inbound side through ClusterController
+    }
+
+    @Override
+    public void unbind(String nodeId) {
+    }
+
+    @Override
+    public void relayStomp(ClusterNode target, RelayedFrame frame) throws IOException {
+        post(target, STOMP_PATH, frame);
+    }
+
+    @Override
+    public ReplicationAck replicate(ClusterNode target, ReplicationBatch batch) throws IOException {
+        return jsonMapper.readValue(post(target, REPLICATE_PATH, batch), ReplicationAck.class);
+    }
+
+    private byte[] post(ClusterNode target, String path, Object body) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(target.baseUrl() + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header(SECRET_HEADER, secret)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(body)))
+                .build();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() >= 300) {
+                throw new IOException("Node " + target.id() + " rejected " + path + ": HTTP " + response.statusCode());
+            }
+            return response.body();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted calling node " + target.id(), ex);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.insidergame.insider_api.cluster;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connects nodes running in one JVM (one Spring context each) through a shared registry,
+ * so multi-node behaviour can be exercised on a single machine without networking.
+ */
+public class InJvmClusterTransport implements ClusterTransport {
+
+    // Shared by every context in the JVM
+    private static final Map<String, ClusterInbound> NODES = new ConcurrentHashMap<>();
+
+    @Override
+    public void bind(String nodeId, ClusterInbound inbound) {
+        NODES.put(nodeId, inbound);
+    }
+
+    @Override
+    public void unbind(String nodeId) {
+        NODES.remove(nodeId);
+    }
+
+    @Override
+    public void relayStomp(ClusterNode target, RelayedFrame frame) throws IOException {
+        ClusterInbound inbound = NODES.get(target.id());
+        if (inbound == null) throw new IOException("Node " + target.id() + " is not running in this JVM");
+        inbound.accept(frame);
+    }
+
+    @Override
+    public ReplicationAck replicate(ClusterNode target, ReplicationBatch batch) throws IOException {
+        ClusterInbound inbound = NODES.get(target.id());
+        if (inbound == null) throw new IOException("Node " + target.id() + " is not running in this JVM");
+        return inbound.acceptReplication(batch);
+    }
+}
@@ -0,0 +1,8 @@
+package com.insidergame.insider_api.cluster;
+
+/**
+ * A STOMP command for a room, received by a node that does not own the room and handed to its owner.
+ * The player was authenticated by the receiving node; the owner dispatches it as if sent locally.
+ */
+public record RelayedFrame(String originNodeId, String destination, String playerUuid, String playerName, String payload) {
+}
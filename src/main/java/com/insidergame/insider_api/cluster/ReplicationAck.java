@@ -0,0 +1,11 @@
+package com.insidergame.insider_api.cluster;
+
+/**
+ * Follower's answer to a {@link ReplicationBatch}
+ *
+ * @param seeded     false if the follower has no base state from this owner yet and ignored the records
+ * @param appliedLsn highest record LSN applied; the owner can drop everything up to it
+ * @param takenOver  the follower has marked the owner down and owns its rooms now; the owner must stop changing them
+ */
+public record ReplicationAck(boolean seeded, long appliedLsn, boolean takenOver) {
+}
@@ -0,0 +1,15 @@
+package com.insidergame.insider_api.cluster;
+
+import java.util.List;
+
+/**
+ * One shipment of an owner's replication log to a follower.
+ *
+ * @param sourceEpoch changes when the owner restarts, so the follower knows to expect a fresh seed
+ * @param rooms       encoded room images (SnapshotFile.encodeRoom) seeding the follower; usually empty
+ * @param seedDone    last part of a seed - the follower applies records only once seeded
+ * @param records     encoded journal records of rooms the sender owns, in LSN order; empty for a heartbeat
+ */
+public record ReplicationBatch(String sourceNodeId, long sourceEpoch, List<byte[]> rooms, boolean seedDone,
+                               List<byte[]> records) {
+}
@@ -0,0 +1,464 @@
+package com.insidergame.insider_api.cluster;
+
+import com.insidergame.insider_api.dto.ReplicationStatus;
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.journal.JournalRecord;
+import com.insidergame.insider_api.journal.JournalReplayer;
+import com.insidergame.insider_api.journal.SnapshotFile;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.Room;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Hot-standby replication. Every journal record of a room this node owns is queued for the room's follower
+ * (the next node on the ring) and shipped in batches by one thread per follower; a batch is retried until the
+ * follower acknowledges it, so the follower sees each owner's records in LSN order. The follower applies them
+ * through {@link JournalReplayer} at their original timestamps, so game deadlines and votes come out identical.
+ *
+ * A follower that has no base state from an owner (first contact, either side restarted, queue overflow,
+ * membership change) is first seeded with encoded room images, chunked over several batches.
+ *
+ * Idle streams send heartbeats. When an owner is silent for longer than the failover timeout, the follower
+ * marks it down: the ring then maps the owner's rooms to their followers, i.e. to nodes that already hold them.
+ * A follower only takes over from an owner that has seeded it.
+ *
+ * Silence looks the same from both sides of a partition, so the owner holds a lease per follower: every ack
+ * extends it to half the failover timeout past the moment its batch was sent. A room whose follower's lease has
+ * run out is fenced - {@link Journal#guard} refuses changes to it - well before that follower can take it over.
+ * Rooms followed by a node this owner gave up on, or that the follower reports as taken over, stay fenced.
+ */
+@Component
+@Slf4j
+public class ReplicationService {
+
+    private static final int QUEUE_CAPACITY = 200_000;
+
+    private final ClusterRouter router;
+    private final ClusterTransport transport;
+    private final Journal journal;
+    private final RoomManager roomManager;
+    private final GameManager gameManager;
+    private final ApplicationEventPublisher events;
+    private final JournalReplayer replayer;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long heartbeatMillis;
+    private final long failoverMillis;
+    private final long leaseNanos;
+
+    // Changes on every start, so followers notice a restarted owner
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+    private final Map<String, Outbound> outbound = new ConcurrentHashMap<>(); // follower id -> stream
+    private final Map<String, Inbound> inbound = new ConcurrentHashMap<>();   // owner id -> applied state
+    // Rooms their follower may have taken over; never changed here again
+    private final Set<String> fencedRooms = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "replication-monitor");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean running;
+
+    public ReplicationService(ClusterRouter router, ClusterTransport transport, Journal journal,
+                              RoomManager roomManager, GameManager gameManager, ApplicationEventPublisher events,
+                              @Value("${insider.replication.enabled:true}") boolean enabled,
+                              @Value("${insider.replication.batch-size:512}") int batchSize,
+                              @Value("${insider.replication.heartbeat-millis:500}") long heartbeatMillis,
+                              @Value("${insider.replication.failover-millis:3000}") long failoverMillis) {
+        this.router = router;
+        this.transport = transport;
+        this.journal = journal;
+        this.roomManager = roomManager;
+        this.gameManager = gameManager;
+        this.events = events;
+        this.replayer = new JournalReplayer(roomManager, gameManager);
+        this.enabled = enabled && router.isEnabled();
+        this.batchSize = batchSize;
+        this.heartbeatMillis = heartbeatMillis;
+        this.failoverMillis = failoverMillis;
+        this.leaseNanos = TimeUnit.MILLISECONDS.toNanos(failoverMillis / 2);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start shipping and following once startup recovery has rebuilt the local rooms
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || running) return;
+        running = true;
+        journal.setAppendListener(this::onAppend);
+        journal.setFence(this::isFenced);
+        monitor.scheduleWithFixedDelay(this::checkPeers, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        // Rooms restored at startup have no follower copy yet
+        reseedAll();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        journal.setAppendListener(null);
+        journal.setFence(null);
+        monitor.shutdownNow();
+        outbound.values().forEach(Outbound::stop);
+    }
+
+    // On the appending thread, under the journal's LSN lock: only route and queue
+    private void onAppend(long lsn, long timestampMillis, byte[] record) {
+        String roomCode = Journal.roomCodeOf(record);
+        if (!router.isLocal(roomCode)) return; // a replica we are applying
+        ClusterNode follower = router.followerOf(roomCode);
+        if (follower != null) outboundTo(follower).offer(new Pending(lsn, timestampMillis, record));
+    }
+
+    /**
+     * Whether this node must not change the room: its follower may have taken it over, or has not acknowledged
+     * us within the lease
+     */
+    public boolean isFenced(String roomCode) {
+        if (roomCode == null) return false;
+        if (fencedRooms.contains(roomCode)) return true;
+        if (!router.isLocal(roomCode)) return false;
+        ClusterNode follower = router.followerOf(roomCode);
+        Outbound stream = follower == null ? null : outbound.get(follower.id());
+        return stream != null && System.nanoTime() - stream.leaseUntilNanos > 0;
+    }
+
+    private Outbound outboundTo(ClusterNode follower) {
+        return outbound.computeIfAbsent(follower.id(), id -> new Outbound(follower));
+    }
+
+    /**
+     * Follower side: apply a batch from an owner. Batches from one owner are applied one at a time.
+     */
+    public ReplicationAck receive(ReplicationBatch batch) {
+        // We marked the sender down and own its rooms now; it must stop changing them
+        if (!router.isUp(batch.sourceNodeId())) return new ReplicationAck(false, 0, true);
+        Inbound state = inbound.compute(batch.sourceNodeId(), (id, current) ->
+                current == null || current.sourceEpoch != batch.sourceEpoch() ? new Inbound(batch.sourceEpoch()) : current);
+        synchronized (state) {
+            state.lastHeardNanos = System.nanoTime();
+            if (batch.rooms() != null) {
+                for (byte[] encoded : batch.rooms()) {
+                    SnapshotFile.RoomImage image = SnapshotFile.decodeRoom(encoded);
+                    String code = image.room().getRoomCode();
+                    journal.guard(code, () -> image.restoreInto(roomManager, gameManager));
+                    // Records at or before the image are already in it
+                    state.roomLsns.put(code, image.lsn());
+                }
+                state.rooms += batch.rooms().size();
+            }
+            if (batch.seedDone()) state.seeded = true;
+            if (!state.seeded) return new ReplicationAck(false, state.appliedLsn, false);
+
+            if (batch.records() != null) {
+                for (byte[] encoded : batch.records()) {
+                    try {
+                        JournalRecord record = Journal.decode(encoded);
+                        if (record.lsn() <= state.appliedLsn) continue; // re-sent after a lost ack
+                        journal.applyAt(record.timestampMillis(), () -> replayer.apply(record, state.roomLsns));
+                        state.appliedLsn = record.lsn();
+                    } catch (RuntimeException ex) {
+                        state.failedRecords++;
+                        log.warn("Could not apply record replicated from {}: {}", batch.sourceNodeId(), ex.getMessage());
+                    }
+                }
+            }
+            return new ReplicationAck(true, state.appliedLsn, false);
+        }
+    }
+
+    // Owners that went silent are taken out of the ring; we become owner of the rooms we follow for them
+    void checkPeers() {
+        try {
+            long now = System.nanoTime();
+            for (Map.Entry<String, Inbound> e : inbound.entrySet()) {
+                String owner = e.getKey();
+                Inbound state = e.getValue();
+                if (!router.isUp(owner) || now - state.lastHeardNanos < TimeUnit.MILLISECONDS.toNanos(failoverMillis)) continue;
+                takeOver(owner, state);
+            }
+        } catch (Exception ex) {
+            log.error("Replication peer check failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private void takeOver(String failedNode, Inbound state) {
+        List<String> taken = new ArrayList<>();
+        synchronized (state) {
+            if (!state.seeded) {
+                // Nothing here to take over with, and the owner never fenced itself against us
+                log.warn("Owner {} went silent before seeding this node - not taking its rooms over", failedNode);
+                inbound.remove(failedNode, state);
+                return;
+            }
+            for (Room room : roomManager.getAllRooms()) {
+                String code = room.getRoomCode();
+                ClusterNode follower = router.followerOf(code);
+                if (router.ownerOf(code).id().equals(failedNode) && follower != null && follower == router.getLocalNode()) {
+                    taken.add(code);
+                }
+            }
+            if (!router.markDown(failedNode)) return;
+            inbound.remove(failedNode);
+        }
+        log.warn("Took over {} rooms from failed node {} (applied up to its LSN {})", taken.size(), failedNode, state.appliedLsn);
+        events.publishEvent(new RoomsTakenOverEvent(failedNode, taken));
+        // Followers changed for the rooms we now own and for every room the failed node followed
+        reseedAll();
+    }
+
+    private void followerFailed(Outbound stream) {
+        // It stopped hearing us when we stopped hearing it, so it may be taking these rooms over right now
+        fenceRoomsFollowedBy(stream.target, "unreachable");
+        if (router.markDown(stream.target.id())) {
+            stream.stop();
+            outbound.remove(stream.target.id(), stream);
+            reseedAll();
+        }
+    }
+
+    private void followerTookOver(Outbound stream) {
+        fenceRoomsFollowedBy(stream.target, "took them over");
+        stream.stop();
+        outbound.remove(stream.target.id(), stream);
+    }
+
+    private void fenceRoomsFollowedBy(ClusterNode follower, String reason) {
+        int fenced = 0;
+        for (Room room : roomManager.getAllRooms()) {
+            String code = room.getRoomCode();
+            if (router.isLocal(code) && router.followerOf(code) == follower && fencedRooms.add(code)) fenced++;
+        }
+        log.error("Fenced {} rooms followed by {} ({}): no longer changed on this node", fenced, follower.id(), reason);
+    }
+
+    /**
+     * Make every follower re-seed the rooms it follows for us (after a membership change or restart)
+     */
+    private void reseedAll() {
+        for (Room room : roomManager.getAllRooms()) {
+            String code = room.getRoomCode();
+            if (!router.isLocal(code)) continue;
+            ClusterNode follower = router.followerOf(code);
+            if (follower != null) outboundTo(follower);
+        }
+        outbound.values().forEach(o -> o.needsSeed = true);
+    }
+
+    private List<byte[]> encodeRoomsFor(ClusterNode follower) {
+        List<byte[]> images = new ArrayList<>();
+        for (Room room : roomManager.getAllRooms()) {
+            String code = room.getRoomCode();
+            if (!router.isLocal(code) || router.followerOf(code) != follower) continue;
+            byte[] image = SnapshotFile.encodeRoom(journal, roomManager, gameManager, code);
+            if (image != null) images.add(image);
+        }
+        return images;
+    }
+
+    public ReplicationStatus getStatus() {
+        long now = System.nanoTime();
+        List<ReplicationStatus.Follower> followers = new ArrayList<>();
+        for (Outbound o : outbound.values()) followers.add(o.toStatus());
+        List<ReplicationStatus.Source> sources = new ArrayList<>();
+        inbound.forEach((id, s) -> sources.add(ReplicationStatus.Source.builder()
+                .nodeId(id)
+                .seeded(s.seeded)
+                .appliedLsn(s.appliedLsn)
+                .rooms(s.rooms)
+                .lastHeardMillisAgo(TimeUnit.NANOSECONDS.toMillis(now - s.lastHeardNanos))
+                .failedRecords(s.failedRecords)
+                .build()));
+        return ReplicationStatus.builder()
+                .nodeId(router.getLocalNode().id())
+                .enabled(enabled)
+                .fencedRooms(fencedRooms.size())
+                .followers(followers)
+                .sources(sources)
+                .build();
+    }
+
+    /**
+     * Highest replication lag over all followers, in milliseconds
+     */
+    public long getMaxLagMillis() {
+        long max = 0;
+        for (Outbound o : outbound.values()) max = Math.max(max, o.lagMillis());
+        return max;
+    }
+
+    private record Pending(long lsn, long timestampMillis, byte[] record) {
+    }
+
+    /**
+     * Everything applied from one owner
+     */
+    private static final class Inbound {
+        final long sourceEpoch;
+        final Map<String, Long> roomLsns = new ConcurrentHashMap<>();
+        volatile boolean seeded;
+        volatile long appliedLsn;
+        volatile long rooms;
+        volatile long failedRecords;
+        volatile long lastHeardNanos = System.nanoTime();
+
+        Inbound(long sourceEpoch) {
+            this.sourceEpoch = sourceEpoch;
+        }
+    }
+
+    /**
+     * The ordered stream of records to one follower
+     */
+    private final class Outbound implements Runnable {
+        final ClusterNode target;
+        final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+        final Thread thread;
+        volatile boolean needsSeed = true;
+        volatile boolean stopped;
+        volatile boolean seeded;
+        volatile long ackedLsn;
+        volatile long oldestPendingMillis; // 0 when nothing is pending
+        volatile int inFlight;
+        volatile long batches;
+        volatile long records;
+        volatile long failures;
+        // Rooms it follows may change until then; a first contact gets one lease of grace (it is not seeded yet,
+        // so it cannot take anything over)
+        volatile long leaseUntilNanos = System.nanoTime() + leaseNanos;
+        long failingSinceNanos;
+
+        Outbound(ClusterNode target) {
+            this.target = target;
+            this.thread = new Thread(this, "replicate-to-" + target.id());
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void offer(Pending pending) {
+            if (!queue.offer(pending)) {
+                // Records are lost for this follower - start it over from a seed
+                queue.clear();
+                needsSeed = true;
+            }
+        }
+
+        void stop() {
+            stopped = true;
+            thread.interrupt();
+        }
+
+        @Override
+        public void run() {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            while (!stopped && running) {
+                try {
+                    if (batch.isEmpty()) {
+                        Pending first = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                        if (first != null) {
+                            batch.add(first);
+                            queue.drainTo(batch, batchSize - 1);
+                        }
+                    }
+                    inFlight = batch.size();
+                    oldestPendingMillis = !batch.isEmpty() ? batch.get(0).timestampMillis()
+                            : Optional.ofNullable(queue.peek()).map(Pending::timestampMillis).orElse(0L);
+
+                    long sentNanos = System.nanoTime();
+                    ReplicationAck ack = needsSeed ? seedAndSend(batch) : send(batch, null, false);
+                    failingSinceNanos = 0;
+                    if (ack.takenOver()) {
+                        followerTookOver(this);
+                        break;
+                    }
+                    leaseUntilNanos = sentNanos + leaseNanos;
+                    if (!ack.seeded()) {
+                        needsSeed = true; // follower restarted or never got our base state; batch is sent again with the seed
+                        continue;
+                    }
+                    seeded = true;
+                    ackedLsn = Math.max(ackedLsn, ack.appliedLsn());
+                    records += batch.size();
+                    batch.clear();
+                    inFlight = 0;
+                    oldestPendingMillis = Optional.ofNullable(queue.peek()).map(Pending::timestampMillis).orElse(0L);
+                } catch (InterruptedException ex) {
+                    if (stopped || !running) break;
+                } catch (Exception ex) {
+                    failures++;
+                    long now = System.nanoTime();
+                    if (failingSinceNanos == 0) failingSinceNanos = now;
+                    log.warn("Replication to {} failed ({} records pending): {}", target.id(), batch.size() + queue.size(), ex.getMessage());
+                    if (now - failingSinceNanos > TimeUnit.MILLISECONDS.toNanos(failoverMillis)) {
+                        followerFailed(this);
+                        break;
+                    }
+                    try {
+                        Thread.sleep(Math.min(heartbeatMillis, 200));
+                    } catch (InterruptedException ie) {
+                        if (stopped || !running) break;
+                    }
+                }
+            }
+        }
+
+        private ReplicationAck send(List<Pending> batch, List<byte[]> rooms, boolean seedDone) throws Exception {
+            List<byte[]> encoded = new ArrayList<>(batch.size());
+            for (Pending p : batch) encoded.add(p.record());
+            ReplicationAck ack = transport.replicate(target, new ReplicationBatch(router.getLocalNode().id(), epoch,
+                    rooms == null ? List.of() : rooms, seedDone, encoded));
+            batches++;
+            return ack;
+        }
+
+        // Room images go first, in chunks; the last chunk carries the pending records
+        private ReplicationAck seedAndSend(List<Pending> batch) throws Exception {
+            needsSeed = false;
+            try {
+                List<byte[]> images = encodeRoomsFor(target);
+                int chunk = Math.max(1, batchSize / 4);
+                for (int from = 0; from + chunk < images.size(); from += chunk) {
+                    send(List.of(), images.subList(from, from + chunk), false);
+                }
+                int last = images.isEmpty() ? 0 : ((images.size() - 1) / chunk) * chunk;
+                log.info("Seeded {} rooms to follower {}", images.size(), target.id());
+                return send(batch, images.subList(last, images.size()), true);
+            } catch (Exception ex) {
+                needsSeed = true;
+                throw ex;
+            }
+        }
+
+        long lagMillis() {
+            long oldest = oldestPendingMillis;
+            return oldest == 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+        }
+
+        ReplicationStatus.Follower toStatus() {
+            return ReplicationStatus.Follower.builder()
+                    .nodeId(target.id())
+                    .seeded(seeded && !needsSeed)
+                    .ackedLsn(ackedLsn)
+                    .pendingRecords(inFlight + queue.size())
+                    .lagMillis(lagMillis())
+                    .batches(batches)
+                    .records(records)
+                    .failures(failures)
+                    .build();
+        }
+    }
+}
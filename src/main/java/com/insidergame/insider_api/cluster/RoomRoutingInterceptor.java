@@ -0,0 +1,39 @@
+package com.insidergame.insider_api.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Sends REST calls for a {roomCode} path owned by another node there with a 307, which keeps the
+ * method and body. Requests naming the room in their body (join/leave) are redirected by the controller.
+ */
+@Component
+public class RoomRoutingInterceptor implements HandlerInterceptor {
+
+    private final ClusterRouter router;
+
+    public RoomRoutingInterceptor(ClusterRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!router.isEnabled()) return true;
+        @SuppressWarnings("unchecked")
+        Map<String, String> vars = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (vars == null) return true;
+        URI target = router.redirectIfRemote(vars.get("roomCode"), request).orElse(null);
+        if (target == null) return true;
+        response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+        response.setHeader(HttpHeaders.LOCATION, target.toString());
+        return false;
+    }
+}
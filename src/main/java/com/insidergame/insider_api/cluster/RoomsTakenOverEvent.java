@@ -0,0 +1,9 @@
+package com.insidergame.insider_api.cluster;
+
+import java.util.List;
+
+/**
+ * Published when this node takes over the rooms of a failed owner it was following
+ */
+public record RoomsTakenOverEvent(String failedNodeId, List<String> roomCodes) {
+}
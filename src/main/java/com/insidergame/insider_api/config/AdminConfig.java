@@ -0,0 +1,21 @@
+package com.insidergame.insider_api.config;
+
+import com.insidergame.insider_api.api.admin.AdminTokenInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AdminConfig implements WebMvcConfigurer {
+
+    private final AdminTokenInterceptor adminTokenInterceptor;
+
+    public AdminConfig(AdminTokenInterceptor adminTokenInterceptor) {
+        this.adminTokenInterceptor = adminTokenInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(adminTokenInterceptor).addPathPatterns("/api/admin/**");
+    }
+}
@@ -0,0 +1,50 @@
+package com.insidergame.insider_api.config;
+
+import com.insidergame.insider_api.cluster.ClusterRouter;
+import com.insidergame.insider_api.cluster.ClusterTransport;
+import com.insidergame.insider_api.cluster.HttpClusterTransport;
+import com.insidergame.insider_api.cluster.InJvmClusterTransport;
+import com.insidergame.insider_api.cluster.RoomRoutingInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+@Configuration
+public class ClusterConfig implements WebMvcConfigurer {
+
+    private final RoomRoutingInterceptor roomRoutingInterceptor;
+
+    public ClusterConfig(RoomRoutingInterceptor roomRoutingInterceptor) {
+        this.roomRoutingInterceptor = roomRoutingInterceptor;
+    }
+
+    /**
+     * Node-to-node transport: "http" between real instances, "in-jvm" for several nodes in one JVM (tests).
+     * A clustered node on "http" refuses to start without a secret - the internal endpoints accept player commands.
+     */
+    @Bean
+    public ClusterTransport clusterTransport(JsonMapper jsonMapper, ClusterRouter router,
+                                             @Value("${insider.cluster.transport:http}") String transport,
+                                             @Value("${insider.cluster.secret:}") String secret,
+                                             @Value("${insider.cluster.timeout-millis:2000}") long timeoutMillis) {
+        if (router.isEnabled() && "http".equals(transport) && secret.isBlank()) {
+            throw new IllegalStateException("insider.cluster.secret must be set when clustering over http");
+        }
+        return switch (transport) {
+            case "in-jvm" -> new InJvmClusterTransport();
+            case "http" -> new HttpClusterTransport(jsonMapper, secret, Duration.ofMillis(timeoutMillis));
+            default -> throw new IllegalStateException("Unknown insider.cluster.transport: " + transport);
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Room-scoped REST paths go to the node owning the room
+        registry.addInterceptor(roomRoutingInterceptor).addPathPatterns("/api/room/**", "/api/game/**");
+    }
+}
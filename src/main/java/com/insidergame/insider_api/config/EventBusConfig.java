@@ -0,0 +1,66 @@
+package com.insidergame.insider_api.config;
+
+import com.insidergame.insider_api.messaging.InMemoryRoomEventBus;
+import com.insidergame.insider_api.messaging.RoomEventBus;
+import com.insidergame.insider_api.messaging.StompRelayRoomEventBus;
+import com.insidergame.insider_api.messaging.TcpRoomEventBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+public class EventBusConfig {
+
+    /**
+     * Inter-node room event bus: "in-memory" (several nodes in one JVM), "tcp" (peer mesh) or "stomp"
+     * (external broker). Unset means no bus - every client must be connected to the node sending.
+     *
+     * insider.eventbus.tcp.bind-address=10.0.0.1 (default: every interface)
+     * insider.eventbus.tcp.port=9091
+     * insider.eventbus.tcp.peers=b=10.0.0.2:9091,c=10.0.0.3:9091
+     * insider.cluster.secret=... (required for "tcp": peers present it when they connect)
+     * insider.eventbus.stomp.url=ws://localhost:15674/ws
+     */
+    @Bean
+    @ConditionalOnProperty("insider.eventbus.type")
+    public RoomEventBus roomEventBus(@Value("${insider.eventbus.type}") String type,
+                                     @Value("${insider.eventbus.tcp.bind-address:}") String tcpBindAddress,
+                                     @Value("${insider.eventbus.tcp.port:9091}") int tcpPort,
+                                     @Value("${insider.eventbus.tcp.peers:}") String tcpPeers,
+                                     @Value("${insider.cluster.secret:}") String clusterSecret,
+                                     @Value("${insider.eventbus.stomp.url:ws://localhost:15674/ws}") String stompUrl,
+                                     @Value("${insider.eventbus.stomp.login:}") String stompLogin,
+                                     @Value("${insider.eventbus.stomp.passcode:}") String stompPasscode) {
+        return switch (type) {
+            case "in-memory" -> new InMemoryRoomEventBus();
+            case "tcp" -> {
+                if (clusterSecret.isBlank()) {
+                    throw new IllegalStateException("insider.cluster.secret must be set for the tcp event bus");
+                }
+                yield new TcpRoomEventBus(tcpBindAddress, tcpPort, clusterSecret, parsePeers(tcpPeers));
+            }
+            case "stomp" -> new StompRelayRoomEventBus(stompUrl, stompLogin, stompPasscode);
+            default -> throw new IllegalStateException("Unknown insider.eventbus.type: " + type);
+        };
+    }
+
+    private static Map<String, InetSocketAddress> parsePeers(String peers) {
+        Map<String, InetSocketAddress> parsed = new LinkedHashMap<>();
+        for (String entry : peers.split(",")) {
+            if (entry.isBlank()) continue;
+            String[] idAndAddress = entry.trim().split("=", 2);
+            int colon = idAndAddress.length == 2 ? idAndAddress[1].lastIndexOf(':') : -1;
+            if (colon < 0) {
+                throw new IllegalStateException("Bad insider.eventbus.tcp.peers entry: " + entry);
+            }
+            parsed.put(idAndAddress[0], new InetSocketAddress(idAndAddress[1].substring(0, colon),
+                    Integer.parseInt(idAndAddress[1].substring(colon + 1))));
+        }
+        return parsed;
+    }
+}
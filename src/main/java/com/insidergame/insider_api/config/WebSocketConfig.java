@@ -1,6 +1,11 @@
 package com.insidergame.insider_api.config;
 
+import com.insidergame.insider_api.cluster.ClusterStompInterceptor;
+import com.insidergame.insider_api.metrics.StompHandlerMetricsInterceptor;
+import com.insidergame.insider_api.tracing.StompTraceInterceptor;
+import com.insidergame.insider_api.websocket.StompAuthInterceptor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -10,6 +15,19 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthInterceptor stompAuthInterceptor;
+    private final ClusterStompInterceptor clusterStompInterceptor;
+    private final StompHandlerMetricsInterceptor handlerMetricsInterceptor;
+    private final StompTraceInterceptor traceInterceptor;
+
+    public WebSocketConfig(StompAuthInterceptor stompAuthInterceptor, ClusterStompInterceptor clusterStompInterceptor,
+                           StompHandlerMetricsInterceptor handlerMetricsInterceptor, StompTraceInterceptor traceInterceptor) {
+        this.stompAuthInterceptor = stompAuthInterceptor;
+        this.clusterStompInterceptor = clusterStompInterceptor;
+        this.handlerMetricsInterceptor = handlerMetricsInterceptor;
+        this.traceInterceptor = traceInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple in-memory message broker
@@ -28,5 +46,17 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*") // Allow all origins (change in production)
                 .withSockJS(); // Enable SockJS fallback
     }
-}
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Authenticate once at CONNECT and bind the player as the session Principal,
+        // then hand commands for rooms owned by another node to that node, and time the rest in their handlers
+        registration.interceptors(stompAuthInterceptor, clusterStompInterceptor, handlerMetricsInterceptor, traceInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Session writes of messages sent while a traced command was handled
+        registration.interceptors(traceInterceptor);
+    }
+}
@@ -0,0 +1,109 @@
+package com.insidergame.insider_api.diagnostics;
+
+import com.insidergame.insider_api.dto.GameHistoryDto;
+import com.insidergame.insider_api.model.Game;
+import com.insidergame.insider_api.model.GameSummary;
+import com.insidergame.insider_api.model.PlayerSnapshot;
+import com.insidergame.insider_api.model.RoomSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rough retained size of a room's state, from object counts and typical 64-bit JVM layouts (compressed
+ * references, compact strings). Good for comparing rooms, not for exact accounting. Player uuids are
+ * counted in each structure that holds them (room, game, history record), as state restored from a
+ * snapshot or the database does not share them.
+ */
+final class FootprintEstimator {
+
+    private static final int OBJECT = 16;
+    private static final int REF = 4;
+    private static final int DATE_TIME = 72; // LocalDateTime + LocalDate + LocalTime
+    private static final int UUID = 32;
+    private static final int BOXED = 16;
+    private static final int MAP = 64; // map object and its table header
+    private static final int MAP_ENTRY = 36; // node plus table slot
+    private static final int LIST = 40;
+
+    private FootprintEstimator() {
+    }
+
+    /**
+     * The room and its published snapshot, without players
+     */
+    static long room(RoomSnapshot room) {
+        return 2 * (OBJECT + 12 * REF) // Room and RoomSnapshot
+                + string(room.getRoomCode()) + string(room.getRoomName()) + string(room.getHostName())
+                + DATE_TIME + MAP + room.getSerializedBytes();
+    }
+
+    /**
+     * Live players, their snapshots and cached DTOs
+     */
+    static long players(RoomSnapshot room) {
+        long bytes = LIST;
+        for (PlayerSnapshot player : room.getPlayers()) {
+            long strings = string(player.uuid()) + string(player.playerName());
+            bytes += OBJECT + 10 * REF + strings + 2 * DATE_TIME + 36 + MAP_ENTRY // Player, its sessionId, seat entry
+                    + OBJECT + 8 * REF // PlayerSnapshot, sharing the Player's fields
+                    + OBJECT + 8 * REF + 2 * 60; // PlayerDto with formatted timestamps
+        }
+        return bytes;
+    }
+
+    static long game(Game game) {
+        if (game == null) return 0;
+        int players = game.getRoles() == null ? 0 : game.getRoles().size();
+        long bytes = OBJECT + 18 * REF + UUID + string(game.getWord()) + 3 * DATE_TIME
+                + stringKeyedMap(game.getRoles()) + map(game.getCardOpened()) + map(game.getVotes())
+                + LIST + (long) players * (OBJECT + 3 * REF + REF); // PlayerInGame entries
+        GameSummary summary = game.getSummary();
+        if (summary != null) {
+            bytes += OBJECT + 8 * REF + boxedMap(summary.getScores()) + boxedMap(summary.getVoteTally())
+                    + list(summary.getMostVoted());
+        }
+        return bytes;
+    }
+
+    static long history(List<GameHistoryDto> records) {
+        long bytes = 0;
+        for (GameHistoryDto record : records) {
+            int players = record.getPlayers() == null ? 0 : record.getPlayers().size();
+            bytes += OBJECT + 20 * REF + UUID + string(record.getWord()) + 3 * DATE_TIME + BOXED
+                    + string(record.getGameOutcome())
+                    + LIST + (long) players * (OBJECT + 3 * REF + REF)
+                    + stringKeyedMap(record.getRoles()) + map(record.getCardOpened()) + map(record.getVotes())
+                    + boxedMap(record.getScores());
+            if (record.getVoteResult() != null) {
+                bytes += OBJECT + 4 * REF + BOXED + boxedMap(record.getVoteResult().getVoteTally());
+            }
+        }
+        return bytes;
+    }
+
+    // Keys counted as owned strings (player uuids), values as shared
+    private static long stringKeyedMap(Map<String, ?> map) {
+        if (map == null) return 0;
+        long bytes = MAP;
+        for (String key : map.keySet()) bytes += MAP_ENTRY + string(key);
+        return bytes;
+    }
+
+    private static long map(Map<?, ?> map) {
+        return map == null ? 0 : MAP + (long) map.size() * MAP_ENTRY;
+    }
+
+    private static long boxedMap(Map<?, ?> map) {
+        return map == null ? 0 : MAP + (long) map.size() * (MAP_ENTRY + BOXED);
+    }
+
+    private static long list(Collection<?> list) {
+        return list == null ? 0 : LIST + (long) list.size() * REF;
+    }
+
+    private static long string(String s) {
+        return s == null ? 0 : 40 + s.length();
+    }
+}
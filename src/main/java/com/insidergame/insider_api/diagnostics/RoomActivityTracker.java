@@ -0,0 +1,240 @@
+package com.insidergame.insider_api.diagnostics;
+
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.RoomSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-room activity and footprint, kept up to date as rooms are used so the admin report never scans:
+ * <ul>
+ *   <li>Inbound and broadcast rates are exponentially decayed counts (half-life insider.diagnostics.half-life-seconds).
+ *   They are kept as forward-decayed log scores, which never need rescaling and keep their order between
+ *   rooms until one of them has another event, so the "hottest" index is updated only for the room that had it.</li>
+ *   <li>A room with activity is marked dirty; a background pass re-estimates dirty rooms' retained bytes and
+ *   moves them in the "largest" index. A full pass every minute picks up rooms that changed without a
+ *   broadcast and drops deleted ones.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class RoomActivityTracker {
+
+    private static final Comparator<RankKey> RANKING = Comparator.comparingDouble(RankKey::score).reversed()
+            .thenComparing(RankKey::roomCode);
+
+    private final RoomManager roomManager;
+    private final GameManager gameManager;
+    private final double lambdaPerNano;
+    private final long originNanos = System.nanoTime();
+    private final long refreshMillis;
+    private final int fullPassEvery;
+
+    private final Map<String, RoomStats> stats = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final ConcurrentSkipListSet<RankKey> hottest = new ConcurrentSkipListSet<>(RANKING);
+    private final ConcurrentSkipListSet<RankKey> largest = new ConcurrentSkipListSet<>(RANKING);
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "room-diagnostics");
+        t.setDaemon(true);
+        return t;
+    });
+    private long passes; // refresher thread only
+
+    public RoomActivityTracker(RoomManager roomManager, GameManager gameManager,
+                               @Value("${insider.diagnostics.half-life-seconds:60}") long halfLifeSeconds,
+                               @Value("${insider.diagnostics.refresh-millis:1000}") long refreshMillis) {
+        this.roomManager = roomManager;
+        this.gameManager = gameManager;
+        this.lambdaPerNano = Math.log(2) / TimeUnit.SECONDS.toNanos(halfLifeSeconds);
+        this.refreshMillis = refreshMillis;
+        this.fullPassEvery = (int) Math.max(1, 60_000 / refreshMillis);
+    }
+
+    @PostConstruct
+    void start() {
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (Exception ex) {
+                log.error("Room diagnostics refresh failed: {}", ex.getMessage(), ex);
+            }
+        }, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * An inbound STOMP command for the room
+     */
+    public void recordInbound(String roomCode) {
+        RoomStats room = statsOf(roomCode);
+        synchronized (room) {
+            room.inbound = addEvent(room.inbound);
+            rerank(room);
+        }
+        dirty.add(roomCode);
+    }
+
+    /**
+     * A broadcast to the room's subscribers
+     */
+    public void recordBroadcast(String roomCode, int bytes) {
+        RoomStats room = statsOf(roomCode);
+        synchronized (room) {
+            room.broadcasts = addEvent(room.broadcasts);
+            room.broadcastBytes = addWeighted(room.broadcastBytes, bytes);
+            rerank(room);
+        }
+        dirty.add(roomCode);
+    }
+
+    Optional<RoomStats> get(String roomCode) {
+        return Optional.ofNullable(stats.get(roomCode));
+    }
+
+    List<RoomStats> getHottest(int limit) {
+        return top(hottest, limit);
+    }
+
+    List<RoomStats> getLargest(int limit) {
+        return top(largest, limit);
+    }
+
+    public long getTotalEstimatedBytes() {
+        long total = 0;
+        for (RoomStats room : stats.values()) total += room.estimatedBytes;
+        return total;
+    }
+
+    /**
+     * Events per second now, from a decayed log score
+     */
+    double ratePerSecond(double logScore) {
+        if (logScore == Double.NEGATIVE_INFINITY) return 0;
+        double decayedCount = Math.exp(logScore - lambdaPerNano * (System.nanoTime() - originNanos));
+        return decayedCount * lambdaPerNano * TimeUnit.SECONDS.toNanos(1);
+    }
+
+    // Re-estimate rooms that had activity (every room on a full pass)
+    void refresh() {
+        boolean full = passes++ % fullPassEvery == 0;
+        if (full) {
+            stats.keySet().forEach(dirty::add);
+            roomManager.getAllRooms().forEach(room -> dirty.add(room.getRoomCode()));
+        }
+        List<String> retry = new ArrayList<>();
+        for (Iterator<String> it = dirty.iterator(); it.hasNext(); ) {
+            String roomCode = it.next();
+            it.remove();
+            RoomSnapshot room = roomManager.getRoomSnapshot(roomCode).orElse(null);
+            if (room == null) {
+                forget(roomCode);
+                continue;
+            }
+            try {
+                estimate(statsOf(roomCode), room);
+            } catch (RuntimeException ex) {
+                // The active game's maps changed under us - try again on the next pass
+                retry.add(roomCode);
+            }
+        }
+        dirty.addAll(retry);
+    }
+
+    private void estimate(RoomStats stats, RoomSnapshot room) {
+        String roomCode = room.getRoomCode();
+        long history = gameManager.getLastSequence(roomCode);
+        if (history != stats.historySequence) {
+            // History only changes when a game is archived
+            var records = gameManager.getRecentHistory(roomCode, Long.MAX_VALUE, GameManager.RECENT_GAMES_PER_ROOM);
+            stats.historyBytes = FootprintEstimator.history(records);
+            stats.historyGames = records.size();
+            stats.historySequence = history;
+        }
+        stats.roomBytes = FootprintEstimator.room(room);
+        stats.playerBytes = FootprintEstimator.players(room);
+        stats.gameBytes = FootprintEstimator.game(gameManager.getActiveGame(roomCode).orElse(null));
+        stats.players = room.getCurrentPlayers();
+        stats.status = room.getStatus();
+        long total = stats.roomBytes + stats.playerBytes + stats.gameBytes + stats.historyBytes;
+        if (total == stats.estimatedBytes && stats.sizeKey != null) return;
+        stats.estimatedBytes = total;
+        if (stats.sizeKey != null) largest.remove(stats.sizeKey);
+        stats.sizeKey = new RankKey(total, roomCode);
+        largest.add(stats.sizeKey);
+    }
+
+    private void forget(String roomCode) {
+        RoomStats room = stats.remove(roomCode);
+        if (room == null) return;
+        synchronized (room) {
+            room.removed = true;
+            if (room.hotKey != null) hottest.remove(room.hotKey);
+        }
+        if (room.sizeKey != null) largest.remove(room.sizeKey);
+    }
+
+    private RoomStats statsOf(String roomCode) {
+        return stats.computeIfAbsent(roomCode, RoomStats::new);
+    }
+
+    // Caller holds the room's monitor
+    private void rerank(RoomStats room) {
+        // Stats of a room that was just deleted, fetched before it was dropped
+        if (room.removed) return;
+        if (room.hotKey != null) hottest.remove(room.hotKey);
+        room.hotKey = new RankKey(logAdd(room.inbound, room.broadcasts), room.roomCode);
+        hottest.add(room.hotKey);
+    }
+
+    // Forward decay: an event at time t adds e^(lambda * (t - origin)); kept as a log so it never overflows
+    private double addEvent(double logScore) {
+        return logAdd(logScore, lambdaPerNano * (System.nanoTime() - originNanos));
+    }
+
+    private double addWeighted(double logScore, int weight) {
+        if (weight <= 0) return logScore;
+        return logAdd(logScore, lambdaPerNano * (System.nanoTime() - originNanos) + Math.log(weight));
+    }
+
+    private static double logAdd(double a, double b) {
+        if (a == Double.NEGATIVE_INFINITY) return b;
+        if (b == Double.NEGATIVE_INFINITY) return a;
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(-Math.abs(a - b)));
+    }
+
+    private List<RoomStats> top(ConcurrentSkipListSet<RankKey> index, int limit) {
+        List<RoomStats> top = new ArrayList<>(Math.min(limit, 64));
+        for (RankKey key : index) {
+            if (top.size() >= limit) break;
+            RoomStats room = stats.get(key.roomCode());
+            if (room != null) top.add(room);
+        }
+        return top;
+    }
+
+    record RankKey(double score, String roomCode) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.insidergame.insider_api.diagnostics;
+
+import com.insidergame.insider_api.api.game.GameFinishService;
+import com.insidergame.insider_api.common.ApiResponse;
+import com.insidergame.insider_api.dto.DiagnosticsReport;
+import com.insidergame.insider_api.dto.RoomDiagnostics;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.RoomSnapshot;
+import com.insidergame.insider_api.websocket.RoomWebSocketController;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Builds the admin diagnostics report from {@link RoomActivityTracker}'s incrementally kept rankings
+ */
+@Service
+public class RoomDiagnosticsService {
+
+    private final RoomActivityTracker tracker;
+    private final RoomManager roomManager;
+    private final GameManager gameManager;
+    private final RoomWebSocketController webSocketController;
+    private final GameFinishService gameFinishService;
+
+    public RoomDiagnosticsService(RoomActivityTracker tracker, RoomManager roomManager, GameManager gameManager,
+                                  RoomWebSocketController webSocketController, GameFinishService gameFinishService) {
+        this.tracker = tracker;
+        this.roomManager = roomManager;
+        this.gameManager = gameManager;
+        this.webSocketController = webSocketController;
+        this.gameFinishService = gameFinishService;
+    }
+
+    public DiagnosticsReport getReport(int top) {
+        return DiagnosticsReport.builder()
+                .rooms(roomManager.getTotalRooms())
+                .activeGames(gameManager.getActiveGameCount())
+                .totalEstimatedBytes(tracker.getTotalEstimatedBytes())
+                .pendingPlayTasks(webSocketController.getPendingPlayTaskCount())
+                .pendingFinishTasks(gameFinishService.getPendingFinishCount())
+                .hottest(toDtos(tracker.getHottest(top)))
+                .largest(toDtos(tracker.getLargest(top)))
+                .build();
+    }
+
+    public ApiResponse<RoomDiagnostics> getRoom(String roomCode) {
+        if (roomManager.getRoomSnapshot(roomCode).isEmpty()) {
+            return new ApiResponse<>(false, "Room not found", null, HttpStatus.NOT_FOUND);
+        }
+        // A room with no activity since it was created is only estimated on the next full pass
+        RoomStats room = tracker.get(roomCode).orElseGet(() -> new RoomStats(roomCode));
+        return new ApiResponse<>(true, "", toDto(room), HttpStatus.OK);
+    }
+
+    private List<RoomDiagnostics> toDtos(List<RoomStats> rooms) {
+        return rooms.stream().map(this::toDto).toList();
+    }
+
+    private RoomDiagnostics toDto(RoomStats room) {
+        double inbound;
+        double broadcasts;
+        double broadcastBytes;
+        synchronized (room) {
+            inbound = room.inbound;
+            broadcasts = room.broadcasts;
+            broadcastBytes = room.broadcastBytes;
+        }
+        RoomSnapshot snapshot = roomManager.getRoomSnapshot(room.roomCode).orElse(null);
+        return RoomDiagnostics.builder()
+                .roomCode(room.roomCode)
+                .status(snapshot == null ? room.status : snapshot.getStatus())
+                .players(snapshot == null ? room.players : snapshot.getCurrentPlayers())
+                .estimatedBytes(room.estimatedBytes)
+                .roomBytes(room.roomBytes)
+                .playerBytes(room.playerBytes)
+                .activeGameBytes(room.gameBytes)
+                .historyBytes(room.historyBytes)
+                .historyGames(room.historyGames)
+                .inboundPerSecond(tracker.ratePerSecond(inbound))
+                .broadcastsPerSecond(tracker.ratePerSecond(broadcasts))
+                .broadcastBytesPerSecond(tracker.ratePerSecond(broadcastBytes))
+                .pendingPlayTask(webSocketController.hasPendingPlayTask(room.roomCode))
+                .pendingFinishTask(gameFinishService.hasPendingFinish(room.roomCode))
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.insidergame.insider_api.diagnostics;
+
+import com.insidergame.insider_api.enums.RoomStatus;
+
+/**
+ * Activity and footprint of one room. Rate scores are written under the object's monitor by the threads
+ * that record events; the footprint fields only by the tracker's refresh thread.
+ */
+final class RoomStats {
+
+    final String roomCode;
+
+    // Forward-decayed log scores (see RoomActivityTracker)
+    double inbound = Double.NEGATIVE_INFINITY;
+    double broadcasts = Double.NEGATIVE_INFINITY;
+    double broadcastBytes = Double.NEGATIVE_INFINITY;
+    RoomActivityTracker.RankKey hotKey;
+    boolean removed;
+
+    volatile long estimatedBytes;
+    volatile long roomBytes;
+    volatile long playerBytes;
+    volatile long gameBytes;
+    volatile long historyBytes;
+    volatile int historyGames;
+    volatile int players;
+    volatile RoomStatus status;
+    long historySequence = -1;
+    RoomActivityTracker.RankKey sizeKey;
+
+    RoomStats(String roomCode) {
+        this.roomCode = roomCode;
+    }
+}
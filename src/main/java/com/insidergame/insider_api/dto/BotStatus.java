@@ -0,0 +1,21 @@
+package com.insidergame.insider_api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Bots driven by this node and what they have done since startup
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BotStatus {
+    private int rooms; // rooms with at least one bot
+    private int botOnlyRooms; // spawned by the engine, playing game after game
+    private int bots;
+    private long actions; // commands made on behalf of bots
+    private long gamesScored; // games scored in rooms with bots
+    private List<String> roomCodes; // rooms created or joined by the request that returned this status
+}
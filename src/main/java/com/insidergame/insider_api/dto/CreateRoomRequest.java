@@ -5,6 +5,8 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.util.List;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,5 +18,8 @@ public class CreateRoomRequest {
     private String password; // Optional
     private String hostUuid;
     private String hostName;
+    private List<String> wordPacks; // Optional - null/empty means draw from all packs
+    private String ruleSet; // Optional - CLASSIC, MASTER_BONUS, STRICT_VOTES (default CLASSIC)
+    private Integer matchRounds; // Optional - games per match, null/0 = open-ended
 }
 
@@ -0,0 +1,22 @@
+package com.insidergame.insider_api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Node-wide room diagnostics with the hottest and largest rooms
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DiagnosticsReport {
+    private int rooms;
+    private int activeGames;
+    private long totalEstimatedBytes;
+    private int pendingPlayTasks;
+    private int pendingFinishTasks;
+    private List<RoomDiagnostics> hottest; // by inbound + broadcast rate
+    private List<RoomDiagnostics> largest; // by estimated retained bytes
+}
@@ -0,0 +1,28 @@
+package com.insidergame.insider_api.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a server drain, polled by the orchestrator before it restarts the instance
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DrainStatus {
+    private String state; // "RUNNING", "DRAINING", "DRAINED", "FAILED" (see error; phase is where it stopped)
+    private String phase; // "WAITING_FOR_GAMES", "FLUSHING_TASKS", "PERSISTING", "NOTIFYING", "STOPPING", "DONE"
+    private int rooms;
+    private int activeGames;
+    private int pendingFinishTasks;
+    private int pendingPlayTasks;
+    private long timeoutSeconds;
+    private long elapsedSeconds;
+    private int gamesLeftUnfinished; // still running when the timeout hit; carried over in the snapshot
+    private boolean snapshotWritten;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
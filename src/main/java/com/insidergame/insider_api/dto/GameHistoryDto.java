@@ -1,33 +1,37 @@
 package com.insidergame.insider_api.dto;
 
 import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.model.Game;
 import com.insidergame.insider_api.model.PlayerInGame;
 import lombok.*;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 
 /**
  * DTO for displaying game history
- * Contains all game information including roles, scores, and results
+ * Contains all game information including roles, scores, and results.
+ * Built once when a game is archived (see {@link #of}) and never modified afterwards.
  */
 @Getter
-@Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class GameHistoryDto {
 
     private UUID id;
     private String roomCode;
+    // Per-room archive order (1, 2, 3...), used as the paging cursor
+    private long sequence;
     private String word;
     private boolean wordRevealed;
     private LocalDateTime startedAt;
     private LocalDateTime endsAt;
+    private LocalDateTime archivedAt;
     private Integer durationSeconds;
     private boolean finished;
+    private RuleSet ruleSet;
 
     // Players in this game
     private List<PlayerInGame> players;
@@ -51,7 +55,6 @@ public class GameHistoryDto {
     private String gameOutcome; // "INSIDER_FOUND", "INSIDER_HIDDEN", "MASTER_WIN", etc.
 
     @Getter
-    @Setter
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
@@ -61,5 +64,88 @@ public class GameHistoryDto {
         private Integer mostVotedCount;
         private Map<String, Integer> voteTally; // targetUuid -> vote count
     }
-}
 
+    /**
+     * Build the immutable history record of a finished game
+     */
+    public static GameHistoryDto of(Game game, long sequence) {
+        // Calculate scores from game summary if available
+        Map<String, Integer> scores = null;
+        if (game.getSummary() != null && game.getSummary().getScores() != null) {
+            scores = game.getSummary().getScores();
+        }
+
+        GameHistoryDtoBuilder builder = GameHistoryDto.builder()
+                .id(game.getId())
+                .roomCode(game.getRoomCode())
+                .sequence(sequence)
+                .word(game.getWord())
+                .wordRevealed(game.isWordRevealed())
+                .startedAt(game.getStartedAt())
+                .endsAt(game.getEndsAt())
+                .archivedAt(game.getArchivedAt())
+                .durationSeconds(game.getDurationSeconds())
+                .finished(game.isFinished())
+                .ruleSet(game.getRuleSet())
+                .players(freeze(game.getPlayerInGame()))
+                .roles(freeze(game.getRoles()))
+                .cardOpened(freeze(game.getCardOpened()))
+                .votes(freeze(game.getVotes()))
+                .scores(freeze(scores));
+
+        // Calculate vote result if votes exist
+        if (game.getVotes() != null && !game.getVotes().isEmpty()) {
+            Map<String, Integer> voteTally = new HashMap<>();
+            for (String targetUuid : game.getVotes().values()) {
+                voteTally.put(targetUuid, voteTally.getOrDefault(targetUuid, 0) + 1);
+            }
+
+            // Find most voted player
+            String mostVotedUuid = null;
+            int mostVotedCount = 0;
+            for (Map.Entry<String, Integer> entry : voteTally.entrySet()) {
+                if (entry.getValue() > mostVotedCount) {
+                    mostVotedCount = entry.getValue();
+                    mostVotedUuid = entry.getKey();
+                }
+            }
+
+            // Find insider
+            String insiderUuid = null;
+            if (game.getRoles() != null) {
+                for (Map.Entry<String, RoleType> entry : game.getRoles().entrySet()) {
+                    if (entry.getValue() == RoleType.INSIDER) {
+                        insiderUuid = entry.getKey();
+                        break;
+                    }
+                }
+            }
+
+            builder.voteResult(VoteResultDto.builder()
+                    .insiderUuid(insiderUuid)
+                    .mostVotedUuid(mostVotedUuid)
+                    .mostVotedCount(mostVotedCount)
+                    .voteTally(Collections.unmodifiableMap(voteTally))
+                    .build());
+
+            // Determine game outcome
+            if (insiderUuid != null && insiderUuid.equals(mostVotedUuid)) {
+                builder.gameOutcome("INSIDER_FOUND");
+            } else if (insiderUuid != null) {
+                builder.gameOutcome("INSIDER_HIDDEN");
+            } else {
+                builder.gameOutcome("NO_INSIDER");
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static <K, V> Map<K, V> freeze(Map<K, V> map) {
+        return map == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(map));
+    }
+
+    private static <T> List<T> freeze(List<T> list) {
+        return list == null ? null : List.copyOf(list);
+    }
+}
@@ -0,0 +1,17 @@
+package com.insidergame.insider_api.dto;
+
+import com.insidergame.insider_api.enums.LeaderboardPeriod;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardDto {
+    private LeaderboardPeriod period;
+    private String periodKey; // "all", "2025-01-31" or "2025-W05"
+    private int totalPlayers;
+    private List<LeaderboardEntryDto> entries;
+}
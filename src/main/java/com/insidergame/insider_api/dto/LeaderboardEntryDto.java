@@ -0,0 +1,15 @@
+package com.insidergame.insider_api.dto;
+
+import lombok.*;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardEntryDto {
+    private int rank; // 1-based
+    private String uuid;
+    private String playerName;
+    private long score;
+    private int gamesPlayed;
+}
@@ -0,0 +1,34 @@
+package com.insidergame.insider_api.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Scoreboard of a room's current match
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MatchDto {
+    private int matchNumber;
+    private int totalRounds; // 0 = open-ended
+    private int roundsPlayed;
+    private boolean finished;
+    private List<StandingDto> standings; // highest score first
+    private List<String> winnerUuids; // set once finished (several on a tie)
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StandingDto {
+        private String uuid;
+        private String playerName;
+        private int score;
+        private int roundsPlayed;
+    }
+}
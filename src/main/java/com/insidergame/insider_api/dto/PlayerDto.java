@@ -11,6 +11,7 @@ public class PlayerDto {
 
     private String uuid;
     private String playerName;
+    private boolean isBot;
     private boolean isReady;
     private boolean isPlaying;
     private String joinedAt;
@@ -0,0 +1,48 @@
+package com.insidergame.insider_api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Replication state of this node: what it ships to its followers and what it receives as a follower
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplicationStatus {
+    private String nodeId;
+    private boolean enabled;
+    private int fencedRooms; // rooms this node refuses to change (see ReplicationService)
+    private List<Follower> followers;
+    private List<Source> sources;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Follower {
+        private String nodeId;
+        private boolean seeded;
+        private long ackedLsn;
+        private int pendingRecords; // queued or in flight, not yet acknowledged
+        private long lagMillis; // age of the oldest unacknowledged record
+        private long batches;
+        private long records;
+        private long failures;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Source {
+        private String nodeId;
+        private boolean seeded;
+        private long appliedLsn;
+        private long rooms; // rooms seeded from this owner
+        private long lastHeardMillisAgo;
+        private long failedRecords;
+    }
+}
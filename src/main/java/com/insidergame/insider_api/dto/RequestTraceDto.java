@@ -0,0 +1,24 @@
+package com.insidergame.insider_api.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A slow inbound STOMP command with its time per stage, from GET /api/admin/traces
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RequestTraceDto {
+    private long id;
+    private String roomCode;
+    private String action; // last destination segment, e.g. "vote"
+    private String sessionId;
+    private LocalDateTime arrivedAt;
+    private double totalMillis; // arrival to the last session write
+    private Map<String, Double> stageMillis; // queue, handler, mutation, build, serialize, dispatch, write (slowest recipient)
+    private int writes; // session writes so far
+}
@@ -0,0 +1,25 @@
+package com.insidergame.insider_api.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a history re-scoring job
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RescoreStatus {
+    private String state; // "IDLE", "RUNNING", "COMPLETED", "FAILED"
+    private long totalGames;
+    private long processedGames;
+    private long updatedGames;
+    private long failedGames;
+    private double percentComplete;
+    private double gamesPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,28 @@
+package com.insidergame.insider_api.dto;
+
+import com.insidergame.insider_api.enums.RoomStatus;
+import lombok.*;
+
+/**
+ * Estimated memory footprint and recent activity of one room
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomDiagnostics {
+    private String roomCode;
+    private RoomStatus status;
+    private int players;
+    private long estimatedBytes; // sum of the parts below
+    private long roomBytes; // room, snapshot and cached serialized broadcasts
+    private long playerBytes;
+    private long activeGameBytes;
+    private long historyBytes;
+    private int historyGames; // archived games held in memory
+    private double inboundPerSecond; // decayed rates, see insider.diagnostics.half-life-seconds
+    private double broadcastsPerSecond;
+    private double broadcastBytesPerSecond;
+    private boolean pendingPlayTask; // auto-play to PLAYING scheduled
+    private boolean pendingFinishTask; // scored game waiting for its delayed finish
+}
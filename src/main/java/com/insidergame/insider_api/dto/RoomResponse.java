@@ -1,6 +1,7 @@
 package com.insidergame.insider_api.dto;
 
 import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.enums.RuleSet;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -25,5 +26,7 @@ public class RoomResponse {
     private String hostUuid;
     private String hostName;
     private LocalDateTime createdAt;
+    private RuleSet ruleSet;
+    private Integer matchRounds;
 }
 
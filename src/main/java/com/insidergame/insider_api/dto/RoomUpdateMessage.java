@@ -22,4 +22,5 @@ public class RoomUpdateMessage {
     private List<PlayerDto> players;
     private String message;
     private String hostUuid;
+    private MatchDto match; // Match scoreboard (sent with ROOM_RESET_AFTER_GAME)
 }
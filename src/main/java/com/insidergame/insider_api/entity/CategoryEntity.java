@@ -20,4 +20,11 @@ public class CategoryEntity {
     @Column(nullable = false)
     @JsonProperty("image_url")
     private String imageUrl;
+
+    // Word pack this category belongs to (null = default pack)
+    @JsonProperty("pack_name")
+    private String packName;
+
+    // Relative draw weight inside its pack, e.g. lower for harder words (null = 1.0, 0 = never drawn)
+    private Double weight;
 }
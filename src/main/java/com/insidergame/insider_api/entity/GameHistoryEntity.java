@@ -0,0 +1,49 @@
+package com.insidergame.insider_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Archived game, written asynchronously by GameHistoryStore.
+ * The precomputed GameHistoryDto is kept as JSON in payload; the other columns are for filtering and ordering.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "game_history", indexes = {
+        @Index(name = "idx_game_history_room_sequence", columnList = "room_code, sequence"),
+        @Index(name = "idx_game_history_archived", columnList = "archived_at")
+})
+public class GameHistoryEntity {
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "room_code", nullable = false, length = 16)
+    private String roomCode;
+
+    @Column(name = "sequence", nullable = false)
+    private Long sequence;
+
+    @Column(name = "word")
+    private String word;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    @Column(name = "duration_seconds")
+    private Integer durationSeconds;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+}
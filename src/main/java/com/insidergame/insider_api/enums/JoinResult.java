@@ -0,0 +1,12 @@
+package com.insidergame.insider_api.enums;
+
+/**
+ * Outcome of asking to join a room, the same for REST and WebSocket joins
+ */
+public enum JoinResult {
+    JOINED,
+    ALREADY_IN_ROOM, // idempotent: a repeated or racing join by a member changes nothing
+    ROOM_NOT_FOUND,
+    ROOM_FULL,
+    WRONG_PASSWORD,
+}
@@ -0,0 +1,20 @@
+package com.insidergame.insider_api.enums;
+
+import java.util.Optional;
+
+public enum LeaderboardPeriod {
+    GLOBAL,
+    DAILY,  // current day
+    WEEKLY; // current ISO week
+
+    /**
+     * Parse a period name (case-insensitive). null/blank means GLOBAL; unknown names are empty.
+     */
+    public static Optional<LeaderboardPeriod> parse(String name) {
+        if (name == null || name.isBlank()) return Optional.of(GLOBAL);
+        for (LeaderboardPeriod period : values()) {
+            if (period.name().equalsIgnoreCase(name.trim())) return Optional.of(period);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,42 @@
+package com.insidergame.insider_api.enums;
+
+import com.insidergame.insider_api.scoring.ScoringRules;
+
+import java.util.Optional;
+
+/**
+ * Scoring rule sets a host can pick when creating a room
+ */
+public enum RuleSet {
+    // Original rules
+    CLASSIC(ScoringRules.builder().build()),
+    // MASTER earns more for leading the table to the INSIDER
+    MASTER_BONUS(ScoringRules.builder().masterCatchBonus(2).build()),
+    // Citizens lose a point for voting for the wrong player
+    STRICT_VOTES(ScoringRules.builder().wrongVotePenalty(1).build());
+
+    private final ScoringRules rules;
+
+    RuleSet(ScoringRules rules) {
+        this.rules = rules;
+    }
+
+    public ScoringRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Parse a rule set name (case-insensitive). null/blank means CLASSIC; unknown names are empty.
+     */
+    public static Optional<RuleSet> parse(String name) {
+        if (name == null || name.isBlank()) return Optional.of(CLASSIC);
+        for (RuleSet ruleSet : values()) {
+            if (ruleSet.name().equalsIgnoreCase(name.trim())) return Optional.of(ruleSet);
+        }
+        return Optional.empty();
+    }
+
+    public static RuleSet orDefault(RuleSet ruleSet) {
+        return ruleSet == null ? CLASSIC : ruleSet;
+    }
+}
@@ -0,0 +1,43 @@
+package com.insidergame.insider_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Building and serializing a room update (once per room snapshot and update type)
+ */
+@Name("insider.BroadcastBuild")
+@Label("Broadcast Build")
+@Category({"Insider", "Messaging"})
+@Description("Building and serializing a room update message")
+@StackTrace(false)
+public class BroadcastBuildEvent extends Event {
+
+    @Label("Room Code")
+    String roomCode;
+
+    @Label("Update Type")
+    String type;
+
+    @Label("Players")
+    int players;
+
+    @Label("Size")
+    @DataAmount
+    int bytes;
+
+    public void done(String roomCode, String type, int players, int bytes) {
+        end();
+        if (!shouldCommit()) return;
+        this.roomCode = roomCode;
+        this.type = type;
+        this.players = players;
+        this.bytes = bytes;
+        commit();
+    }
+}
@@ -0,0 +1,48 @@
+package com.insidergame.insider_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Handing a serialized message to the local broker and the event bus
+ */
+@Name("insider.BroadcastSend")
+@Label("Broadcast Send")
+@Category({"Insider", "Messaging"})
+@Description("Dispatching a serialized room or player message to local sessions and other nodes")
+@StackTrace(false)
+public class BroadcastSendEvent extends Event {
+
+    @Label("Room Code")
+    String roomCode;
+
+    @Label("Destination")
+    String destination;
+
+    @Label("Local Recipients")
+    @Description("Subscriptions to the room on this node (1 for a player message)")
+    int recipients;
+
+    @Label("Remote Nodes")
+    int remoteNodes;
+
+    @Label("Size")
+    @DataAmount
+    int bytes;
+
+    public void done(String roomCode, String destination, int recipients, int remoteNodes, int bytes) {
+        end();
+        if (!shouldCommit()) return;
+        this.roomCode = roomCode;
+        this.destination = destination;
+        this.recipients = recipients;
+        this.remoteNodes = remoteNodes;
+        this.bytes = bytes;
+        commit();
+    }
+}
@@ -0,0 +1,47 @@
+package com.insidergame.insider_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A game moved to its next phase
+ */
+@Name("insider.GameLifecycle")
+@Label("Game Lifecycle")
+@Category({"Insider", "Games"})
+@Description("A game was started, its countdown started, its word revealed, or it was scored or archived")
+@StackTrace(false)
+public class GameLifecycleEvent extends Event {
+
+    public static final String STARTED = "STARTED";
+    public static final String COUNTDOWN = "COUNTDOWN";
+    public static final String REVEALED = "REVEALED";
+    public static final String SCORED = "SCORED";
+    public static final String ARCHIVED = "ARCHIVED";
+
+    @Label("Room Code")
+    String roomCode;
+
+    @Label("Game Id")
+    String gameId;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Players")
+    int players;
+
+    public static void emit(String roomCode, Object gameId, String phase, int players) {
+        GameLifecycleEvent event = new GameLifecycleEvent();
+        if (!event.shouldCommit()) return;
+        event.roomCode = roomCode;
+        event.gameId = String.valueOf(gameId);
+        event.phase = phase;
+        event.players = players;
+        event.commit();
+    }
+}
@@ -0,0 +1,40 @@
+package com.insidergame.insider_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A room was created or deleted
+ */
+@Name("insider.RoomLifecycle")
+@Label("Room Lifecycle")
+@Category({"Insider", "Rooms"})
+@Description("A room was created or deleted")
+@StackTrace(false)
+public class RoomLifecycleEvent extends Event {
+
+    public static final String CREATED = "CREATED";
+    public static final String DELETED = "DELETED";
+
+    @Label("Room Code")
+    String roomCode;
+
+    @Label("Action")
+    String action;
+
+    @Label("Players")
+    int players;
+
+    public static void emit(String roomCode, String action, int players) {
+        RoomLifecycleEvent event = new RoomLifecycleEvent();
+        if (!event.shouldCommit()) return;
+        event.roomCode = roomCode;
+        event.action = action;
+        event.players = players;
+        event.commit();
+    }
+}
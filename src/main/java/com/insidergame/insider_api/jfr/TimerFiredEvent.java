@@ -0,0 +1,46 @@
+package com.insidergame.insider_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A scheduled task ran: how late it started, and (as the event duration) how long it took
+ */
+@Name("insider.TimerFired")
+@Label("Timer Fired")
+@Category({"Insider", "Scheduling"})
+@Description("A game finish, auto-play or game timer task ran")
+@StackTrace(false)
+public class TimerFiredEvent extends Event {
+
+    @Label("Scheduler")
+    String scheduler;
+
+    @Label("Room Code")
+    String roomCode;
+
+    @Label("Lag")
+    @Description("Time between when the task was due and when it started")
+    @Timespan
+    long lag;
+
+    public static TimerFiredEvent start() {
+        TimerFiredEvent event = new TimerFiredEvent();
+        event.begin();
+        return event;
+    }
+
+    public void done(String scheduler, String roomCode, long lagNanos) {
+        end();
+        if (!shouldCommit()) return;
+        this.scheduler = scheduler;
+        this.roomCode = roomCode;
+        this.lag = lagNanos;
+        commit();
+    }
+}
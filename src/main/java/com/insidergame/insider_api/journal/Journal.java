@@ -0,0 +1,660 @@
+package com.insidergame.insider_api.journal;
+
+import com.insidergame.insider_api.tracing.TraceStage;
+import com.insidergame.insider_api.tracing.Tracing;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only write-ahead journal of room and game commands on local disk.
+ *
+ * Record layout (big-endian): int length | byte type | long lsn | long timestampMillis | payload | int crc32c,
+ * where length covers type..payload and the CRC is over the same bytes.
+ *
+ * {@link #append} only encodes the record and queues it (no I/O on the caller's thread). A single writer
+ * thread writes whatever has queued up in one go and fsyncs once per batch (group commit), so a crash
+ * loses at most the records of the batch being written. Segments roll over at a fixed size and are
+ * named after the first LSN they contain.
+ *
+ * State changes go through {@link #guard}: the change and its append run under the shared side of a
+ * striped per-room lock, so {@link StateSnapshotter} can take one stripe exclusively and copy those rooms
+ * at a known LSN while every other room keeps going. Backpressure and failures are applied there too, before
+ * the change touches any state: once a change has run, its record is always queued.
+ *
+ * A batch that fails to write is cut back off the segment and written again in a new segment. If the disk
+ * keeps failing the journal is marked failed: the writer stops, every new change is refused and the
+ * health check reports DOWN.
+ */
+@Component
+@Slf4j
+public class Journal {
+
+    private static final int LENGTH_BYTES = 4;
+    private static final int LSN_OFFSET = LENGTH_BYTES + 1;
+    private static final int MIN_BODY = 1 + 8 + 8;
+    private static final int MAX_BODY = 16 * 1024 * 1024;
+    private static final int MAX_BATCH = 4096;
+    private static final int QUEUE_CAPACITY = 1_000_000;
+    private static final long QUEUE_FULL_WAIT_MS = 5_000;
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+    private static final long WRITE_RETRY_BACKOFF_MS = 100;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String QUARANTINE_PREFIX = "quarantine-";
+    private static final int STRIPES = 64;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final boolean enabled;
+    private final Path dir;
+    private final long segmentBytes;
+    private final boolean fsync;
+
+    private final ThreadLocal<PayloadWriter> buffers = ThreadLocal.withInitial(() -> new PayloadWriter(256));
+    // [0] time handed out by now() during the current change; stamped on its record so replay reproduces it exactly
+    // [1] time pinned by applyAt() while a replicated record is applied
+    private final ThreadLocal<long[]> changeTime = ThreadLocal.withInitial(() -> new long[]{NO_TIME, NO_TIME});
+    // Nesting depth of guard() on this thread; only the outermost guard waits for queue space
+    private final ThreadLocal<int[]> guardDepth = ThreadLocal.withInitial(() -> new int[1]);
+    // Unbounded so an append after its change never fails; guard() keeps it near QUEUE_CAPACITY
+    private final LinkedBlockingQueue<byte[]> queue = new LinkedBlockingQueue<>();
+    private final Object appendLock = new Object();
+    private final ReentrantReadWriteLock[] stripes = new ReentrantReadWriteLock[STRIPES];
+    private long lastLsn; // guarded by appendLock
+    private volatile long durableLsn;
+    // Set when the writer gives up on the disk; no change is accepted after that
+    private volatile IOException failure;
+
+    // Set while records are being replayed: appends are ignored and now() returns the record's time
+    private volatile boolean replaying;
+    private volatile LocalDateTime replayTime;
+
+    // Set by the snapshotter so records after a snapshot start in a new segment, and recovery can skip whole segments
+    private volatile boolean rollRequested;
+
+    // Sees every appended record in LSN order (replication)
+    private volatile AppendListener appendListener;
+    // Rooms this node must not change right now (replication fencing)
+    private volatile Predicate<String> fence;
+
+    private Thread writerThread;
+    private volatile boolean running;
+    private FileChannel channel;
+    private long segmentSize;
+
+    public Journal(@Value("${insider.journal.enabled:true}") boolean enabled,
+                   @Value("${insider.journal.dir:journal}") String dir,
+                   @Value("${insider.journal.segment-bytes:67108864}") long segmentBytes,
+                   @Value("${insider.journal.fsync:true}") boolean fsync) {
+        this.enabled = enabled;
+        this.dir = Paths.get(dir);
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new ReentrantReadWriteLock();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReplaying() {
+        return replaying;
+    }
+
+    /**
+     * Current time for state changes: the wall clock, or the original time of the record being replayed
+     */
+    public LocalDateTime now() {
+        LocalDateTime t = replaying ? replayTime : null;
+        if (t != null) return t;
+        long[] time = changeTime.get();
+        if (time[1] != NO_TIME) return LocalDateTime.ofInstant(Instant.ofEpochMilli(time[1]), ZoneId.systemDefault());
+        if (time[0] == NO_TIME) time[0] = System.currentTimeMillis();
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(time[0]), ZoneId.systemDefault());
+    }
+
+    /**
+     * Run {@code change} with now() returning {@code timestampMillis} on this thread, and records stamped with it -
+     * used to apply records replicated from another node so deadlines keep their original values
+     */
+    public <T> T applyAt(long timestampMillis, Supplier<T> change) {
+        long[] time = changeTime.get();
+        time[1] = timestampMillis;
+        try {
+            return change.get();
+        } finally {
+            time[1] = NO_TIME;
+        }
+    }
+
+    public void setAppendListener(AppendListener appendListener) {
+        this.appendListener = appendListener;
+    }
+
+    public void setFence(Predicate<String> fence) {
+        this.fence = fence;
+    }
+
+    /**
+     * Run a journaled state change of one room (the change and its append) so snapshots never see half of it
+     *
+     * @throws IllegalStateException before running the change if the room is fenced, the journal has failed or its
+     *                               writer stays too far behind
+     */
+    public <T> T guard(String roomCode, Supplier<T> change) {
+        long start = Tracing.start();
+        int[] depth = guardDepth.get();
+        if (depth[0] == 0) {
+            Predicate<String> f = fence;
+            if (f != null && f.test(roomCode)) throw new IllegalStateException("Room " + roomCode + " is fenced, change rejected");
+            awaitCapacity();
+        }
+        Lock lock = stripes[stripeOf(roomCode)].readLock();
+        lock.lock();
+        depth[0]++;
+        try {
+            return change.get();
+        } finally {
+            depth[0]--;
+            lock.unlock();
+            changeTime.get()[0] = NO_TIME;
+            Tracing.stage(TraceStage.MUTATION, start);
+        }
+    }
+
+    public void guard(String roomCode, Runnable change) {
+        guard(roomCode, () -> {
+            change.run();
+            return null;
+        });
+    }
+
+    /**
+     * Hold a new change back while the writer is behind by QUEUE_CAPACITY records, waiting a bounded time with no
+     * lock held, and refuse it if the writer does not catch up or the journal has failed
+     */
+    private void awaitCapacity() {
+        if (!enabled || replaying) return;
+        checkNotFailed();
+        if (queue.size() < QUEUE_CAPACITY) return;
+        log.warn("Journal queue full ({}), holding changes back for the writer", QUEUE_CAPACITY);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(QUEUE_FULL_WAIT_MS);
+        while (queue.size() >= QUEUE_CAPACITY) {
+            checkNotFailed();
+            if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Journal queue full (" + QUEUE_CAPACITY + "), change rejected");
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private void checkNotFailed() {
+        IOException e = failure;
+        if (e != null) throw new IllegalStateException("Journal failed, change rejected: " + e.getMessage());
+    }
+
+    /**
+     * Run {@code copy} with no state change in flight for any room of the stripe
+     */
+    <T> T exclusive(int stripe, Supplier<T> copy) {
+        Lock lock = stripes[stripe].writeLock();
+        lock.lock();
+        try {
+            return copy.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static int stripeCount() {
+        return STRIPES;
+    }
+
+    static int stripeOf(String roomCode) {
+        return roomCode == null ? 0 : Math.floorMod(roomCode.hashCode(), STRIPES);
+    }
+
+    /**
+     * Append a record. Returns its LSN, or 0 if journaling is off or a replay is running.
+     * Never refuses a record: capacity is checked by {@link #guard} before the change is made.
+     */
+    public long append(RecordType type, Consumer<PayloadWriter> payload) {
+        AppendListener listener = appendListener;
+        if ((!enabled && listener == null) || replaying) return 0;
+
+        long[] time = changeTime.get();
+        long timestamp = time[1] != NO_TIME ? time[1] : time[0] != NO_TIME ? time[0] : System.currentTimeMillis();
+        time[0] = NO_TIME;
+
+        PayloadWriter w = buffers.get();
+        w.reset();
+        w.writeInt(0).writeByte(type.getCode()).writeLong(0).writeLong(timestamp);
+        payload.accept(w);
+        int bodyLength = w.size() - LENGTH_BYTES;
+        w.putInt(0, bodyLength);
+
+        // LSN order must match queue order, so assign and enqueue under one lock
+        synchronized (appendLock) {
+            long lsn = ++lastLsn;
+            w.putLong(LSN_OFFSET, lsn);
+            CRC32C crc = new CRC32C();
+            crc.update(w.array(), LENGTH_BYTES, bodyLength);
+            w.writeInt((int) crc.getValue());
+            byte[] record = Arrays.copyOf(w.array(), w.size());
+            if (enabled) queue.add(record);
+            if (listener != null) listener.onAppend(lsn, timestamp, record);
+            return lsn;
+        }
+    }
+
+    /**
+     * Decode one encoded record as handed to an {@link AppendListener}
+     *
+     * @throws IllegalArgumentException if it is truncated or fails its checksum
+     */
+    public static JournalRecord decode(byte[] encoded) {
+        if (encoded.length < LENGTH_BYTES + MIN_BODY + 4) throw new IllegalArgumentException("Record too short");
+        ByteBuffer buf = ByteBuffer.wrap(encoded);
+        int length = buf.getInt();
+        if (length < MIN_BODY || LENGTH_BYTES + length + 4 != encoded.length) throw new IllegalArgumentException("Bad record length");
+        CRC32C crc = new CRC32C();
+        crc.update(encoded, LENGTH_BYTES, length);
+        if ((int) crc.getValue() != buf.getInt(LENGTH_BYTES + length)) throw new IllegalArgumentException("Record checksum mismatch");
+        RecordType type = RecordType.fromCode(buf.get());
+        long lsn = buf.getLong();
+        long timestamp = buf.getLong();
+        return new JournalRecord(type, lsn, timestamp, Arrays.copyOfRange(encoded, LENGTH_BYTES + MIN_BODY, LENGTH_BYTES + length));
+    }
+
+    /**
+     * Room code of an encoded record (every payload starts with it)
+     */
+    public static String roomCodeOf(byte[] encoded) {
+        int offset = LENGTH_BYTES + MIN_BODY;
+        return new PayloadReader(ByteBuffer.wrap(encoded, offset, encoded.length - offset)).readString();
+    }
+
+    /**
+     * Feed every intact record with LSN > afterLsn to {@code sink}, oldest first.
+     * Reading stops at the first torn or corrupt record; if that is not in the last segment, the segments after
+     * it are quarantined. Must be called before {@link #start}.
+     * Returns the number of records replayed.
+     */
+    public synchronized long replay(long afterLsn, Consumer<JournalRecord> sink) throws IOException {
+        if (!enabled) return 0;
+        long count = 0;
+        replaying = true;
+        synchronized (appendLock) {
+            lastLsn = Math.max(lastLsn, afterLsn);
+        }
+        try {
+            List<Path> segments = listSegments();
+            for (int i = 0; i < segments.size(); i++) {
+                Path segment = segments.get(i);
+                // Every record of this segment is at or before afterLsn (e.g. covered by a snapshot)
+                if (i + 1 < segments.size() && firstLsnOf(segments.get(i + 1)) - 1 <= afterLsn) continue;
+                SegmentScan scan = scanSegment(segment, afterLsn, record -> {
+                    replayTime = record.time();
+                    sink.accept(record);
+                });
+                count += scan.records;
+                synchronized (appendLock) {
+                    lastLsn = Math.max(lastLsn, scan.lastLsn);
+                }
+                if (scan.corrupt) {
+                    if (i == segments.size() - 1) {
+                        // Torn write from a crash: cut it off so later appends start from a clean tail
+                        log.warn("Journal segment {} has a torn record after LSN {} - truncating to {} bytes",
+                                segment.getFileName(), scan.lastLsn, scan.validBytes);
+                        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                            ch.truncate(scan.validBytes);
+                        }
+                    } else {
+                        quarantine(segments.subList(i, segments.size()), scan);
+                    }
+                    break;
+                }
+            }
+        } finally {
+            replayTime = null;
+            replaying = false;
+        }
+        durableLsn = lastLsn;
+        return count;
+    }
+
+    /**
+     * A segment before the tail is corrupt, so nothing after it can be replayed. Keep a copy of it and move every
+     * later segment aside, then cut it back to its last intact record - otherwise the next start would reuse their
+     * LSNs (or append into one of them) and every restart would stop at the same record.
+     * New records are numbered after every LSN the moved segments may hold.
+     */
+    private void quarantine(List<Path> segments, SegmentScan scan) throws IOException {
+        Path corrupt = segments.get(0);
+        Path target = dir.resolve(QUARANTINE_PREFIX + System.currentTimeMillis());
+        Files.createDirectories(target);
+        Files.copy(corrupt, target.resolve(corrupt.getFileName()));
+        try (FileChannel ch = FileChannel.open(corrupt, StandardOpenOption.WRITE)) {
+            ch.truncate(scan.validBytes);
+        }
+
+        long highest = scan.lastLsn;
+        for (Path segment : segments.subList(1, segments.size())) {
+            highest = Math.max(highest, firstLsnOf(segment) - 1);
+            highest = Math.max(highest, scanSegment(segment, Long.MAX_VALUE, record -> { }).lastLsn);
+            Files.move(segment, target.resolve(segment.getFileName()));
+        }
+        long lastGood;
+        synchronized (appendLock) {
+            lastGood = lastLsn;
+            lastLsn = Math.max(lastLsn, highest);
+        }
+        log.error("Journal segment {} is corrupt after LSN {} - moved it and {} later segment(s) to {}, "
+                        + "LSNs {}..{} are not replayed",
+                corrupt.getFileName(), lastGood, segments.size() - 1, target, lastGood + 1, highest);
+    }
+
+    /**
+     * Open a fresh segment and start the writer thread. Records appended before this are written first.
+     */
+    public synchronized void start() throws IOException {
+        if (!enabled || running) return;
+        Files.createDirectories(dir);
+        openSegment(getLastLsn() + 1);
+        running = true;
+        writerThread = new Thread(this::runWriter, "journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Journal open in {} at LSN {}", dir.toAbsolutePath(), getLastLsn());
+    }
+
+    /**
+     * Start a new segment after the records written so far (asynchronously, on the writer thread)
+     */
+    void requestRoll() {
+        rollRequested = true;
+    }
+
+    /**
+     * Make sure new records are numbered after {@code lsn} (state restored from a snapshot may be newer than the journal)
+     */
+    void advanceLsn(long lsn) {
+        synchronized (appendLock) {
+            lastLsn = Math.max(lastLsn, lsn);
+        }
+    }
+
+    /**
+     * Delete segments whose records are all at or before {@code lsn}. The open segment is never deleted.
+     * Returns the number of segments deleted.
+     */
+    int deleteSegmentsThrough(long lsn) throws IOException {
+        List<Path> segments = listSegments();
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstLsnOf(segments.get(i + 1)) - 1 > lsn) break;
+            Files.deleteIfExists(segments.get(i));
+            deleted++;
+        }
+        return deleted;
+    }
+
+    public long getLastLsn() {
+        synchronized (appendLock) {
+            return lastLsn;
+        }
+    }
+
+    // Highest LSN known to be on disk
+    public long getDurableLsn() {
+        return durableLsn;
+    }
+
+    // The write error the journal gave up on, or null while it is healthy
+    public IOException getFailure() {
+        return failure;
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public Path getDirectory() {
+        return dir;
+    }
+
+    List<Path> listSegments() throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted() // zero-padded first LSN, so name order is LSN order
+                    .toList();
+        }
+    }
+
+    private static long firstLsnOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static SegmentScan scanSegment(Path segment, long afterLsn, Consumer<JournalRecord> sink) throws IOException {
+        SegmentScan scan = new SegmentScan();
+        CRC32C crc = new CRC32C();
+        byte[] body = new byte[256];
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 1 << 16))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException eof) {
+                    return scan; // clean end of segment
+                }
+                if (length < MIN_BODY || length > MAX_BODY) {
+                    scan.corrupt = true;
+                    return scan;
+                }
+                if (body.length < length) body = new byte[Math.max(length, body.length * 2)];
+                int storedCrc;
+                try {
+                    // Records already covered by a snapshot are skipped without checksumming or decoding them
+                    in.readFully(body, 0, 1 + 8);
+                    long lsn = ByteBuffer.wrap(body, 1, 8).getLong();
+                    if (lsn <= afterLsn) {
+                        in.skipNBytes(length - (1 + 8) + 4);
+                        scan.lastLsn = Math.max(scan.lastLsn, lsn);
+                        scan.validBytes += LENGTH_BYTES + length + 4;
+                        continue;
+                    }
+                    in.readFully(body, 1 + 8, length - (1 + 8));
+                    storedCrc = in.readInt();
+                } catch (EOFException eof) {
+                    scan.corrupt = true; // torn write at the tail
+                    return scan;
+                }
+                crc.reset();
+                crc.update(body, 0, length);
+                if ((int) crc.getValue() != storedCrc) {
+                    scan.corrupt = true;
+                    return scan;
+                }
+
+                ByteBuffer header = ByteBuffer.wrap(body, 0, MIN_BODY);
+                RecordType type = RecordType.fromCode(header.get());
+                long lsn = header.getLong();
+                long timestamp = header.getLong();
+                scan.lastLsn = Math.max(scan.lastLsn, lsn);
+                scan.validBytes += LENGTH_BYTES + length + 4;
+
+                sink.accept(new JournalRecord(type, lsn, timestamp, Arrays.copyOfRange(body, MIN_BODY, length)));
+                scan.records++;
+            }
+        }
+    }
+
+    private void runWriter() {
+        List<byte[]> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                byte[] first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (!running) break;
+                    if (rollRequested) rollSegment(durableLsn + 1);
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                if (!running) break;
+            } catch (IOException e) {
+                if (!retryWrite(batch, e)) {
+                    failure = e;
+                    log.error("Journal failed at durable LSN {}, refusing changes from now on: {}",
+                            durableLsn, e.getMessage(), e);
+                    break;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Recover from a failed write of {@code batch} (empty if only a roll failed): cut whatever part of it reached
+     * the segment back off, so no torn record is left in the middle of the journal, and write it again in a new
+     * segment, backing off between attempts. Returns false if the disk keeps failing.
+     */
+    private boolean retryWrite(List<byte[]> batch, IOException error) {
+        long lastLsnInBatch = batch.isEmpty() ? durableLsn : lsnOf(batch.get(batch.size() - 1));
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            log.warn("Journal write through LSN {} failed (attempt {} of {}): {}",
+                    lastLsnInBatch, attempt, MAX_WRITE_ATTEMPTS, error.getMessage());
+            try {
+                Thread.sleep(WRITE_RETRY_BACKOFF_MS << (attempt - 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            try {
+                if (durableLsn < lastLsnInBatch) {
+                    if (channel.isOpen()) channel.truncate(segmentSize);
+                    reopenSegment(lsnOf(batch.get(0)));
+                    writeBatch(batch);
+                } else {
+                    reopenSegment(lastLsnInBatch + 1); // the batch is on disk, only rolling over failed
+                }
+                log.info("Journal write through LSN {} recovered", lastLsnInBatch);
+                return true;
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        return false;
+    }
+
+    private void reopenSegment(long firstLsn) throws IOException {
+        if (channel.isOpen() && segmentSize == 0) return; // nothing in it yet, keep writing there
+        channel.close();
+        openSegment(firstLsn);
+    }
+
+    private static long lsnOf(byte[] record) {
+        return ByteBuffer.wrap(record, LSN_OFFSET, 8).getLong();
+    }
+
+    private void writeBatch(List<byte[]> batch) throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+        long bytes = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.wrap(batch.get(i));
+            bytes += buffers[i].remaining();
+        }
+        long written = 0;
+        while (written < bytes) {
+            written += channel.write(buffers);
+        }
+        if (fsync) channel.force(false);
+
+        long lastLsnInBatch = lsnOf(batch.get(batch.size() - 1));
+        durableLsn = lastLsnInBatch;
+
+        segmentSize += bytes;
+        if (segmentSize >= segmentBytes || rollRequested) {
+            rollSegment(lastLsnInBatch + 1);
+        }
+    }
+
+    private void rollSegment(long nextLsn) throws IOException {
+        rollRequested = false;
+        if (segmentSize == 0) return;
+        channel.close();
+        openSegment(nextLsn);
+    }
+
+    private void openSegment(long firstLsn) throws IOException {
+        Path path = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = channel.size();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            if (channel.isOpen()) { // closed if the writer failed
+                channel.force(true);
+                channel.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Error closing journal: {}", e.getMessage());
+        }
+        log.info("Journal closed at LSN {}", durableLsn);
+    }
+
+    private static final class SegmentScan {
+        private long records;
+        private long lastLsn;
+        private long validBytes;
+        private boolean corrupt;
+    }
+
+    /**
+     * Called for every appended record, in LSN order, on the appending thread while the LSN lock is held -
+     * implementations must only hand the record off
+     */
+    public interface AppendListener {
+        void onAppend(long lsn, long timestampMillis, byte[] record);
+    }
+}
@@ -0,0 +1,30 @@
+package com.insidergame.insider_api.journal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * DOWN once the journal has given up on its disk and refuses changes
+ */
+@Component
+@RequiredArgsConstructor
+public class JournalHealthIndicator implements HealthIndicator {
+
+    private final Journal journal;
+
+    @Override
+    public Health health() {
+        if (!journal.isEnabled()) return Health.up().withDetail("enabled", false).build();
+        IOException failure = journal.getFailure();
+        Health.Builder health = failure == null ? Health.up() : Health.down(failure);
+        return health
+                .withDetail("lastLsn", journal.getLastLsn())
+                .withDetail("durableLsn", journal.getDurableLsn())
+                .withDetail("pending", journal.getPendingCount())
+                .build();
+    }
+}
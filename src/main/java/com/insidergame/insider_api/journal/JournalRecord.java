@@ -0,0 +1,19 @@
+package com.insidergame.insider_api.journal;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * One record read back from the journal
+ */
+public record JournalRecord(RecordType type, long lsn, long timestampMillis, byte[] payload) {
+
+    public PayloadReader reader() {
+        return new PayloadReader(payload);
+    }
+
+    public LocalDateTime time() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,118 @@
+package com.insidergame.insider_api.journal;
+
+import com.insidergame.insider_api.api.game.GameFinishService;
+import com.insidergame.insider_api.api.game.GameHistoryStore;
+import com.insidergame.insider_api.dto.GameHistoryDto;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.Room;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Restores rooms and active games at startup (newest state snapshot, then the journal after it),
+ * then opens the journal for new records and starts the snapshotter
+ */
+@Component
+@Slf4j
+public class JournalRecovery {
+
+    private final Journal journal;
+    private final StateSnapshotter snapshotter;
+    private final RoomManager roomManager;
+    private final GameManager gameManager;
+    private final GameHistoryStore gameHistoryStore;
+    private final GameFinishService gameFinishService;
+    private final JsonMapper jsonMapper;
+
+    // Wall time of the last restore (snapshot load + journal replay), for diagnostics
+    private volatile long restoreMillis;
+
+    public JournalRecovery(Journal journal, StateSnapshotter snapshotter, RoomManager roomManager, GameManager gameManager,
+                           GameHistoryStore gameHistoryStore, GameFinishService gameFinishService, JsonMapper jsonMapper) {
+        this.journal = journal;
+        this.snapshotter = snapshotter;
+        this.roomManager = roomManager;
+        this.gameManager = gameManager;
+        this.gameHistoryStore = gameHistoryStore;
+        this.gameFinishService = gameFinishService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @PostConstruct
+    void recover() {
+        if (!journal.isEnabled()) return;
+        long start = System.nanoTime();
+        try {
+            long afterLsn = 0;
+            Map<String, Long> roomLsns = Map.of();
+
+            Optional<SnapshotFile.Image> snapshot = snapshotter.loadLatest();
+            if (snapshot.isPresent()) {
+                SnapshotFile.Image image = snapshot.get();
+                roomLsns = image.restoreInto(roomManager, gameManager);
+                afterLsn = image.startLsn();
+                // Rooms may have been copied after records that never reached the journal - number new records past them
+                journal.advanceLsn(image.endLsn());
+                requeuePendingHistory(image);
+                log.info("Loaded state snapshot at LSN {} ({} rooms) in {} ms",
+                        image.startLsn(), image.rooms().size(), (System.nanoTime() - start) / 1_000_000);
+            }
+
+            JournalReplayer.Result result = new JournalReplayer(roomManager, gameManager).replay(journal, afterLsn, roomLsns);
+            afterReplay(result);
+        } catch (Exception ex) {
+            log.error("Journal replay failed - starting with the state recovered so far: {}", ex.getMessage(), ex);
+        }
+        restoreMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("State restored in {} ms ({} rooms)", restoreMillis, roomManager.getTotalRooms());
+
+        try {
+            journal.start();
+            snapshotter.start();
+        } catch (Exception ex) {
+            log.error("Could not open journal for writing - room state will not survive a restart: {}", ex.getMessage(), ex);
+        }
+    }
+
+    public long getRestoreMillis() {
+        return restoreMillis;
+    }
+
+    private void requeuePendingHistory(SnapshotFile.Image image) {
+        if (image.pendingHistoryJson() == null) return;
+        for (String json : image.pendingHistoryJson()) {
+            try {
+                gameHistoryStore.enqueue(jsonMapper.readValue(json, GameHistoryDto.class));
+            } catch (Exception ex) {
+                log.warn("Skipping unreadable pending game in snapshot: {}", ex.getMessage());
+            }
+        }
+    }
+
+    void afterReplay(JournalReplayer.Result result) {
+        // The write-behind queue may have lost these in the crash; inserts are idempotent by game id
+        for (GameHistoryDto archived : result.getArchivedGames()) {
+            gameHistoryStore.enqueue(archived);
+        }
+
+        // Games that were scored but not yet reset need their delayed finish again
+        int pendingFinish = 0;
+        for (Room room : roomManager.getAllRooms()) {
+            var game = gameManager.getActiveGame(room.getRoomCode()).orElse(null);
+            if (game != null && game.getSummary() != null) {
+                gameFinishService.scheduleGameFinish(room.getRoomCode());
+                pendingFinish++;
+            }
+        }
+
+        log.info("Journal replayed: {} records ({} already in snapshot, {} failed) in {} ms - {} archived games, {} games re-scheduled to finish",
+                result.getRecords(), result.getSkipped(), result.getFailed(), result.getElapsedMillis(),
+                result.getArchivedGames().size(), pendingFinish);
+    }
+}
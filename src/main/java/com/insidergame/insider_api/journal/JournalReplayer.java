@@ -0,0 +1,171 @@
+package com.insidergame.insider_api.journal;
+
+import com.insidergame.insider_api.dto.GameHistoryDto;
+import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.Player;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Rebuilds RoomManager/GameManager state by calling the same manager methods the records came from.
+ * The journal ignores appends while replaying, so replay never writes new records.
+ * Records are applied idempotently (a room that already exists is not created twice, and so on),
+ * so replaying on top of state that already contains some of them is safe.
+ */
+@Slf4j
+public class JournalReplayer {
+
+    private final RoomManager roomManager;
+    private final GameManager gameManager;
+
+    public JournalReplayer(RoomManager roomManager, GameManager gameManager) {
+        this.roomManager = roomManager;
+        this.gameManager = gameManager;
+    }
+
+    /**
+     * Replay every record with LSN > afterLsn
+     */
+    public Result replay(Journal journal, long afterLsn) throws IOException {
+        return replay(journal, afterLsn, Map.of());
+    }
+
+    /**
+     * Replay every record with LSN > afterLsn, except records of a room at or before the LSN that room
+     * was restored at ({@code roomLsns}, from a state snapshot)
+     */
+    public Result replay(Journal journal, long afterLsn, Map<String, Long> roomLsns) throws IOException {
+        Result result = new Result();
+        long start = System.nanoTime();
+        journal.replay(afterLsn, record -> {
+            try {
+                if (apply(record, roomLsns, result)) result.records++;
+                else result.skipped++;
+            } catch (RuntimeException ex) {
+                result.failed++;
+                log.warn("Could not replay journal record {} ({}): {}", record.lsn(), record.type(), ex.getMessage());
+            }
+        });
+        result.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return result;
+    }
+
+    /**
+     * Apply one record (e.g. replicated from another node) unless its room was restored at or after it.
+     * Returns false if it was skipped.
+     */
+    public boolean apply(JournalRecord record, Map<String, Long> roomLsns) {
+        return apply(record, roomLsns, new Result());
+    }
+
+    private boolean apply(JournalRecord record, Map<String, Long> roomLsns, Result result) {
+        PayloadReader r = record.reader();
+        String roomCode = r.readString();
+        Long restoredAt = roomLsns.get(roomCode);
+        if (restoredAt != null && record.lsn() <= restoredAt) return false;
+        switch (record.type()) {
+            case ROOM_CREATED -> {
+                String roomName = r.readString();
+                int maxPlayers = r.readInt();
+                String password = r.readString();
+                String hostUuid = r.readString();
+                String hostName = r.readString();
+                List<String> wordPacks = r.readStrings();
+                RuleSet ruleSet = RuleSet.parse(r.readString()).orElse(RuleSet.CLASSIC);
+                int matchRounds = r.readInt();
+                boolean botHost = r.hasRemaining() && r.readBoolean(); // absent in records written before bots
+                if (!roomManager.roomExists(roomCode)) {
+                    roomManager.createRoom(roomCode, roomName, maxPlayers, password, hostUuid, hostName, wordPacks, ruleSet, matchRounds, botHost);
+                }
+            }
+            case ROOM_DELETED -> {
+                gameManager.clearGamesForRoom(roomCode);
+                roomManager.deleteRoom(roomCode);
+            }
+            case PLAYER_JOINED -> {
+                String uuid = r.readString();
+                String name = r.readString();
+                LocalDateTime joinedAt = r.readTime();
+                boolean bot = r.hasRemaining() && r.readBoolean();
+                if (!roomManager.isPlayerInRoom(roomCode, uuid)) {
+                    roomManager.addPlayerToRoom(roomCode, Player.builder()
+                            .uuid(uuid)
+                            .playerName(name)
+                            .joinedAt(joinedAt)
+                            .isHost(false)
+                            .isBot(bot)
+                            .build());
+                }
+            }
+            case PLAYER_LEFT -> roomManager.removePlayerFromRoom(roomCode, r.readString());
+            case PLAYER_READY -> roomManager.setPlayerReady(roomCode, r.readString(), r.readBoolean());
+            case PLAYERS_PLAYING -> roomManager.markPlayersPlaying(roomCode, new HashSet<>(r.readStrings()));
+            case PLAYERS_RESET -> roomManager.resetPlayersAfterGame(roomCode);
+            case ROOM_STATUS -> roomManager.updateRoomStatus(roomCode, RoomStatus.valueOf(r.readString()));
+            case MATCH_STARTED -> roomManager.startNextMatchIfFinished(roomCode);
+            case GAME_STARTED -> {
+                UUID gameId = UUID.fromString(r.readString());
+                String word = r.readString();
+                int durationSeconds = r.readInt();
+                RuleSet ruleSet = RuleSet.parse(r.readString()).orElse(RuleSet.CLASSIC);
+                Map<String, RoleType> roles = new HashMap<>();
+                r.readStringMap().forEach((uuid, role) -> roles.put(uuid, RoleType.valueOf(role)));
+                boolean alreadyActive = gameManager.getActiveGame(roomCode).map(g -> gameId.equals(g.getId())).orElse(false);
+                if (!alreadyActive) {
+                    gameManager.createGame(gameId, roomCode, word, durationSeconds, roles, ruleSet);
+                }
+            }
+            case CARD_OPENED -> gameManager.markCardOpened(roomCode, r.readString());
+            case COUNTDOWN_STARTED -> gameManager.startCountdown(roomCode);
+            case VOTING_STARTED -> gameManager.startVoting(roomCode);
+            case VOTE_CAST -> gameManager.recordVote(roomCode, r.readString(), r.readString());
+            case GAME_SCORED -> gameManager.scoreGame(roomCode);
+            case GAME_FINISHED -> {
+                GameHistoryDto archived = gameManager.finishAndArchiveGame(roomCode);
+                if (archived != null) result.archivedGames.add(archived);
+            }
+            case GAME_CANCELLED -> gameManager.finishGame(roomCode);
+        }
+        return true;
+    }
+
+    /**
+     * Outcome of a replay
+     */
+    public static class Result {
+        private long records;
+        private long skipped;
+        private long failed;
+        private long elapsedMillis;
+        // Games archived during replay; they may not have reached the database before the crash
+        private final List<GameHistoryDto> archivedGames = new ArrayList<>();
+
+        public long getRecords() {
+            return records;
+        }
+
+        // Records already contained in the snapshot the state was restored from
+        public long getSkipped() {
+            return skipped;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public List<GameHistoryDto> getArchivedGames() {
+            return archivedGames;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.insidergame.insider_api.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads payloads written by {@link PayloadWriter}, in the same order
+ */
+public final class PayloadReader {
+
+    private final ByteBuffer buf;
+
+    PayloadReader(byte[] payload) {
+        this.buf = ByteBuffer.wrap(payload);
+    }
+
+    // Reads from the buffer's current position (e.g. a memory-mapped snapshot)
+    PayloadReader(ByteBuffer buf) {
+        this.buf = buf;
+    }
+
+    /**
+     * False once every field has been read; lets a reader accept records written before a trailing field was added
+     */
+    public boolean hasRemaining() {
+        return buf.hasRemaining();
+    }
+
+    public int readByte() {
+        return buf.get();
+    }
+
+    public boolean readBoolean() {
+        return buf.get() != 0;
+    }
+
+    public int readInt() {
+        return buf.getInt();
+    }
+
+    public long readLong() {
+        return buf.getLong();
+    }
+
+    public String readString() {
+        int len = buf.getInt();
+        if (len < 0) return null;
+        if (!buf.hasArray()) {
+            byte[] bytes = new byte[len];
+            buf.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        String s = new String(buf.array(), buf.arrayOffset() + buf.position(), len, StandardCharsets.UTF_8);
+        buf.position(buf.position() + len);
+        return s;
+    }
+
+    public LocalDateTime readTime() {
+        long seconds = buf.getLong();
+        if (seconds == Long.MIN_VALUE) return null;
+        return LocalDateTime.ofEpochSecond(seconds, buf.getInt(), ZoneOffset.UTC);
+    }
+
+    public List<String> readStrings() {
+        int n = buf.getInt();
+        if (n < 0) return null;
+        List<String> values = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) values.add(readString());
+        return values;
+    }
+
+    public Map<String, String> readStringMap() {
+        int n = buf.getInt();
+        if (n < 0) return null;
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) map.put(readString(), readString());
+        return map;
+    }
+}
@@ -0,0 +1,113 @@
+package com.insidergame.insider_api.journal;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Growable big-endian buffer for record payloads. Strings are an int byte length (-1 for null) plus UTF-8.
+ */
+public final class PayloadWriter {
+
+    private byte[] buf;
+    private int pos;
+
+    public PayloadWriter(int initialCapacity) {
+        this.buf = new byte[initialCapacity];
+    }
+
+    public PayloadWriter writeByte(int v) {
+        ensure(1);
+        buf[pos++] = (byte) v;
+        return this;
+    }
+
+    public PayloadWriter writeBoolean(boolean v) {
+        return writeByte(v ? 1 : 0);
+    }
+
+    public PayloadWriter writeInt(int v) {
+        ensure(4);
+        buf[pos++] = (byte) (v >>> 24);
+        buf[pos++] = (byte) (v >>> 16);
+        buf[pos++] = (byte) (v >>> 8);
+        buf[pos++] = (byte) v;
+        return this;
+    }
+
+    public PayloadWriter writeLong(long v) {
+        writeInt((int) (v >>> 32));
+        return writeInt((int) v);
+    }
+
+    public PayloadWriter writeString(String s) {
+        if (s == null) return writeInt(-1);
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+        return this;
+    }
+
+    // Local date-time as epoch seconds + nanos (Long.MIN_VALUE alone for null)
+    public PayloadWriter writeTime(LocalDateTime t) {
+        if (t == null) return writeLong(Long.MIN_VALUE);
+        writeLong(t.toEpochSecond(ZoneOffset.UTC));
+        return writeInt(t.getNano());
+    }
+
+    public PayloadWriter writeStrings(Collection<String> values) {
+        if (values == null) return writeInt(-1);
+        writeInt(values.size());
+        for (String v : values) writeString(v);
+        return this;
+    }
+
+    public PayloadWriter writeStringMap(Map<String, String> map) {
+        if (map == null) return writeInt(-1);
+        writeInt(map.size());
+        for (Map.Entry<String, String> e : map.entrySet()) {
+            writeString(e.getKey());
+            writeString(e.getValue());
+        }
+        return this;
+    }
+
+    public int size() {
+        return pos;
+    }
+
+    byte[] array() {
+        return buf;
+    }
+
+    void reset() {
+        pos = 0;
+    }
+
+    // Overwrite 4 bytes at an absolute position (used to fill in the record length after encoding)
+    void putInt(int at, int v) {
+        buf[at] = (byte) (v >>> 24);
+        buf[at + 1] = (byte) (v >>> 16);
+        buf[at + 2] = (byte) (v >>> 8);
+        buf[at + 3] = (byte) v;
+    }
+
+    // Overwrite 8 bytes at an absolute position (used to fill in the LSN after encoding)
+    void putLong(int at, long v) {
+        for (int i = 7; i >= 0; i--) {
+            buf[at + i] = (byte) v;
+            v >>>= 8;
+        }
+    }
+
+    private void ensure(int n) {
+        if (pos + n > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+        }
+    }
+}
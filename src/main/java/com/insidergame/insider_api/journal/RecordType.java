@@ -0,0 +1,46 @@
+package com.insidergame.insider_api.journal;
+
+/**
+ * Kinds of journal records. The code is what goes on disk - never reuse or renumber one.
+ */
+public enum RecordType {
+    ROOM_CREATED(1),
+    ROOM_DELETED(2),
+    PLAYER_JOINED(3),
+    PLAYER_LEFT(4),
+    PLAYER_READY(5),
+    PLAYERS_PLAYING(6),
+    PLAYERS_RESET(7),
+    ROOM_STATUS(8),
+    MATCH_STARTED(9),
+    GAME_STARTED(10),
+    CARD_OPENED(11),
+    COUNTDOWN_STARTED(12),
+    VOTING_STARTED(13),
+    VOTE_CAST(14),
+    GAME_SCORED(15),
+    GAME_FINISHED(16),
+    GAME_CANCELLED(17);
+
+    private static final RecordType[] BY_CODE = new RecordType[32];
+
+    static {
+        for (RecordType type : values()) BY_CODE[type.code] = type;
+    }
+
+    private final byte code;
+
+    RecordType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static RecordType fromCode(byte code) {
+        RecordType type = code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        if (type == null) throw new IllegalArgumentException("Unknown journal record type " + code);
+        return type;
+    }
+}
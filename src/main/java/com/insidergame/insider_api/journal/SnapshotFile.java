@@ -0,0 +1,513 @@
+package com.insidergame.insider_api.journal;
+
+import com.insidergame.insider_api.dto.MatchDto;
+import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Point-in-time binary image of every room, its players, match and active game (snapshot-&lt;lsn&gt;.snap).
+ *
+ * Layout (big-endian, same encoding as journal payloads):
+ * int magic | int version | long startLsn | long endLsn | long createdAtMillis | int roomCount | rooms |
+ * int pendingHistoryCount | history JSON strings | int crc32c over everything before it.
+ *
+ * Rooms are copied one lock stripe at a time (see {@link Journal#guard}); each room stores the journal LSN
+ * it was copied at, and records of that room up to that LSN are already in the image. startLsn is the
+ * LSN before the first stripe was copied, so replaying the journal after startLsn (skipping records
+ * covered by a room's LSN) brings every room up to date.
+ */
+public final class SnapshotFile {
+
+    private static final int MAGIC = 0x494E5331; // "INS1"
+    private static final int VERSION = 2; // 2 added the player bot flag; version 1 files are still read
+    private static final int HEADER_END_LSN = 16;
+    private static final int HEADER_ROOM_COUNT = 32;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Copy the current state and write it to {@code dir} (temp file + atomic rename). Request processing
+     * continues meanwhile; only rooms in the stripe being copied wait, for the time it takes to encode them.
+     */
+    public static Written write(Path dir, Journal journal, RoomManager roomManager, GameManager gameManager,
+                                List<String> pendingHistoryJson) throws IOException {
+        long start = System.nanoTime();
+
+        List<List<String>> codesByStripe = new ArrayList<>(Journal.stripeCount());
+        for (int i = 0; i < Journal.stripeCount(); i++) codesByStripe.add(new ArrayList<>());
+        long startLsn = journal.getLastLsn();
+        journal.requestRoll();
+        for (Room room : roomManager.getAllRooms()) {
+            codesByStripe.get(Journal.stripeOf(room.getRoomCode())).add(room.getRoomCode());
+        }
+
+        PayloadWriter w = new PayloadWriter(1 << 20);
+        w.writeInt(MAGIC).writeInt(VERSION).writeLong(startLsn).writeLong(0).writeLong(System.currentTimeMillis()).writeInt(0);
+
+        int rooms = 0;
+        for (int stripe = 0; stripe < codesByStripe.size(); stripe++) {
+            List<String> codes = codesByStripe.get(stripe);
+            if (codes.isEmpty()) continue;
+            rooms += journal.exclusive(stripe, () -> {
+                // Nothing in this stripe is mid-change, so every record up to here is reflected in these rooms
+                long roomLsn = journal.getLastLsn();
+                int copied = 0;
+                for (String code : codes) {
+                    Room room = roomManager.getRoom(code).orElse(null);
+                    if (room == null) continue; // deleted since listing
+                    writeRoom(w, room, roomLsn, gameManager);
+                    copied++;
+                }
+                return copied;
+            });
+        }
+        long endLsn = journal.getLastLsn();
+        w.putLong(HEADER_END_LSN, endLsn);
+        w.putInt(HEADER_ROOM_COUNT, rooms);
+
+        w.writeStrings(pendingHistoryJson == null ? List.of() : pendingHistoryJson);
+        CRC32C crc = new CRC32C();
+        crc.update(w.array(), 0, w.size());
+        w.writeInt((int) crc.getValue());
+
+        Files.createDirectories(dir);
+        Path target = dir.resolve(String.format("%s%020d%s", PREFIX, startLsn, SUFFIX));
+        Path tmp = dir.resolve(target.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_WRITE, 0, w.size());
+            mapped.put(w.array(), 0, w.size());
+            mapped.force();
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tmp);
+            throw ex;
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        return new Written(target, startLsn, endLsn, rooms, w.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Encode one room (with its game state) at a consistent LSN, e.g. to seed a replica. Null if the room is gone.
+     */
+    public static byte[] encodeRoom(Journal journal, RoomManager roomManager, GameManager gameManager, String roomCode) {
+        return journal.exclusive(Journal.stripeOf(roomCode), () -> {
+            Room room = roomManager.getRoom(roomCode).orElse(null);
+            if (room == null) return null;
+            PayloadWriter w = new PayloadWriter(1024);
+            writeRoom(w, room, journal.getLastLsn(), gameManager);
+            return Arrays.copyOf(w.array(), w.size());
+        });
+    }
+
+    public static RoomImage decodeRoom(byte[] encoded) {
+        return readRoom(new PayloadReader(encoded), VERSION);
+    }
+
+    /**
+     * Snapshot files in {@code dir}, newest first
+     */
+    public static List<Path> list(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.reverseOrder()) // zero-padded LSN
+                    .toList();
+        }
+    }
+
+    // Snapshots are named after their start LSN
+    public static long startLsnOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Map and decode a snapshot. Throws IOException if it is truncated or fails its checksum.
+     */
+    public static Image read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_ROOM_COUNT + 4 + 4 + 4 || size > Integer.MAX_VALUE) {
+                throw new IOException("Bad snapshot size " + size);
+            }
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int bodyLength = (int) size - 4;
+            CRC32C crc = new CRC32C();
+            crc.update(buf.duplicate().limit(bodyLength));
+            if ((int) crc.getValue() != buf.getInt(bodyLength)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+
+            PayloadReader r = new PayloadReader(buf.limit(bodyLength));
+            if (r.readInt() != MAGIC) throw new IOException("Not a snapshot file");
+            int version = r.readInt();
+            if (version < 1 || version > VERSION) throw new IOException("Unsupported snapshot version " + version);
+            long startLsn = r.readLong();
+            long endLsn = r.readLong();
+            long createdAtMillis = r.readLong();
+            int roomCount = r.readInt();
+
+            List<RoomImage> rooms = new ArrayList<>(roomCount);
+            for (int i = 0; i < roomCount; i++) rooms.add(readRoom(r, version));
+            List<String> pendingHistory = r.readStrings();
+
+            return new Image(startLsn, endLsn, createdAtMillis, rooms, pendingHistory);
+        } catch (RuntimeException ex) {
+            throw new IOException("Corrupt snapshot " + file.getFileName() + ": " + ex, ex);
+        }
+    }
+
+    // ---- encoding ----
+
+    private static void writeRoom(PayloadWriter w, Room room, long roomLsn, GameManager gameManager) {
+        String code = room.getRoomCode();
+        // Player uuids and names repeat across players, match, roles, cards and votes: each is written once per room
+        Dictionary d = new Dictionary();
+        w.writeString(code)
+                .writeLong(roomLsn)
+                .writeString(room.getRoomName())
+                .writeInt(room.getMaxPlayers() == null ? 0 : room.getMaxPlayers())
+                .writeString(room.getPassword())
+                .writeString(room.getStatus() == null ? null : room.getStatus().name())
+                .writeTime(room.getCreatedAt())
+                .writeStrings(room.getWordPacks())
+                .writeString(room.getRuleSet() == null ? null : room.getRuleSet().name());
+        d.write(w, room.getHostUuid());
+        d.write(w, room.getHostName());
+
+        w.writeInt(room.getPlayers().size());
+        for (Player p : room.getPlayers()) {
+            d.write(w, p.getUuid());
+            d.write(w, p.getPlayerName());
+            w.writeTime(p.getJoinedAt())
+                    .writeBoolean(p.isHost())
+                    .writeBoolean(p.isBot())
+                    .writeBoolean(p.isReady())
+                    .writeBoolean(p.isPlaying())
+                    .writeBoolean(p.isActive())
+                    .writeTime(p.getLastActiveAt());
+        }
+
+        Match match = room.getMatch();
+        w.writeBoolean(match != null);
+        if (match != null) {
+            MatchDto m = match.snapshot();
+            List<MatchDto.StandingDto> standings = match.standingsInOrder();
+            w.writeInt(m.getMatchNumber()).writeInt(m.getTotalRounds()).writeInt(m.getRoundsPlayed())
+                    .writeTime(m.getStartedAt()).writeTime(m.getFinishedAt())
+                    .writeInt(standings.size());
+            for (MatchDto.StandingDto s : standings) {
+                d.write(w, s.getUuid());
+                d.write(w, s.getPlayerName());
+                w.writeInt(s.getScore()).writeInt(s.getRoundsPlayed());
+            }
+        }
+
+        w.writeLong(gameManager.getLastSequence(code));
+        w.writeStrings(gameManager.getUsedWords(code));
+
+        Game game = gameManager.getActiveGame(code).orElse(null);
+        w.writeBoolean(game != null);
+        if (game != null) writeGame(w, game, d);
+    }
+
+    private static void writeGame(PayloadWriter w, Game g, Dictionary d) {
+        w.writeString(g.getId() == null ? null : g.getId().toString())
+                .writeString(g.getWord())
+                .writeBoolean(g.isWordRevealed())
+                .writeTime(g.getStartedAt())
+                .writeTime(g.getEndsAt())
+                .writeInt(g.getDurationSeconds())
+                .writeBoolean(g.isFinished())
+                .writeString(g.getRuleSet() == null ? null : g.getRuleSet().name());
+
+        Map<String, RoleType> roles = g.getRoles() == null ? Map.of() : g.getRoles();
+        w.writeInt(roles.size());
+        roles.forEach((uuid, role) -> {
+            d.write(w, uuid);
+            w.writeByte(role.ordinal());
+        });
+
+        List<PlayerInGame> players = g.getPlayerInGame() == null ? List.of() : g.getPlayerInGame();
+        w.writeInt(players.size());
+        for (PlayerInGame p : players) {
+            d.write(w, p.getUuid());
+            d.write(w, p.getPlayerName());
+        }
+
+        Map<String, Boolean> cardOpened = g.getCardOpened() == null ? Map.of() : g.getCardOpened();
+        w.writeInt(cardOpened.size());
+        cardOpened.forEach((uuid, opened) -> {
+            d.write(w, uuid);
+            w.writeBoolean(Boolean.TRUE.equals(opened));
+        });
+
+        Map<String, String> votes = g.getVotes() == null ? Map.of() : g.getVotes();
+        w.writeInt(votes.size());
+        votes.forEach((voter, target) -> {
+            d.write(w, voter);
+            d.write(w, target);
+        });
+
+        GameSummary s = g.getSummary();
+        w.writeBoolean(s != null);
+        if (s != null) {
+            writeIntMap(w, s.getScores(), d);
+            writeIntMap(w, s.getVoteTally(), d);
+            List<String> mostVoted = s.getMostVoted();
+            w.writeInt(mostVoted == null ? -1 : mostVoted.size());
+            if (mostVoted != null) mostVoted.forEach(uuid -> d.write(w, uuid));
+            w.writeBoolean(s.isInsiderCaught()).writeBoolean(s.isCitizensAnsweredCorrectly());
+            d.write(w, s.getInsiderUuid());
+            d.write(w, s.getMasterUuid());
+            w.writeString(s.getWord());
+        }
+    }
+
+    private static void writeIntMap(PayloadWriter w, Map<String, Integer> map, Dictionary d) {
+        if (map == null) {
+            w.writeInt(-1);
+            return;
+        }
+        w.writeInt(map.size());
+        map.forEach((k, v) -> {
+            d.write(w, k);
+            w.writeInt(v == null ? 0 : v);
+        });
+    }
+
+    // ---- decoding ----
+
+    private static final RoleType[] ROLES = RoleType.values();
+
+    private static RoomImage readRoom(PayloadReader r, int version) {
+        Dictionary d = new Dictionary();
+        String code = r.readString();
+        long roomLsn = r.readLong();
+        Room room = Room.builder()
+                .roomCode(code)
+                .roomName(r.readString())
+                .maxPlayers(r.readInt())
+                .password(r.readString())
+                .status(enumOrNull(RoomStatus.class, r.readString()))
+                .createdAt(r.readTime())
+                .wordPacks(copyOf(r.readStrings()))
+                .ruleSet(RuleSet.parse(r.readString()).orElse(RuleSet.CLASSIC))
+                .hostUuid(d.read(r))
+                .hostName(d.read(r))
+                .build();
+
+        int players = r.readInt();
+        for (int i = 0; i < players; i++) {
+            room.addPlayer(Player.builder()
+                    .uuid(d.read(r))
+                    .playerName(d.read(r))
+                    .joinedAt(r.readTime())
+                    .isHost(r.readBoolean())
+                    .isBot(version >= 2 && r.readBoolean())
+                    .isReady(r.readBoolean())
+                    .isPlaying(r.readBoolean())
+                    .isActive(r.readBoolean())
+                    .lastActiveAt(r.readTime())
+                    .build());
+        }
+
+        if (r.readBoolean()) {
+            int matchNumber = r.readInt();
+            int totalRounds = r.readInt();
+            int roundsPlayed = r.readInt();
+            var startedAt = r.readTime();
+            var finishedAt = r.readTime();
+            int n = r.readInt();
+            List<MatchDto.StandingDto> standings = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                standings.add(new MatchDto.StandingDto(d.read(r), d.read(r), r.readInt(), r.readInt()));
+            }
+            room.setMatch(Match.restore(MatchDto.builder()
+                    .matchNumber(matchNumber)
+                    .totalRounds(totalRounds)
+                    .roundsPlayed(roundsPlayed)
+                    .finished(finishedAt != null)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .standings(standings)
+                    .build()));
+        }
+
+        long lastSequence = r.readLong();
+        List<String> usedWords = r.readStrings();
+        Game game = r.readBoolean() ? readGame(r, code, d) : null;
+        return new RoomImage(room, roomLsn, game, lastSequence, usedWords);
+    }
+
+    private static Game readGame(PayloadReader r, String roomCode, Dictionary d) {
+        String id = r.readString();
+        Game g = Game.builder()
+                .id(id == null ? null : UUID.fromString(id))
+                .roomCode(roomCode)
+                .word(r.readString())
+                .wordRevealed(r.readBoolean())
+                .startedAt(r.readTime())
+                .endsAt(r.readTime())
+                .durationSeconds(r.readInt())
+                .finished(r.readBoolean())
+                .ruleSet(RuleSet.parse(r.readString()).orElse(RuleSet.CLASSIC))
+                .build();
+
+        int n = r.readInt();
+        Map<String, RoleType> roles = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) roles.put(d.read(r), ROLES[r.readByte()]);
+        g.setRoles(roles);
+
+        n = r.readInt();
+        List<PlayerInGame> players = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) players.add(new PlayerInGame(d.read(r), d.read(r)));
+        g.setPlayerInGame(players);
+
+        n = r.readInt();
+        Map<String, Boolean> cardOpened = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) cardOpened.put(d.read(r), r.readBoolean());
+        g.setCardOpened(cardOpened);
+
+        n = r.readInt();
+        Map<String, String> votes = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) votes.put(d.read(r), d.read(r));
+        g.setVotes(votes);
+
+        if (r.readBoolean()) {
+            Map<String, Integer> scores = readIntMap(r, d);
+            Map<String, Integer> voteTally = readIntMap(r, d);
+            n = r.readInt();
+            List<String> mostVoted = null;
+            if (n >= 0) {
+                mostVoted = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) mostVoted.add(d.read(r));
+            }
+            g.setSummary(GameSummary.builder()
+                    .scores(scores)
+                    .voteTally(voteTally)
+                    .mostVoted(mostVoted)
+                    .insiderCaught(r.readBoolean())
+                    .citizensAnsweredCorrectly(r.readBoolean())
+                    .insiderUuid(d.read(r))
+                    .masterUuid(d.read(r))
+                    .word(r.readString())
+                    .build());
+        }
+        return g;
+    }
+
+    private static Map<String, Integer> readIntMap(PayloadReader r, Dictionary d) {
+        int n = r.readInt();
+        if (n < 0) return null;
+        Map<String, Integer> map = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) map.put(d.read(r), r.readInt());
+        return map;
+    }
+
+    private static <E extends Enum<E>> E enumOrNull(Class<E> type, String name) {
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    private static List<String> copyOf(List<String> values) {
+        return values == null ? List.of() : List.copyOf(values);
+    }
+
+    /**
+     * Per-room string table built the same way on both sides: the first occurrence of a string is written
+     * in full (index -1) and later ones as its index, so decoding also shares one String instance per value
+     */
+    private static final class Dictionary {
+        private static final int NEW = -1;
+        private static final int NULL = -2;
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        void write(PayloadWriter w, String value) {
+            if (value == null) {
+                w.writeInt(NULL);
+                return;
+            }
+            Integer index = indexes.get(value);
+            if (index != null) {
+                w.writeInt(index);
+                return;
+            }
+            indexes.put(value, indexes.size());
+            w.writeInt(NEW).writeString(value);
+        }
+
+        String read(PayloadReader r) {
+            int index = r.readInt();
+            if (index == NULL) return null;
+            if (index != NEW) return values.get(index);
+            String value = r.readString();
+            values.add(value);
+            return value;
+        }
+    }
+
+    /**
+     * Result of {@link #write}
+     */
+    public record Written(Path file, long startLsn, long endLsn, int rooms, long bytes, long elapsedMillis) {
+    }
+
+    /**
+     * One room as stored in a snapshot, with the LSN it was copied at
+     */
+    public record RoomImage(Room room, long lsn, Game activeGame, long lastSequence, List<String> usedWords) {
+
+        /**
+         * Install the room and its game state, replacing whatever the managers held for it
+         */
+        public void restoreInto(RoomManager roomManager, GameManager gameManager) {
+            roomManager.restoreRoom(room);
+            gameManager.restoreRoomState(room.getRoomCode(), activeGame, lastSequence, usedWords);
+        }
+    }
+
+    /**
+     * A decoded snapshot
+     */
+    public record Image(long startLsn, long endLsn, long createdAtMillis, List<RoomImage> rooms,
+                        List<String> pendingHistoryJson) {
+
+        /**
+         * Install every room and game into the managers. Returns roomCode -> LSN the room was copied at.
+         */
+        public Map<String, Long> restoreInto(RoomManager roomManager, GameManager gameManager) {
+            Map<String, Long> roomLsns = new HashMap<>(rooms.size() * 2);
+            for (RoomImage image : rooms) {
+                image.restoreInto(roomManager, gameManager);
+                roomLsns.put(image.room().getRoomCode(), image.lsn());
+            }
+            return roomLsns;
+        }
+    }
+}
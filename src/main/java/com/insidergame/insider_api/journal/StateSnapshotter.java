@@ -0,0 +1,150 @@
+package com.insidergame.insider_api.journal;
+
+import com.insidergame.insider_api.api.game.GameHistoryStore;
+import com.insidergame.insider_api.dto.GameHistoryDto;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes a {@link SnapshotFile} of all room and game state, then drops journal segments
+ * the snapshots make redundant. On boot {@link JournalRecovery} loads the newest readable snapshot and
+ * replays only the journal after it. A last snapshot is taken on shutdown, so a deploy restarts from it.
+ */
+@Component
+@Slf4j
+public class StateSnapshotter {
+
+    // The newest snapshot may be unreadable after a crash, so the one before it (and its journal tail) is kept too
+    private static final int SNAPSHOTS_KEPT = 2;
+
+    private final Journal journal;
+    private final RoomManager roomManager;
+    private final GameManager gameManager;
+    private final GameHistoryStore gameHistoryStore;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final Path dir;
+    private final long intervalSeconds;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "state-snapshotter");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean started;
+
+    public StateSnapshotter(Journal journal, RoomManager roomManager, GameManager gameManager,
+                            GameHistoryStore gameHistoryStore, JsonMapper jsonMapper,
+                            @Value("${insider.snapshot.enabled:true}") boolean enabled,
+                            @Value("${insider.snapshot.dir:journal}") String dir,
+                            @Value("${insider.snapshot.interval-seconds:300}") long intervalSeconds) {
+        this.journal = journal;
+        this.roomManager = roomManager;
+        this.gameManager = gameManager;
+        this.gameHistoryStore = gameHistoryStore;
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled && journal.isEnabled();
+        this.dir = Paths.get(dir);
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start taking snapshots. Called once recovery has rebuilt the state.
+     */
+    void start() {
+        if (!enabled || started) return;
+        started = true;
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshotNow();
+            } catch (Exception ex) {
+                log.error("State snapshot failed: {}", ex.getMessage(), ex);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Write a snapshot now and clean up older snapshots and journal segments
+     */
+    public synchronized SnapshotFile.Written snapshotNow() throws IOException {
+        SnapshotFile.Written written = SnapshotFile.write(dir, journal, roomManager, gameManager, pendingHistoryJson());
+        log.info("Wrote state snapshot {} ({} rooms, {} KB, LSN {}..{}) in {} ms", written.file().getFileName(),
+                written.rooms(), written.bytes() / 1024, written.startLsn(), written.endLsn(), written.elapsedMillis());
+        cleanUp();
+        return written;
+    }
+
+    /**
+     * Newest snapshot that reads back intact, if any
+     */
+    Optional<SnapshotFile.Image> loadLatest() {
+        if (!enabled) return Optional.empty();
+        try {
+            for (Path file : SnapshotFile.list(dir)) {
+                try {
+                    return Optional.of(SnapshotFile.read(file));
+                } catch (IOException ex) {
+                    log.warn("Skipping unreadable snapshot {}: {}", file.getFileName(), ex.getMessage());
+                }
+            }
+        } catch (IOException ex) {
+            log.error("Could not list snapshots in {}: {}", dir, ex.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    // Games archived but not yet in the database; the journal records that produced them are before the snapshot
+    private List<String> pendingHistoryJson() {
+        List<GameHistoryDto> pending = gameHistoryStore.snapshotPending();
+        List<String> json = new ArrayList<>(pending.size());
+        for (GameHistoryDto record : pending) {
+            try {
+                json.add(jsonMapper.writeValueAsString(record));
+            } catch (Exception ex) {
+                log.warn("Could not serialize pending game {} into snapshot: {}", record.getId(), ex.getMessage());
+            }
+        }
+        return json;
+    }
+
+    private void cleanUp() throws IOException {
+        List<Path> snapshots = SnapshotFile.list(dir);
+        for (int i = SNAPSHOTS_KEPT; i < snapshots.size(); i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+        // Keep the journal from the oldest kept snapshot onwards
+        Path oldestKept = snapshots.get(Math.min(SNAPSHOTS_KEPT, snapshots.size()) - 1);
+        int deleted = journal.deleteSegmentsThrough(SnapshotFile.startLsnOf(oldestKept));
+        if (deleted > 0) log.info("Deleted {} journal segments covered by snapshots", deleted);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+        if (!started) return;
+        try {
+            snapshotNow();
+        } catch (Exception ex) {
+            log.error("Final state snapshot failed: {}", ex.getMessage(), ex);
+        }
+    }
+}
@@ -1,178 +1,378 @@
 package com.insidergame.insider_api.manager;
 
+import com.insidergame.insider_api.dto.GameHistoryDto;
+import com.insidergame.insider_api.jfr.GameLifecycleEvent;
 import com.insidergame.insider_api.model.Game;
+import com.insidergame.insider_api.model.GameSnapshot;
 import com.insidergame.insider_api.enums.RoleType;
-import com.insidergame.insider_api.model.Player;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.journal.RecordType;
 import com.insidergame.insider_api.model.PlayerInGame;
+import com.insidergame.insider_api.model.PlayerSnapshot;
+import com.insidergame.insider_api.scoring.ScoringEngine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class GameManager {
-    // roomCode -> list of games
-    private final Map<String, List<Game>> gamesByRoom = new ConcurrentHashMap<>();
-    // active game per room
+    // How many archived games per room stay in memory; older ones are read back from GameHistoryStore
+    public static final int RECENT_GAMES_PER_ROOM = 20;
+
+    // roomCode -> recent archived games (precomputed history records)
+    private final Map<String, RoomHistory> historyByRoom = new ConcurrentHashMap<>();
+    // active game per room; its phase fields and maps change under the game's monitor (see getActiveGameSnapshot)
     private final Map<String, Game> activeGameByRoom = new ConcurrentHashMap<>();
+    // words already played per room, so the word draw can skip them
+    private final Map<String, Set<String>> usedWordsByRoom = new ConcurrentHashMap<>();
+    // bumped whenever archived records are rewritten (e.g. re-scored), so cached history pages go stale
+    private final AtomicLong historyEpoch = new AtomicLong();
 
     // Inject RoomManager to access players in a room (needed to detect bots)
     private final RoomManager roomManager;
+    // Every state change below is appended here so active games survive a restart (see JournalReplayer)
+    private final Journal journal;
+    private final ScoringEngine scoringEngine;
 
     public Optional<Game> getActiveGame(String roomCode) {
         return Optional.ofNullable(activeGameByRoom.get(roomCode));
     }
 
-    public Game createGame(String roomCode, String word, int durationSeconds, Map<String, RoleType> roles) {
+    /**
+     * Consistent copy of the active game, for readers outside the room's command path (bots)
+     */
+    public Optional<GameSnapshot> getActiveGameSnapshot(String roomCode) {
+        Game g = activeGameByRoom.get(roomCode);
+        if (g == null) return Optional.empty();
+        synchronized (g) {
+            return Optional.of(GameSnapshot.of(g));
+        }
+    }
 
-        List<Player> readyPlayPlayer = roomManager.getReadyToPlayPlayers(roomCode);
+    public int getActiveGameCount() {
+        return activeGameByRoom.size();
+    }
+
+    public Game createGame(String roomCode, String word, int durationSeconds, Map<String, RoleType> roles, RuleSet ruleSet) {
+        return createGame(UUID.randomUUID(), roomCode, word, durationSeconds, roles, ruleSet);
+    }
 
+    // Also used by journal replay, which must recreate the game with its original id
+    public Game createGame(UUID gameId, String roomCode, String word, int durationSeconds, Map<String, RoleType> roles, RuleSet ruleSet) {
+        return journal.guard(roomCode, () -> {
+            List<PlayerSnapshot> readyPlayPlayer = roomManager.getReadyToPlayPlayers(roomCode);
 
-        List<PlayerInGame> playerInGameList = readyPlayPlayer.stream()
-                .map(player -> PlayerInGame.builder()
-                        .uuid(player.getUuid())
-                        .playerName(player.getPlayerName())
-                        .build()
-                )
-                .collect(Collectors.toList());
 
+            List<PlayerInGame> playerInGameList = readyPlayPlayer.stream()
+                    .map(player -> PlayerInGame.builder()
+                            .uuid(player.uuid())
+                            .playerName(player.playerName())
+                            .build()
+                    )
+                    .collect(Collectors.toList());
 
-        // convert roles map into model type (RoleType) stored in Game
-        Game game = Game.builder()
-                .id(UUID.randomUUID())
-                .roomCode(roomCode)
-                .word(word)
-                .wordRevealed(false) // Word is hidden until MASTER ends the game
-                .roles(new HashMap<>(roles))
-                .startedAt(null)
-                .durationSeconds(durationSeconds)
-                .endsAt(null)
-                .finished(false)
-                .cardOpened(new HashMap<>())
-                .playerInGame(playerInGameList)
-                .votes(new HashMap<>())
-                .build();
 
-        // initialize cardOpened map for all players
-        for (String uuid : roles.keySet()) {
-            game.getCardOpened().put(uuid, false);
-        }
+            // convert roles map into model type (RoleType) stored in Game
+            Game game = Game.builder()
+                    .id(gameId)
+                    .roomCode(roomCode)
+                    .word(word)
+                    .wordRevealed(false) // Word is hidden until MASTER ends the game
+                    .roles(new HashMap<>(roles))
+                    .startedAt(null)
+                    .durationSeconds(durationSeconds)
+                    .endsAt(null)
+                    .finished(false)
+                    .cardOpened(new HashMap<>())
+                    .playerInGame(playerInGameList)
+                    .votes(new HashMap<>())
+                    .ruleSet(RuleSet.orDefault(ruleSet))
+                    .build();
 
-        gamesByRoom.computeIfAbsent(roomCode, k -> new ArrayList<>()).add(game);
-        activeGameByRoom.put(roomCode, game);
-        return game;
+            // initialize cardOpened map for all players
+            for (String uuid : roles.keySet()) {
+                game.getCardOpened().put(uuid, false);
+            }
+
+            activeGameByRoom.put(roomCode, game);
+            if (word != null) {
+                usedWordsByRoom.computeIfAbsent(roomCode, k -> ConcurrentHashMap.newKeySet()).add(word);
+            }
+
+            GameLifecycleEvent.emit(roomCode, gameId, GameLifecycleEvent.STARTED, roles.size());
+            Map<String, String> roleNames = new LinkedHashMap<>();
+            roles.forEach((uuid, role) -> roleNames.put(uuid, role.name()));
+            journal.append(RecordType.GAME_STARTED, w -> w
+                    .writeString(roomCode)
+                    .writeString(gameId.toString())
+                    .writeString(word)
+                    .writeInt(durationSeconds)
+                    .writeString(game.getRuleSet().name())
+                    .writeStringMap(roleNames));
+            return game;
+        });
+    }
+
+    // Words already played in this room (read-only view)
+    public Set<String> getUsedWords(String roomCode) {
+        Set<String> used = usedWordsByRoom.get(roomCode);
+        return used == null ? Collections.emptySet() : Collections.unmodifiableSet(used);
+    }
+
+    // Forget played words so they can be drawn again (called once every word has been used)
+    public void clearUsedWords(String roomCode) {
+        journal.guard(roomCode, () -> {
+            usedWordsByRoom.remove(roomCode);
+        });
     }
 
     // Start the countdown for an active game (set startedAt and endsAt)
     public Optional<Game> startCountdown(String roomCode) {
-        Game g = activeGameByRoom.get(roomCode);
-        if (g == null) return Optional.empty();
+        return journal.guard(roomCode, () -> {
+            Game g = activeGameByRoom.get(roomCode);
+            if (g == null) return Optional.empty();
 
-        // Only start countdown when all players have opened their cards
-        Map<String, Boolean> cardOpened = g.getCardOpened();
-        if (cardOpened == null || cardOpened.isEmpty()) return Optional.empty();
-        boolean allOpened = cardOpened.values().stream().allMatch(Boolean::booleanValue);
-        if (!allOpened) {
-            // Not all players opened yet - do not start countdown
-            return Optional.empty();
-        }
+            synchronized (g) {
+                // Only start countdown when all players have opened their cards
+                Map<String, Boolean> cardOpened = g.getCardOpened();
+                if (cardOpened == null || cardOpened.isEmpty()) return Optional.empty();
+                boolean allOpened = cardOpened.values().stream().allMatch(Boolean::booleanValue);
+                if (!allOpened) {
+                    // Not all players opened yet - do not start countdown
+                    return Optional.empty();
+                }
 
-        // If countdown already started, return existing game
-        if (g.getStartedAt() != null && g.getEndsAt() != null) {
-            return Optional.of(g);
-        }
+                // If countdown already started, return existing game
+                if (g.getStartedAt() != null && g.getEndsAt() != null) {
+                    return Optional.of(g);
+                }
 
-        // Start countdown now and persist times on the Game model so subsequent
-        // active_game requests (e.g. after refresh) won't reset the timer.
-        LocalDateTime now = LocalDateTime.now();
-        g.setStartedAt(now);
-        g.setEndsAt(now.plusSeconds(g.getDurationSeconds()));
+                // Start countdown now and persist times on the Game model so subsequent
+                // active_game requests (e.g. after refresh) won't reset the timer.
+                LocalDateTime now = journal.now();
+                g.setStartedAt(now);
+                g.setEndsAt(now.plusSeconds(g.getDurationSeconds()));
+                journal.append(RecordType.COUNTDOWN_STARTED, w -> w.writeString(roomCode));
+            }
+            GameLifecycleEvent.emit(roomCode, g.getId(), GameLifecycleEvent.COUNTDOWN, playerCount(g));
 
-        return Optional.of(g);
+            return Optional.of(g);
+        });
     }
 
     // mark a player's card as opened, return true if changed
     public boolean markCardOpened(String roomCode, String playerUuid) {
-        Game g = activeGameByRoom.get(roomCode);
-        if (g == null) return false;
-        Map<String, Boolean> map = g.getCardOpened();
-        if (map == null || !map.containsKey(playerUuid)) return false;
-        if (Boolean.TRUE.equals(map.get(playerUuid))) return false;
-        map.put(playerUuid, true);
-
-        // If the player who opened is the room host, also mark bots' cards as opened
-        try {
-            var roomOpt = roomManager.getRoom(roomCode);
-            if (roomOpt.isPresent()) {
-                var room = roomOpt.get();
-                String hostUuid = room.getHostUuid();
-                if (hostUuid != null && hostUuid.equals(playerUuid)) {
-                    // Consider players whose name starts with "Bot " as bots (mocked in RoomServiceImpl)
-                    for (Player p : room.getPlayers()) {
-                        if (p == null) continue;
-                        String name = p.getPlayerName();
-                        if (name != null && name.startsWith("Bot ")) {
-                            String botUuid = p.getUuid();
-                            if (botUuid != null && map.containsKey(botUuid) && !Boolean.TRUE.equals(map.get(botUuid))) {
-                                map.put(botUuid, true);
-                            }
-                        }
-                    }
-                }
+        return journal.guard(roomCode, () -> {
+            Game g = activeGameByRoom.get(roomCode);
+            if (g == null) return false;
+            synchronized (g) {
+                Map<String, Boolean> map = g.getCardOpened();
+                if (map == null || !map.containsKey(playerUuid)) return false;
+                if (Boolean.TRUE.equals(map.get(playerUuid))) return false;
+                map.put(playerUuid, true);
+                journal.append(RecordType.CARD_OPENED, w -> w.writeString(roomCode).writeString(playerUuid));
+                return true;
             }
-        } catch (Exception ignored) {
-            // Don't fail card open if room lookup fails
-        }
+        });
+    }
 
-        return true;
+
+    /**
+     * MASTER ended the round: voting starts now and the word is revealed
+     */
+    public Optional<Game> startVoting(String roomCode) {
+        return journal.guard(roomCode, () -> {
+            Game g = activeGameByRoom.get(roomCode);
+            if (g == null) return Optional.empty();
+            synchronized (g) {
+                g.setEndsAt(journal.now());
+                g.setWordRevealed(true);
+                journal.append(RecordType.VOTING_STARTED, w -> w.writeString(roomCode));
+            }
+            GameLifecycleEvent.emit(roomCode, g.getId(), GameLifecycleEvent.REVEALED, playerCount(g));
+            return Optional.of(g);
+        });
     }
 
+    /**
+     * Score the active game with its room's rule set and attach the summary
+     */
+    public Optional<Game> scoreGame(String roomCode) {
+        return journal.guard(roomCode, () -> {
+            Game g = activeGameByRoom.get(roomCode);
+            if (g == null) return Optional.empty();
+            synchronized (g) {
+                g.setSummary(scoringEngine.score(g.getWord(), g.getRoles(), g.getVotes(), RuleSet.orDefault(g.getRuleSet()).getRules()));
+                journal.append(RecordType.GAME_SCORED, w -> w.writeString(roomCode));
+            }
+            GameLifecycleEvent.emit(roomCode, g.getId(), GameLifecycleEvent.SCORED, playerCount(g));
+            return Optional.of(g);
+        });
+    }
 
     public void finishGame(String roomCode) {
-        Game g = activeGameByRoom.remove(roomCode);
-        if (g != null) {
-            g.setFinished(true);
-        }
+        journal.guard(roomCode, () -> {
+            Game g = activeGameByRoom.remove(roomCode);
+            if (g != null) {
+                g.setFinished(true);
+                journal.append(RecordType.GAME_CANCELLED, w -> w.writeString(roomCode));
+            }
+        });
     }
 
-    // Finish game and move to history
-    public Game finishAndArchiveGame(String roomCode) {
-        Game g = activeGameByRoom.remove(roomCode);
-        if (g != null) {
+    // Finish game, move it to history and add its scores to the room's match.
+    // Returns the history record built for it (null if no active game).
+    public GameHistoryDto finishAndArchiveGame(String roomCode) {
+        return journal.guard(roomCode, () -> {
+            Game g = activeGameByRoom.remove(roomCode);
+            if (g == null) return null;
+
             g.setFinished(true);
             g.setWordRevealed(true); // Ensure word is revealed when game is archived
-            // Game is already in gamesByRoom list, just mark as finished
-        }
-        return g;
+            g.setArchivedAt(journal.now());
+            journal.append(RecordType.GAME_FINISHED, w -> w.writeString(roomCode));
+            GameLifecycleEvent.emit(roomCode, g.getId(), GameLifecycleEvent.ARCHIVED, playerCount(g));
+
+            // Build the history record once; readers only ever see this immutable copy
+            RoomHistory history = historyByRoom.computeIfAbsent(roomCode, k -> new RoomHistory());
+            synchronized (history) {
+                GameHistoryDto record = GameHistoryDto.of(g, ++history.lastSequence);
+                history.recent.addFirst(record);
+                if (history.recent.size() > RECENT_GAMES_PER_ROOM) {
+                    history.recent.removeLast();
+                    history.hasOlder = true;
+                }
+                roomManager.recordMatchRound(roomCode, record);
+                return record;
+            }
+        });
+    }
+
+    private static int playerCount(Game g) {
+        return g.getRoles() == null ? 0 : g.getRoles().size();
     }
 
     // Clear all games for a room (called when room is deleted)
     public void clearGamesForRoom(String roomCode) {
-        activeGameByRoom.remove(roomCode);
-        gamesByRoom.remove(roomCode);
+        journal.guard(roomCode, () -> {
+            activeGameByRoom.remove(roomCode);
+            historyByRoom.remove(roomCode);
+            usedWordsByRoom.remove(roomCode);
+        });
+    }
+
+    /**
+     * Archived games of the room held in memory with sequence < before, newest first, at most limit entries
+     */
+    public List<GameHistoryDto> getRecentHistory(String roomCode, long before, int limit) {
+        RoomHistory history = historyByRoom.get(roomCode);
+        if (history == null) return Collections.emptyList();
+        List<GameHistoryDto> page = new ArrayList<>(Math.min(limit, RECENT_GAMES_PER_ROOM));
+        synchronized (history) {
+            for (GameHistoryDto record : history.recent) {
+                if (page.size() >= limit) break;
+                if (record.getSequence() < before) page.add(record);
+            }
+        }
+        return page;
+    }
+
+    // Sequence of the last archived game in the room (0 if none)
+    public long getLastSequence(String roomCode) {
+        RoomHistory history = historyByRoom.get(roomCode);
+        if (history == null) return 0;
+        synchronized (history) {
+            return history.lastSequence;
+        }
+    }
+
+    // True if some of this room's games were evicted from memory and must be read from the database
+    public boolean hasOlderHistory(String roomCode) {
+        RoomHistory history = historyByRoom.get(roomCode);
+        if (history == null) return false;
+        synchronized (history) {
+            return history.hasOlder;
+        }
     }
 
-    public List<Game> getGamesForRoom(String roomCode) {
-        return gamesByRoom.getOrDefault(roomCode, Collections.emptyList());
+    /**
+     * Put one room's game state restored from a state snapshot back in place (not journaled).
+     * Only the archive sequence is restored; the recent window is read back from the database.
+     */
+    public void restoreRoomState(String roomCode, Game activeGame, long lastSequence, Collection<String> usedWords) {
+        if (activeGame != null) activeGameByRoom.put(roomCode, activeGame);
+        else activeGameByRoom.remove(roomCode);
+        if (lastSequence > 0) {
+            RoomHistory history = new RoomHistory();
+            history.lastSequence = lastSequence;
+            history.hasOlder = true;
+            historyByRoom.put(roomCode, history);
+        }
+        if (usedWords != null && !usedWords.isEmpty()) {
+            Set<String> words = ConcurrentHashMap.newKeySet();
+            words.addAll(usedWords);
+            usedWordsByRoom.put(roomCode, words);
+        }
+    }
+
+    public long getHistoryEpoch() {
+        return historyEpoch.get();
+    }
+
+    /**
+     * Replace every in-memory archived record with {@code rewrite(record)}. Returns how many records changed.
+     */
+    public int rewriteRecentHistory(UnaryOperator<GameHistoryDto> rewrite) {
+        int changed = 0;
+        for (RoomHistory history : historyByRoom.values()) {
+            synchronized (history) {
+                Deque<GameHistoryDto> rewritten = new ArrayDeque<>(history.recent.size());
+                for (GameHistoryDto before : history.recent) {
+                    GameHistoryDto after = rewrite.apply(before);
+                    if (after != before) changed++;
+                    rewritten.addLast(after);
+                }
+                history.recent.clear();
+                history.recent.addAll(rewritten);
+            }
+        }
+        historyEpoch.incrementAndGet();
+        return changed;
     }
 
     // Record a vote during voting phase: voterUuid votes for targetUuid. Returns current tally map.
     public Map<String, Integer> recordVote(String roomCode, String voterUuid, String targetUuid) {
-        Game g = activeGameByRoom.get(roomCode);
-        if (g == null) return Collections.emptyMap();
-        if (g.getVotes() == null) g.setVotes(new HashMap<>());
-        g.getVotes().put(voterUuid, targetUuid);
-
-        // compute tally
-        Map<String, Integer> tally = new HashMap<>();
-        for (String t : g.getVotes().values()) {
-            tally.put(t, tally.getOrDefault(t, 0) + 1);
-        }
+        return journal.guard(roomCode, () -> {
+            Game g = activeGameByRoom.get(roomCode);
+            if (g == null) return Collections.emptyMap();
+            synchronized (g) {
+                if (g.getVotes() == null) g.setVotes(new HashMap<>());
+                g.getVotes().put(voterUuid, targetUuid);
+                journal.append(RecordType.VOTE_CAST, w -> w.writeString(roomCode).writeString(voterUuid).writeString(targetUuid));
+
+                // compute tally
+                Map<String, Integer> tally = new HashMap<>();
+                for (String t : g.getVotes().values()) {
+                    tally.put(t, tally.getOrDefault(t, 0) + 1);
+                }
+
+                return tally;
+            }
+        });
+    }
 
-        return tally;
+    // Recent archived games of one room, newest first (guarded by its own monitor)
+    private static class RoomHistory {
+        private final Deque<GameHistoryDto> recent = new ArrayDeque<>();
+        private long lastSequence = 0;
+        private boolean hasOlder = false;
     }
 }
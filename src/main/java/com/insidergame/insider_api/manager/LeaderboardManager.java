@@ -0,0 +1,235 @@
+package com.insidergame.insider_api.manager;
+
+import com.insidergame.insider_api.dto.GameHistoryDto;
+import com.insidergame.insider_api.dto.LeaderboardDto;
+import com.insidergame.insider_api.dto.LeaderboardEntryDto;
+import com.insidergame.insider_api.enums.LeaderboardPeriod;
+import com.insidergame.insider_api.model.PlayerInGame;
+import com.insidergame.insider_api.util.RankedTreap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * In-memory leaderboards (all time, current day, current week), updated as each scored game is archived.
+ * Each board ranks players in a {@link RankedTreap}, so an update is O(log n) and the top k is O(k).
+ * Daily and weekly boards are kept for the current and the previous period only.
+ */
+@Component
+@Slf4j
+public class LeaderboardManager {
+
+    public static final int MAX_TOP = 100;
+    private static final String GLOBAL_KEY = "all";
+
+    // All boards are guarded by this lock; a game touches three boards, and games finish rarely enough
+    private final Object lock = new Object();
+    // "PERIOD:key" -> board
+    private Map<String, Board> boards = new HashMap<>();
+    // Increases on every change to any board; used to invalidate cached top lists and as ETag
+    private long version = 0;
+    // Games recorded while a rebuild is in progress (null when not rebuilding)
+    private List<GameHistoryDto> lateGames;
+
+    /**
+     * Add a scored game's points to every board it belongs to
+     */
+    public void recordGame(GameHistoryDto game) {
+        if (game == null || game.getScores() == null || game.getScores().isEmpty()) return;
+        synchronized (lock) {
+            apply(boards, game, LocalDate.now());
+            version++;
+            if (lateGames != null) lateGames.add(game);
+        }
+    }
+
+    /**
+     * Replace all boards with totals rebuilt from history.
+     * {@code history} is called with the cutoff time and must feed every game archived before it;
+     * games archived after the cutoff arrive through {@link #recordGame} and are added on top.
+     */
+    public void rebuild(HistorySource history) {
+        LocalDateTime cutoff;
+        synchronized (lock) {
+            cutoff = LocalDateTime.now();
+            lateGames = new ArrayList<>();
+        }
+
+        Map<String, Board> fresh = new HashMap<>();
+        LocalDate today = LocalDate.now();
+        long[] games = {0};
+        try {
+            history.forEachArchivedBefore(cutoff, game -> {
+                if (game.getScores() == null || game.getScores().isEmpty()) return;
+                apply(fresh, game, today);
+                games[0]++;
+            });
+        } catch (RuntimeException ex) {
+            synchronized (lock) {
+                lateGames = null;
+            }
+            throw ex;
+        }
+
+        synchronized (lock) {
+            for (GameHistoryDto game : lateGames) {
+                if (game.getArchivedAt() == null || !game.getArchivedAt().isBefore(cutoff)) {
+                    apply(fresh, game, today);
+                }
+            }
+            lateGames = null;
+            boards = fresh;
+            version++;
+        }
+        log.info("Leaderboards rebuilt from {} games", games[0]);
+    }
+
+    /**
+     * Top entries of the current board for the period (at most {@link #MAX_TOP})
+     */
+    public LeaderboardDto getTop(LeaderboardPeriod period, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_TOP));
+        synchronized (lock) {
+            String periodKey = periodKey(period, LocalDate.now());
+            Board board = boards.get(boardKey(period, periodKey));
+            if (board == null) {
+                return new LeaderboardDto(period, periodKey, 0, List.of());
+            }
+            // Reuse the last top list until the board changes
+            if (board.cachedTop == null || board.cachedVersion != version || board.cachedTop.size() < Math.min(k, board.tree.size())) {
+                board.cachedTop = board.buildTop(k);
+                board.cachedVersion = version;
+            }
+            List<LeaderboardEntryDto> entries = board.cachedTop.size() > k ? board.cachedTop.subList(0, k) : board.cachedTop;
+            return new LeaderboardDto(period, periodKey, board.tree.size(), List.copyOf(entries));
+        }
+    }
+
+    /**
+     * A player's rank on the current board for the period
+     */
+    public Optional<LeaderboardEntryDto> getPlayerRank(LeaderboardPeriod period, String uuid) {
+        synchronized (lock) {
+            Board board = boards.get(boardKey(period, periodKey(period, LocalDate.now())));
+            if (board == null) return Optional.empty();
+            int rank = board.tree.rank(uuid);
+            if (rank < 0) return Optional.empty();
+            return Optional.of(board.entry(uuid, rank));
+        }
+    }
+
+    // Changes whenever any board changes
+    public long getVersion() {
+        synchronized (lock) {
+            return version;
+        }
+    }
+
+    private void apply(Map<String, Board> target, GameHistoryDto game, LocalDate today) {
+        LocalDate day = game.getArchivedAt() != null ? game.getArchivedAt().toLocalDate() : today;
+        Map<String, String> names = playerNames(game);
+
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            String key = periodKey(period, day);
+            // Daily/weekly games outside the current or previous period don't belong on any board we keep
+            if (period != LeaderboardPeriod.GLOBAL
+                    && !key.equals(periodKey(period, today))
+                    && !key.equals(previousPeriodKey(period, today))) {
+                continue;
+            }
+            Board board = target.get(boardKey(period, key));
+            if (board == null) {
+                evictStale(target, period, today);
+                board = new Board();
+                target.put(boardKey(period, key), board);
+            }
+            for (Map.Entry<String, Integer> score : game.getScores().entrySet()) {
+                board.add(score.getKey(), names.get(score.getKey()), score.getValue() == null ? 0 : score.getValue());
+            }
+        }
+    }
+
+    private static void evictStale(Map<String, Board> target, LeaderboardPeriod period, LocalDate today) {
+        if (period == LeaderboardPeriod.GLOBAL) return;
+        String current = boardKey(period, periodKey(period, today));
+        String previous = boardKey(period, previousPeriodKey(period, today));
+        target.keySet().removeIf(k -> k.startsWith(period.name() + ":") && !k.equals(current) && !k.equals(previous));
+    }
+
+    private static Map<String, String> playerNames(GameHistoryDto game) {
+        if (game.getPlayers() == null) return Collections.emptyMap();
+        Map<String, String> names = new HashMap<>();
+        for (PlayerInGame p : game.getPlayers()) {
+            if (p != null && p.getUuid() != null) names.put(p.getUuid(), p.getPlayerName());
+        }
+        return names;
+    }
+
+    private static String boardKey(LeaderboardPeriod period, String periodKey) {
+        return period.name() + ":" + periodKey;
+    }
+
+    private static String periodKey(LeaderboardPeriod period, LocalDate day) {
+        return switch (period) {
+            case GLOBAL -> GLOBAL_KEY;
+            case DAILY -> day.toString();
+            case WEEKLY -> String.format("%d-W%02d", day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        };
+    }
+
+    private static String previousPeriodKey(LeaderboardPeriod period, LocalDate today) {
+        return switch (period) {
+            case GLOBAL -> GLOBAL_KEY;
+            case DAILY -> periodKey(period, today.minusDays(1));
+            case WEEKLY -> periodKey(period, today.minusWeeks(1));
+        };
+    }
+
+    /**
+     * Feeds archived games to a rebuild
+     */
+    @FunctionalInterface
+    public interface HistorySource {
+        void forEachArchivedBefore(LocalDateTime cutoff, Consumer<GameHistoryDto> sink);
+    }
+
+    private static final class Board {
+        private final RankedTreap tree = new RankedTreap();
+        private final Map<String, PlayerTotals> totals = new HashMap<>();
+        private List<LeaderboardEntryDto> cachedTop;
+        private long cachedVersion = -1;
+
+        void add(String uuid, String playerName, int points) {
+            PlayerTotals t = totals.computeIfAbsent(uuid, k -> new PlayerTotals());
+            if (playerName != null) t.playerName = playerName;
+            t.score += points;
+            t.games++;
+            tree.put(uuid, t.score);
+        }
+
+        List<LeaderboardEntryDto> buildTop(int k) {
+            List<RankedTreap.Entry> top = tree.top(k);
+            List<LeaderboardEntryDto> entries = new ArrayList<>(top.size());
+            for (int i = 0; i < top.size(); i++) {
+                entries.add(entry(top.get(i).id(), i + 1));
+            }
+            return entries;
+        }
+
+        LeaderboardEntryDto entry(String uuid, int rank) {
+            PlayerTotals t = totals.get(uuid);
+            return new LeaderboardEntryDto(rank, uuid, t.playerName, t.score, t.games);
+        }
+    }
+
+    private static final class PlayerTotals {
+        private String playerName;
+        private long score;
+        private int games;
+    }
+}
@@ -1,11 +1,25 @@
 package com.insidergame.insider_api.manager;
 
+import com.insidergame.insider_api.dto.GameHistoryDto;
+import com.insidergame.insider_api.dto.MatchDto;
+import com.insidergame.insider_api.enums.JoinResult;
 import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.jfr.RoomLifecycleEvent;
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.journal.RecordType;
+import com.insidergame.insider_api.model.LeaveResult;
+import com.insidergame.insider_api.model.Match;
 import com.insidergame.insider_api.model.Player;
+import com.insidergame.insider_api.model.PlayerInGame;
+import com.insidergame.insider_api.model.PlayerSnapshot;
 import com.insidergame.insider_api.model.Room;
+import com.insidergame.insider_api.model.RoomSnapshot;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -18,41 +32,83 @@ public class RoomManager {
     // In-memory storage for rooms
     private final Map<String, Room> rooms = new ConcurrentHashMap<>();
 
-    /**
-     * Create a new room
-     */
-    public Room createRoom(String roomCode, String roomName, Integer maxPlayers,
-                           String password, String hostUuid, String hostName) {
+    // Latest immutable copy of each room, replaced after every change; readers use these without locking
+    private final Map<String, RoomSnapshot> snapshots = new ConcurrentHashMap<>();
 
-        // Fallback to UUID if hostName is null or empty
-        String actualHostName = (hostName == null || hostName.trim().isEmpty()) ? hostUuid : hostName;
+    // Seat counter and members of each room; joins claim a seat here before touching the room
+    private final Map<String, RoomSeats> seats = new ConcurrentHashMap<>();
 
-        Room room = Room.builder()
-                .roomCode(roomCode)
-                .roomName(roomName)
-                .maxPlayers(maxPlayers)
-                .password(password)
-                .status(RoomStatus.WAITING)
-                .hostUuid(hostUuid)
-                .hostName(actualHostName)
-                .createdAt(LocalDateTime.now())
-                .players(new HashSet<>())
-                .build();
+    // Every state change below is appended here so rooms survive a restart (see JournalReplayer)
+    private final Journal journal;
 
-        // Add host as first player
-
-        Player host = Player.builder()
-                .uuid(hostUuid)
-                .playerName(actualHostName)
-                .joinedAt(LocalDateTime.now())
-                .isHost(true)
-                .build();
+    public RoomManager(Journal journal) {
+        this.journal = journal;
+    }
 
-        room.addPlayer(host);
-        log.info("Created room {} with host {}", roomCode, hostUuid);
+    /**
+     * Create a new room
+     */
+    public Room createRoom(String roomCode, String roomName, Integer maxPlayers,
+                           String password, String hostUuid, String hostName, List<String> wordPacks,
+                           RuleSet ruleSet, int matchRounds) {
+        return createRoom(roomCode, roomName, maxPlayers, password, hostUuid, hostName, wordPacks, ruleSet, matchRounds, false);
+    }
 
-        rooms.put(roomCode, room);
-        return room;
+    /**
+     * Create a new room whose host may be a bot (see BotEngine)
+     */
+    public Room createRoom(String roomCode, String roomName, Integer maxPlayers,
+                           String password, String hostUuid, String hostName, List<String> wordPacks,
+                           RuleSet ruleSet, int matchRounds, boolean botHost) {
+        return journal.guard(roomCode, () -> {
+            // Fallback to UUID if hostName is null or empty
+            String actualHostName = (hostName == null || hostName.trim().isEmpty()) ? hostUuid : hostName;
+
+            LocalDateTime now = journal.now();
+            Room room = Room.builder()
+                    .roomCode(roomCode)
+                    .roomName(roomName)
+                    .maxPlayers(maxPlayers)
+                    .password(password)
+                    .status(RoomStatus.WAITING)
+                    .hostUuid(hostUuid)
+                    .hostName(actualHostName)
+                    .createdAt(now)
+                    .wordPacks(wordPacks == null ? List.of() : List.copyOf(wordPacks))
+                    .ruleSet(RuleSet.orDefault(ruleSet))
+                    .match(new Match(1, matchRounds))
+                    .build();
+
+            // Add host as first player
+
+            Player host = Player.builder()
+                    .uuid(hostUuid)
+                    .playerName(actualHostName)
+                    .joinedAt(now)
+                    .isHost(true)
+                    .isBot(botHost)
+                    .build();
+
+            room.addPlayer(host);
+            log.info("Created room {} with host {}", roomCode, hostUuid);
+
+            seats.put(roomCode, RoomSeats.of(room));
+            rooms.put(roomCode, room);
+            publish(room, true);
+            RoomLifecycleEvent.emit(roomCode, RoomLifecycleEvent.CREATED, 1);
+            journal.append(RecordType.ROOM_CREATED, w -> w
+                    .writeString(roomCode)
+                    .writeString(roomName)
+                    .writeInt(maxPlayers == null ? 0 : maxPlayers)
+                    .writeString(password)
+                    .writeString(hostUuid)
+                    .writeString(actualHostName)
+                    .writeStrings(room.getWordPacks())
+                    .writeString(room.getRuleSet().name())
+                    .writeInt(matchRounds)
+                    .writeBoolean(botHost));
+            return room;
+        });
     }
 
     /**
@@ -62,11 +118,18 @@ public class RoomManager {
         return Optional.ofNullable(rooms.get(roomCode));
     }
 
+    /**
+     * Latest snapshot of a room, for readers that must not lock or see a half-applied change
+     */
+    public Optional<RoomSnapshot> getRoomSnapshot(String roomCode) {
+        return Optional.ofNullable(snapshots.get(roomCode));
+    }
+
     /**
      * Get all available rooms (WAITING status and not full)
      */
-    public List<Room> getAvailableRooms() {
-        return rooms.values().stream()
+    public List<RoomSnapshot> getAvailableRooms() {
+        return snapshots.values().stream()
 //                .filter(room -> RoomStatus.WAITING.equals(room.getStatus()))
                 .filter(room -> !room.isFull())
                 .collect(Collectors.toList());
@@ -80,27 +143,74 @@ public class RoomManager {
     }
 
     /**
-     * Add player to room
+     * Join a room, checking the password and claiming a seat atomically. Joins racing for the last seat
+     * get exactly one winner; a member joining again gets ALREADY_IN_ROOM and nothing changes.
      */
-    public boolean addPlayerToRoom(String roomCode, Player player) {
+    public JoinResult joinRoom(String roomCode, Player player, String password) {
         Room room = rooms.get(roomCode);
+        RoomSeats roomSeats = seats.get(roomCode);
+        if (room == null || roomSeats == null) return JoinResult.ROOM_NOT_FOUND;
+        if (roomSeats.isMember(player.getUuid())) return JoinResult.ALREADY_IN_ROOM;
+        if (room.hasPassword() && !passwordMatches(room.getPassword(), password)) return JoinResult.WRONG_PASSWORD;
+        return admit(roomCode, roomSeats, player);
+    }
 
-//        if (room != null && !room.isFull() && RoomStatus.WAITING.equals(room.getStatus())) {
-        if (room != null && !room.isFull()) {
-            // Check if player already exists in the room (by UUID)
-            boolean playerExists = room.getPlayers().stream()
-                    .anyMatch(p -> p.getUuid().equals(player.getUuid()));
-
-            if (playerExists) {
-                log.info("Attempted to add existing player {} to room {} - ignoring", player.getUuid(), roomCode);
-                return false; // Player already in room, don't add again
-            }
+    /**
+     * Add player to room without a password check (room creation, bots, journal replay)
+     */
+    public boolean addPlayerToRoom(String roomCode, Player player) {
+        RoomSeats roomSeats = seats.get(roomCode);
+        if (roomSeats == null) return false;
+        JoinResult result = admit(roomCode, roomSeats, player);
+        if (result == JoinResult.ALREADY_IN_ROOM) {
+            log.info("Attempted to add existing player {} to room {} - ignoring", player.getUuid(), roomCode);
+        }
+        return result == JoinResult.JOINED;
+    }
 
-            room.addPlayer(player);
-            log.info("Player {} added to room {}", player.getUuid(), roomCode);
-            return true;
+    // Reserve a seat, then add the player under the room's lock; give the seat back if the room went away
+    private JoinResult admit(String roomCode, RoomSeats roomSeats, Player player) {
+        switch (roomSeats.reserve(player.getUuid())) {
+            case FULL:
+                return JoinResult.ROOM_FULL;
+            case MEMBER:
+                return JoinResult.ALREADY_IN_ROOM;
+            default:
+                break;
         }
-        return false;
+        boolean committed = false;
+        try {
+            committed = journal.guard(roomCode, () -> {
+                Room room = rooms.get(roomCode);
+                if (room == null) return false;
+                synchronized (room) {
+                    // The room may have emptied and been deleted (or replaced) since the seat was reserved
+                    if (seats.get(roomCode) != roomSeats) return false;
+                    room.addPlayer(player);
+                    publish(room, false);
+                    journal.append(RecordType.PLAYER_JOINED, w -> w
+                            .writeString(roomCode)
+                            .writeString(player.getUuid())
+                            .writeString(player.getPlayerName())
+                            .writeTime(player.getJoinedAt())
+                            .writeBoolean(player.isBot()));
+                }
+                log.info("Player {} added to room {}", player.getUuid(), roomCode);
+                return true;
+            });
+        } finally {
+            if (!committed) roomSeats.release(player.getUuid());
+        }
+        return committed ? JoinResult.JOINED : JoinResult.ROOM_NOT_FOUND;
+    }
+
+    // For tests
+    RoomSeats seatsOf(String roomCode) {
+        return seats.get(roomCode);
+    }
+
+    private static boolean passwordMatches(String expected, String given) {
+        return given != null && MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), given.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
@@ -108,55 +218,65 @@ public class RoomManager {
      * If room becomes empty, delete the room
      * If host leaves, transfer host to the player who joined right after the host
      */
-    public boolean removePlayerFromRoom(String roomCode, String playerUuid) {
-        Room room = rooms.get(roomCode);
-        if (room != null) {
-            // Check if the leaving player is the host before removing
-            boolean wasHost = playerUuid.equals(room.getHostUuid());
-
-            // Get the host's joinedAt time before removing (needed to find next player)
-            LocalDateTime hostJoinedAt = null;
-            if (wasHost) {
-                hostJoinedAt = room.getPlayers().stream()
-                        .filter(p -> p.getUuid().equals(playerUuid))
-                        .findFirst()
-                        .map(Player::getJoinedAt)
-                        .orElse(null);
-            }
-
-            // Remove the player
-            room.removePlayer(playerUuid);
+    public LeaveResult removePlayerFromRoom(String roomCode, String playerUuid) {
+        return journal.guard(roomCode, () -> {
+            Room room = rooms.get(roomCode);
+            if (room == null) return LeaveResult.ROOM_NOT_FOUND;
+            // Membership changes and their snapshot go together, so no snapshot shows a half-done join or leave
+            synchronized (room) {
+                // Check if the leaving player is the host before removing
+                boolean wasHost = playerUuid.equals(room.getHostUuid());
+
+                // Get the host's joinedAt time before removing (needed to find next player)
+                LocalDateTime hostJoinedAt = null;
+                if (wasHost) {
+                    hostJoinedAt = room.getPlayers().stream()
+                            .filter(p -> p.getUuid().equals(playerUuid))
+                            .findFirst()
+                            .map(Player::getJoinedAt)
+                            .orElse(null);
+                }
 
-            // If room is empty, delete it
-            if (room.isEmpty()) {
-                rooms.remove(roomCode);
-                log.info("Room {} deleted (empty after player {} left)", roomCode, playerUuid);
-                return true; // Room deleted
-            }
+                // Remove the player
+                room.removePlayer(playerUuid);
+                RoomSeats roomSeats = seats.get(roomCode);
+                if (roomSeats != null) roomSeats.release(playerUuid);
+                journal.append(RecordType.PLAYER_LEFT, w -> w.writeString(roomCode).writeString(playerUuid));
+
+                // If room is empty, delete it
+                if (room.isEmpty()) {
+                    rooms.remove(roomCode);
+                    snapshots.remove(roomCode);
+                    seats.remove(roomCode);
+                    RoomLifecycleEvent.emit(roomCode, RoomLifecycleEvent.DELETED, 0);
+                    log.info("Room {} deleted (empty after player {} left)", roomCode, playerUuid);
+                    return new LeaveResult(true, null);
+                }
 
-            // If host left, assign new host to the player who joined right after the old host
-            if (wasHost && !room.isEmpty()) {
-                Player newHost = findNextHost(room, hostJoinedAt);
-
-                if (newHost != null) {
-                    newHost.setHost(true);
-                    room.setHostUuid(newHost.getUuid());
-                    room.setHostName(newHost.getPlayerName());
-                    log.info("Host transferred in room {} from {} to {} ({})",
-                            roomCode, playerUuid, newHost.getUuid(), newHost.getPlayerName());
-                } else {
-                    // Fallback: if we can't find next host by timestamp, just pick first player
-                    Player fallbackHost = room.getPlayers().iterator().next();
-                    fallbackHost.setHost(true);
-                    room.setHostUuid(fallbackHost.getUuid());
-                    room.setHostName(fallbackHost.getPlayerName());
-                    log.warn("Host transferred in room {} using fallback method to {}", roomCode, fallbackHost.getUuid());
+                // If host left, assign new host to the player who joined right after the old host
+                if (wasHost && !room.isEmpty()) {
+                    Player newHost = findNextHost(room, hostJoinedAt);
+
+                    if (newHost != null) {
+                        newHost.setHost(true);
+                        room.setHostUuid(newHost.getUuid());
+                        room.setHostName(newHost.getPlayerName());
+                        log.info("Host transferred in room {} from {} to {} ({})",
+                                roomCode, playerUuid, newHost.getUuid(), newHost.getPlayerName());
+                    } else {
+                        // Fallback: if we can't find next host by timestamp, just pick first player
+                        Player fallbackHost = room.getPlayers().iterator().next();
+                        fallbackHost.setHost(true);
+                        room.setHostUuid(fallbackHost.getUuid());
+                        room.setHostName(fallbackHost.getPlayerName());
+                        log.warn("Host transferred in room {} using fallback method to {}", roomCode, fallbackHost.getUuid());
+                    }
                 }
-            }
 
-            return false; // Room still exists
-        }
-        return false;
+                publish(room, false);
+                return new LeaveResult(false, wasHost ? room.getHostUuid() : null);
+            }
+        });
     }
 
     /**
@@ -195,31 +315,198 @@ public class RoomManager {
      * Delete room
      */
     public void deleteRoom(String roomCode) {
-        rooms.remove(roomCode);
+        journal.guard(roomCode, () -> {
+            Room removed = rooms.remove(roomCode);
+            if (removed != null) {
+                snapshots.remove(roomCode);
+                seats.remove(roomCode);
+                RoomLifecycleEvent.emit(roomCode, RoomLifecycleEvent.DELETED, removed.getCurrentPlayers());
+                journal.append(RecordType.ROOM_DELETED, w -> w.writeString(roomCode));
+            }
+        });
+    }
+
+    /**
+     * Set a player's ready flag (and mark them active). Returns the player if found.
+     */
+    public Optional<Player> setPlayerReady(String roomCode, String playerUuid, boolean ready) {
+        return journal.guard(roomCode, () -> {
+            Room room = rooms.get(roomCode);
+            if (room == null) return Optional.empty();
+            synchronized (room) {
+                Optional<Player> player = Optional.ofNullable(findPlayer(room, playerUuid));
+                player.ifPresent(p -> {
+                    p.setReady(ready);
+                    p.setActive(true);
+                    publish(room, false);
+                    journal.append(RecordType.PLAYER_READY, w -> w.writeString(roomCode).writeString(playerUuid).writeBoolean(ready));
+                });
+                return player;
+            }
+        });
+    }
+
+    /**
+     * Mark the players taking part in a new game as playing (and no longer ready)
+     */
+    public void markPlayersPlaying(String roomCode, Collection<String> playerUuids) {
+        journal.guard(roomCode, () -> {
+            Room room = rooms.get(roomCode);
+            if (room == null) return;
+            synchronized (room) {
+                for (Player p : room.getPlayers()) {
+                    if (p == null) continue;
+                    if (playerUuids.contains(p.getUuid())) {
+                        p.setPlaying(true);
+                        if (p.isReady()) p.setReady(false);
+                    }
+                }
+                publish(room, false);
+                journal.append(RecordType.PLAYERS_PLAYING, w -> w.writeString(roomCode).writeStrings(playerUuids));
+            }
+        });
     }
 
     /**
      * Reset all players in room after game ends
      */
     public void resetPlayersAfterGame(String roomCode) {
-        Room room = rooms.get(roomCode);
-        if (room != null) {
-            for (Player player : room.getPlayers()) {
-                if (player != null) {
-                    player.setPlaying(false);
-                    player.setReady(false);
+        journal.guard(roomCode, () -> {
+            Room room = rooms.get(roomCode);
+            if (room == null) return;
+            synchronized (room) {
+                for (Player player : room.getPlayers()) {
+                    if (player != null) {
+                        player.setPlaying(false);
+                        player.setReady(false);
+                    }
                 }
+                publish(room, false);
+                journal.append(RecordType.PLAYERS_RESET, w -> w.writeString(roomCode));
             }
-        }
+        });
+    }
+
+    /**
+     * Add a scored game to the room's match scoreboard. Returns the updated scoreboard (null if no room).
+     */
+    public MatchDto recordMatchRound(String roomCode, GameHistoryDto game) {
+        return journal.guard(roomCode, () -> {
+            Room room = rooms.get(roomCode);
+            if (room == null || room.getMatch() == null || game == null) return null;
+
+            Map<String, String> names = new HashMap<>();
+            if (game.getPlayers() != null) {
+                for (PlayerInGame p : game.getPlayers()) {
+                    names.put(p.getUuid(), p.getPlayerName());
+                }
+            }
+            synchronized (room) {
+                room.getMatch().recordRound(game.getScores(), names);
+                return publish(room, true).getMatch();
+            }
+        });
+    }
+
+    /**
+     * Start a fresh match with the same length if the current one has finished
+     */
+    public void startNextMatchIfFinished(String roomCode) {
+        journal.guard(roomCode, () -> {
+            Room room = rooms.get(roomCode);
+            if (room == null) return;
+            synchronized (room) {
+                Match current = room.getMatch();
+                if (current != null && current.isFinished()) {
+                    room.setMatch(new Match(current.getMatchNumber() + 1, current.getTotalRounds()));
+                    publish(room, true);
+                    journal.append(RecordType.MATCH_STARTED, w -> w.writeString(roomCode));
+                    log.info("Room {} started match #{}", roomCode, current.getMatchNumber() + 1);
+                }
+            }
+        });
     }
 
     /**
      * Update room status
      */
     public void updateRoomStatus(String roomCode, RoomStatus status) {
-        Room room = rooms.get(roomCode);
-        if (room != null) {
-            room.setStatus(status);
+        journal.guard(roomCode, () -> {
+            Room room = rooms.get(roomCode);
+            if (room == null) return;
+            synchronized (room) {
+                room.setStatus(status);
+                publish(room, false);
+                journal.append(RecordType.ROOM_STATUS, w -> w.writeString(roomCode).writeString(status.name()));
+            }
+        });
+    }
+
+    /**
+     * Put a room restored from a state snapshot back in place (not journaled). Callers hold the room's lock
+     * or run before any other thread can touch it.
+     */
+    public void restoreRoom(Room room) {
+        seats.put(room.getRoomCode(), RoomSeats.of(room));
+        rooms.put(room.getRoomCode(), room);
+        publish(room, true);
+    }
+
+    /**
+     * Record a presence or page-visibility change (not journaled: activity is re-reported by clients).
+     * Returns false if the player is not in the room.
+     */
+    public boolean updatePresence(String roomCode, String playerUuid, boolean active) {
+        return journal.guard(roomCode, () -> {
+            Room room = rooms.get(roomCode);
+            if (room == null) return false;
+            synchronized (room) {
+                Player player = findPlayer(room, playerUuid);
+                if (player == null) return false;
+                player.setActive(active);
+                if (active) player.setLastActiveAt(LocalDateTime.now());
+                publish(room, false);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * A player already in the room reconnected: attach the new session, mark them active and
+     * optionally update their display name (not journaled, like presence)
+     */
+    public boolean reattachPlayer(String roomCode, String playerUuid, String sessionId, String playerName) {
+        return journal.guard(roomCode, () -> {
+            Room room = rooms.get(roomCode);
+            if (room == null) return false;
+            synchronized (room) {
+                Player player = findPlayer(room, playerUuid);
+                if (player == null) return false;
+                player.setSessionId(sessionId);
+                player.setActive(true);
+                player.setLastActiveAt(LocalDateTime.now());
+                if (playerName != null && !playerName.isEmpty()) player.setPlayerName(playerName);
+                publish(room, false);
+                return true;
+            }
+        });
+    }
+
+    private static Player findPlayer(Room room, String playerUuid) {
+        for (Player p : room.getPlayers()) {
+            if (p.getUuid().equals(playerUuid)) return p;
+        }
+        return null;
+    }
+
+    // Called after each change, inside the synchronized (room) block that made it. The stripe lock is shared
+    // by changes to the same room, so changes and their copies are serialized on the room: the last one
+    // published saw every change before it. Taken again here for restoreRoom.
+    private RoomSnapshot publish(Room room, boolean matchChanged) {
+        synchronized (room) {
+            RoomSnapshot snapshot = RoomSnapshot.of(room, snapshots.get(room.getRoomCode()), matchChanged);
+            snapshots.put(room.getRoomCode(), snapshot);
+            return snapshot;
         }
     }
 
@@ -237,26 +524,38 @@ public class RoomManager {
         return rooms.size();
     }
 
+    /**
+     * Number of rooms currently in the given status
+     */
+    public int countRooms(RoomStatus status) {
+        int count = 0;
+        for (RoomSnapshot room : snapshots.values()) {
+            if (room.getStatus() == status) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Players seated across all rooms
+     */
+    public int getTotalPlayers() {
+        int total = 0;
+        for (RoomSeats roomSeats : seats.values()) total += roomSeats.taken();
+        return total;
+    }
+
     /**
      * Check if a player is already in a specific room
      */
     public boolean isPlayerInRoom(String roomCode, String playerUuid) {
-        Room room = rooms.get(roomCode);
-        if (room == null) {
-            return false;
-        }
-        return room.getPlayers().stream()
-                .anyMatch(player -> player.getUuid().equals(playerUuid));
+        RoomSeats roomSeats = seats.get(roomCode);
+        return roomSeats != null && roomSeats.isMember(playerUuid);
     }
 
 
-    public List<Player> getReadyToPlayPlayers(String roomCode) {
-        Room room = rooms.get(roomCode);
-        if (room == null) {
-            return Collections.emptyList();
-        }
-        return room.getPlayers().stream()
-                .filter(Player::isReady)
-                .collect(Collectors.toList());
+    public List<PlayerSnapshot> getReadyToPlayPlayers(String roomCode) {
+        return getRoomSnapshot(roomCode)
+                .map(snapshot -> snapshot.getPlayers().stream().filter(PlayerSnapshot::ready).toList())
+                .orElse(List.of());
     }
 }
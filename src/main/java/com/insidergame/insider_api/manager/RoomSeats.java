@@ -0,0 +1,70 @@
+package com.insidergame.insider_api.manager;
+
+import com.insidergame.insider_api.model.Player;
+import com.insidergame.insider_api.model.Room;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Join admission for one room. A seat is claimed with a CAS on the counter before the player is added,
+ * so concurrent joins can never take more than maxPlayers seats; a join that loses the last seat fails
+ * here without touching the room. The member set makes a repeated join by the same player a no-op.
+ */
+final class RoomSeats {
+
+    enum Claim { RESERVED, FULL, MEMBER }
+
+    private final int capacity;
+    private final AtomicInteger taken = new AtomicInteger();
+    private final Set<String> members = ConcurrentHashMap.newKeySet();
+
+    RoomSeats(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Seats for a room rebuilt from a snapshot or replica, with its current players seated
+     */
+    static RoomSeats of(Room room) {
+        RoomSeats seats = new RoomSeats(room.getMaxPlayers() == null ? 0 : room.getMaxPlayers());
+        for (Player p : room.getPlayers()) {
+            if (seats.members.add(p.getUuid())) seats.taken.incrementAndGet();
+        }
+        return seats;
+    }
+
+    boolean isMember(String uuid) {
+        return members.contains(uuid);
+    }
+
+    /**
+     * Reserve a seat for the player. Follow with adding them to the room, or {@link #release} on failure.
+     */
+    Claim reserve(String uuid) {
+        if (members.contains(uuid)) return Claim.MEMBER;
+        int current;
+        do {
+            current = taken.get();
+            if (current >= capacity) return Claim.FULL;
+        } while (!taken.compareAndSet(current, current + 1));
+        if (!members.add(uuid)) {
+            // The same player won a seat on another thread first
+            taken.decrementAndGet();
+            return Claim.MEMBER;
+        }
+        return Claim.RESERVED;
+    }
+
+    /**
+     * Give back the player's seat (reservation rolled back, or player left)
+     */
+    void release(String uuid) {
+        if (members.remove(uuid)) taken.decrementAndGet();
+    }
+
+    int taken() {
+        return taken.get();
+    }
+}
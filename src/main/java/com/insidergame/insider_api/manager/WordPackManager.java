@@ -0,0 +1,238 @@
+package com.insidergame.insider_api.manager;
+
+import com.insidergame.insider_api.entity.CategoryEntity;
+import com.insidergame.insider_api.repository.CategoryRepository;
+import com.insidergame.insider_api.util.AliasTable;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-memory word packs built from the category table.
+ * Each pack keeps a precomputed alias table so a weighted draw is O(1); a pack's table is only
+ * rebuilt when the categories in that pack change.
+ */
+@Component
+@Slf4j
+public class WordPackManager {
+
+    public static final String DEFAULT_PACK = "default";
+
+    // How many O(1) draws to try before falling back to a scan that skips used words
+    private static final int MAX_REJECTION_ATTEMPTS = 16;
+
+    private final CategoryRepository categoryRepository;
+
+    // packName -> pack
+    private final Map<String, WordPack> packs = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    public WordPackManager(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Reload categories from the database and rebuild only the packs whose content changed
+     */
+    public synchronized void reload() {
+        rebuild(categoryRepository.findAll());
+    }
+
+    synchronized void rebuild(List<CategoryEntity> categories) {
+        Map<String, List<CategoryEntity>> grouped = new HashMap<>();
+        for (CategoryEntity category : categories) {
+            if (category == null || category.getCategoryName() == null) continue;
+            grouped.computeIfAbsent(packNameOf(category), k -> new ArrayList<>()).add(category);
+        }
+
+        int rebuilt = 0;
+        for (Map.Entry<String, List<CategoryEntity>> entry : grouped.entrySet()) {
+            List<CategoryEntity> members = entry.getValue();
+            members.sort(Comparator.comparing(CategoryEntity::getCategoryName));
+
+            long fingerprint = fingerprint(members);
+            WordPack existing = packs.get(entry.getKey());
+            if (existing != null && existing.fingerprint == fingerprint) {
+                continue; // Pack unchanged - keep its alias table
+            }
+
+            WordPack pack = WordPack.build(entry.getKey(), members, fingerprint);
+            if (pack == null) {
+                packs.remove(entry.getKey());
+            } else {
+                packs.put(entry.getKey(), pack);
+            }
+            rebuilt++;
+        }
+
+        // Drop packs that no longer have any categories
+        packs.keySet().retainAll(grouped.keySet());
+        loaded = true;
+
+        log.info("Word packs loaded: {} packs, {} rebuilt", packs.size(), rebuilt);
+    }
+
+    /**
+     * Pack name -> number of drawable words
+     */
+    public Map<String, Integer> getPackSizes() {
+        ensureLoaded();
+        Map<String, Integer> sizes = new TreeMap<>();
+        for (WordPack pack : packs.values()) {
+            sizes.put(pack.getName(), pack.words.length);
+        }
+        return sizes;
+    }
+
+    public boolean hasPack(String packName) {
+        ensureLoaded();
+        return packName != null && packs.containsKey(packName);
+    }
+
+    /**
+     * Draw a weighted random word from the given packs (all packs if none given), skipping excluded words.
+     * Returns empty if every word in those packs is excluded.
+     */
+    public Optional<String> drawWord(Collection<String> packNames, Set<String> excludedWords) {
+        ensureLoaded();
+
+        List<WordPack> selected = selectPacks(packNames);
+        if (selected.isEmpty()) return Optional.empty();
+
+        double totalWeight = 0;
+        for (WordPack pack : selected) {
+            totalWeight += pack.totalWeight;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // Fast path: O(1) draws, rejecting words the room already used
+        for (int attempt = 0; attempt < MAX_REJECTION_ATTEMPTS; attempt++) {
+            WordPack pack = pickPack(selected, totalWeight, random);
+            String word = pack.words[pack.table.sample(random)];
+            if (excludedWords == null || !excludedWords.contains(word)) {
+                return Optional.of(word);
+            }
+        }
+
+        // Slow path: most of the drawable weight is used up - weighted scan over what is left
+        return drawFromRemaining(selected, excludedWords, random);
+    }
+
+    private List<WordPack> selectPacks(Collection<String> packNames) {
+        if (packNames == null || packNames.isEmpty()) {
+            return new ArrayList<>(packs.values());
+        }
+        List<WordPack> selected = new ArrayList<>(packNames.size());
+        for (String name : packNames) {
+            WordPack pack = packs.get(name);
+            if (pack != null) selected.add(pack);
+        }
+        return selected;
+    }
+
+    private WordPack pickPack(List<WordPack> selected, double totalWeight, ThreadLocalRandom random) {
+        if (selected.size() == 1) return selected.get(0);
+        double r = random.nextDouble() * totalWeight;
+        for (WordPack pack : selected) {
+            r -= pack.totalWeight;
+            if (r < 0) return pack;
+        }
+        return selected.get(selected.size() - 1);
+    }
+
+    private Optional<String> drawFromRemaining(List<WordPack> selected, Set<String> excludedWords, ThreadLocalRandom random) {
+        double remainingWeight = 0;
+        for (WordPack pack : selected) {
+            for (int i = 0; i < pack.words.length; i++) {
+                if (!excludedWords.contains(pack.words[i])) remainingWeight += pack.weights[i];
+            }
+        }
+        if (remainingWeight <= 0) return Optional.empty();
+
+        double r = random.nextDouble() * remainingWeight;
+        String last = null;
+        for (WordPack pack : selected) {
+            for (int i = 0; i < pack.words.length; i++) {
+                if (excludedWords.contains(pack.words[i])) continue;
+                last = pack.words[i];
+                r -= pack.weights[i];
+                if (r < 0) return Optional.of(last);
+            }
+        }
+        return Optional.ofNullable(last);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    private static String packNameOf(CategoryEntity category) {
+        String pack = category.getPackName();
+        return (pack == null || pack.isBlank()) ? DEFAULT_PACK : pack.trim();
+    }
+
+    private static double weightOf(CategoryEntity category) {
+        Double weight = category.getWeight();
+        if (weight == null) return 1.0;
+        return weight > 0 ? weight : 0.0;
+    }
+
+    private static long fingerprint(List<CategoryEntity> members) {
+        long h = 1125899906842597L;
+        for (CategoryEntity c : members) {
+            h = 31 * h + c.getCategoryName().hashCode();
+            h = 31 * h + Double.hashCode(weightOf(c));
+        }
+        return h;
+    }
+
+    /**
+     * Immutable pack: words, their weights and the alias table over them
+     */
+    @Getter
+    static final class WordPack {
+        private final String name;
+        private final String[] words;
+        private final double[] weights;
+        private final double totalWeight;
+        private final AliasTable table;
+        private final long fingerprint;
+
+        private WordPack(String name, String[] words, double[] weights, double totalWeight, long fingerprint) {
+            this.name = name;
+            this.words = words;
+            this.weights = weights;
+            this.totalWeight = totalWeight;
+            this.table = new AliasTable(weights);
+            this.fingerprint = fingerprint;
+        }
+
+        // Returns null if no word in the pack has a positive weight
+        static WordPack build(String name, List<CategoryEntity> members, long fingerprint) {
+            List<String> words = new ArrayList<>(members.size());
+            List<Double> weights = new ArrayList<>(members.size());
+            for (CategoryEntity c : members) {
+                double w = weightOf(c);
+                if (w <= 0) continue;
+                words.add(c.getCategoryName());
+                weights.add(w);
+            }
+            if (words.isEmpty()) return null;
+
+            double[] weightArray = new double[weights.size()];
+            double total = 0;
+            for (int i = 0; i < weightArray.length; i++) {
+                weightArray[i] = weights.get(i);
+                total += weightArray[i];
+            }
+            return new WordPack(name, words.toArray(new String[0]), weightArray, total, fingerprint);
+        }
+    }
+}
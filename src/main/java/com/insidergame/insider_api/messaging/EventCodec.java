@@ -0,0 +1,84 @@
+package com.insidergame.insider_api.messaging;
+
+import java.io.*;
+
+/**
+ * Wire format shared by the TCP and STOMP buses: byte kind, then the fields of the frame
+ */
+final class EventCodec {
+
+    static final byte HELLO = 1;
+    static final byte EVENT = 2;
+    static final byte INTEREST = 3;
+    static final byte SYNC = 4;
+
+    private EventCodec() {
+    }
+
+    static byte[] hello(String nodeId, String secret) {
+        return encode(HELLO, out -> {
+            out.writeUTF(nodeId);
+            out.writeUTF(secret);
+        });
+    }
+
+    static byte[] sync(String nodeId) {
+        return encode(SYNC, out -> out.writeUTF(nodeId));
+    }
+
+    static byte[] event(RoomEvent event) {
+        return encode(EVENT, out -> {
+            writeNullable(out, event.roomCode());
+            writeNullable(out, event.userUuid());
+            out.writeUTF(event.destination());
+            out.writeInt(event.payload().length);
+            out.write(event.payload());
+        });
+    }
+
+    static byte[] interest(Interest interest) {
+        return encode(INTEREST, out -> {
+            out.writeUTF(interest.nodeId());
+            writeNullable(out, interest.roomCode());
+            writeNullable(out, interest.userUuid());
+            out.writeBoolean(interest.present());
+        });
+    }
+
+    static RoomEvent readEvent(DataInput in) throws IOException {
+        String roomCode = readNullable(in);
+        String userUuid = readNullable(in);
+        String destination = in.readUTF();
+        byte[] payload = new byte[in.readInt()];
+        in.readFully(payload);
+        return new RoomEvent(roomCode, userUuid, destination, payload);
+    }
+
+    static Interest readInterest(DataInput in) throws IOException {
+        return new Interest(in.readUTF(), readNullable(in), readNullable(in), in.readBoolean());
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(byte kind, Body body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(kind);
+            body.write(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex); // cannot happen writing to memory
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,45 @@
+package com.insidergame.insider_api.messaging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connects nodes running in one JVM (tests, local multi-node runs). Delivery is synchronous on the caller's thread.
+ * With a single node it costs nothing: events are only published to nodes that registered interest.
+ */
+public class InMemoryRoomEventBus implements RoomEventBus {
+
+    // Shared by every context in the JVM
+    private static final Map<String, Listener> NODES = new ConcurrentHashMap<>();
+
+    private String localNodeId;
+
+    @Override
+    public void start(String localNodeId, Listener listener) {
+        this.localNodeId = localNodeId;
+        // Registered first, so the interests the others announce in reply reach this node
+        NODES.put(localNodeId, listener);
+        NODES.forEach((id, other) -> {
+            if (!id.equals(localNodeId)) other.onPeerJoined(localNodeId);
+        });
+    }
+
+    @Override
+    public void stop() {
+        if (localNodeId == null || NODES.remove(localNodeId) == null) return;
+        NODES.values().forEach(other -> other.onPeerLeft(localNodeId));
+    }
+
+    @Override
+    public void publish(String nodeId, RoomEvent event) {
+        Listener target = NODES.get(nodeId);
+        if (target != null) target.onEvent(event);
+    }
+
+    @Override
+    public void announce(Interest interest) {
+        NODES.forEach((id, other) -> {
+            if (!id.equals(localNodeId)) other.onInterest(interest);
+        });
+    }
+}
@@ -0,0 +1,8 @@
+package com.insidergame.insider_api.messaging;
+
+/**
+ * A node gained ({@code present}) or lost its last local subscriber for a room, or its last session of a player.
+ * Exactly one of roomCode / userUuid is set.
+ */
+public record Interest(String nodeId, String roomCode, String userUuid, boolean present) {
+}
@@ -0,0 +1,8 @@
+package com.insidergame.insider_api.messaging;
+
+/**
+ * A message for the clients of one room (userUuid null, destination /topic/room/{code}) or of one player
+ * (userUuid set, destination a /queue/... user destination), already serialized to JSON
+ */
+public record RoomEvent(String roomCode, String userUuid, String destination, byte[] payload) {
+}
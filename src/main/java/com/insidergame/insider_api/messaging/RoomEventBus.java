@@ -0,0 +1,38 @@
+package com.insidergame.insider_api.messaging;
+
+/**
+ * Carries room events between nodes, so a client sees a room's broadcasts whichever node it is connected to.
+ * An event is sent once to each node that has interested clients; that node fans it out to its own sessions.
+ * Implementations: {@link InMemoryRoomEventBus} (one JVM), {@link TcpRoomEventBus} (peer mesh) and
+ * {@link StompRelayRoomEventBus} (through an external STOMP broker).
+ */
+public interface RoomEventBus {
+
+    void start(String localNodeId, Listener listener);
+
+    void stop();
+
+    /**
+     * Send an event to one node
+     */
+    void publish(String nodeId, RoomEvent event);
+
+    /**
+     * Tell every other node about a change in this node's interest
+     */
+    void announce(Interest interest);
+
+    interface Listener {
+
+        void onEvent(RoomEvent event);
+
+        void onInterest(Interest interest);
+
+        /**
+         * A node (re)connected and may not know this node's interests
+         */
+        void onPeerJoined(String nodeId);
+
+        void onPeerLeft(String nodeId);
+    }
+}
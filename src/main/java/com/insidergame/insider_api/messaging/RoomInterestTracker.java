@@ -0,0 +1,159 @@
+package com.insidergame.insider_api.messaging;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.AbstractSubProtocolEvent;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Tracks which nodes have clients for each room and each player. Local counts are kept from STOMP session
+ * events, and a change between zero and non-zero is announced to the other nodes, whose announcements fill
+ * the remote side. {@link RoomMessenger} publishes a room's events only to the nodes listed here.
+ */
+@Component
+public class RoomInterestTracker {
+
+    private static final String ROOM_TOPIC = "/topic/room/";
+
+    // Local: subscriptions per room and sessions per player
+    private final Map<String, Integer> localRooms = new ConcurrentHashMap<>();
+    private final Map<String, Integer> localUsers = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> roomCode), and sessionId -> player uuid
+    private final Map<String, Map<String, String>> sessionRooms = new ConcurrentHashMap<>();
+    private final Map<String, String> sessionUsers = new ConcurrentHashMap<>();
+
+    // Remote: nodes with clients per room / per player
+    private final Map<String, Set<String>> remoteRooms = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> remoteUsers = new ConcurrentHashMap<>();
+
+    private volatile String localNodeId;
+    private volatile Consumer<Interest> announcer = interest -> { };
+
+    void bind(String localNodeId, Consumer<Interest> announcer) {
+        this.localNodeId = localNodeId;
+        this.announcer = announcer;
+    }
+
+    public Set<String> remoteNodesForRoom(String roomCode) {
+        return remoteRooms.getOrDefault(roomCode, Set.of());
+    }
+
+    public Set<String> remoteNodesForUser(String userUuid) {
+        return remoteUsers.getOrDefault(userUuid, Set.of());
+    }
+
+    public int getLocalSubscriberCount(String roomCode) {
+        return localRooms.getOrDefault(roomCode, 0);
+    }
+
+    /**
+     * Authenticated STOMP sessions connected to this node
+     */
+    public int getLocalSessionCount() {
+        return sessionUsers.size();
+    }
+
+    /**
+     * Everything this node currently has clients for, for a peer that just (re)connected
+     */
+    List<Interest> localInterests() {
+        String nodeId = localNodeId;
+        return Stream.concat(
+                localRooms.keySet().stream().map(code -> new Interest(nodeId, code, null, true)),
+                localUsers.keySet().stream().map(uuid -> new Interest(nodeId, null, uuid, true))).toList();
+    }
+
+    void onRemoteInterest(Interest interest) {
+        if (interest.roomCode() != null) update(remoteRooms, interest.roomCode(), interest.nodeId(), interest.present());
+        if (interest.userUuid() != null) update(remoteUsers, interest.userUuid(), interest.nodeId(), interest.present());
+    }
+
+    void removeNode(String nodeId) {
+        remoteRooms.forEach((code, nodes) -> update(remoteRooms, code, nodeId, false));
+        remoteUsers.forEach((uuid, nodes) -> update(remoteUsers, uuid, nodeId, false));
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = sessionId(event);
+        if (user == null || sessionId == null) return;
+        if (sessionUsers.putIfAbsent(sessionId, user.getName()) == null) {
+            adjust(localUsers, user.getName(), 1, true);
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String destination = headers.getDestination();
+        if (destination == null || !destination.startsWith(ROOM_TOPIC) || headers.getSessionId() == null) return;
+        String roomCode = destination.substring(ROOM_TOPIC.length());
+        Map<String, String> subscriptions = sessionRooms.computeIfAbsent(headers.getSessionId(), k -> new ConcurrentHashMap<>());
+        if (subscriptions.put(String.valueOf(headers.getSubscriptionId()), roomCode) == null) {
+            adjust(localRooms, roomCode, 1, false);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = headers.getSessionId() == null ? null : sessionRooms.get(headers.getSessionId());
+        if (subscriptions == null) return;
+        String roomCode = subscriptions.remove(String.valueOf(headers.getSubscriptionId()));
+        if (roomCode != null) adjust(localRooms, roomCode, -1, false);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessionRooms.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(roomCode -> adjust(localRooms, roomCode, -1, false));
+        }
+        String user = sessionUsers.remove(event.getSessionId());
+        if (user != null) adjust(localUsers, user, -1, true);
+    }
+
+    private void adjust(Map<String, Integer> counts, String key, int delta, boolean user) {
+        counts.compute(key, (k, count) -> {
+            int next = (count == null ? 0 : count) + delta;
+            // Announced inside compute so the ups and downs for one key go out in order
+            if (count == null && next > 0) announcer.accept(interest(key, user, true));
+            if (count != null && next <= 0) announcer.accept(interest(key, user, false));
+            return next <= 0 ? null : next;
+        });
+    }
+
+    private Interest interest(String key, boolean user, boolean present) {
+        return user ? new Interest(localNodeId, null, key, present) : new Interest(localNodeId, key, null, present);
+    }
+
+    private static void update(Map<String, Set<String>> table, String key, String nodeId, boolean present) {
+        table.compute(key, (k, nodes) -> {
+            if (present) {
+                if (nodes == null) nodes = ConcurrentHashMap.newKeySet();
+                nodes.add(nodeId);
+                return nodes;
+            }
+            if (nodes == null) return null;
+            nodes.remove(nodeId);
+            return nodes.isEmpty() ? null : nodes;
+        });
+    }
+
+    private static String sessionId(AbstractSubProtocolEvent event) {
+        return SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+    }
+}
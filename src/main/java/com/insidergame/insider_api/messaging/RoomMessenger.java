@@ -0,0 +1,187 @@
+package com.insidergame.insider_api.messaging;
+
+import com.insidergame.insider_api.cluster.ClusterRouter;
+import com.insidergame.insider_api.diagnostics.RoomActivityTracker;
+import com.insidergame.insider_api.jfr.BroadcastSendEvent;
+import com.insidergame.insider_api.metrics.InsiderMetrics;
+import com.insidergame.insider_api.tracing.StompTraceInterceptor;
+import com.insidergame.insider_api.tracing.Trace;
+import com.insidergame.insider_api.tracing.TraceStage;
+import com.insidergame.insider_api.tracing.Tracing;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Set;
+
+/**
+ * Single place room and player messages are sent from. Without an event bus (insider.eventbus.type unset)
+ * it is a thin wrapper over the messaging template. With one, a message is serialized once, delivered to this
+ * node's sessions, and published once to each other node that has clients for the room or player.
+ * Messages are always serialized here, so a broadcast's fan-out and size can be recorded and, while a traced
+ * command is handled, its serialization and dispatch times.
+ */
+@Component
+@Slf4j
+public class RoomMessenger {
+
+    private static final String ROOM_TOPIC = "/topic/room/";
+    // User destinations that may travel between nodes; an event from the bus for anything else is dropped
+    private static final Set<String> USER_QUEUES = Set.of("/queue/game_private", "/queue/active_game", "/queue/join_rejected");
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RoomInterestTracker interestTracker;
+    private final ClusterRouter clusterRouter;
+    private final JsonMapper jsonMapper;
+    private final InsiderMetrics metrics;
+    private final RoomActivityTracker activityTracker;
+    private final RoomEventBus bus;
+
+    public RoomMessenger(SimpMessagingTemplate messagingTemplate, RoomInterestTracker interestTracker,
+                         ClusterRouter clusterRouter, JsonMapper jsonMapper, InsiderMetrics metrics,
+                         RoomActivityTracker activityTracker, ObjectProvider<RoomEventBus> bus) {
+        this.messagingTemplate = messagingTemplate;
+        this.interestTracker = interestTracker;
+        this.clusterRouter = clusterRouter;
+        this.jsonMapper = jsonMapper;
+        this.metrics = metrics;
+        this.activityTracker = activityTracker;
+        this.bus = bus.getIfAvailable();
+    }
+
+    @PostConstruct
+    void start() {
+        if (bus == null) return;
+        String localNodeId = clusterRouter.getLocalNode().id();
+        interestTracker.bind(localNodeId, bus::announce);
+        bus.start(localNodeId, new BusListener());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (bus != null) bus.stop();
+    }
+
+    /**
+     * Send to everyone subscribed to /topic/room/{roomCode}, on any node
+     */
+    public void sendToRoom(String roomCode, Object payload) {
+        sendJsonToRoom(roomCode, serialize(payload));
+    }
+
+    /**
+     * Like {@link #sendToRoom} for a payload already serialized to JSON
+     */
+    public void sendJsonToRoom(String roomCode, byte[] json) {
+        BroadcastSendEvent sent = new BroadcastSendEvent();
+        sent.begin();
+        long start = Tracing.start();
+        RoomEvent event = new RoomEvent(roomCode, null, ROOM_TOPIC + roomCode, json);
+        deliverLocally(event);
+        Set<String> remote = bus == null ? Set.of() : interestTracker.remoteNodesForRoom(roomCode);
+        if (!remote.isEmpty()) publish(remote, event);
+        Tracing.stage(TraceStage.DISPATCH, start);
+        int subscribers = interestTracker.getLocalSubscriberCount(roomCode);
+        metrics.recordBroadcast(subscribers + remote.size(), json.length);
+        activityTracker.recordBroadcast(roomCode, json.length);
+        sent.done(roomCode, event.destination(), subscribers, remote.size(), json.length);
+    }
+
+    /**
+     * Send to a player's own queue (one of USER_QUEUES, e.g. /queue/game_private), on whichever nodes their sessions are
+     */
+    public void sendToPlayer(String playerUuid, String destination, Object payload) {
+        if (!USER_QUEUES.contains(destination)) throw new IllegalArgumentException("Not a player queue: " + destination);
+        RoomEvent event = new RoomEvent(null, playerUuid, destination, serialize(payload));
+        BroadcastSendEvent sent = new BroadcastSendEvent();
+        sent.begin();
+        long start = Tracing.start();
+        deliverLocally(event);
+        Set<String> remote = bus == null ? Set.of() : interestTracker.remoteNodesForUser(playerUuid);
+        if (!remote.isEmpty()) publish(remote, event);
+        Tracing.stage(TraceStage.DISPATCH, start);
+        sent.done(null, destination, 1, remote.size(), event.payload().length);
+    }
+
+    private byte[] serialize(Object payload) {
+        long start = Tracing.start();
+        byte[] json = jsonMapper.writeValueAsBytes(payload);
+        Tracing.stage(TraceStage.SERIALIZE, start);
+        return json;
+    }
+
+    private void publish(Set<String> nodes, RoomEvent event) {
+        for (String nodeId : nodes) {
+            try {
+                bus.publish(nodeId, event);
+            } catch (Exception ex) {
+                log.warn("Could not publish {} to node {}: {}", event.destination(), nodeId, ex.getMessage());
+            }
+        }
+    }
+
+    private void deliverLocally(RoomEvent event) {
+        String destination = event.userUuid() == null ? event.destination()
+                : messagingTemplate.getUserDestinationPrefix() + event.userUuid() + event.destination();
+        messagingTemplate.send(destination, jsonMessage(event.payload()));
+    }
+
+    // Already-serialized JSON goes out as is, bypassing the message converters
+    private static Message<byte[]> jsonMessage(byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        Trace trace = Tracing.current();
+        if (trace != null) {
+            // Copied onto each subscriber's message by the broker, so session writes can be timed
+            accessor.setHeader(StompTraceInterceptor.TRACE_HEADER, trace);
+            accessor.setHeader(StompTraceInterceptor.DISPATCHED_HEADER, System.nanoTime());
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    private final class BusListener implements RoomEventBus.Listener {
+
+        @Override
+        public void onEvent(RoomEvent event) {
+            if (!deliverable(event)) {
+                log.warn("Dropping event bus message for {} (room {}, user {})",
+                        event.destination(), event.roomCode(), event.userUuid());
+                return;
+            }
+            deliverLocally(event);
+        }
+
+        // Only what this class itself sends: a room's topic, or one of the known queues of one player
+        private boolean deliverable(RoomEvent event) {
+            if (event.userUuid() == null) {
+                return event.roomCode() != null && event.destination().equals(ROOM_TOPIC + event.roomCode());
+            }
+            return event.roomCode() == null && event.userUuid().indexOf('/') < 0 && USER_QUEUES.contains(event.destination());
+        }
+
+        @Override
+        public void onInterest(Interest interest) {
+            interestTracker.onRemoteInterest(interest);
+        }
+
+        @Override
+        public void onPeerJoined(String nodeId) {
+            interestTracker.localInterests().forEach(bus::announce);
+        }
+
+        @Override
+        public void onPeerLeft(String nodeId) {
+            interestTracker.removeNode(nodeId);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.insidergame.insider_api.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.lang.reflect.Type;
+import java.time.Instant;
+
+/**
+ * Uses an external STOMP broker (RabbitMQ, ActiveMQ, or any broker running next to the nodes) as the bus.
+ * Every node subscribes to its own topic for room events and to one shared topic for interest changes.
+ * The broker does the fan-out, so nodes need no addresses of each other.
+ */
+@Slf4j
+public class StompRelayRoomEventBus implements RoomEventBus {
+
+    private static final String INTEREST_TOPIC = "/topic/insider.interest";
+    private static final long RECONNECT_MILLIS = 2_000;
+
+    private final String url;
+    private final String login;
+    private final String passcode;
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    private WebSocketStompClient client;
+    private volatile StompSession session;
+    private volatile boolean running;
+    private String localNodeId;
+    private Listener listener;
+
+    public StompRelayRoomEventBus(String url, String login, String passcode) {
+        this.url = url;
+        this.login = login;
+        this.passcode = passcode;
+    }
+
+    @Override
+    public void start(String localNodeId, Listener listener) {
+        this.localNodeId = localNodeId;
+        this.listener = listener;
+        running = true;
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("event-bus-stomp-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new ByteArrayMessageConverter());
+        client.setTaskScheduler(scheduler);
+        client.setDefaultHeartbeat(new long[]{10_000, 10_000});
+        connect();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        StompSession current = session;
+        if (current != null && current.isConnected()) current.disconnect();
+        scheduler.shutdown();
+    }
+
+    @Override
+    public void publish(String nodeId, RoomEvent event) {
+        send(nodeTopic(nodeId), EventCodec.event(event));
+    }
+
+    @Override
+    public void announce(Interest interest) {
+        send(INTEREST_TOPIC, EventCodec.interest(interest));
+    }
+
+    private void send(String destination, byte[] frame) {
+        StompSession current = session;
+        if (current == null || !current.isConnected()) {
+            log.debug("Event bus broker not connected - dropping frame for {}", destination);
+            return;
+        }
+        current.send(destination, frame);
+    }
+
+    private void connect() {
+        if (!running) return;
+        StompHeaders connectHeaders = new StompHeaders();
+        if (login != null && !login.isBlank()) {
+            connectHeaders.setLogin(login);
+            connectHeaders.setPasscode(passcode);
+        }
+        client.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders, new Handler())
+                .whenComplete((s, ex) -> {
+                    if (ex != null) {
+                        log.warn("Could not connect to event bus broker at {}: {}", url, ex.getMessage());
+                        reconnectLater();
+                    }
+                });
+    }
+
+    private void reconnectLater() {
+        if (running) scheduler.schedule(this::connect, Instant.now().plusMillis(RECONNECT_MILLIS));
+    }
+
+    private String nodeTopic(String nodeId) {
+        return "/topic/insider.node." + nodeId;
+    }
+
+    private final class Handler extends StompSessionHandlerAdapter {
+
+        @Override
+        public void afterConnected(StompSession connected, StompHeaders headers) {
+            session = connected;
+            connected.subscribe(nodeTopic(localNodeId), new FrameHandler());
+            connected.subscribe(INTEREST_TOPIC, new FrameHandler());
+            // Ask the other nodes to announce their interests again; we may have missed changes while away
+            connected.send(INTEREST_TOPIC, EventCodec.sync(localNodeId));
+            log.info("Event bus connected to broker at {}", url);
+        }
+
+        @Override
+        public void handleTransportError(StompSession failed, Throwable ex) {
+            if (!failed.isConnected() && session == failed) {
+                session = null;
+                log.warn("Event bus broker connection lost: {}", ex.getMessage());
+                reconnectLater();
+            }
+        }
+    }
+
+    private final class FrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            try {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream((byte[]) payload));
+                byte kind = in.readByte();
+                switch (kind) {
+                    case EventCodec.EVENT -> listener.onEvent(EventCodec.readEvent(in));
+                    case EventCodec.INTEREST -> {
+                        Interest interest = EventCodec.readInterest(in);
+                        if (!interest.nodeId().equals(localNodeId)) listener.onInterest(interest);
+                    }
+                    case EventCodec.SYNC -> {
+                        String nodeId = in.readUTF();
+                        if (!nodeId.equals(localNodeId)) listener.onPeerJoined(nodeId);
+                    }
+                    default -> log.warn("Ignoring event bus frame of kind {}", kind);
+                }
+            } catch (Exception ex) {
+                log.warn("Unreadable event bus frame: {}", ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.insidergame.insider_api.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Full mesh of TCP connections between nodes. Each node listens on one port and keeps one outbound
+ * connection per peer with its own writer thread and queue, so a slow peer never blocks a broadcast.
+ * Frames are length-prefixed {@link EventCodec} records; a connection starts with a HELLO naming the sender and
+ * carrying the shared cluster secret, and is closed if its first frame is anything else or the secret is wrong.
+ */
+@Slf4j
+public class TcpRoomEventBus implements RoomEventBus {
+
+    private static final int QUEUE_CAPACITY = 100_000;
+    private static final long RECONNECT_MILLIS = 1_000;
+    private static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+    private static final int MAX_HELLO_BYTES = 4 * 1024;
+    private static final int HELLO_TIMEOUT_MILLIS = 10_000;
+
+    private final String bindAddress;
+    private final int port;
+    private final String secret;
+    private final Map<String, InetSocketAddress> peerAddresses;
+    private final Map<String, PeerLink> links = new ConcurrentHashMap<>();
+    private final Set<Socket> inbound = ConcurrentHashMap.newKeySet();
+    private volatile ServerSocket server;
+    private volatile boolean running;
+    private String localNodeId;
+    private Listener listener;
+
+    /**
+     * @param bindAddress local address to listen on (blank for every interface)
+     * @param secret      shared by every node; a peer that does not present it is disconnected
+     * @param peers       peer id -> address of its event bus port, not including this node
+     */
+    public TcpRoomEventBus(String bindAddress, int port, String secret, Map<String, InetSocketAddress> peers) {
+        if (secret == null || secret.isBlank()) throw new IllegalArgumentException("The TCP event bus needs a secret");
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.secret = secret;
+        this.peerAddresses = Map.copyOf(peers);
+    }
+
+    @Override
+    public void start(String localNodeId, Listener listener) {
+        this.localNodeId = localNodeId;
+        this.listener = listener;
+        running = true;
+        try {
+            server = new ServerSocket();
+            server.bind(bindAddress == null || bindAddress.isBlank()
+                    ? new InetSocketAddress(port) : new InetSocketAddress(bindAddress, port));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not listen for event bus peers on " + bindAddress + ":" + port, ex);
+        }
+        daemon("event-bus-accept", this::acceptLoop).start();
+        peerAddresses.forEach((id, address) -> {
+            PeerLink link = new PeerLink(id, address);
+            links.put(id, link);
+            link.thread.start();
+        });
+        log.info("Event bus listening on {} with peers {}", server.getLocalSocketAddress(), peerAddresses.keySet());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(server);
+        inbound.forEach(TcpRoomEventBus::closeQuietly);
+        links.values().forEach(PeerLink::close);
+    }
+
+    @Override
+    public void publish(String nodeId, RoomEvent event) {
+        PeerLink link = links.get(nodeId);
+        if (link != null) link.offer(EventCodec.event(event));
+    }
+
+    @Override
+    public void announce(Interest interest) {
+        byte[] frame = EventCodec.interest(interest);
+        links.values().forEach(link -> link.offer(frame));
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                inbound.add(socket);
+                daemon("event-bus-read", () -> readLoop(socket)).start();
+            } catch (IOException ex) {
+                if (running) log.warn("Event bus accept failed: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private void readLoop(Socket socket) {
+        String peer = null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            socket.setSoTimeout(HELLO_TIMEOUT_MILLIS);
+            peer = readHello(readFrame(in, MAX_HELLO_BYTES), socket);
+            if (peer == null) return;
+            socket.setSoTimeout(0);
+            while (running) {
+                DataInputStream body = readFrame(in, MAX_FRAME_BYTES);
+                byte kind = body.readByte();
+                switch (kind) {
+                    case EventCodec.EVENT -> listener.onEvent(EventCodec.readEvent(body));
+                    case EventCodec.INTEREST -> listener.onInterest(EventCodec.readInterest(body));
+                    default -> log.warn("Ignoring event bus frame of kind {} from {}", kind, peer);
+                }
+            }
+        } catch (EOFException | SocketException ex) {
+            // peer closed the connection
+        } catch (Exception ex) {
+            if (running) log.warn("Event bus connection from {} failed: {}", peer, ex.getMessage());
+        } finally {
+            inbound.remove(socket);
+            closeQuietly(socket);
+            if (peer != null && running) listener.onPeerLeft(peer);
+        }
+    }
+
+    private static DataInputStream readFrame(DataInputStream in, int maxBytes) throws IOException {
+        int length = in.readInt();
+        if (length <= 0 || length > maxBytes) throw new IOException("Bad frame length " + length);
+        byte[] frame = new byte[length];
+        in.readFully(frame);
+        return new DataInputStream(new ByteArrayInputStream(frame));
+    }
+
+    /**
+     * The peer's node id if {@code frame} is a HELLO with the right secret, otherwise null
+     */
+    private String readHello(DataInputStream frame, Socket socket) throws IOException {
+        if (frame.readByte() != EventCodec.HELLO) {
+            log.warn("Event bus connection from {} did not start with HELLO - closing it", socket.getRemoteSocketAddress());
+            return null;
+        }
+        String nodeId = frame.readUTF();
+        if (!MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8), frame.readUTF().getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Event bus connection from {} ({}) has a wrong secret - closing it", socket.getRemoteSocketAddress(), nodeId);
+            return null;
+        }
+        return nodeId;
+    }
+
+    private final class PeerLink {
+        private final String id;
+        private final InetSocketAddress address;
+        private final BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+        private final Thread thread;
+        private volatile Socket socket;
+
+        PeerLink(String id, InetSocketAddress address) {
+            this.id = id;
+            this.address = address;
+            this.thread = daemon("event-bus-to-" + id, this::run);
+        }
+
+        void offer(byte[] frame) {
+            if (!queue.offer(frame)) {
+                log.warn("Event bus queue to {} is full - dropping oldest frame", id);
+                queue.poll();
+                queue.offer(frame);
+            }
+        }
+
+        private void run() {
+            byte[] pending = null;
+            while (running) {
+                try (Socket s = new Socket()) {
+                    s.connect(address, (int) RECONNECT_MILLIS);
+                    s.setTcpNoDelay(true);
+                    socket = s;
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+                    write(out, EventCodec.hello(localNodeId, secret));
+                    out.flush();
+                    log.info("Event bus connected to {} at {}", id, address);
+                    // The peer may have missed our interest changes while we were apart
+                    listener.onPeerJoined(id);
+                    while (running) {
+                        if (pending == null) pending = queue.take();
+                        write(out, pending);
+                        pending = null;
+                        // Batch whatever else is already queued into the same flush
+                        while ((pending = queue.poll()) != null) {
+                            write(out, pending);
+                            pending = null;
+                        }
+                        out.flush();
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException ex) {
+                    if (!running) return;
+                    log.debug("Event bus link to {} down: {}", id, ex.getMessage());
+                    try {
+                        Thread.sleep(RECONNECT_MILLIS);
+                    } catch (InterruptedException ie) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private static void write(DataOutputStream out, byte[] frame) throws IOException {
+            out.writeInt(frame.length);
+            out.write(frame);
+        }
+
+        void close() {
+            thread.interrupt();
+            closeQuietly(socket);
+        }
+    }
+
+    private static Thread daemon(String name, Runnable task) {
+        Thread t = new Thread(task, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
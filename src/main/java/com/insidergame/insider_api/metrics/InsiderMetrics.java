@@ -0,0 +1,175 @@
+package com.insidergame.insider_api.metrics;
+
+import com.insidergame.insider_api.cluster.ReplicationService;
+import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.messaging.RoomInterestTracker;
+import com.insidergame.insider_api.websocket.RoomWebSocketController;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All application meters, registered once at startup (scraped from /actuator/prometheus). The recording
+ * methods only touch meters held in fields, so the hot paths never look a meter up or allocate tags.
+ */
+@Component
+public class InsiderMetrics {
+
+    public static final String SCHEDULER_GAME_FINISH = "game-finish";
+    public static final String SCHEDULER_AUTO_PLAY = "auto-play";
+    public static final String SCHEDULER_GAME_TIMER = "game-timer";
+
+    private final Counter joins;
+    private final Counter leaves;
+    private final Counter votes;
+    private final Counter gamesFinished;
+    private final DistributionSummary broadcastFanout;
+    private final DistributionSummary broadcastBytes;
+    private final Timer gameFinishLag;
+    private final Timer autoPlayLag;
+    private final Timer gameTimerLag;
+
+    // One timer per @MessageMapping action, matched on the destination's last segment ("/ready", "/vote", ...)
+    private final String[] handlerSuffixes;
+    private final Timer[] handlerTimers;
+    private final Timer otherHandlerTimer;
+
+    public InsiderMetrics(MeterRegistry registry, RoomManager roomManager, GameManager gameManager,
+                          RoomInterestTracker interestTracker, ObjectProvider<ReplicationService> replicationService) {
+        for (RoomStatus status : RoomStatus.values()) {
+            Gauge.builder("insider.rooms", roomManager, rooms -> rooms.countRooms(status))
+                    .description("Rooms on this node by status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+        Gauge.builder("insider.games.active", gameManager, GameManager::getActiveGameCount)
+                .description("Games in progress")
+                .register(registry);
+        Gauge.builder("insider.players", roomManager, RoomManager::getTotalPlayers)
+                .description("Players seated in rooms")
+                .register(registry);
+        Gauge.builder("insider.sessions", interestTracker, RoomInterestTracker::getLocalSessionCount)
+                .description("Connected STOMP sessions")
+                .register(registry);
+        Gauge.builder("insider.replication.lag", replicationService, provider -> {
+                    ReplicationService replication = provider.getIfAvailable();
+                    return replication == null ? 0 : replication.getMaxLagMillis();
+                })
+                .description("Oldest unacknowledged replication record, across followers")
+                .baseUnit("milliseconds")
+                // Gauges hold their object weakly and nothing else keeps the provider
+                .strongReference(true)
+                .register(registry);
+
+        joins = Counter.builder("insider.room.joins").description("Players admitted to a room").register(registry);
+        leaves = Counter.builder("insider.room.leaves").description("Players that left a room").register(registry);
+        votes = Counter.builder("insider.game.votes").description("Votes recorded").register(registry);
+        gamesFinished = Counter.builder("insider.games.finished").description("Games finished and archived").register(registry);
+
+        broadcastFanout = DistributionSummary.builder("insider.broadcast.fanout")
+                .description("Recipients of a room broadcast: local subscriptions plus remote nodes")
+                .publishPercentileHistogram()
+                .register(registry);
+        broadcastBytes = DistributionSummary.builder("insider.broadcast.payload")
+                .description("Serialized size of a room broadcast")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        gameFinishLag = schedulerLag(registry, SCHEDULER_GAME_FINISH);
+        autoPlayLag = schedulerLag(registry, SCHEDULER_AUTO_PLAY);
+        gameTimerLag = schedulerLag(registry, SCHEDULER_GAME_TIMER);
+
+        List<String> actions = new ArrayList<>();
+        for (Method method : RoomWebSocketController.class.getDeclaredMethods()) {
+            MessageMapping mapping = method.getAnnotation(MessageMapping.class);
+            if (mapping == null) continue;
+            for (String destination : mapping.value()) {
+                actions.add(destination.substring(destination.lastIndexOf('/') + 1));
+            }
+        }
+        handlerSuffixes = new String[actions.size()];
+        handlerTimers = new Timer[actions.size()];
+        for (int i = 0; i < actions.size(); i++) {
+            handlerSuffixes[i] = "/" + actions.get(i);
+            handlerTimers[i] = handlerTimer(registry, actions.get(i));
+        }
+        otherHandlerTimer = handlerTimer(registry, "other");
+    }
+
+    public void recordJoin() {
+        joins.increment();
+    }
+
+    public void recordLeave() {
+        leaves.increment();
+    }
+
+    public void recordVote() {
+        votes.increment();
+    }
+
+    public void recordGameFinished() {
+        gamesFinished.increment();
+    }
+
+    public void recordBroadcast(int fanout, int bytes) {
+        broadcastFanout.record(fanout);
+        broadcastBytes.record(bytes);
+    }
+
+    /**
+     * How late a scheduled task ran, given the System.nanoTime() it was due at; returns the lag in nanos
+     */
+    public long recordSchedulerLag(String scheduler, long dueNanos) {
+        long lag = Math.max(0, System.nanoTime() - dueNanos);
+        Timer timer = switch (scheduler) {
+            case SCHEDULER_GAME_FINISH -> gameFinishLag;
+            case SCHEDULER_AUTO_PLAY -> autoPlayLag;
+            default -> gameTimerLag;
+        };
+        timer.record(lag, TimeUnit.NANOSECONDS);
+        return lag;
+    }
+
+    void recordHandler(String destination, long nanos) {
+        handlerTimerFor(destination).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer handlerTimerFor(String destination) {
+        if (destination != null) {
+            for (int i = 0; i < handlerSuffixes.length; i++) {
+                if (destination.endsWith(handlerSuffixes[i])) return handlerTimers[i];
+            }
+        }
+        return otherHandlerTimer;
+    }
+
+    private static Timer schedulerLag(MeterRegistry registry, String scheduler) {
+        return Timer.builder("insider.scheduler.lag")
+                .description("Delay between when a scheduled task was due and when it ran")
+                .tag("scheduler", scheduler)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer handlerTimer(MeterRegistry registry, String action) {
+        return Timer.builder("insider.ws.handler")
+                .description("Time in a STOMP @MessageMapping handler")
+                .tag("action", action)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
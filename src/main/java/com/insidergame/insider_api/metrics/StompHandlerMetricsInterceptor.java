@@ -0,0 +1,51 @@
+package com.insidergame.insider_api.metrics;
+
+import com.insidergame.insider_api.diagnostics.RoomActivityTracker;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times inbound /app messages through their @MessageMapping handler, on the inbound channel's executor thread.
+ * The broker and user-destination handlers that see the same messages are not timed. /app/room/{code}/* messages
+ * also count towards the room's inbound rate.
+ */
+@Component
+public class StompHandlerMetricsInterceptor implements ExecutorChannelInterceptor {
+
+    private static final String ROOM_PREFIX = "/app/room/";
+
+    private final InsiderMetrics metrics;
+    private final RoomActivityTracker activityTracker;
+    private final ThreadLocal<long[]> startNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    public StompHandlerMetricsInterceptor(InsiderMetrics metrics, RoomActivityTracker activityTracker) {
+        this.metrics = metrics;
+        this.activityTracker = activityTracker;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (handler instanceof SimpAnnotationMethodMessageHandler) startNanos.get()[0] = System.nanoTime();
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (!(handler instanceof SimpAnnotationMethodMessageHandler)) return;
+        // CONNECT, SUBSCRIBE etc. pass through the handler too, but only SEND frames reach a @MessageMapping
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) return;
+        long elapsed = System.nanoTime() - startNanos.get()[0];
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        metrics.recordHandler(destination, elapsed);
+        if (destination != null && destination.startsWith(ROOM_PREFIX)) {
+            int slash = destination.indexOf('/', ROOM_PREFIX.length());
+            if (slash > 0) activityTracker.recordInbound(destination.substring(ROOM_PREFIX.length(), slash));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.insidergame.insider_api.model;
 
 import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.enums.RuleSet;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -26,6 +27,8 @@ public class Game {
     private LocalDateTime endsAt;
     private int durationSeconds;
     private boolean finished;
+    private LocalDateTime archivedAt; // Set when the game is moved to history
+    private RuleSet ruleSet; // Scoring rules of the room when the game started
     // Track whether each player has opened their card: playerUuid -> opened
     private Map<String, Boolean> cardOpened;
     // Votes during voting phase: voterUuid -> targetPlayerUuid
@@ -0,0 +1,24 @@
+package com.insidergame.insider_api.model;
+
+import com.insidergame.insider_api.enums.RoleType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable copy of the phase, roles, opened cards and votes of an active {@link Game}, taken under the
+ * game's monitor by GameManager
+ */
+public record GameSnapshot(UUID id, boolean wordRevealed, LocalDateTime startedAt, boolean scored,
+                           Map<String, RoleType> roles, Map<String, Boolean> cardOpened, Map<String, String> votes) {
+
+    public static GameSnapshot of(Game g) {
+        return new GameSnapshot(g.getId(), g.isWordRevealed(), g.getStartedAt(), g.getSummary() != null,
+                copy(g.getRoles()), copy(g.getCardOpened()), copy(g.getVotes()));
+    }
+
+    private static <K, V> Map<K, V> copy(Map<K, V> map) {
+        return map == null ? Map.of() : Map.copyOf(map);
+    }
+}
@@ -0,0 +1,16 @@
+package com.insidergame.insider_api.model;
+
+/**
+ * Outcome of a player leaving a room, decided under the room's lock
+ *
+ * @param roomDeleted the player was the last one and the room is gone
+ * @param newHostUuid the player the host role was handed to, or null when the host did not change
+ */
+public record LeaveResult(boolean roomDeleted, String newHostUuid) {
+
+    public static final LeaveResult ROOM_NOT_FOUND = new LeaveResult(false, null);
+
+    public boolean hostTransferred() {
+        return newHostUuid != null;
+    }
+}
@@ -0,0 +1,135 @@
+package com.insidergame.insider_api.model;
+
+import com.insidergame.insider_api.dto.MatchDto;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * A series of games played in one room, with a running scoreboard.
+ * Each scored game adds its points in O(players); the scoreboard is never re-summed from history.
+ * totalRounds = 0 means open-ended (the match never finishes on its own).
+ * Guarded by its own monitor.
+ */
+public class Match {
+
+    private final int matchNumber;
+    private final int totalRounds;
+    private final LocalDateTime startedAt;
+    // uuid -> standing, in order of first appearance
+    private final Map<String, Standing> standings = new LinkedHashMap<>();
+    private int roundsPlayed;
+    private LocalDateTime finishedAt;
+
+    public Match(int matchNumber, int totalRounds) {
+        this(matchNumber, totalRounds, LocalDateTime.now());
+    }
+
+    private Match(int matchNumber, int totalRounds, LocalDateTime startedAt) {
+        this.matchNumber = matchNumber;
+        this.totalRounds = Math.max(0, totalRounds);
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Standings in order of first appearance (the order ties are listed in), for state snapshots
+     */
+    public synchronized List<MatchDto.StandingDto> standingsInOrder() {
+        List<MatchDto.StandingDto> list = new ArrayList<>(standings.size());
+        for (Standing s : standings.values()) {
+            list.add(new MatchDto.StandingDto(s.uuid, s.playerName, s.score, s.roundsPlayed));
+        }
+        return list;
+    }
+
+    /**
+     * Rebuild a match from its {@link #snapshot()}, with standings in {@link #standingsInOrder()} order
+     */
+    public static Match restore(MatchDto dto) {
+        Match match = new Match(dto.getMatchNumber(), dto.getTotalRounds(), dto.getStartedAt());
+        match.roundsPlayed = dto.getRoundsPlayed();
+        match.finishedAt = dto.getFinishedAt();
+        for (MatchDto.StandingDto s : dto.getStandings()) {
+            Standing standing = new Standing(s.getUuid());
+            standing.playerName = s.getPlayerName();
+            standing.score = s.getScore();
+            standing.roundsPlayed = s.getRoundsPlayed();
+            match.standings.put(s.getUuid(), standing);
+        }
+        return match;
+    }
+
+    public int getMatchNumber() {
+        return matchNumber;
+    }
+
+    public int getTotalRounds() {
+        return totalRounds;
+    }
+
+    public synchronized boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    /**
+     * Add one scored game to the scoreboard. Ignored once the match is finished.
+     */
+    public synchronized void recordRound(Map<String, Integer> scores, Map<String, String> playerNames) {
+        if (finishedAt != null) return;
+        roundsPlayed++;
+        if (scores != null) {
+            for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+                Standing s = standings.computeIfAbsent(entry.getKey(), Standing::new);
+                String name = playerNames.get(entry.getKey());
+                if (name != null) s.playerName = name;
+                s.score += entry.getValue() == null ? 0 : entry.getValue();
+                s.roundsPlayed++;
+            }
+        }
+        if (totalRounds > 0 && roundsPlayed >= totalRounds) {
+            finishedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Immutable copy for clients: standings sorted by score, winners once finished
+     */
+    public synchronized MatchDto snapshot() {
+        List<MatchDto.StandingDto> sorted = new ArrayList<>(standings.size());
+        int best = Integer.MIN_VALUE;
+        for (Standing s : standings.values()) {
+            sorted.add(new MatchDto.StandingDto(s.uuid, s.playerName, s.score, s.roundsPlayed));
+            best = Math.max(best, s.score);
+        }
+        sorted.sort(Comparator.comparingInt(MatchDto.StandingDto::getScore).reversed());
+
+        List<String> winners = new ArrayList<>();
+        if (finishedAt != null) {
+            for (MatchDto.StandingDto s : sorted) {
+                if (s.getScore() == best) winners.add(s.getUuid());
+            }
+        }
+
+        return MatchDto.builder()
+                .matchNumber(matchNumber)
+                .totalRounds(totalRounds)
+                .roundsPlayed(roundsPlayed)
+                .finished(finishedAt != null)
+                .standings(List.copyOf(sorted))
+                .winnerUuids(List.copyOf(winners))
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+
+    private static final class Standing {
+        private final String uuid;
+        private String playerName;
+        private int score;
+        private int roundsPlayed;
+
+        Standing(String uuid) {
+            this.uuid = uuid;
+        }
+    }
+}
@@ -20,6 +20,9 @@ public class Player {
     private LocalDateTime joinedAt;
     private boolean isHost;
 
+    // Driven server-side by BotEngine instead of a WebSocket client
+    private boolean isBot;
+
     @Builder.Default
     private boolean isReady = false; // Ready status for game start
 
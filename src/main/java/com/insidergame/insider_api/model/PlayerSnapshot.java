@@ -0,0 +1,15 @@
+package com.insidergame.insider_api.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a {@link Player} inside a {@link RoomSnapshot}
+ */
+public record PlayerSnapshot(String uuid, String playerName, LocalDateTime joinedAt, boolean host, boolean bot,
+                             boolean ready, boolean playing, boolean active, LocalDateTime lastActiveAt) {
+
+    static PlayerSnapshot of(Player p) {
+        return new PlayerSnapshot(p.getUuid(), p.getPlayerName(), p.getJoinedAt(), p.isHost(), p.isBot(),
+                p.isReady(), p.isPlaying(), p.isActive(), p.getLastActiveAt());
+    }
+}
@@ -1,14 +1,16 @@
 package com.insidergame.insider_api.model;
 
 import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.enums.RuleSet;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Data
 @Builder
@@ -24,9 +26,13 @@ public class Room {
     private String hostUuid;
     private String hostName;
     private LocalDateTime createdAt;
+    private List<String> wordPacks; // Word packs chosen at creation (null/empty = all packs)
+    private RuleSet ruleSet; // Scoring rules chosen at creation
+    private Match match; // Current match (running scoreboard across games)
 
+    // Concurrent: joins to the same room are admitted in parallel (see RoomManager.joinRoom)
     @Builder.Default
-    private Set<Player> players = new HashSet<>();
+    private Set<Player> players = ConcurrentHashMap.newKeySet();
 
     public int getCurrentPlayers() {
         return players.size();
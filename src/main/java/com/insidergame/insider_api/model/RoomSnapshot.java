@@ -0,0 +1,134 @@
+package com.insidergame.insider_api.model;
+
+import com.insidergame.insider_api.dto.MatchDto;
+import com.insidergame.insider_api.dto.PlayerDto;
+import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.enums.RuleSet;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable copy of a {@link Room}, republished by RoomManager after every change (under the room's lock).
+ * Readers never lock and always see one consistent state of the room. Derived forms (player DTOs,
+ * serialized broadcasts) are computed at most once per snapshot and cached on it.
+ */
+@Getter
+public final class RoomSnapshot {
+
+    private static final Comparator<PlayerSnapshot> BY_JOINED_AT =
+            Comparator.comparing(PlayerSnapshot::joinedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final String roomCode;
+    private final String roomName;
+    private final int maxPlayers;
+    private final boolean passwordProtected;
+    private final RoomStatus status;
+    private final String hostUuid;
+    private final String hostName;
+    private final LocalDateTime createdAt;
+    private final RuleSet ruleSet;
+    private final List<String> wordPacks; // empty = all packs
+    private final MatchDto match;
+    private final List<PlayerSnapshot> players; // in join order
+
+    @Getter(AccessLevel.NONE)
+    private volatile List<PlayerDto> playerDtos;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, byte[]> serialized = new ConcurrentHashMap<>(4);
+
+    private RoomSnapshot(Room room, MatchDto match) {
+        this.roomCode = room.getRoomCode();
+        this.roomName = room.getRoomName();
+        this.maxPlayers = room.getMaxPlayers() == null ? 0 : room.getMaxPlayers();
+        this.passwordProtected = room.hasPassword();
+        this.status = room.getStatus();
+        this.hostUuid = room.getHostUuid();
+        this.hostName = room.getHostName();
+        this.createdAt = room.getCreatedAt();
+        this.ruleSet = room.getRuleSet();
+        this.wordPacks = room.getWordPacks() == null ? List.of() : List.copyOf(room.getWordPacks());
+        this.match = match;
+        PlayerSnapshot[] copy = new PlayerSnapshot[room.getPlayers().size()];
+        int i = 0;
+        for (Player p : room.getPlayers()) copy[i++] = PlayerSnapshot.of(p);
+        Arrays.sort(copy, BY_JOINED_AT);
+        this.players = List.of(copy);
+    }
+
+    /**
+     * Copy the room's current state. Must be called while holding the room's lock.
+     *
+     * @param previous the snapshot being replaced, whose match scoreboard is reused unless {@code matchChanged}
+     */
+    public static RoomSnapshot of(Room room, RoomSnapshot previous, boolean matchChanged) {
+        MatchDto match = previous != null && !matchChanged ? previous.match
+                : room.getMatch() == null ? null : room.getMatch().snapshot();
+        return new RoomSnapshot(room, match);
+    }
+
+    public int getCurrentPlayers() {
+        return players.size();
+    }
+
+    public boolean isFull() {
+        return players.size() >= maxPlayers;
+    }
+
+    public Integer getMatchRounds() {
+        return match == null ? null : match.getTotalRounds();
+    }
+
+    public boolean hasPlayer(String uuid) {
+        for (PlayerSnapshot p : players) {
+            if (p.uuid().equals(uuid)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Players as sent to clients, in join order. Shared by every reader of this snapshot - do not modify.
+     */
+    public List<PlayerDto> getPlayerDtos() {
+        List<PlayerDto> dtos = playerDtos;
+        if (dtos == null) {
+            DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+            dtos = players.stream().map(p -> PlayerDto.builder()
+                    .uuid(p.uuid())
+                    .playerName(p.playerName())
+                    .isBot(p.bot())
+                    .isReady(p.ready())
+                    .isPlaying(p.playing())
+                    .joinedAt(p.joinedAt() == null ? null : p.joinedAt().format(formatter))
+                    .isActive(p.active())
+                    .lastActiveAt(p.lastActiveAt() == null ? null : p.lastActiveAt().format(formatter))
+                    .build()).toList();
+            playerDtos = dtos;
+        }
+        return dtos;
+    }
+
+    /**
+     * Serialized form of a message built from this snapshot, computed once per key
+     */
+    public byte[] serialized(String key, Function<String, byte[]> serializer) {
+        return serialized.computeIfAbsent(key, serializer);
+    }
+
+    /**
+     * Bytes held by the cached serialized broadcasts
+     */
+    public int getSerializedBytes() {
+        int bytes = 0;
+        for (byte[] json : serialized.values()) bytes += json.length;
+        return bytes;
+    }
+}
@@ -0,0 +1,16 @@
+package com.insidergame.insider_api.repository;
+
+import com.insidergame.insider_api.entity.GameHistoryEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface GameHistoryRepository extends JpaRepository<GameHistoryEntity, UUID> {
+
+    // One page of a room's history, newest first
+    List<GameHistoryEntity> findByRoomCodeAndArchivedAtGreaterThanEqualAndSequenceLessThanOrderBySequenceDesc(
+            String roomCode, LocalDateTime since, long before, Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package com.insidergame.insider_api.scoring;
+
+import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.model.GameSummary;
+
+import java.util.Map;
+
+/**
+ * Turns the roles and votes of a finished game into its summary and per-player scores.
+ * Used both when a game ends and when archived games are re-scored.
+ */
+public interface ScoringEngine {
+
+    /**
+     * @param word  the game's word
+     * @param roles playerUuid -> role
+     * @param votes voterUuid -> targetUuid (may be null or empty)
+     * @param rules point values to apply
+     */
+    GameSummary score(String word, Map<String, RoleType> roles, Map<String, String> votes, ScoringRules rules);
+
+    default GameSummary score(String word, Map<String, RoleType> roles, Map<String, String> votes) {
+        return score(word, roles, votes, RuleSet.CLASSIC.getRules());
+    }
+}
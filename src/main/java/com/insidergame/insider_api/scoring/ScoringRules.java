@@ -0,0 +1,38 @@
+package com.insidergame.insider_api.scoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Point values of one scoring rule set. Immutable.
+ */
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class ScoringRules {
+
+    // CITIZEN: more than half of the citizens voted for the INSIDER
+    @Builder.Default
+    private final int citizenCatchBonus = 1;
+    // CITIZEN: citizens answered the word (not tracked yet, never awarded)
+    @Builder.Default
+    private final int citizenAnswerBonus = 1;
+    // CITIZEN: voted for someone other than the INSIDER (subtracted)
+    @Builder.Default
+    private final int wrongVotePenalty = 0;
+
+    // INSIDER: helped the citizens answer the word (not tracked yet, never awarded)
+    @Builder.Default
+    private final int insiderAnswerBonus = 1;
+    // INSIDER: less than half of the citizens voted for them
+    @Builder.Default
+    private final int insiderHiddenBonus = 1;
+
+    // MASTER: every game
+    @Builder.Default
+    private final int masterBaseScore = 1;
+    // MASTER: INSIDER is among the most voted
+    @Builder.Default
+    private final int masterCatchBonus = 1;
+}
@@ -0,0 +1,185 @@
+package com.insidergame.insider_api.scoring;
+
+import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.model.GameSummary;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Default scoring engine.
+ * Each participant gets a slot index; roles, vote targets, tallies and scores live in per-thread primitive
+ * arrays, so the only allocations per game are the maps and list of the returned summary.
+ * Vote targets that are not participants get extra slots after the participants, so they are tallied
+ * exactly like the original rules did.
+ */
+@Component
+public class SlotScoringEngine implements ScoringEngine {
+
+    private static final byte OTHER = 0;
+    private static final byte CITIZEN = 1;
+    private static final byte INSIDER = 2;
+    private static final byte MASTER = 3;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    @Override
+    public GameSummary score(String word, Map<String, RoleType> roles, Map<String, String> votes, ScoringRules rules) {
+        if (votes == null) votes = Collections.emptyMap();
+        Scratch s = SCRATCH.get();
+        s.ensureCapacity(roles.size() + votes.size());
+
+        String[] uuids = s.uuids;
+        int[] hashes = s.hashes;
+        byte[] role = s.role;
+        int[] voteTarget = s.voteTarget;
+        int[] tally = s.tally;
+        int[] score = s.score;
+
+        // Participant slots
+        int slots = 0;
+        int insider = -1;
+        int master = -1;
+        int citizens = 0;
+        for (Map.Entry<String, RoleType> entry : roles.entrySet()) {
+            uuids[slots] = entry.getKey();
+            hashes[slots] = Objects.hashCode(entry.getKey());
+            role[slots] = roleCode(entry.getValue());
+            voteTarget[slots] = -1;
+            tally[slots] = 0;
+            score[slots] = 0;
+            if (role[slots] == INSIDER) insider = slots;
+            else if (role[slots] == MASTER) master = slots;
+            else if (role[slots] == CITIZEN) citizens++;
+            slots++;
+        }
+        int participants = slots;
+
+        // Tally votes; every vote counts, even from or for non-participants
+        for (Map.Entry<String, String> vote : votes.entrySet()) {
+            String targetUuid = vote.getValue();
+            int targetHash = Objects.hashCode(targetUuid);
+            int target = indexOf(uuids, hashes, slots, targetUuid, targetHash);
+            if (target < 0) {
+                target = slots++;
+                uuids[target] = targetUuid;
+                hashes[target] = targetHash;
+                tally[target] = 0;
+            }
+            tally[target]++;
+            int voter = indexOf(uuids, hashes, participants, vote.getKey(), Objects.hashCode(vote.getKey()));
+            if (voter >= 0) voteTarget[voter] = target;
+        }
+
+        int maxVotes = 0;
+        for (int i = 0; i < slots; i++) {
+            if (tally[i] > maxVotes) maxVotes = tally[i];
+        }
+        boolean insiderCaught = insider >= 0 && maxVotes > 0 && tally[insider] == maxVotes;
+
+        // Games don't record whether the word was answered, so the answer bonuses are never awarded
+        boolean citizensAnsweredCorrectly = false;
+
+        int citizenVotesForInsider = 0;
+        if (insider >= 0) {
+            for (int i = 0; i < participants; i++) {
+                if (role[i] == CITIZEN && voteTarget[i] == insider) citizenVotesForInsider++;
+            }
+        }
+        // "more than half" / "less than half" of citizens, without floating point
+        boolean majorityFoundInsider = citizens > 0 && 2 * citizenVotesForInsider > citizens;
+        boolean insiderHidden = citizens > 0 && 2 * citizenVotesForInsider < citizens;
+
+        for (int i = 0; i < participants; i++) {
+            switch (role[i]) {
+                case CITIZEN -> {
+                    if (majorityFoundInsider) score[i] += rules.getCitizenCatchBonus();
+                    if (citizensAnsweredCorrectly) score[i] += rules.getCitizenAnswerBonus();
+                    if (voteTarget[i] >= 0 && voteTarget[i] != insider) score[i] -= rules.getWrongVotePenalty();
+                }
+                case INSIDER -> {
+                    if (i != insider) break; // only one INSIDER scores, as before
+                    if (citizensAnsweredCorrectly) score[i] += rules.getInsiderAnswerBonus();
+                    if (insiderHidden) score[i] += rules.getInsiderHiddenBonus();
+                }
+                case MASTER -> {
+                    if (i != master) break;
+                    score[i] += rules.getMasterBaseScore();
+                    if (insiderCaught) score[i] += rules.getMasterCatchBonus();
+                }
+                default -> { }
+            }
+        }
+
+        // Only the returned summary is allocated
+        Map<String, Integer> scores = new HashMap<>(capacityFor(participants));
+        for (int i = 0; i < participants; i++) {
+            scores.put(uuids[i], score[i]);
+        }
+        Map<String, Integer> voteTally = new HashMap<>(capacityFor(slots));
+        List<String> mostVoted = new ArrayList<>(2);
+        for (int i = 0; i < slots; i++) {
+            if (tally[i] == 0) continue;
+            voteTally.put(uuids[i], tally[i]);
+            if (tally[i] == maxVotes) mostVoted.add(uuids[i]);
+        }
+
+        GameSummary summary = GameSummary.builder()
+                .scores(scores)
+                .voteTally(voteTally)
+                .mostVoted(mostVoted)
+                .insiderCaught(insiderCaught)
+                .citizensAnsweredCorrectly(citizensAnsweredCorrectly)
+                .insiderUuid(insider >= 0 ? uuids[insider] : null)
+                .masterUuid(master >= 0 ? uuids[master] : null)
+                .word(word)
+                .build();
+
+        // Don't keep player ids reachable from the thread-local
+        Arrays.fill(uuids, 0, slots, null);
+        return summary;
+    }
+
+    // Linear probe over a handful of slots; the cached String hash rules out almost every mismatch cheaply
+    private static int indexOf(String[] uuids, int[] hashes, int length, String uuid, int hash) {
+        for (int i = 0; i < length; i++) {
+            if (hashes[i] == hash && Objects.equals(uuids[i], uuid)) return i;
+        }
+        return -1;
+    }
+
+    private static byte roleCode(RoleType role) {
+        if (role == null) return OTHER;
+        return switch (role) {
+            case CITIZEN -> CITIZEN;
+            case INSIDER -> INSIDER;
+            case MASTER -> MASTER;
+            default -> OTHER;
+        };
+    }
+
+    private static int capacityFor(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    // Per-thread working arrays, grown on demand and reused across games
+    private static final class Scratch {
+        private String[] uuids = new String[0];
+        private int[] hashes = new int[0];
+        private byte[] role = new byte[0];
+        private int[] voteTarget = new int[0];
+        private int[] tally = new int[0];
+        private int[] score = new int[0];
+
+        void ensureCapacity(int size) {
+            if (uuids.length >= size) return;
+            int capacity = Math.max(16, Integer.highestOneBit(size - 1) << 1);
+            uuids = new String[capacity];
+            hashes = new int[capacity];
+            role = new byte[capacity];
+            voteTarget = new int[capacity];
+            tally = new int[capacity];
+            score = new int[capacity];
+        }
+    }
+}
@@ -4,8 +4,13 @@ import com.insidergame.insider_api.common.ApiResponse;
 import com.insidergame.insider_api.entity.CategoryEntity;
 
 import java.util.List;
+import java.util.Map;
 
 public interface CategoryService {
 
     ApiResponse<List<CategoryEntity>> getAllCategoriesService();
+
+    ApiResponse<Map<String, Integer>> getWordPacks();
+
+    ApiResponse<Map<String, Integer>> reloadWordPacks();
 }
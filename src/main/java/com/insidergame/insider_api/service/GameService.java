@@ -10,18 +10,24 @@ public interface GameService {
     ApiResponse<Game> startGame(String roomCode, String triggerByUuid);
     ApiResponse<Void> finishGame(String roomCode);
     ApiResponse<Game> getActiveGame(String roomCode);
-    ApiResponse<List<Game>> getGamesForRoom(String roomCode);
     // Mark player's card as opened via WS flow
     ApiResponse<Boolean> markCardOpened(String roomCode, String playerUuid);
 
     // Start countdown for active game (set startedAt/endsAt) and return the started Game
     ApiResponse<Game> startCountdown(String roomCode);
 
+    // MASTER ended the round: start voting now and reveal the word
+    ApiResponse<Game> startVoting(String roomCode);
+
     // Cast a vote during voting phase
     ApiResponse<Boolean> castVote(String roomCode, String voterUuid, String targetUuid);
 
     // Finish game with scoring and summary calculation
     ApiResponse<Game> finishGameWithScoring(String roomCode);
 
-    ApiResponse<List<GameHistoryDto>> getGameHistory(String roomCode);
+    // Archived games, newest first; before = sequence cursor (exclusive), null for the latest page
+    ApiResponse<List<GameHistoryDto>> getGameHistory(String roomCode, Integer limit, Long before);
+
+    // ETag for a history page, or null if the room does not exist
+    String getGameHistoryETag(String roomCode, Integer limit, Long before);
 }
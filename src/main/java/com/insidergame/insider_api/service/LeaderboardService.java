@@ -0,0 +1,19 @@
+package com.insidergame.insider_api.service;
+
+import com.insidergame.insider_api.common.ApiResponse;
+import com.insidergame.insider_api.dto.LeaderboardDto;
+import com.insidergame.insider_api.dto.LeaderboardEntryDto;
+
+public interface LeaderboardService {
+    // Top players for a period ("global", "daily", "weekly")
+    ApiResponse<LeaderboardDto> getLeaderboard(String period, Integer limit);
+
+    // One player's rank for a period
+    ApiResponse<LeaderboardEntryDto> getPlayerRank(String period, String uuid);
+
+    // ETag for a leaderboard page (null if the period is invalid)
+    String getLeaderboardETag(String period, Integer limit);
+
+    // Recompute every board from archived games
+    void rebuildFromHistory();
+}
@@ -0,0 +1,125 @@
+package com.insidergame.insider_api.tracing;
+
+import com.insidergame.insider_api.dto.RequestTraceDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-stage latency of inbound room commands: every command feeds the insider.trace.stage{stage} and
+ * insider.trace.end_to_end histograms, and commands slower than the threshold (arrival to a session
+ * write) are kept in a fixed-size ring, newest overwriting oldest, for GET /api/admin/traces.
+ */
+@Component
+public class RequestTracer {
+
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+    private final Timer[] stageTimers = new Timer[TraceStage.values().length];
+    private final Timer endToEnd;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicReferenceArray<Trace> slow;
+    private final AtomicLong slowCount = new AtomicLong();
+
+    public RequestTracer(MeterRegistry registry,
+                         @Value("${insider.tracing.enabled:true}") boolean enabled,
+                         @Value("${insider.tracing.slow-threshold-ms:250}") long slowThresholdMillis,
+                         @Value("${insider.tracing.slow-traces:256}") int slowTraces) {
+        this.enabled = enabled;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.slow = new AtomicReferenceArray<>(Math.max(1, slowTraces));
+        for (TraceStage stage : TraceStage.values()) {
+            stageTimers[stage.ordinal()] = Timer.builder("insider.trace.stage")
+                    .description("Time an inbound room command spends in each stage")
+                    .tag("stage", stage.getTag())
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        endToEnd = Timer.builder("insider.trace.end_to_end")
+                .description("Inbound room command arrival to a recipient's session write")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    Trace newTrace(String roomCode, String action, String sessionId) {
+        return new Trace(ids.incrementAndGet(), roomCode, action, sessionId);
+    }
+
+    /**
+     * Handler returned: record the stages it covers (session writes are recorded as they happen)
+     */
+    void handlerDone(Trace trace) {
+        for (TraceStage stage : TraceStage.values()) {
+            if (stage == TraceStage.WRITE) continue;
+            long nanos = trace.stageNanos(stage);
+            if (nanos > 0) stageTimers[stage.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if (trace.handlerTotalNanos() >= slowThresholdNanos) keep(trace);
+    }
+
+    void written(Trace trace, long dispatchNanos) {
+        long total = trace.written(dispatchNanos);
+        stageTimers[TraceStage.WRITE.ordinal()].record(System.nanoTime() - dispatchNanos, TimeUnit.NANOSECONDS);
+        endToEnd.record(total, TimeUnit.NANOSECONDS);
+        if (total >= slowThresholdNanos) keep(trace);
+    }
+
+    private void keep(Trace trace) {
+        if (!trace.keep()) return;
+        slow.set((int) (slowCount.getAndIncrement() % slow.length()), trace);
+    }
+
+    /**
+     * Kept slow traces, slowest first
+     */
+    public List<RequestTraceDto> getSlowTraces() {
+        List<Trace> traces = new ArrayList<>(slow.length());
+        for (int i = 0; i < slow.length(); i++) {
+            Trace trace = slow.get(i);
+            if (trace != null) traces.add(trace);
+        }
+        return traces.stream()
+                .sorted(Comparator.comparingLong(Trace::totalNanos).reversed())
+                .map(RequestTracer::toDto)
+                .toList();
+    }
+
+    private static RequestTraceDto toDto(Trace trace) {
+        Map<String, Double> stages = new LinkedHashMap<>();
+        for (TraceStage stage : TraceStage.values()) {
+            stages.put(stage.getTag(), millis(trace.stageNanos(stage)));
+        }
+        return RequestTraceDto.builder()
+                .id(trace.getId())
+                .roomCode(trace.getRoomCode())
+                .action(trace.getAction())
+                .sessionId(trace.getSessionId())
+                .arrivedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(trace.getArrivedAtMillis()), ZoneId.systemDefault()))
+                .totalMillis(millis(trace.totalNanos()))
+                .stageMillis(stages)
+                .writes(trace.getWrites())
+                .build();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,76 @@
+package com.insidergame.insider_api.tracing;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * Registered on both client channels. Inbound, it stamps /app/room/{code}/* commands on arrival and
+ * brackets their handler with a {@link Trace}; outbound, it reports each session write of a message that
+ * carries the trace (set by RoomMessenger while the handler runs).
+ */
+@Component
+public class StompTraceInterceptor implements ExecutorChannelInterceptor {
+
+    public static final String TRACE_HEADER = "insiderTrace";
+    public static final String DISPATCHED_HEADER = "insiderDispatchedNanos";
+
+    private static final String ROOM_PREFIX = "/app/room/";
+
+    private final RequestTracer tracer;
+
+    public StompTraceInterceptor(RequestTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!tracer.isEnabled() || message.getHeaders().containsKey(TRACE_HEADER)) return message;
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) return message;
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !destination.startsWith(ROOM_PREFIX)) return message;
+
+        int slash = destination.indexOf('/', ROOM_PREFIX.length());
+        if (slash < 0) return message;
+        Trace trace = tracer.newTrace(destination.substring(ROOM_PREFIX.length(), slash), destination.substring(slash + 1),
+                SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+
+        MessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, MessageHeaderAccessor.class);
+        if (accessor != null && accessor.isMutable()) {
+            accessor.setHeader(TRACE_HEADER, trace);
+            return message;
+        }
+        return MessageBuilder.fromMessage(message).setHeader(TRACE_HEADER, trace).build();
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (handler instanceof SimpAnnotationMethodMessageHandler
+                && message.getHeaders().get(TRACE_HEADER) instanceof Trace trace) {
+            trace.handlerStarted();
+            Tracing.begin(trace);
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (!(message.getHeaders().get(TRACE_HEADER) instanceof Trace trace)) return;
+        if (handler instanceof SimpAnnotationMethodMessageHandler) {
+            Tracing.end();
+            trace.handlerEnded();
+            tracer.handlerDone(trace);
+        } else if (handler instanceof SubProtocolWebSocketHandler
+                && message.getHeaders().get(DISPATCHED_HEADER) instanceof Long dispatchedNanos) {
+            tracer.written(trace, dispatchedNanos);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.insidergame.insider_api.tracing;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timing of one inbound command. The handler thread fills in the stages up to dispatch; session writes
+ * complete later on the outbound channel's threads and only touch the atomic fields.
+ */
+public final class Trace {
+
+    @Getter
+    private final long id;
+    @Getter
+    private final String roomCode;
+    @Getter
+    private final String action;
+    @Getter
+    private final String sessionId;
+    @Getter
+    private final long arrivedAtMillis;
+    private final long arrivalNanos;
+
+    // Written by the handler thread only, published by the volatile write of handlerEndNanos
+    private final long[] stageNanos = new long[TraceStage.values().length];
+    private long handlerStartNanos;
+    private volatile long handlerEndNanos;
+
+    private final AtomicInteger writes = new AtomicInteger();
+    private final AtomicLong lastWriteNanos = new AtomicLong();
+    private final AtomicLong maxWriteNanos = new AtomicLong();
+    private final AtomicBoolean kept = new AtomicBoolean();
+
+    Trace(long id, String roomCode, String action, String sessionId) {
+        this.id = id;
+        this.roomCode = roomCode;
+        this.action = action;
+        this.sessionId = sessionId;
+        this.arrivedAtMillis = System.currentTimeMillis();
+        this.arrivalNanos = System.nanoTime();
+    }
+
+    void add(TraceStage stage, long nanos) {
+        stageNanos[stage.ordinal()] += nanos;
+    }
+
+    void handlerStarted() {
+        handlerStartNanos = System.nanoTime();
+        stageNanos[TraceStage.QUEUE.ordinal()] = handlerStartNanos - arrivalNanos;
+    }
+
+    void handlerEnded() {
+        long now = System.nanoTime();
+        stageNanos[TraceStage.HANDLER.ordinal()] = now - handlerStartNanos;
+        handlerEndNanos = now;
+    }
+
+    /**
+     * A recipient's session got a message of this command; returns arrival -> write in nanos
+     */
+    long written(long dispatchNanos) {
+        long now = System.nanoTime();
+        writes.incrementAndGet();
+        lastWriteNanos.accumulateAndGet(now, Math::max);
+        maxWriteNanos.accumulateAndGet(now - dispatchNanos, Math::max);
+        return now - arrivalNanos;
+    }
+
+    /**
+     * True the first time only, so a trace goes into the slow ring once
+     */
+    boolean keep() {
+        return kept.compareAndSet(false, true);
+    }
+
+    long stageNanos(TraceStage stage) {
+        return stage == TraceStage.WRITE ? maxWriteNanos.get() : stageNanos[stage.ordinal()];
+    }
+
+    /**
+     * Arrival to the last session write so far (or to the handler's end if nothing was written yet)
+     */
+    long totalNanos() {
+        long end = Math.max(lastWriteNanos.get(), handlerEndNanos);
+        return end == 0 ? System.nanoTime() - arrivalNanos : end - arrivalNanos;
+    }
+
+    long handlerTotalNanos() {
+        return handlerEndNanos - arrivalNanos;
+    }
+
+    public int getWrites() {
+        return writes.get();
+    }
+}
@@ -0,0 +1,24 @@
+package com.insidergame.insider_api.tracing;
+
+/**
+ * Where the time of an inbound STOMP command goes, in the order it is spent
+ */
+public enum TraceStage {
+    QUEUE("queue"),           // frame arrival -> handler start (inbound channel executor queue)
+    HANDLER("handler"),       // the whole @MessageMapping method
+    MUTATION("mutation"),     // journaled state changes inside the handler
+    BUILD("build"),           // building outgoing message objects
+    SERIALIZE("serialize"),   // JSON serialization of outgoing messages
+    DISPATCH("dispatch"),     // handing messages to the broker and event bus
+    WRITE("write");           // dispatch -> written to a recipient's session (per recipient)
+
+    private final String tag;
+
+    TraceStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
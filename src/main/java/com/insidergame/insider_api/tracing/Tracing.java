@@ -0,0 +1,53 @@
+package com.insidergame.insider_api.tracing;
+
+/**
+ * Stage timing for the command being handled on the current thread. Outside a traced handler (timers,
+ * REST, replication) {@link #start} returns 0 and {@link #stage} does nothing, so call sites cost a
+ * thread-local read.
+ * <pre>
+ * long start = Tracing.start();
+ * byte[] json = serialize(msg);
+ * Tracing.stage(TraceStage.SERIALIZE, start);
+ * </pre>
+ */
+public final class Tracing {
+
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private Tracing() {
+    }
+
+    /**
+     * Start of a stage, or 0 when the current thread is not handling a traced command
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Add the time since {@code startNanos} to a stage; returns now, to start the next stage from
+     */
+    public static long stage(TraceStage stage, long startNanos) {
+        if (startNanos == 0) return 0;
+        Trace trace = CURRENT.get();
+        if (trace == null) return 0;
+        long now = System.nanoTime();
+        trace.add(stage, now - startNanos);
+        return now;
+    }
+
+    /**
+     * The command being handled on this thread, if it is traced
+     */
+    public static Trace current() {
+        return CURRENT.get();
+    }
+
+    static void begin(Trace trace) {
+        CURRENT.set(trace);
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+}
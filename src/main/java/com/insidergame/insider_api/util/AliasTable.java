@@ -0,0 +1,87 @@
+package com.insidergame.insider_api.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker/Vose alias table for O(1) weighted sampling.
+ * Built once in O(n) from a weight array, then every draw costs one random int and one random double.
+ */
+public final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("Alias table needs at least one weight");
+        }
+
+        double total = 0;
+        for (double w : weights) {
+            if (w < 0 || Double.isNaN(w)) {
+                throw new IllegalArgumentException("Weights must be non-negative");
+            }
+            total += w;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Total weight must be positive");
+        }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // Scale weights so the average bucket is exactly 1.0
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+
+        // Pair each under-full bucket with an over-full one
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int s = small.pop();
+            int l = large.pop();
+            probability[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) {
+                small.push(l);
+            } else {
+                large.push(l);
+            }
+        }
+
+        // Whatever is left is full (up to floating point error)
+        while (!large.isEmpty()) {
+            int l = large.pop();
+            probability[l] = 1.0;
+            alias[l] = l;
+        }
+        while (!small.isEmpty()) {
+            int s = small.pop();
+            probability[s] = 1.0;
+            alias[s] = s;
+        }
+    }
+
+    /**
+     * Draw an index with probability proportional to its weight
+     */
+    public int sample(RandomGenerator random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+}
@@ -1,12 +1,22 @@
 package com.insidergame.insider_api.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
@@ -15,9 +25,15 @@ public class JwtUtil {
     private static final String SECRET_KEY = "InsiderBoardGameSecretKeyForJWTTokenGeneration2024SecureKey123456";
     private static final long EXPIRATION_TIME = 86400000; // 24 hours in milliseconds
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-    }
+    // Upper bound on cached verified tokens
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    // Key and parser are immutable and thread-safe, so build them once
+    private final SecretKey signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parser().verifyWith(signingKey).build();
+
+    // sha256(token) -> claims of a token that already passed signature verification
+    private final Map<TokenHash, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
 
     public String generateToken(String uuid, String playerName) {
         return Jwts.builder()
@@ -26,10 +42,47 @@ public class JwtUtil {
                 .subject(uuid)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verify a token once and return its claims.
+     * Verified tokens are cached until they expire, so repeat calls skip the signature check and JSON parsing.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) return Optional.empty();
+
+        long now = System.currentTimeMillis();
+        TokenHash key = TokenHash.of(token);
+
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.getExpiresAtMillis() > now) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(key, cached);
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get("playerName", String.class),
+                    expiration == null ? Long.MAX_VALUE : expiration.getTime());
+
+            if (verifiedTokens.size() >= MAX_CACHED_TOKENS) {
+                evict(now);
+            }
+            verifiedTokens.put(key, verified);
+            return Optional.of(verified);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
     public String extractUuid(String token) {
         return extractAllClaims(token).getSubject();
     }
@@ -39,23 +92,57 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+        return verify(token).isPresent();
+    }
+
+    // Drop expired entries first; if the cache is still full, drop arbitrary entries down to 3/4 capacity
+    private void evict(long now) {
+        verifiedTokens.values().removeIf(v -> v.getExpiresAtMillis() <= now);
+        int excess = verifiedTokens.size() - (MAX_CACHED_TOKENS * 3 / 4);
+        Iterator<TokenHash> it = verifiedTokens.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
         }
     }
-}
 
+    /**
+     * Claims of a verified token
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class VerifiedToken {
+        private final String uuid;
+        private final String playerName;
+        private final long expiresAtMillis;
+    }
+
+    // SHA-256 of the token, so raw tokens are never kept in memory as map keys
+    private record TokenHash(long a, long b, long c, long d) {
+
+        static TokenHash of(String token) {
+            byte[] h = sha256(token.getBytes(StandardCharsets.UTF_8));
+            return new TokenHash(toLong(h, 0), toLong(h, 8), toLong(h, 16), toLong(h, 24));
+        }
+
+        private static long toLong(byte[] b, int off) {
+            long v = 0;
+            for (int i = off; i < off + 8; i++) {
+                v = (v << 8) | (b[i] & 0xFF);
+            }
+            return v;
+        }
+
+        private static byte[] sha256(byte[] input) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(input);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.insidergame.insider_api.util;
+
+import java.util.*;
+
+/**
+ * Scores by id, kept in ranking order (highest score first, ties by id) in a size-augmented treap.
+ * put/remove/rank are O(log n) expected; reading the top k is O(k + log n).
+ * Not thread-safe.
+ */
+public class RankedTreap {
+
+    private final Map<String, Long> scores = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    /**
+     * Set an id's score, replacing any previous score
+     */
+    public void put(String id, long score) {
+        Long old = scores.put(id, score);
+        if (old != null) {
+            if (old == score) return;
+            root = remove(root, old, id);
+        }
+        root = insert(root, new Node(id, score, random.nextInt()));
+    }
+
+    public void remove(String id) {
+        Long old = scores.remove(id);
+        if (old != null) root = remove(root, old, id);
+    }
+
+    public OptionalLong getScore(String id) {
+        Long score = scores.get(id);
+        return score == null ? OptionalLong.empty() : OptionalLong.of(score);
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    /**
+     * 1-based position of the id in ranking order, or -1 if absent
+     */
+    public int rank(String id) {
+        Long score = scores.get(id);
+        if (score == null) return -1;
+        int before = 0;
+        Node n = root;
+        while (n != null) {
+            int c = compare(score, id, n);
+            if (c < 0) {
+                n = n.left;
+            } else {
+                before += size(n.left);
+                if (c == 0) return before + 1;
+                before++;
+                n = n.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The first k entries in ranking order
+     */
+    public List<Entry> top(int k) {
+        List<Entry> out = new ArrayList<>(Math.min(k, scores.size()));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node n = root;
+        while ((n != null || !stack.isEmpty()) && out.size() < k) {
+            while (n != null) {
+                stack.push(n);
+                n = n.left;
+            }
+            n = stack.pop();
+            out.add(new Entry(n.id, n.score));
+            n = n.right;
+        }
+        return out;
+    }
+
+    public record Entry(String id, long score) {
+    }
+
+    // Negative if (score, id) ranks before node
+    private static int compare(long score, String id, Node node) {
+        if (score != node.score) return score > node.score ? -1 : 1;
+        return id.compareTo(node.id);
+    }
+
+    private static Node insert(Node n, Node added) {
+        if (n == null) return added;
+        if (compare(added.score, added.id, n) < 0) {
+            n.left = insert(n.left, added);
+            if (n.left.priority > n.priority) n = rotateRight(n);
+        } else {
+            n.right = insert(n.right, added);
+            if (n.right.priority > n.priority) n = rotateLeft(n);
+        }
+        n.update();
+        return n;
+    }
+
+    private static Node remove(Node n, long score, String id) {
+        if (n == null) return null;
+        int c = compare(score, id, n);
+        if (c == 0) return merge(n.left, n.right);
+        if (c < 0) n.left = remove(n.left, score, id);
+        else n.right = remove(n.right, score, id);
+        n.update();
+        return n;
+    }
+
+    // All of a rank before all of b
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            a.update();
+            return a;
+        }
+        b.left = merge(a, b.left);
+        b.update();
+        return b;
+    }
+
+    private static Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        n.update();
+        l.right = n;
+        return l;
+    }
+
+    private static Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        n.update();
+        r.left = n;
+        return r;
+    }
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static final class Node {
+        private final String id;
+        private final long score;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        Node(String id, long score, int priority) {
+            this.id = id;
+            this.score = score;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = 1 + RankedTreap.size(left) + RankedTreap.size(right);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.insidergame.insider_api.util;
 
+import com.insidergame.insider_api.cluster.ClusterRouter;
 import org.springframework.stereotype.Component;
 
 import java.security.SecureRandom;
@@ -10,12 +11,26 @@ public class RoomCodeGenerator {
     private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
     private static final int CODE_LENGTH = 6;
     private final SecureRandom random = new SecureRandom();
+    private final ClusterRouter clusterRouter;
+
+    public RoomCodeGenerator(ClusterRouter clusterRouter) {
+        this.clusterRouter = clusterRouter;
+    }
 
     /**
-     * Generate a random 6-character room code
+     * Generate a random 6-character room code owned by this node
+     * (with N nodes that takes N draws on average)
      * Example: ABC123, XYZ789
      */
     public String generateRoomCode() {
+        String code;
+        do {
+            code = randomCode();
+        } while (!clusterRouter.isLocal(code));
+        return code;
+    }
+
+    private String randomCode() {
         StringBuilder code = new StringBuilder(CODE_LENGTH);
         for (int i = 0; i < CODE_LENGTH; i++) {
             code.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
@@ -0,0 +1,23 @@
+package com.insidergame.insider_api.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+
+/**
+ * Authenticated player bound to a STOMP session at CONNECT.
+ * The principal name is the player uuid, so convertAndSendToUser(uuid, ...) reaches all of the player's sessions.
+ */
+@Getter
+@AllArgsConstructor
+public class PlayerPrincipal implements Principal {
+
+    private final String uuid;
+    private final String playerName;
+
+    @Override
+    public String getName() {
+        return uuid;
+    }
+}
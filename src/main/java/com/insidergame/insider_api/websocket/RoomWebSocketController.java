@@ -1,16 +1,25 @@
 package com.insidergame.insider_api.websocket;
 
 import com.insidergame.insider_api.api.game.GameFinishService;
-import com.insidergame.insider_api.dto.PlayerDto;
 import com.insidergame.insider_api.dto.RoomUpdateMessage;
+import com.insidergame.insider_api.enums.JoinResult;
 import com.insidergame.insider_api.enums.RoleType;
 import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.jfr.BroadcastBuildEvent;
+import com.insidergame.insider_api.jfr.TimerFiredEvent;
 import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.messaging.RoomMessenger;
+import com.insidergame.insider_api.metrics.InsiderMetrics;
 import com.insidergame.insider_api.model.Game;
 import com.insidergame.insider_api.model.GamePrivateMessage;
+import com.insidergame.insider_api.model.LeaveResult;
 import com.insidergame.insider_api.model.Player;
-import com.insidergame.insider_api.model.Room;
+import com.insidergame.insider_api.model.PlayerSnapshot;
+import com.insidergame.insider_api.model.RoomSnapshot;
 import com.insidergame.insider_api.service.GameService;
+import com.insidergame.insider_api.tracing.TraceStage;
+import com.insidergame.insider_api.tracing.Tracing;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.MessageHeaders;
@@ -18,12 +27,11 @@ import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
-import org.springframework.messaging.simp.SimpMessageType;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
+import java.security.Principal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -31,7 +39,6 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 @Controller
 @Slf4j
@@ -39,18 +46,23 @@ import java.util.stream.Collectors;
 public class RoomWebSocketController {
 
     private final RoomManager roomManager;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final RoomMessenger roomMessenger;
     private final GameService gameService;
     private final GameFinishService gameFinishService;
+    private final JsonMapper jsonMapper;
+    private final InsiderMetrics metrics;
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
     // Track pending scheduled "set room to PLAYING" tasks so we can cancel if someone un-readies
     private final Map<String, ScheduledFuture<?>> pendingPlayTasks = new ConcurrentHashMap<>();
 
-    public RoomWebSocketController(RoomManager roomManager, SimpMessagingTemplate messagingTemplate, GameService gameService, GameFinishService gameFinishService) {
+    public RoomWebSocketController(RoomManager roomManager, RoomMessenger roomMessenger, GameService gameService, GameFinishService gameFinishService,
+                                   JsonMapper jsonMapper, InsiderMetrics metrics) {
         this.roomManager = roomManager;
-        this.messagingTemplate = messagingTemplate;
+        this.roomMessenger = roomMessenger;
         this.gameService = gameService;
         this.gameFinishService = gameFinishService;
+        this.jsonMapper = jsonMapper;
+        this.metrics = metrics;
     }
 
     /**
@@ -58,43 +70,42 @@ public class RoomWebSocketController {
      * Client sends: /app/room/{roomCode}/ready
      */
     @MessageMapping("/room/{roomCode}/ready")
-    public void toggleReady(@DestinationVariable String roomCode, @Payload ReadyRequest request) {
-        log.info("Player {} toggling ready status in room {}", request.getPlayerUuid(), roomCode);
+    public void toggleReady(@DestinationVariable String roomCode, Principal principal) {
+        String playerUuid = principal.getName();
+        log.info("Player {} toggling ready status in room {}", playerUuid, roomCode);
 
-        Room room = roomManager.getRoom(roomCode).orElse(null);
-        if (room == null) {
+        if (!roomManager.roomExists(roomCode)) {
             log.warn("Room {} not found", roomCode);
             return;
         }
 
         // Find player and toggle ready status
-        room.getPlayers().stream()
-                .filter(p -> p.getUuid().equals(request.getPlayerUuid()))
+        roomManager.getRoomSnapshot(roomCode).stream()
+                .flatMap(snapshot -> snapshot.getPlayers().stream())
+                .filter(p -> p.uuid().equals(playerUuid))
                 .findFirst()
-                .ifPresent(player -> {
-                    player.setReady(!player.isReady());
-                    player.setActive(true);
-                    log.info("Player {} is now ready: {}", player.getPlayerName(), player.isReady());
-                });
+                .flatMap(player -> roomManager.setPlayerReady(roomCode, playerUuid, !player.ready()))
+                .ifPresent(player -> log.info("Player {} is now ready: {}", player.getPlayerName(), player.isReady()));
 
         // Broadcast update to all players in room
         broadcastRoomUpdate(roomCode, "PLAYER_READY");
 
         // If all players are ready and room is still WAITING => schedule transition to PLAYING in 5 seconds.
         try {
-            boolean allReady = room.getPlayers().stream().allMatch(Player::isReady);
-            if (allReady && room.getStatus() == RoomStatus.WAITING) {
+            RoomSnapshot snapshot = roomManager.getRoomSnapshot(roomCode).orElse(null);
+            boolean allReady = snapshot != null && snapshot.getPlayers().stream().allMatch(PlayerSnapshot::ready);
+            if (allReady && snapshot.getStatus() == RoomStatus.WAITING) {
                 // Schedule only if not already scheduled
-                if (!pendingPlayTasks.containsKey(roomCode)) {
+                if (!pendingPlayTasks.containsKey(roomCode) && !scheduler.isShutdown()) {
+                    long dueNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
                     ScheduledFuture<?> f = scheduler.schedule(() -> {
+                        TimerFiredEvent fired = TimerFiredEvent.start();
+                        long lag = metrics.recordSchedulerLag(InsiderMetrics.SCHEDULER_AUTO_PLAY, dueNanos);
                         try {
-                            roomManager.updateRoomStatus(roomCode, RoomStatus.PLAYING);
-                            broadcastRoomUpdate(roomCode, "ROOM_PLAYING");
-                            log.info("Room {} auto-transitioned to PLAYING after all ready", roomCode);
-                        } catch (Exception ex) {
-                            log.error("Error auto-starting room {}: {}", roomCode, ex.getMessage(), ex);
+                            autoPlay(roomCode);
                         } finally {
                             pendingPlayTasks.remove(roomCode);
+                            fired.done(InsiderMetrics.SCHEDULER_AUTO_PLAY, roomCode, lag);
                         }
                     }, 5, TimeUnit.SECONDS);
                     pendingPlayTasks.put(roomCode, f);
@@ -114,21 +125,14 @@ public class RoomWebSocketController {
     /**
      * Presence ping from client to mark active
      * Client sends: /app/room/{roomCode}/presence
-     * Payload: { playerUuid }
      */
     @MessageMapping("/room/{roomCode}/presence")
-    public void presencePing(@DestinationVariable String roomCode, @Payload PresenceRequest request) {
-        log.debug("Presence ping from {} in room {}", request.getPlayerUuid(), roomCode);
-        Room room = roomManager.getRoom(roomCode).orElse(null);
-        if (room == null) return;
+    public void presencePing(@DestinationVariable String roomCode, Principal principal) {
+        String playerUuid = principal.getName();
+        log.debug("Presence ping from {} in room {}", playerUuid, roomCode);
+        if (!roomManager.roomExists(roomCode)) return;
 
-        room.getPlayers().stream()
-                .filter(p -> p.getUuid().equals(request.getPlayerUuid()))
-                .findFirst()
-                .ifPresent(player -> {
-                    player.setActive(true);
-                    player.setLastActiveAt(java.time.LocalDateTime.now());
-                });
+        roomManager.updatePresence(roomCode, playerUuid, true);
 
         // Broadcast a light ROOM_UPDATE so others can know active status
         broadcastRoomUpdate(roomCode, "ROOM_UPDATE");
@@ -137,56 +141,28 @@ public class RoomWebSocketController {
     /**
      * Player requests join via WebSocket
      * Client sends: /app/room/{roomCode}/join
-     * Payload: { playerUuid, playerName }
-     * playerName is optional; if missing we fall back to playerUuid as name
+     * Payload: { playerName, password }
+     * playerName is optional; if missing we fall back to the name in the token, then the uuid.
+     * A rejected join (ROOM_FULL / WRONG_PASSWORD) is reported on /user/queue/join_rejected.
      */
     @MessageMapping("/room/{roomCode}/join")
-    public void joinRoom(@DestinationVariable String roomCode, @Payload JoinRequest request, MessageHeaders headers) {
+    public void joinRoom(@DestinationVariable String roomCode, @Payload JoinRequest request, Principal principal, MessageHeaders headers) {
         String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
-        log.info("WS join request: player {} (name={}) joining room {} sessionId={}", request.getPlayerUuid(), request.getPlayerName(), roomCode, sessionId);
-
-        Room room = roomManager.getRoom(roomCode).orElse(null);
-        if (room == null) {
-            log.warn("Room {} not found (WS join)", roomCode);
-            return;
-        }
-
-        // If player already in room, update sessionId/active and send snapshot
-        if (roomManager.isPlayerInRoom(roomCode, request.getPlayerUuid())) {
-            // update existing player's sessionId and activity so they can receive private messages
-            room.getPlayers().stream()
-                    .filter(p -> p.getUuid().equals(request.getPlayerUuid()))
-                    .findFirst()
-                    .ifPresent(existing -> {
-                        existing.setSessionId(sessionId);
-                        existing.setActive(true);
-                        existing.setLastActiveAt(java.time.LocalDateTime.now());
-                        // optionally update name if provided
-                        if (request.getPlayerName() != null && !request.getPlayerName().isEmpty()) {
-                            existing.setPlayerName(request.getPlayerName());
-                        }
-                        log.info("Updated existing player {} with session {}", existing.getUuid(), sessionId);
-                    });
-
-            broadcastRoomUpdate(roomCode, "ROOM_UPDATE");
-            return;
+        String playerUuid = principal.getName();
+        log.info("WS join request: player {} (name={}) joining room {} sessionId={}", playerUuid, request.getPlayerName(), roomCode, sessionId);
+
+        // Build player and join via RoomManager (same password, duplicate and capacity checks as REST)
+        // Fallback to token name, then UUID, if playerName is null or empty
+        String playerName = request.getPlayerName();
+        if ((playerName == null || playerName.trim().isEmpty()) && principal instanceof PlayerPrincipal pp) {
+            playerName = pp.getPlayerName();
         }
-
-        // If room not accepting new players or full, just broadcast snapshot (client can handle UI)
-        if (room.isFull()) {
-            log.warn("Room {} is full - cannot join via WS: {}", roomCode, request.getPlayerUuid());
-            broadcastRoomUpdate(roomCode, "ROOM_UPDATE");
-            return;
+        if (playerName == null || playerName.trim().isEmpty()) {
+            playerName = playerUuid;
         }
 
-        // Build player and add to room via RoomManager (which already guards duplicates)
-        // Fallback to UUID if playerName is null or empty
-        String playerName = (request.getPlayerName() == null || request.getPlayerName().trim().isEmpty())
-                ? request.getPlayerUuid()
-                : request.getPlayerName();
-
         Player player = Player.builder()
-                .uuid(request.getPlayerUuid())
+                .uuid(playerUuid)
                 .playerName(playerName)
                 .joinedAt(java.time.LocalDateTime.now())
                 .isHost(false)
@@ -195,51 +171,58 @@ public class RoomWebSocketController {
                 .sessionId(sessionId)
                 .build();
 
-        boolean added = roomManager.addPlayerToRoom(roomCode, player);
-        if (added) {
-            log.info("Player {} added to room {} via WS (session={})", request.getPlayerUuid(), roomCode, sessionId);
-            broadcastRoomUpdate(roomCode, "PLAYER_JOINED");
-        } else {
-            log.warn("Failed to add player {} to room {} via WS", request.getPlayerUuid(), roomCode);
-            broadcastRoomUpdate(roomCode, "ROOM_UPDATE");
+        JoinResult result = roomManager.joinRoom(roomCode, player, request.getPassword());
+        switch (result) {
+            case JOINED -> {
+                log.info("Player {} added to room {} via WS (session={})", playerUuid, roomCode, sessionId);
+                metrics.recordJoin();
+                broadcastRoomUpdate(roomCode, "PLAYER_JOINED");
+            }
+            case ALREADY_IN_ROOM -> {
+                // update existing player's sessionId and activity (and name if provided), then send snapshot
+                if (roomManager.reattachPlayer(roomCode, playerUuid, sessionId, request.getPlayerName())) {
+                    log.info("Updated existing player {} with session {}", playerUuid, sessionId);
+                }
+                broadcastRoomUpdate(roomCode, "ROOM_UPDATE");
+            }
+            case ROOM_NOT_FOUND -> log.warn("Room {} not found (WS join)", roomCode);
+            default -> {
+                // Full or wrong password: tell the player, and resend the snapshot (client can handle UI)
+                log.warn("Player {} cannot join room {} via WS: {}", playerUuid, roomCode, result);
+                roomMessenger.sendToPlayer(playerUuid, "/queue/join_rejected", Map.of("roomCode", roomCode, "reason", result.name()));
+                broadcastRoomUpdate(roomCode, "ROOM_UPDATE");
+            }
         }
     }
 
     /**
      * Player notifies leaving via WebSocket
      * Client sends: /app/room/{roomCode}/leave
-     * Payload: { playerUuid }
      */
     @MessageMapping("/room/{roomCode}/leave")
-    public void leaveRoom(@DestinationVariable String roomCode, @Payload LeaveRequest request) {
-        log.info("WS leave request: player {} leaving room {}", request.getPlayerUuid(), roomCode);
+    public void leaveRoom(@DestinationVariable String roomCode, Principal principal) {
+        String playerUuid = principal.getName();
+        log.info("WS leave request: player {} leaving room {}", playerUuid, roomCode);
 
-        Room room = roomManager.getRoom(roomCode).orElse(null);
-        if (room == null) {
+        // Whether the room went away or the host moved is decided under the room's lock
+        LeaveResult left = roomManager.removePlayerFromRoom(roomCode, playerUuid);
+        if (left == LeaveResult.ROOM_NOT_FOUND) {
             log.warn("Room {} not found (WS leave)", roomCode);
             return;
         }
+        metrics.recordLeave();
 
-        // Check if leaving player is the host before removal
-        boolean wasHost = request.getPlayerUuid().equals(room.getHostUuid());
-        String oldHostUuid = wasHost ? room.getHostUuid() : null;
-
-        boolean roomDeleted = roomManager.removePlayerFromRoom(roomCode, request.getPlayerUuid());
-
-        if (roomDeleted) {
-            log.info("Player {} left room {} and room deleted (empty)", request.getPlayerUuid(), roomCode);
+        if (left.roomDeleted()) {
+            log.info("Player {} left room {} and room deleted (empty)", playerUuid, roomCode);
             // Broadcast a ROOM_UPDATE so subscribers know the room state changed (it may be removed)
             broadcastRoomUpdate(roomCode, "ROOM_UPDATE");
         } else {
-            // Check if host changed after removal
-            boolean hostChanged = wasHost && !room.getHostUuid().equals(oldHostUuid);
-
-            if (hostChanged) {
+            if (left.hostTransferred()) {
                 log.info("Player {} left room {} - Host transferred to {}",
-                        request.getPlayerUuid(), roomCode, room.getHostUuid());
+                        playerUuid, roomCode, left.newHostUuid());
                 broadcastRoomUpdate(roomCode, "HOST_TRANSFERRED");
             } else {
-                log.info("Player {} left room {}", request.getPlayerUuid(), roomCode);
+                log.info("Player {} left room {}", playerUuid, roomCode);
                 broadcastRoomUpdate(roomCode, "PLAYER_LEFT");
             }
         }
@@ -248,30 +231,19 @@ public class RoomWebSocketController {
     /**
      * Client sends page visibility / status updates
      * Client sends: /app/room/{roomCode}/status
-     * Payload: { playerUuid, active }
+     * Payload: { active }
      */
     @MessageMapping("/room/{roomCode}/status")
-    public void statusUpdate(@DestinationVariable String roomCode, @Payload StatusRequest request) {
-        log.info("WS status update: player {} active={} in room {}", request.getPlayerUuid(), request.isActive(), roomCode);
+    public void statusUpdate(@DestinationVariable String roomCode, @Payload StatusRequest request, Principal principal) {
+        String playerUuid = principal.getName();
+        log.info("WS status update: player {} active={} in room {}", playerUuid, request.isActive(), roomCode);
 
-        Room room = roomManager.getRoom(roomCode).orElse(null);
-        if (room == null) {
+        if (!roomManager.roomExists(roomCode)) {
             log.warn("Room {} not found (WS status)", roomCode);
             return;
         }
 
-        room.getPlayers().stream()
-                .filter(p -> p.getUuid().equals(request.getPlayerUuid()))
-                .findFirst()
-                .ifPresent(player -> {
-                    player.setActive(request.isActive());
-                    if (request.isActive()) {
-                        player.setLastActiveAt(java.time.LocalDateTime.now());
-                    }
-//                    if(player.isReady()){
-//                        player.setReady(false);
-//                    }
-                });
+        roomManager.updatePresence(roomCode, playerUuid, request.isActive());
 
         // Broadcast update so other clients see active/inactive change
         broadcastRoomUpdate(roomCode, "ROOM_UPDATE");
@@ -280,14 +252,14 @@ public class RoomWebSocketController {
     /**
      * Start the game in the room
      * Client sends: /app/room/{roomCode}/start
-     * Payload: { triggerByUuid }
      */
     @MessageMapping("/room/{roomCode}/start")
-    public void startGame(@DestinationVariable String roomCode, @Payload StartRequest request) {
-        log.info("WS start game requested by {} in room {}", request.getTriggerByUuid(), roomCode);
+    public void startGame(@DestinationVariable String roomCode, Principal principal) {
+        String triggerByUuid = principal.getName();
+        log.info("WS start game requested by {} in room {}", triggerByUuid, roomCode);
 
         try {
-            var resp = gameService.startGame(roomCode, request.getTriggerByUuid());
+            var resp = gameService.startGame(roomCode, triggerByUuid);
             if (!resp.isSuccess() || resp.getData() == null) {
                 log.warn("Failed to start game in room {}: {}", roomCode, resp.getMessage());
                 broadcastRoomUpdate(roomCode, "ROOM_UPDATE");
@@ -298,24 +270,14 @@ public class RoomWebSocketController {
 
             // Mark participating players as playing and ready in the room so clients see updated state
             try {
-                var roomOpt = roomManager.getRoom(roomCode);
-                if (roomOpt.isPresent()) {
-                    var room = roomOpt.get();
-                    var participants = game.getRoles() == null ? java.util.Collections.<String>emptySet() : game.getRoles().keySet();
-                    for (Player p : room.getPlayers()) {
-                        if (p == null) continue;
-                        if (participants.contains(p.getUuid())) {
-                            p.setPlaying(true);
-                           if(p.isReady()) p.setReady(false);
-                        }
-                    }
-                }
+                var participants = game.getRoles() == null ? java.util.Collections.<String>emptySet() : game.getRoles().keySet();
+                roomManager.markPlayersPlaying(roomCode, participants);
             } catch (Exception ignored) {}
 
             // Broadcast general game started update (includes activeGame in RoomUpdateMessage)
             broadcastRoomUpdate(roomCode, "GAME_STARTED");
 
-            // Send private info to MASTER and INSIDER only using their sessionId
+            // Send private info to each participant (routed by the player's Principal)
             Map<String, RoleType> roles = game.getRoles();
 
             // NOTE: We no longer broadcast role-only private info to a topic. Private info is
@@ -325,28 +287,12 @@ public class RoomWebSocketController {
                 String playerUuid = e.getKey();
                 RoleType role = e.getValue() == null ? RoleType.CITIZEN : e.getValue();
 
-                // find player in room to get sessionId
-                Player player = roomManager.getRoom(roomCode).orElseThrow().getPlayers().stream()
-                        .filter(p -> p.getUuid().equals(playerUuid)).findFirst().orElse(null);
-                if (player == null) continue;
-
-                String sessionId = player.getSessionId();
-                if (sessionId == null) {
-                    log.warn("No sessionId for player {} - cannot send private word", playerUuid);
-                    continue; // can't send private
-                }
-
                 String word = (role == RoleType.MASTER || role == RoleType.INSIDER) ? game.getWord() : ""; // empty string instead of null
 
                 GamePrivateMessage pm = new GamePrivateMessage(playerUuid, role, word);
 
-                // Build headers targeted to sessionId
-                SimpMessageHeaderAccessor sha = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
-                sha.setSessionId(sessionId);
-                sha.setLeaveMutable(true);
-
-                log.info("Sending private game message to session={} playerUuid={} role={}", sessionId, playerUuid, role);
-                messagingTemplate.convertAndSendToUser(sessionId, "/queue/game_private", pm, sha.getMessageHeaders());
+                log.info("Sending private game message to playerUuid={} role={}", playerUuid, role);
+                roomMessenger.sendToPlayer(playerUuid, "/queue/game_private", pm);
             }
 
 
@@ -360,16 +306,16 @@ public class RoomWebSocketController {
     /**
      * Player opens their role card
      * Client sends: /app/room/{roomCode}/open_card
-     * Payload: { playerUuid }
      */
     @MessageMapping("/room/{roomCode}/open_card")
-    public void openCard(@DestinationVariable String roomCode, @Payload CardOpenRequest request) {
-        log.info("Card open request from player={} in room={}", request.getPlayerUuid(), roomCode);
+    public void openCard(@DestinationVariable String roomCode, Principal principal) {
+        String playerUuid = principal.getName();
+        log.info("Card open request from player={} in room={}", playerUuid, roomCode);
 
         try {
-            var resp = gameService.markCardOpened(roomCode, request.getPlayerUuid());
+            var resp = gameService.markCardOpened(roomCode, playerUuid);
             if (resp == null || !resp.isSuccess()) {
-                log.warn("markCardOpened failed for room={} player={}", roomCode, request.getPlayerUuid());
+                log.warn("markCardOpened failed for room={} player={}", roomCode, playerUuid);
             }
         } catch (Exception ex) {
             log.error("Error marking card opened: {}", ex.getMessage(), ex);
@@ -391,16 +337,11 @@ public class RoomWebSocketController {
 
 
     @MessageMapping("/room/{roomCode}/active_game")
-    public void currentGame(@DestinationVariable String roomCode, @Payload ActiveGameRequest request, MessageHeaders headers) {
-        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
-        log.info("Active game requested by {} in room={} session={}", request.getPlayerUuid(), roomCode, sessionId);
+    public void currentGame(@DestinationVariable String roomCode, Principal principal) {
+        String playerUuid = principal.getName();
+        log.info("Active game requested by {} in room={}", playerUuid, roomCode);
 
         try {
-            if (sessionId == null) {
-                log.warn("No sessionId present for active_game request from {} in room={}; skipping reply", request.getPlayerUuid(), roomCode);
-                return;
-            }
-
             var resp = gameService.getActiveGame(roomCode);
             Map<String, Object> payload = new java.util.HashMap<>();
             if (resp == null || !resp.isSuccess() || resp.getData() == null) {
@@ -415,15 +356,15 @@ public class RoomWebSocketController {
                 // If requester is not a participant (e.g., a spectator), do not reveal active game data.
                 java.util.Set<String> participants = g.getRoles() == null ? java.util.Collections.emptySet() : g.getRoles().keySet();
                 log.info("Active game check: requester={}, participants={}, roles={}",
-                    request.getPlayerUuid(), participants, g.getRoles());
-                if (!participants.contains(request.getPlayerUuid())) {
+                    playerUuid, participants, g.getRoles());
+                if (!participants.contains(playerUuid)) {
                     // requester not part of the active game -> deny active game payload
-                    log.warn("Player {} is NOT a participant in room {} - denying active game", request.getPlayerUuid(), roomCode);
+                    log.warn("Player {} is NOT a participant in room {} - denying active game", playerUuid, roomCode);
                     payload.put("game", null);
                 } else {
                     RoleType roleEnum = null;
                     if (g.getRoles() != null) {
-                        roleEnum = g.getRoles().get(request.getPlayerUuid());
+                        roleEnum = g.getRoles().get(playerUuid);
                     }
                     if (roleEnum == null) roleEnum = RoleType.CITIZEN; // fallback
                     // Show word if: wordRevealed (after MASTER ends) OR player is MASTER/INSIDER
@@ -449,7 +390,7 @@ public class RoomWebSocketController {
                     // Include per-user private info (role + word when applicable) so clients who reconnect
                     // can receive their private GamePrivateMessage together with the active game snapshot.
                     try {
-                        GamePrivateMessage pm = new GamePrivateMessage(request.getPlayerUuid(), roleEnum, showWord ? g.getWord() : "");
+                        GamePrivateMessage pm = new GamePrivateMessage(playerUuid, roleEnum, showWord ? g.getWord() : "");
                         gameMap.put("privateMessage", pm);
                     } catch (Exception ignored) {}
 
@@ -460,12 +401,9 @@ public class RoomWebSocketController {
                 }
             }
 
-            // Send to specific session
-            SimpMessageHeaderAccessor sha = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
-            sha.setSessionId(sessionId);
-            sha.setLeaveMutable(true);
-            messagingTemplate.convertAndSendToUser(sessionId, "/queue/active_game", payload, sha.getMessageHeaders());
-            log.info("Sent active_game to session={} (room={})", sessionId, roomCode);
+            // Send to the requesting player
+            roomMessenger.sendToPlayer(playerUuid, "/queue/active_game", payload);
+            log.info("Sent active_game to player={} (room={})", playerUuid, roomCode);
         } catch (Exception ex) {
             log.error("Error handling active_game request: {}", ex.getMessage(), ex);
         }
@@ -474,11 +412,11 @@ public class RoomWebSocketController {
     /**
      * MASTER can end the play early to trigger voting
      * Client sends: /app/room/{roomCode}/master_end
-     * Payload: { playerUuid }
      */
     @MessageMapping("/room/{roomCode}/master_end")
-    public void masterEnd(@DestinationVariable String roomCode, @Payload ActiveGameRequest request) {
-        log.info("Master end requested by {} in room {}", request.getPlayerUuid(), roomCode);
+    public void masterEnd(@DestinationVariable String roomCode, Principal principal) {
+        String requesterUuid = principal.getName();
+        log.info("Master end requested by {} in room {}", requesterUuid, roomCode);
 
         try {
             var resp = gameService.getActiveGame(roomCode);
@@ -490,20 +428,15 @@ public class RoomWebSocketController {
             Game g = resp.getData();
 
             // Ensure requester is MASTER
-            RoleType role = g.getRoles().get(request.getPlayerUuid());
+            RoleType role = g.getRoles().get(requesterUuid);
             if (role != RoleType.MASTER) {
-                log.warn("Player {} is not MASTER in room {} - cannot end game", request.getPlayerUuid(), roomCode);
+                log.warn("Player {} is not MASTER in room {} - cannot end game", requesterUuid, roomCode);
                 return;
             }
 
-            // Move endsAt earlier to start voting period; choose a short delay (e.g., 10 seconds) to allow clients to prepare
-            int voteDelaySeconds = 0;
-            var now = java.time.LocalDateTime.now();
-            g.setEndsAt(now.plusSeconds(voteDelaySeconds));
-
-            // Reveal the word to all players when MASTER ends the game
-            g.setWordRevealed(true);
-            log.info("Word revealed in room {} by MASTER {}", roomCode, request.getPlayerUuid());
+            // Move endsAt to now to start the voting period and reveal the word to all players
+            gameService.startVoting(roomCode);
+            log.info("Word revealed in room {} by MASTER {}", roomCode, requesterUuid);
 
             // Broadcast that voting started (so clients switch UI)
             broadcastRoomUpdate(roomCode, "VOTE_STARTED");
@@ -511,14 +444,8 @@ public class RoomWebSocketController {
 
             // Also send active_game snapshot to participants so they see new endsAt/private info
             try {
-                // reuse currentGame logic by publishing directly to each player's session via messagingTemplate
+                // reuse currentGame logic by publishing directly to each participant via roomMessenger
                 for (String playerUuid : g.getRoles().keySet()) {
-                    Player p = roomManager.getRoom(roomCode).orElseThrow().getPlayers().stream().filter(pl -> pl.getUuid().equals(playerUuid)).findFirst().orElse(null);
-                    if (p == null || p.getSessionId() == null) continue;
-                    SimpMessageHeaderAccessor sha = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
-                    sha.setSessionId(p.getSessionId());
-                    sha.setLeaveMutable(true);
-
                     // Build per-player payload similar to currentGame
                     RoleType playerRole = g.getRoles().get(playerUuid);
                     // Show word if: wordRevealed OR (MASTER/INSIDER role)
@@ -544,7 +471,7 @@ public class RoomWebSocketController {
                     Map<String, Object> payload = new java.util.HashMap<>();
                     payload.put("game", gameMap);
 
-                    messagingTemplate.convertAndSendToUser(p.getSessionId(), "/queue/active_game", payload, sha.getMessageHeaders());
+                    roomMessenger.sendToPlayer(playerUuid, "/queue/active_game", payload);
                 }
             } catch (Exception ignored) {}
 
@@ -556,16 +483,17 @@ public class RoomWebSocketController {
     /**
      * Player votes for another player during voting phase
      * Client sends: /app/room/{roomCode}/vote
-     * Payload: { playerUuid, targetPlayerUuid }
+     * Payload: { targetPlayerUuid }
      */
     @MessageMapping("/room/{roomCode}/vote")
-    public void votePlayer(@DestinationVariable String roomCode, @Payload VoteRequest request) {
-        log.info("Vote request from player={} in room={} for target={}", request.getPlayerUuid(), roomCode, request.getTargetPlayerUuid());
+    public void votePlayer(@DestinationVariable String roomCode, @Payload VoteRequest request, Principal principal) {
+        String voterUuid = principal.getName();
+        log.info("Vote request from player={} in room={} for target={}", voterUuid, roomCode, request.getTargetPlayerUuid());
 
         try {
-            var resp = gameService.castVote(roomCode, request.getPlayerUuid(), request.getTargetPlayerUuid());
+            var resp = gameService.castVote(roomCode, voterUuid, request.getTargetPlayerUuid());
             if (resp == null || !resp.isSuccess()) {
-                log.warn("castVote failed for room={} voter={} target={}", roomCode, request.getPlayerUuid(), request.getTargetPlayerUuid());
+                log.warn("castVote failed for room={} voter={} target={}", roomCode, voterUuid, request.getTargetPlayerUuid());
                 return;
             }
 
@@ -579,7 +507,7 @@ public class RoomWebSocketController {
     }
 
     @MessageMapping("/room/{roomCode}/host_summary")
-    public void hostSummary(@DestinationVariable String roomCode, @Payload HostSummaryRequest request) {
+    public void hostSummary(@DestinationVariable String roomCode, Principal principal) {
         // Check if all players have voted (including MASTER)
         var gameResp = gameService.getActiveGame(roomCode);
         if (gameResp != null && gameResp.isSuccess() && gameResp.getData() != null) {
@@ -610,100 +538,115 @@ public class RoomWebSocketController {
     }
 
 
+    private void autoPlay(String roomCode) {
+        try {
+            roomManager.updateRoomStatus(roomCode, RoomStatus.PLAYING);
+            broadcastRoomUpdate(roomCode, "ROOM_PLAYING");
+            log.info("Room {} auto-transitioned to PLAYING after all ready", roomCode);
+        } catch (Exception ex) {
+            log.error("Error auto-starting room {}: {}", roomCode, ex.getMessage(), ex);
+        }
+    }
+
+    public int getPendingPlayTaskCount() {
+        return pendingPlayTasks.size();
+    }
+
+    public boolean hasPendingPlayTask(String roomCode) {
+        return pendingPlayTasks.containsKey(roomCode);
+    }
+
+    /**
+     * Run every pending auto-play transition now instead of waiting out its delay (used when draining).
+     * Returns how many rooms were switched to PLAYING.
+     */
+    public int runPendingPlayTasksNow() {
+        int started = 0;
+        for (String roomCode : new ArrayList<>(pendingPlayTasks.keySet())) {
+            ScheduledFuture<?> task = pendingPlayTasks.remove(roomCode);
+            if (task == null || !task.cancel(false)) continue;
+            autoPlay(roomCode);
+            started++;
+        }
+        return started;
+    }
+
+    /**
+     * Stop the auto-play scheduler, letting a transition that is already running complete
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler.isShutdown()) return;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Broadcast room update to all subscribers
      */
     public void broadcastRoomUpdate(String roomCode, String updateType) {
-        Room room = roomManager.getRoom(roomCode).orElse(null);
+        RoomSnapshot room = roomManager.getRoomSnapshot(roomCode).orElse(null);
         if (room == null) return;
 
-        RoomUpdateMessage message = buildRoomUpdateMessage(room, updateType);
-        messagingTemplate.convertAndSend("/topic/room/" + roomCode, message);
+        // Serialized once per snapshot and type, however many times it is broadcast
+        byte[] json = room.serialized(updateType, type -> {
+            BroadcastBuildEvent built = new BroadcastBuildEvent();
+            built.begin();
+            long start = Tracing.start();
+            RoomUpdateMessage msg = buildRoomUpdateMessage(room, type);
+            start = Tracing.stage(TraceStage.BUILD, start);
+            byte[] bytes = jsonMapper.writeValueAsBytes(msg);
+            Tracing.stage(TraceStage.SERIALIZE, start);
+            built.done(roomCode, type, room.getCurrentPlayers(), bytes.length);
+            return bytes;
+        });
+        roomMessenger.sendJsonToRoom(roomCode, json);
         log.info("Broadcasted {} to room {}", updateType, roomCode);
     }
 
-    private RoomUpdateMessage buildRoomUpdateMessage(Room room, String type) {
-        List<PlayerDto> playerDos = room.getPlayers().stream()
-                .map(this::convertToPlayerDto)
-                .sorted(Comparator.comparing(PlayerDto::getJoinedAt, Comparator.nullsLast(Comparator.naturalOrder())))
-                .collect(Collectors.toList());
-
-        RoomUpdateMessage.RoomUpdateMessageBuilder builder = RoomUpdateMessage.builder()
+    // Package-private for RoomBroadcastBenchmark
+    static RoomUpdateMessage buildRoomUpdateMessage(RoomSnapshot room, String type) {
+        return RoomUpdateMessage.builder()
                 .type(type)
                 .roomCode(room.getRoomCode())
                 .roomName(room.getRoomName())
                 .maxPlayers(room.getMaxPlayers())
                 .currentPlayers(room.getCurrentPlayers())
                 .hostUuid(room.getHostUuid())
-                .status(null)
-                .players(playerDos)
-                .message(getMessageForType(type));
-
-
-        // map room.status (RoomStatus) directly
-        try {
-            builder.status(room.getStatus());
-        } catch (Exception ignored) {
-            // leave status null if mapping fails
-        }
-
-
-
-        return builder.build();
-    }
-
-    private PlayerDto convertToPlayerDto(Player player) {
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-        return PlayerDto.builder()
-                .uuid(player.getUuid())
-                .playerName(player.getPlayerName())
-                .isReady(player.isReady())
-                .isPlaying(player.isPlaying())
-                .joinedAt(player.getJoinedAt() == null ? null : player.getJoinedAt().format(formatter))
-                .isActive(player.isActive())
-                .lastActiveAt(player.getLastActiveAt() == null ? null : player.getLastActiveAt().format(formatter))
+                .status(room.getStatus())
+                .players(room.getPlayerDtos())
+                .message(getMessageForType(type))
                 .build();
     }
 
-    private String getMessageForType(String type) {
+    private static String getMessageForType(String type) {
         return switch (type) {
             case "PLAYER_JOINED" -> "A player joined the room";
             case "PLAYER_LEFT" -> "A player left the room";
             case "PLAYER_READY" -> "A player updated ready status";
             case "ROOM_UPDATE" -> "Room updated";
+            case "SERVER_DRAINING" -> "Server is restarting - please reconnect";
             default -> "Room state changed";
         };
     }
 
-    // Inner class for request payload
-    @lombok.Data
-    public static class ReadyRequest {
-        private String playerUuid;
-    }
-
     // New inner class for join request
     @lombok.Data
     public static class JoinRequest {
-        private String playerUuid;
         private String playerName;
-    }
-
-    // New inner class for leave request
-    @lombok.Data
-    public static class LeaveRequest {
-        private String playerUuid;
-    }
-
-    // New inner class for presence request
-    @lombok.Data
-    public static class PresenceRequest {
-        private String playerUuid;
+        private String password; // required for password-protected rooms, as for REST joins
     }
 
     // New inner class for status request
     @lombok.Data
     public static class StatusRequest {
-        private String playerUuid;
         // Provide convenience getter used above
         // Accept JSON property 'active' from client
         @Getter
@@ -711,31 +654,9 @@ public class RoomWebSocketController {
 
     }
 
-    @lombok.Data
-    public static class StartRequest {
-        private String triggerByUuid;
-    }
-
-
-    @lombok.Data
-    public static class CardOpenRequest {
-        private String playerUuid;
-    }
-
-    @lombok.Data
-    public static class ActiveGameRequest {
-        private String playerUuid;
-    }
-
-    @lombok.Data
-    public static class HostSummaryRequest {
-        private String playerUuid;
-    }
-
     // Payload for vote requests
     @lombok.Data
     public static class VoteRequest {
-        private String playerUuid;
         private String targetPlayerUuid;
     }
 }
@@ -0,0 +1,52 @@
+package com.insidergame.insider_api.websocket;
+
+import com.insidergame.insider_api.util.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates the player's JWT once at STOMP CONNECT and binds a {@link PlayerPrincipal} to the session.
+ * Every later frame on the session carries that principal, so handlers never trust a playerUuid from the payload.
+ * Client sends the token as a CONNECT header: Authorization: Bearer {token}
+ */
+@Component
+@Slf4j
+public class StompAuthInterceptor implements ChannelInterceptor {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    public StompAuthInterceptor(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String header = accessor.getFirstNativeHeader(AUTHORIZATION_HEADER);
+        String token = header != null && header.startsWith(BEARER_PREFIX) ? header.substring(BEARER_PREFIX.length()) : header;
+
+        JwtUtil.VerifiedToken verified = jwtUtil.verify(token).orElse(null);
+        if (verified == null) {
+            log.warn("Rejected STOMP CONNECT without a valid token (session={})", accessor.getSessionId());
+            throw new MessageDeliveryException(message, "Invalid or missing token");
+        }
+
+        accessor.setUser(new PlayerPrincipal(verified.getUuid(), verified.getPlayerName()));
+        log.info("STOMP session {} authenticated as player {}", accessor.getSessionId(), verified.getUuid());
+        return message;
+    }
+}
@@ -0,0 +1,195 @@
+package com.insidergame.insider_api.cluster;
+
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.model.Game;
+import com.insidergame.insider_api.support.TestNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.insidergame.insider_api.support.TestNode.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two nodes in one JVM, replicating over a loopback transport
+ */
+class ReplicationServiceTest {
+
+    private static final String NODES = "a=http://node-a,b=http://node-b";
+
+    @TempDir
+    Path dir;
+
+    private final Map<String, Node> nodes = new ConcurrentHashMap<>();
+    private volatile boolean partitioned;
+    private final ClusterTransport loopback = new ClusterTransport() {
+        @Override
+        public void bind(String nodeId, ClusterInbound inbound) {
+        }
+
+        @Override
+        public void unbind(String nodeId) {
+        }
+
+        @Override
+        public void relayStomp(ClusterNode target, RelayedFrame frame) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ReplicationAck replicate(ClusterNode target, ReplicationBatch batch) throws IOException {
+            Node node = nodes.get(target.id());
+            if (node == null || node.stopped) throw new IOException("node " + target.id() + " is down");
+            if (partitioned) throw new IOException("no route to node " + target.id());
+            return node.replication.receive(batch);
+        }
+    };
+
+    @AfterEach
+    void stopNodes() {
+        nodes.values().forEach(Node::stop);
+    }
+
+    @Test
+    void followerHoldsActiveGameAndTakesOverWhenOwnerFails() throws Exception {
+        Node a = node("a");
+        Node b = node("b");
+        String code = codeOwnedBy(a.router, "a");
+        assertThat(a.router.followerOf(code).id()).isEqualTo("b");
+
+        // Created before replication starts: reaches b through the seed
+        List<String> players = a.openRoom(code);
+        a.replication.start();
+        b.replication.start();
+
+        a.playUntilVotes(code, players, "lighthouse");
+        await(() -> appliedFrom(b, "a") >= a.journal.getLastLsn(), "follower caught up");
+
+        Game original = a.games.getActiveGame(code).orElseThrow();
+        Game replica = b.games.getActiveGame(code).orElseThrow();
+        assertThat(replica.getId()).isEqualTo(original.getId());
+        assertThat(replica.getWord()).isEqualTo(original.getWord());
+        assertThat(replica.getEndsAt()).isEqualTo(original.getEndsAt());
+        assertThat(replica.getVotes()).isEqualTo(original.getVotes());
+        assertThat(replica.getRoles()).isEqualTo(original.getRoles());
+        assertThat(b.rooms.getRoom(code).orElseThrow().getPlayers()).hasSize(players.size());
+        assertThat(b.router.isLocal(code)).isFalse();
+        // The ack can trail the follower applying the batch
+        await(() -> a.replication.getStatus().getFollowers().get(0).getPendingRecords() == 0, "ack received");
+
+        // Owner dies: b stops hearing heartbeats and takes the room over with the game intact
+        a.stop();
+        await(() -> b.router.isLocal(code), "follower took over");
+        assertThat(b.takenOver).anySatisfy(e -> assertThat(e.roomCodes()).contains(code));
+        assertThat(b.games.getActiveGame(code).orElseThrow().getEndsAt()).isEqualTo(original.getEndsAt());
+
+        // ...and keeps playing it
+        b.games.recordVote(code, players.get(5), players.get(1));
+        assertThat(b.games.scoreGame(code)).isPresent();
+    }
+
+    @Test
+    void restartedFollowerIsSeededAgain() throws Exception {
+        Node a = node("a");
+        Node b = node("b");
+        String code = codeOwnedBy(a.router, "a");
+        a.replication.start();
+        b.replication.start();
+
+        List<String> players = a.openRoom(code);
+        await(() -> b.rooms.roomExists(code), "room replicated");
+
+        // b comes back empty; a notices from the ack and re-seeds it
+        b.stop();
+        Node b2 = node("b");
+        b2.replication.start();
+        a.rooms.setPlayerReady(code, players.get(2), true);
+        await(() -> b2.rooms.getRoom(code).map(r -> r.getPlayers().stream()
+                .anyMatch(p -> p.getUuid().equals(players.get(2)) && p.isReady())).orElse(false), "re-seeded");
+    }
+
+    @Test
+    void partitionedOwnerStopsChangingRoomsItsFollowerTakesOver() throws Exception {
+        Node a = node("a");
+        Node b = node("b");
+        String code = codeOwnedBy(a.router, "a");
+        List<String> players = a.openRoom(code);
+        a.replication.start();
+        b.replication.start();
+        await(() -> a.replication.getStatus().getFollowers().stream().anyMatch(f -> f.isSeeded()), "follower seeded");
+
+        // Both sides are alive but cannot reach each other
+        partitioned = true;
+        await(() -> a.replication.isFenced(code), "owner fenced");
+        assertThatThrownBy(() -> a.rooms.setPlayerReady(code, players.get(1), true))
+                .isInstanceOf(IllegalStateException.class);
+        await(() -> b.router.isLocal(code), "follower took over");
+        b.rooms.setPlayerReady(code, players.get(1), true);
+
+        // Healing the partition does not hand the room back to the old owner
+        partitioned = false;
+        Thread.sleep(200);
+        assertThat(a.replication.isFenced(code)).isTrue();
+        assertThat(a.replication.getStatus().getFencedRooms()).isEqualTo(1);
+    }
+
+    @Test
+    void followerNeverSeededByAnOwnerDoesNotTakeOver() throws Exception {
+        Node b = node("b");
+        b.replication.receive(new ReplicationBatch("a", 1, List.of(), false, List.of()));
+        Thread.sleep(600); // past the failover timeout
+        b.replication.checkPeers();
+        assertThat(b.router.isUp("a")).isTrue();
+        assertThat(b.takenOver).isEmpty();
+    }
+
+    private Node node(String id) {
+        Node node = new Node(id, dir.resolve(id + "-" + UUID.randomUUID()));
+        nodes.put(id, node);
+        return node;
+    }
+
+    private static String codeOwnedBy(ClusterRouter router, String nodeId) {
+        for (int i = 0; ; i++) {
+            String code = String.format("R%05d", i);
+            if (router.ownerOf(code).id().equals(nodeId)) return code;
+        }
+    }
+
+    private static long appliedFrom(Node follower, String owner) {
+        return follower.replication.getStatus().getSources().stream()
+                .filter(s -> s.getNodeId().equals(owner))
+                .mapToLong(s -> s.getAppliedLsn())
+                .findFirst().orElse(0);
+    }
+
+    private final class Node extends TestNode {
+        final ClusterRouter router;
+        final ReplicationService replication;
+        final List<RoomsTakenOverEvent> takenOver = new CopyOnWriteArrayList<>();
+        volatile boolean stopped;
+
+        Node(String id, Path journalDir) {
+            // Journal off: records still reach the replication listener, nothing goes to disk
+            super(new Journal(false, journalDir.toString(), 1 << 20, false));
+            router = new ClusterRouter(id, NODES, 64);
+            replication = new ReplicationService(router, loopback, journal, rooms, games, event -> {
+                if (event instanceof RoomsTakenOverEvent e) takenOver.add(e);
+            }, true, 64, 50, 500);
+        }
+
+        void stop() {
+            stopped = true;
+            replication.stop();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.insidergame.insider_api.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recovery from a corrupt record in a segment that is not the last one
+ */
+class JournalCorruptionTest {
+
+    private static final int RECORDS = 6;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void segmentsAfterAMidJournalCorruptionAreQuarantined() throws Exception {
+        Journal journal = newJournal();
+        journal.start();
+        for (int i = 1; i <= RECORDS; i++) appendAndWait(journal, "ROOM" + i);
+        journal.close();
+
+        List<Path> segments = journal.listSegments();
+        assertThat(segments).hasSizeGreaterThanOrEqualTo(RECORDS);
+        flipLastPayloadByte(segments.get(2)); // LSN 3
+
+        Journal recovered = newJournal();
+        List<Long> replayed = replay(recovered);
+        assertThat(replayed).containsExactly(1L, 2L);
+        assertThat(recovered.getLastLsn()).isGreaterThanOrEqualTo(RECORDS);
+        assertThat(recovered.listSegments()).containsExactlyElementsOf(segments.subList(0, 3));
+        assertThat(quarantined()).hasSize(segments.size() - 2);
+
+        recovered.start();
+        long next = appendAndWait(recovered, "ROOM7");
+        recovered.close();
+        assertThat(next).isGreaterThan(RECORDS);
+
+        // The next restart gets past the old break point instead of stopping there again
+        Journal restarted = newJournal();
+        assertThat(replay(restarted)).containsExactly(1L, 2L, next);
+    }
+
+    private Journal newJournal() {
+        // One-byte segments: every batch rolls, so each record lands in its own segment
+        return new Journal(true, dir.toString(), 1, false);
+    }
+
+    private static long appendAndWait(Journal journal, String roomCode) throws InterruptedException {
+        long lsn = journal.append(RecordType.ROOM_DELETED, w -> w.writeString(roomCode));
+        while (journal.getDurableLsn() < lsn) Thread.sleep(5);
+        return lsn;
+    }
+
+    private static List<Long> replay(Journal journal) throws Exception {
+        List<Long> lsns = new ArrayList<>();
+        journal.replay(0, record -> lsns.add(record.lsn()));
+        return lsns;
+    }
+
+    private static void flipLastPayloadByte(Path segment) throws Exception {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long pos = file.length() - 5; // just before the CRC
+            file.seek(pos);
+            int b = file.read();
+            file.seek(pos);
+            file.write(b ^ 0xFF);
+        }
+    }
+
+    private List<Path> quarantined() throws Exception {
+        try (Stream<Path> dirs = Files.list(dir)) {
+            Path target = dirs.filter(Files::isDirectory).findFirst().orElseThrow();
+            try (Stream<Path> files = Files.list(target)) {
+                return files.toList();
+            }
+        }
+    }
+}
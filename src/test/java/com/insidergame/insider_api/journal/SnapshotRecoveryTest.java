@@ -0,0 +1,245 @@
+package com.insidergame.insider_api.journal;
+
+import com.insidergame.insider_api.api.game.GameFinishService;
+import com.insidergame.insider_api.api.game.GameHistoryStore;
+import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.Game;
+import com.insidergame.insider_api.model.Player;
+import com.insidergame.insider_api.model.Room;
+import com.insidergame.insider_api.support.TestNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.insidergame.insider_api.support.TestNode.await;
+import static com.insidergame.insider_api.support.TestNode.player;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * State snapshots: encoding, restore with the journal tail, and which files survive clean-up
+ */
+class SnapshotRecoveryTest {
+
+    private static final String CODE = "SNAP01";
+
+    @TempDir
+    Path dir;
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() {
+        nodes.forEach(node -> node.journal.close());
+    }
+
+    @Test
+    void roomWithMatchAndActiveGameRoundTrips() throws Exception {
+        Node node = node(false);
+        List<String> players = node.openRoom(CODE);
+        node.playUntilVotes(CODE, players, "harbor");
+        node.games.scoreGame(CODE);
+        node.games.finishAndArchiveGame(CODE);
+        node.playUntilVotes(CODE, players, "lighthouse");
+
+        SnapshotFile.Written written = SnapshotFile.write(dir, node.journal, node.rooms, node.games, List.of("{\"id\":1}"));
+        SnapshotFile.Image image = SnapshotFile.read(written.file());
+        Node restored = node(false);
+        image.restoreInto(restored.rooms, restored.games);
+
+        assertThat(image.rooms()).hasSize(1);
+        assertThat(image.pendingHistoryJson()).containsExactly("{\"id\":1}");
+
+        Room original = node.rooms.getRoom(CODE).orElseThrow();
+        Room copy = restored.rooms.getRoom(CODE).orElseThrow();
+        assertThat(copy.getHostUuid()).isEqualTo(original.getHostUuid());
+        assertThat(copy.getStatus()).isEqualTo(RoomStatus.PLAYING);
+        assertThat(copy.getPlayers()).extracting(Player::getUuid).containsExactlyInAnyOrderElementsOf(players);
+        assertThat(copy.getPlayers()).extracting(Player::getUuid, Player::isReady, Player::isPlaying, Player::isHost)
+                .containsExactlyInAnyOrderElementsOf(original.getPlayers().stream()
+                        .map(p -> tuple(p.getUuid(), p.isReady(), p.isPlaying(), p.isHost())).toList());
+        assertThat(copy.getPlayers()).allSatisfy(p -> assertThat(p.isPlaying()).isTrue());
+        assertThat(restored.rooms.getRoomSnapshot(CODE).orElseThrow().getMatch())
+                .usingRecursiveComparison()
+                .isEqualTo(node.rooms.getRoomSnapshot(CODE).orElseThrow().getMatch());
+        assertThat(restored.rooms.getRoomSnapshot(CODE).orElseThrow().getMatch().getRoundsPlayed()).isEqualTo(1);
+
+        Game game = node.games.getActiveGame(CODE).orElseThrow();
+        Game gameCopy = restored.games.getActiveGame(CODE).orElseThrow();
+        assertThat(gameCopy.getId()).isEqualTo(game.getId());
+        assertThat(gameCopy.getWord()).isEqualTo("lighthouse");
+        assertThat(gameCopy.isWordRevealed()).isTrue();
+        assertThat(gameCopy.getEndsAt()).isEqualTo(game.getEndsAt());
+        assertThat(gameCopy.getRoles()).isEqualTo(game.getRoles());
+        assertThat(gameCopy.getCardOpened()).isEqualTo(game.getCardOpened());
+        assertThat(gameCopy.getVotes()).isEqualTo(game.getVotes());
+        assertThat(restored.games.getUsedWords(CODE)).containsExactlyInAnyOrder("harbor", "lighthouse");
+    }
+
+    @Test
+    void recoveryRestoresSnapshotThenReplaysJournalTail() throws Exception {
+        Node first = node(true);
+        first.recovery.recover();
+        List<String> players = first.openRoom(CODE);
+        first.snapshotter.snapshotNow();
+        first.playUntilVotes(CODE, players, "lighthouse"); // only in the journal
+        first.journal.close();
+
+        Node second = node(true);
+        second.recovery.recover();
+
+        Game game = first.games.getActiveGame(CODE).orElseThrow();
+        Game replayed = second.games.getActiveGame(CODE).orElseThrow();
+        assertThat(replayed.getId()).isEqualTo(game.getId());
+        assertThat(replayed.getEndsAt()).isEqualTo(game.getEndsAt());
+        assertThat(replayed.getVotes()).isEqualTo(game.getVotes());
+        assertThat(second.rooms.getRoom(CODE).orElseThrow().getStatus()).isEqualTo(RoomStatus.PLAYING);
+        assertThat(second.journal.getLastLsn()).isEqualTo(first.journal.getLastLsn());
+    }
+
+    @Test
+    void recordsCoveredByARoomsLsnAreSkipped() throws Exception {
+        Node node = node(true);
+        node.journal.start();
+        node.openRoom(CODE);
+        // A player joins after the snapshot's start LSN but before the room's stripe is copied
+        node.beforeListing(() -> node.rooms.addPlayerToRoom(CODE, player("late")));
+
+        SnapshotFile.Image image = SnapshotFile.read(SnapshotFile.write(dir, node.journal, node.rooms, node.games, List.of()).file());
+        node.journal.close();
+
+        SnapshotFile.RoomImage room = image.rooms().get(0);
+        assertThat(room.lsn()).isGreaterThan(image.startLsn());
+        assertThat(room.room().getPlayers()).extracting(Player::getUuid).contains("late");
+
+        Node restored = node(true);
+        Map<String, Long> roomLsns = image.restoreInto(restored.rooms, restored.games);
+        JournalReplayer.Result result = new JournalReplayer(restored.rooms, restored.games)
+                .replay(restored.journal, image.startLsn(), roomLsns);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(result.getRecords()).isZero();
+        assertThat(restored.rooms.getRoom(CODE).orElseThrow().getPlayers()).hasSize(7);
+    }
+
+    @Test
+    void olderSnapshotIsUsedWhenNewestFailsItsChecksum() throws Exception {
+        Node first = node(true);
+        first.recovery.recover();
+        first.openRoom(CODE);
+        SnapshotFile.Written older = first.snapshotter.snapshotNow();
+        first.rooms.addPlayerToRoom(CODE, player("late"));
+        SnapshotFile.Written newer = first.snapshotter.snapshotNow();
+        first.journal.close();
+        flipByte(newer.file(), newer.bytes() / 2);
+
+        Node second = node(true);
+        assertThat(second.snapshotter.loadLatest().orElseThrow().startLsn()).isEqualTo(older.startLsn());
+
+        // The journal after the older snapshot was kept, so nothing since is lost
+        second.recovery.recover();
+        assertThat(second.rooms.getRoom(CODE).orElseThrow().getPlayers())
+                .extracting(Player::getUuid)
+                .contains("late")
+                .hasSize(7);
+    }
+
+    @Test
+    void cleanUpKeepsTheJournalTheOldestKeptSnapshotNeeds() throws Exception {
+        Node node = node(true);
+        node.recovery.recover();
+        node.openRoom(CODE);
+        List<Long> startLsns = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            awaitDurable(node.journal);
+            startLsns.add(node.snapshotter.snapshotNow().startLsn());
+            int segments = node.journal.listSegments().size();
+            node.rooms.addPlayerToRoom(CODE, player("late" + i));
+            await(() -> segmentCount(node.journal) > segments, "segment rolled");
+        }
+        awaitDurable(node.journal);
+        node.snapshotter.snapshotNow(); // fourth snapshot: the second one is now the oldest kept
+
+        assertThat(SnapshotFile.list(dir)).hasSize(2);
+        long oldestKept = SnapshotFile.startLsnOf(SnapshotFile.list(dir).get(1));
+        assertThat(oldestKept).isEqualTo(startLsns.get(2));
+        List<Path> segments = node.journal.listSegments();
+        assertThat(firstLsnOf(segments.get(0))).isGreaterThan(1).isLessThanOrEqualTo(oldestKept + 1);
+    }
+
+    private Node node(boolean journalEnabled) {
+        Node node = new Node(journalEnabled);
+        nodes.add(node);
+        return node;
+    }
+
+    private static void flipByte(Path file, long pos) throws Exception {
+        try (RandomAccessFile f = new RandomAccessFile(file.toFile(), "rw")) {
+            f.seek(pos);
+            int b = f.read();
+            f.seek(pos);
+            f.write(b ^ 0xFF);
+        }
+    }
+
+    private static int segmentCount(Journal journal) {
+        try {
+            return journal.listSegments().size();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static long firstLsnOf(Path segment) {
+        return Long.parseLong(segment.getFileName().toString().replaceAll("\\D", ""));
+    }
+
+    private static void awaitDurable(Journal journal) throws InterruptedException {
+        await(() -> journal.getDurableLsn() == journal.getLastLsn(), "journal flushed");
+    }
+
+    private final class Node extends TestNode {
+        final StateSnapshotter snapshotter;
+        final JournalRecovery recovery;
+
+        Node(boolean journalEnabled) {
+            super(new Journal(journalEnabled, dir.toString(), 1 << 20, false), HookedRoomManager::new);
+            JsonMapper jsonMapper = JsonMapper.builder().findAndAddModules().build();
+            // Never started: no database writes, and only scored games would need a finish scheduled
+            GameHistoryStore history = new GameHistoryStore(null, null, null, jsonMapper, dir.resolve("history-spill.jsonl").toString());
+            GameFinishService finishes = new GameFinishService(games, rooms, null, history, null, null);
+            snapshotter = new StateSnapshotter(journal, rooms, games, history, jsonMapper, true, dir.toString(), 3600);
+            recovery = new JournalRecovery(journal, snapshotter, rooms, games, history, finishes, jsonMapper);
+        }
+
+        void beforeListing(Runnable hook) {
+            ((HookedRoomManager) rooms).beforeListing = hook;
+        }
+    }
+
+    /**
+     * Runs a hook once, right before the next listing of its rooms
+     */
+    private static final class HookedRoomManager extends RoomManager {
+        volatile Runnable beforeListing;
+
+        HookedRoomManager(Journal journal) {
+            super(journal);
+        }
+
+        @Override
+        public List<Room> getAllRooms() {
+            Runnable hook = beforeListing;
+            beforeListing = null;
+            if (hook != null) hook.run();
+            return super.getAllRooms();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.insidergame.insider_api.manager;
+
+import com.insidergame.insider_api.enums.JoinResult;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.model.LeaveResult;
+import com.insidergame.insider_api.model.Player;
+import com.insidergame.insider_api.model.PlayerSnapshot;
+import com.insidergame.insider_api.model.Room;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hundreds of threads joining one room at once, through the same admission path REST and WS joins use
+ */
+class RoomJoinStressTest {
+
+    private static final String CODE = "STRESS";
+    private static final int THREADS = 64;
+    private static final int JOINS = 500;
+
+    @TempDir
+    Path dir;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    private RoomManager rooms;
+
+    @AfterEach
+    void stopPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void lastSeatsGoToExactlyCapacityJoiners() throws Exception {
+        rooms = newRoomManager();
+        rooms.createRoom(CODE, "Stress", 12, null, "host", "host", List.of(), RuleSet.CLASSIC, 0);
+
+        Map<JoinResult, Integer> results = race(JOINS, i -> () -> rooms.joinRoom(CODE, player("p" + i), null));
+
+        assertThat(results.get(JoinResult.JOINED)).isEqualTo(11);
+        assertThat(results.get(JoinResult.ROOM_FULL)).isEqualTo(JOINS - 11);
+        assertSeated(12);
+    }
+
+    @Test
+    void repeatedJoinsBySamePlayerTakeOneSeat() throws Exception {
+        rooms = newRoomManager();
+        rooms.createRoom(CODE, "Stress", 12, null, "host", "host", List.of(), RuleSet.CLASSIC, 0);
+
+        // 10 players, each joining 50 times at once
+        Map<JoinResult, Integer> results = race(JOINS, i -> () -> rooms.joinRoom(CODE, player("p" + (i % 10)), null));
+
+        assertThat(results.get(JoinResult.JOINED)).isEqualTo(10);
+        assertThat(results.get(JoinResult.ALREADY_IN_ROOM)).isEqualTo(JOINS - 10);
+        assertSeated(11);
+    }
+
+    @Test
+    void passwordIsCheckedBeforeASeatIsTaken() throws Exception {
+        rooms = newRoomManager();
+        rooms.createRoom(CODE, "Stress", 4, "secret", "host", "host", List.of(), RuleSet.CLASSIC, 0);
+
+        Map<JoinResult, Integer> results = race(JOINS, i -> () ->
+                rooms.joinRoom(CODE, player("p" + i), i % 2 == 0 ? "secret" : "guess"));
+
+        assertThat(results.get(JoinResult.WRONG_PASSWORD)).isEqualTo(JOINS / 2);
+        assertThat(results.get(JoinResult.JOINED)).isEqualTo(3);
+        assertSeated(4);
+    }
+
+    @Test
+    void joinsAndLeavesNeverOverfillTheRoom() throws Exception {
+        rooms = newRoomManager();
+        rooms.createRoom(CODE, "Stress", 8, null, "host", "host", List.of(), RuleSet.CLASSIC, 0);
+
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            String uuid = "p" + t;
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    if (rooms.joinRoom(CODE, player(uuid), null) == JoinResult.JOINED) {
+                        assertThat(rooms.getRoomSnapshot(CODE).orElseThrow().getCurrentPlayers()).isLessThanOrEqualTo(8);
+                        assertThat(seats().taken()).isLessThanOrEqualTo(8);
+                        rooms.removePlayerFromRoom(CODE, uuid);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) worker.get(30, TimeUnit.SECONDS);
+
+        assertSeated(1); // only the host is left
+    }
+
+    @Test
+    void everyoneLeavingAtOnceHandsTheHostOnAlongOneChain() throws Exception {
+        rooms = newRoomManager();
+        rooms.createRoom(CODE, "Stress", 12, null, "host", "host", List.of(), RuleSet.CLASSIC, 0);
+        for (int i = 1; i < 12; i++) rooms.joinRoom(CODE, player("p" + i), null);
+        List<String> uuids = rooms.getRoomSnapshot(CODE).orElseThrow().getPlayers().stream()
+                .map(PlayerSnapshot::uuid).toList();
+
+        CountDownLatch start = new CountDownLatch(1);
+        Map<String, Future<LeaveResult>> leaves = new LinkedHashMap<>();
+        for (String uuid : uuids) {
+            leaves.put(uuid, pool.submit(() -> {
+                start.await();
+                return rooms.removePlayerFromRoom(CODE, uuid);
+            }));
+        }
+        start.countDown();
+
+        // Each hand-over goes to a player who later leaves as host; the last one out, as host, deletes the room
+        Map<String, String> handOvers = new HashMap<>();
+        String deletedBy = null;
+        for (Map.Entry<String, Future<LeaveResult>> leave : leaves.entrySet()) {
+            LeaveResult result = leave.getValue().get(30, TimeUnit.SECONDS);
+            if (result.hostTransferred()) handOvers.put(leave.getKey(), result.newHostUuid());
+            if (result.roomDeleted()) {
+                assertThat(deletedBy).isNull();
+                deletedBy = leave.getKey();
+            }
+        }
+        String host = "host";
+        for (int i = 0; i < handOvers.size(); i++) host = handOvers.get(host);
+        assertThat(host).isEqualTo(deletedBy);
+        assertThat(rooms.roomExists(CODE)).isFalse();
+    }
+
+    private Map<JoinResult, Integer> race(int joins, IntFunction<Callable<JoinResult>> join) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<JoinResult>> futures = new ArrayList<>(joins);
+        for (int i = 0; i < joins; i++) {
+            Callable<JoinResult> task = join.apply(i);
+            futures.add(pool.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        Map<JoinResult, Integer> results = new EnumMap<>(JoinResult.class);
+        for (Future<JoinResult> f : futures) results.merge(f.get(30, TimeUnit.SECONDS), 1, Integer::sum);
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - began)).isLessThan(5);
+        return results;
+    }
+
+    private RoomSeats seats() {
+        return rooms.seatsOf(CODE);
+    }
+
+    private void assertSeated(int expected) {
+        Room room = rooms.getRoom(CODE).orElseThrow();
+        assertThat(seats().taken()).isEqualTo(expected);
+        assertThat(room.getPlayers()).hasSize(expected);
+        assertThat(rooms.getRoomSnapshot(CODE).orElseThrow().getPlayers()).hasSize(expected);
+        assertThat(room.getPlayers()).allSatisfy(p -> assertThat(rooms.isPlayerInRoom(CODE, p.getUuid())).isTrue());
+    }
+
+    private RoomManager newRoomManager() {
+        return new RoomManager(new Journal(false, dir.toString(), 1 << 20, false));
+    }
+
+    private static Player player(String uuid) {
+        return Player.builder().uuid(uuid).playerName(uuid).joinedAt(java.time.LocalDateTime.now()).isHost(false).build();
+    }
+}
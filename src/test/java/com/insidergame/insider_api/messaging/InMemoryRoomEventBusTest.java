@@ -0,0 +1,184 @@
+package com.insidergame.insider_api.messaging;
+
+import com.insidergame.insider_api.cluster.ClusterRouter;
+import com.insidergame.insider_api.cluster.ReplicationService;
+import com.insidergame.insider_api.diagnostics.RoomActivityTracker;
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.metrics.InsiderMetrics;
+import com.insidergame.insider_api.scoring.SlotScoringEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Three nodes in one JVM, connected through the in-memory bus
+ */
+class InMemoryRoomEventBusTest {
+
+    private static final String NODES = "a=http://node-a,b=http://node-b,c=http://node-c";
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(node -> node.messenger.stop());
+    }
+
+    @Test
+    void roomEventsGoOnlyToNodesWithSubscribers() {
+        Node a = node("a");
+        Node b = node("b");
+        Node c = node("c");
+
+        b.subscribe("s1", "sub-1", "ROOM1");
+        assertThat(a.interest.remoteNodesForRoom("ROOM1")).containsExactly("b");
+        assertThat(c.interest.remoteNodesForRoom("ROOM1")).containsExactly("b");
+
+        a.messenger.sendToRoom("ROOM1", Map.of("n", 1));
+        assertThat(a.destinations()).containsExactly("/topic/room/ROOM1"); // local sessions
+        assertThat(b.destinations()).containsExactly("/topic/room/ROOM1");
+        assertThat(c.destinations()).isEmpty();
+
+        // Last subscription gone: b is dropped from the room on every other node
+        b.unsubscribe("s1", "sub-1");
+        assertThat(a.interest.remoteNodesForRoom("ROOM1")).isEmpty();
+        a.messenger.sendToRoom("ROOM1", Map.of("n", 2));
+        assertThat(b.destinations()).hasSize(1);
+    }
+
+    @Test
+    void playerMessagesFollowTheirSessions() {
+        Node a = node("a");
+        Node b = node("b");
+        Node c = node("c");
+
+        c.connect("s1", "player-1");
+        assertThat(a.interest.remoteNodesForUser("player-1")).containsExactly("c");
+
+        a.messenger.sendToPlayer("player-1", "/queue/game_private", Map.of("role", "INSIDER"));
+        assertThat(c.destinations()).containsExactly("/user/player-1/queue/game_private");
+        assertThat(b.destinations()).isEmpty();
+
+        c.disconnect("s1");
+        assertThat(a.interest.remoteNodesForUser("player-1")).isEmpty();
+        assertThatThrownBy(() -> a.messenger.sendToPlayer("player-1", "/queue/other", Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void lateNodeLearnsExistingInterestAndLeavingNodeIsForgotten() {
+        Node a = node("a");
+        Node b = node("b");
+        b.subscribe("s1", "sub-1", "ROOM1");
+        b.connect("s1", "player-1");
+
+        Node c = node("c");
+        assertThat(c.interest.remoteNodesForRoom("ROOM1")).containsExactly("b");
+        assertThat(c.interest.remoteNodesForUser("player-1")).containsExactly("b");
+
+        b.messenger.stop();
+        assertThat(a.interest.remoteNodesForRoom("ROOM1")).isEmpty();
+        assertThat(c.interest.remoteNodesForUser("player-1")).isEmpty();
+    }
+
+    @Test
+    void eventsForOtherDestinationsAreDropped() {
+        node("a");
+        Node b = node("b");
+        RoomEventBus bus = new InMemoryRoomEventBus();
+        byte[] payload = "{}".getBytes(StandardCharsets.UTF_8);
+
+        bus.publish("b", new RoomEvent("ROOM1", null, "/topic/room/ROOM2", payload));
+        bus.publish("b", new RoomEvent(null, "player-1", "/queue/cluster", payload));
+        bus.publish("b", new RoomEvent(null, "player-1/queue/game_private", "/queue/active_game", payload));
+        bus.publish("b", new RoomEvent(null, null, "/app/room/ROOM1/leave", payload));
+        assertThat(b.destinations()).isEmpty();
+
+        bus.publish("b", new RoomEvent(null, "player-1", "/queue/active_game", payload));
+        assertThat(b.destinations()).containsExactly("/user/player-1/queue/active_game");
+    }
+
+    private Node node(String id) {
+        Node node = new Node(id);
+        nodes.add(node);
+        return node;
+    }
+
+    private static Message<byte[]> stompMessage(SimpMessageType type, String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(type);
+        headers.setSessionId(sessionId);
+        headers.setSubscriptionId(subscriptionId);
+        headers.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+
+    private static final class Node {
+        final RoomInterestTracker interest = new RoomInterestTracker();
+        final RoomMessenger messenger;
+        final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+
+        Node(String id) {
+            Journal journal = new Journal(false, "journal", 1 << 20, false);
+            RoomManager rooms = new RoomManager(journal);
+            GameManager games = new GameManager(rooms, journal, new SlotScoringEngine());
+            StaticListableBeanFactory beans = new StaticListableBeanFactory();
+            beans.addBean("roomEventBus", new InMemoryRoomEventBus());
+            InsiderMetrics metrics = new InsiderMetrics(new SimpleMeterRegistry(), rooms, games, interest,
+                    beans.getBeanProvider(ReplicationService.class));
+            SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+            messenger = new RoomMessenger(template, interest, new ClusterRouter(id, NODES, 64),
+                    JsonMapper.builder().build(), metrics, new RoomActivityTracker(rooms, games, 60, 1000),
+                    beans.getBeanProvider(RoomEventBus.class));
+            messenger.start();
+        }
+
+        List<String> destinations() {
+            return sent.stream().map(m -> SimpMessageHeaderAccessor.getDestination(m.getHeaders())).toList();
+        }
+
+        void subscribe(String sessionId, String subscriptionId, String roomCode) {
+            interest.onSubscribe(new SessionSubscribeEvent(this,
+                    stompMessage(SimpMessageType.SUBSCRIBE, sessionId, subscriptionId, "/topic/room/" + roomCode)));
+        }
+
+        void unsubscribe(String sessionId, String subscriptionId) {
+            interest.onUnsubscribe(new SessionUnsubscribeEvent(this,
+                    stompMessage(SimpMessageType.UNSUBSCRIBE, sessionId, subscriptionId, null)));
+        }
+
+        void connect(String sessionId, String playerUuid) {
+            Principal user = () -> playerUuid;
+            interest.onConnected(new SessionConnectedEvent(this,
+                    stompMessage(SimpMessageType.CONNECT_ACK, sessionId, null, null), user));
+        }
+
+        void disconnect(String sessionId) {
+            interest.onDisconnect(new SessionDisconnectEvent(this,
+                    stompMessage(SimpMessageType.DISCONNECT, sessionId, null, null), sessionId, CloseStatus.NORMAL));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.insidergame.insider_api.support;
+
+import com.insidergame.insider_api.enums.RoleType;
+import com.insidergame.insider_api.enums.RoomStatus;
+import com.insidergame.insider_api.enums.RuleSet;
+import com.insidergame.insider_api.journal.Journal;
+import com.insidergame.insider_api.manager.GameManager;
+import com.insidergame.insider_api.manager.RoomManager;
+import com.insidergame.insider_api.model.Player;
+import com.insidergame.insider_api.scoring.SlotScoringEngine;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * A journal with its RoomManager and GameManager, wired as in the application, and helpers that drive a room
+ * into a known state. Tests add their own services by extending it.
+ */
+public class TestNode {
+
+    public final Journal journal;
+    public final RoomManager rooms;
+    public final GameManager games;
+
+    public TestNode(Journal journal) {
+        this(journal, RoomManager::new);
+    }
+
+    public TestNode(Journal journal, Function<Journal, RoomManager> roomManager) {
+        this.journal = journal;
+        this.rooms = roomManager.apply(journal);
+        this.games = new GameManager(rooms, journal, new SlotScoringEngine());
+    }
+
+    /**
+     * Create room {@code code} with six players, the first one hosting. Returns their uuids in join order.
+     */
+    public List<String> openRoom(String code) {
+        List<String> uuids = new ArrayList<>();
+        for (int i = 0; i < 6; i++) uuids.add(UUID.randomUUID().toString());
+        rooms.createRoom(code, "Room " + code, 12, null, uuids.get(0), "p0", List.of(), RuleSet.CLASSIC, 3);
+        for (int i = 1; i < uuids.size(); i++) rooms.addPlayerToRoom(code, player(uuids.get(i)));
+        return uuids;
+    }
+
+    /**
+     * Start a game of {@code word} (first player MASTER, second INSIDER) and play it into the vote, where every
+     * player but the last has voted for the insider
+     */
+    public void playUntilVotes(String code, List<String> uuids, String word) {
+        for (String uuid : uuids) rooms.setPlayerReady(code, uuid, true);
+        rooms.updateRoomStatus(code, RoomStatus.PLAYING);
+        Map<String, RoleType> roles = new HashMap<>();
+        for (int i = 0; i < uuids.size(); i++) {
+            roles.put(uuids.get(i), i == 0 ? RoleType.MASTER : i == 1 ? RoleType.INSIDER : RoleType.CITIZEN);
+        }
+        games.createGame(code, word, 300, roles, RuleSet.CLASSIC);
+        rooms.markPlayersPlaying(code, new HashSet<>(uuids));
+        for (String uuid : uuids) games.markCardOpened(code, uuid);
+        games.startCountdown(code);
+        games.startVoting(code);
+        for (int i = 1; i < uuids.size() - 1; i++) games.recordVote(code, uuids.get(i), uuids.get(1));
+    }
+
+    public static Player player(String uuid) {
+        return Player.builder().uuid(uuid).playerName(uuid).isHost(false).build();
+    }
+
+    public static void await(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("Timed out waiting for: " + what);
+            Thread.sleep(20);
+        }
+    }
+}
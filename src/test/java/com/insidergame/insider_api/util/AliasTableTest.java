@@ -0,0 +1,59 @@
+package com.insidergame.insider_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Draw frequencies follow the weights, and zero weights are never drawn
+ */
+class AliasTableTest {
+
+    private static final int DRAWS = 400_000;
+
+    @Test
+    void drawFrequenciesFollowTheWeights() {
+        double[] weights = {1, 2, 3, 4, 0.5, 9.5};
+        int[] counts = draw(new AliasTable(weights), DRAWS);
+
+        double total = 20;
+        for (int i = 0; i < weights.length; i++) {
+            assertThat(counts[i] / (double) DRAWS).as("index %d", i).isCloseTo(weights[i] / total, within(0.005));
+        }
+    }
+
+    @Test
+    void zeroWeightsAreNeverDrawn() {
+        double[] weights = {0, 0.1, 0, 7, 0, 0, 1e-3, 0};
+        int[] counts = draw(new AliasTable(weights), DRAWS);
+
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] == 0) assertThat(counts[i]).as("index %d", i).isZero();
+        }
+        assertThat(counts[6]).isPositive();
+    }
+
+    @Test
+    void singleWeightIsAlwaysDrawn() {
+        assertThat(draw(new AliasTable(new double[]{0.25}), 1_000)[0]).isEqualTo(1_000);
+    }
+
+    @Test
+    void rejectsWeightsThatCannotBeSampled() {
+        assertThatThrownBy(() -> new AliasTable(new double[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{0, 0})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{1, -1})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{1, Double.NaN})).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int[] draw(AliasTable table, int draws) {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[table.size()];
+        for (int i = 0; i < draws; i++) counts[table.sample(random)]++;
+        return counts;
+    }
+}
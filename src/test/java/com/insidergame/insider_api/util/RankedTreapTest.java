@@ -0,0 +1,83 @@
+package com.insidergame.insider_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ranking order, ties and removal, checked against a plain sort
+ */
+class RankedTreapTest {
+
+    @Test
+    void ranksHighestScoreFirstAndBreaksTiesById() {
+        RankedTreap treap = new RankedTreap();
+        treap.put("carol", 30);
+        treap.put("bob", 50);
+        treap.put("dave", 30);
+        treap.put("alice", 30);
+
+        assertThat(treap.rank("bob")).isEqualTo(1);
+        assertThat(treap.rank("alice")).isEqualTo(2);
+        assertThat(treap.rank("carol")).isEqualTo(3);
+        assertThat(treap.rank("dave")).isEqualTo(4);
+        assertThat(treap.rank("erin")).isEqualTo(-1);
+        assertThat(treap.top(3)).extracting(RankedTreap.Entry::id).containsExactly("bob", "alice", "carol");
+        assertThat(treap.top(10)).hasSize(4);
+    }
+
+    @Test
+    void updatesAndRemovalsMoveOthersUpOrDown() {
+        RankedTreap treap = new RankedTreap();
+        treap.put("a", 10);
+        treap.put("b", 20);
+        treap.put("c", 30);
+
+        treap.put("a", 40); // same id, new score: one entry, now first
+        assertThat(treap.size()).isEqualTo(3);
+        assertThat(treap.rank("a")).isEqualTo(1);
+        assertThat(treap.rank("b")).isEqualTo(3);
+
+        treap.remove("c");
+        assertThat(treap.size()).isEqualTo(2);
+        assertThat(treap.rank("c")).isEqualTo(-1);
+        assertThat(treap.getScore("c")).isEmpty();
+        assertThat(treap.rank("b")).isEqualTo(2);
+
+        treap.remove("c"); // absent: no-op
+        treap.remove("a");
+        treap.remove("b");
+        assertThat(treap.size()).isZero();
+        assertThat(treap.top(5)).isEmpty();
+    }
+
+    @Test
+    void matchesASortedListUnderRandomChanges() {
+        RankedTreap treap = new RankedTreap();
+        Map<String, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            String id = "p" + random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                treap.remove(id);
+                expected.remove(id);
+            } else {
+                long score = random.nextInt(50); // few distinct scores, so plenty of ties
+                treap.put(id, score);
+                expected.put(id, score);
+            }
+        }
+
+        List<String> order = expected.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        assertThat(treap.size()).isEqualTo(order.size());
+        assertThat(treap.top(order.size())).extracting(RankedTreap.Entry::id).containsExactlyElementsOf(order);
+        for (int i = 0; i < order.size(); i++) {
+            assertThat(treap.rank(order.get(i))).isEqualTo(i + 1);
+        }
+    }
+}